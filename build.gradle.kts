@@ -18,6 +18,7 @@ plugins {
     id("org.jetbrains.grammarkit") version "2022.3.1"
     id("com.github.ManifestClasspath") version "0.1.0-RELEASE"
     id("org.jetbrains.changelog") version "2.0.0"
+    id("me.champeau.jmh") version "0.7.1"
 }
 
 group = pluginGroup
@@ -49,6 +50,17 @@ sourceSets {
         java.srcDirs("src/test")
         resources.srcDir("test-resources")
     }
+
+    jmh {
+        java.srcDirs("src/jmh")
+    }
+}
+
+configurations {
+    // benchmarks run the types engine outside the IDE, but it still references platform classes
+    named("jmhImplementation") {
+        extendsFrom(compileOnly.get())
+    }
 }
 
 kotlin {
@@ -69,12 +81,25 @@ dependencies {
     implementation(group = "org.yaml", name = "snakeyaml", version = "1.33")
     implementation("io.github.cdimascio:dotenv-kotlin:6.4.1")
 
+    implementation("org.brotli:dec:0.1.2")
     implementation("com.graphql-java:java-dataloader:2.2.3")
     implementation("org.reactivestreams:reactive-streams:1.0.4")
 
     testImplementation(group = "junit", name = "junit", version = "4.13.1")
 }
 
+jmh {
+    jmhVersion.set("1.36")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    // e.g. ./gradlew jmh -Pjmh.includes=SchemaBuild
+    (findProperty("jmh.includes") as? String)?.let { includes.set(listOf(it)) }
+    // e.g. ./gradlew jmh -Pjmh.profilers=gc to compare the allocation rates
+    (findProperty("jmh.profilers") as? String)?.let { profilers.set(it.split(',')) }
+}
+
 tasks {
     patchPluginXml {
         version.set(pluginVersion)
@@ -94,6 +119,16 @@ tasks {
         maxHeapSize = "2g"
     }
 
+    test {
+        // timing tests take minutes and need a quiet machine, run them explicitly with -PperformanceTests
+        if (project.hasProperty("performanceTests")) {
+            filter.includeTestsMatching("com.intellij.lang.jsgraphql.performance.*")
+        }
+        else {
+            exclude("com/intellij/lang/jsgraphql/performance/**")
+        }
+    }
+
     runPluginVerifier {
         ideVersions.set(platformIdeVersions.split(',').map { it.trim() })
     }
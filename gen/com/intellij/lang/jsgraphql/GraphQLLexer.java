@@ -428,6 +428,37 @@ public class GraphQLLexer implements FlexLexer {
         yybegin(state.state);
     }
 
+    private static final int LEXICAL_STATE_BITS = 4;
+    private static final int LEXICAL_STATE_MASK = (1 << LEXICAL_STATE_BITS) - 1;
+    private static final int MAX_LEFT_BRACE_COUNT = (1 << (16 - LEXICAL_STATE_BITS)) - 1;
+
+    /**
+     * The state stack is fully determined by the current lexical state, so the whole lexer state
+     * including the template brace depth is encoded into 16 bits, which allows restarting at any token.
+     */
+    public int getEncodedState() {
+        return yystate() | (Math.min(myLeftBraceCount, MAX_LEFT_BRACE_COUNT) << LEXICAL_STATE_BITS);
+    }
+
+    public static int getLexicalState(int encodedState) {
+        return encodedState & LEXICAL_STATE_MASK;
+    }
+
+    public void restoreState(int encodedState) {
+        int state = getLexicalState(encodedState);
+        myStateStack.clear();
+        myLeftBraceCount = 0;
+        if (state == QUOTED_STRING || state == BLOCK_STRING || state == VARIABLE_OR_TEMPLATE) {
+            myStateStack.push(new State(YYINITIAL, 0));
+        }
+        else if (state == TEMPLATE) {
+            myStateStack.push(new State(YYINITIAL, 0));
+            myStateStack.push(new State(VARIABLE_OR_TEMPLATE, 0));
+            myLeftBraceCount = encodedState >>> LEXICAL_STATE_BITS;
+        }
+        yybegin(state);
+    }
+
   public GraphQLLexer() {
     this((java.io.Reader)null);
   }
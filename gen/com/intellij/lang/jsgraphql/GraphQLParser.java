@@ -32,7 +32,20 @@ public class GraphQLParser implements PsiParser, LightPsiParser {
   }
 
   static boolean parse_root_(IElementType type, PsiBuilder builder, int level) {
-    return document(builder, level + 1);
+    boolean result;
+    if (type == FIELDS_DEFINITION) {
+      result = fieldsDefinition(builder, level + 1);
+    }
+    else if (type == INPUT_OBJECT_VALUE_DEFINITIONS) {
+      result = inputObjectValueDefinitions(builder, level + 1);
+    }
+    else if (type == SELECTION_SET) {
+      result = selectionSet(builder, level + 1);
+    }
+    else {
+      result = document(builder, level + 1);
+    }
+    return result;
   }
 
   public static final TokenSet[] EXTENDS_SETS_ = new TokenSet[] {
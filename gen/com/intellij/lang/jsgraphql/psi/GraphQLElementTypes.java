@@ -28,7 +28,7 @@ public interface GraphQLElementTypes {
   IElementType ENUM_VALUE_DEFINITION = new GraphQLCompositeElementType("ENUM_VALUE_DEFINITION");
   IElementType ENUM_VALUE_DEFINITIONS = new GraphQLCompositeElementType("ENUM_VALUE_DEFINITIONS");
   IElementType FIELD = new GraphQLCompositeElementType("FIELD");
-  IElementType FIELDS_DEFINITION = new GraphQLCompositeElementType("FIELDS_DEFINITION");
+  IElementType FIELDS_DEFINITION = new GraphQLReparseableElementType("FIELDS_DEFINITION");
   IElementType FIELD_DEFINITION = new GraphQLCompositeElementType("FIELD_DEFINITION");
   IElementType FLOAT_VALUE = new GraphQLCompositeElementType("FLOAT_VALUE");
   IElementType FRAGMENT_DEFINITION = new GraphQLCompositeElementType("FRAGMENT_DEFINITION");
@@ -39,7 +39,7 @@ public interface GraphQLElementTypes {
   IElementType INLINE_FRAGMENT = new GraphQLCompositeElementType("INLINE_FRAGMENT");
   IElementType INPUT_OBJECT_TYPE_DEFINITION = new GraphQLCompositeElementType("INPUT_OBJECT_TYPE_DEFINITION");
   IElementType INPUT_OBJECT_TYPE_EXTENSION_DEFINITION = new GraphQLCompositeElementType("INPUT_OBJECT_TYPE_EXTENSION_DEFINITION");
-  IElementType INPUT_OBJECT_VALUE_DEFINITIONS = new GraphQLCompositeElementType("INPUT_OBJECT_VALUE_DEFINITIONS");
+  IElementType INPUT_OBJECT_VALUE_DEFINITIONS = new GraphQLReparseableElementType("INPUT_OBJECT_VALUE_DEFINITIONS");
   IElementType INPUT_VALUE_DEFINITION = new GraphQLCompositeElementType("INPUT_VALUE_DEFINITION");
   IElementType INTERFACE_TYPE_DEFINITION = new GraphQLCompositeElementType("INTERFACE_TYPE_DEFINITION");
   IElementType INTERFACE_TYPE_EXTENSION_DEFINITION = new GraphQLCompositeElementType("INTERFACE_TYPE_EXTENSION_DEFINITION");
@@ -61,7 +61,7 @@ public interface GraphQLElementTypes {
   IElementType SCHEMA_DEFINITION = new GraphQLCompositeElementType("SCHEMA_DEFINITION");
   IElementType SCHEMA_EXTENSION = new GraphQLCompositeElementType("SCHEMA_EXTENSION");
   IElementType SELECTION = new GraphQLCompositeElementType("SELECTION");
-  IElementType SELECTION_SET = new GraphQLCompositeElementType("SELECTION_SET");
+  IElementType SELECTION_SET = new GraphQLReparseableElementType("SELECTION_SET");
   IElementType SELECTION_SET_OPERATION_DEFINITION = new GraphQLCompositeElementType("SELECTION_SET_OPERATION_DEFINITION");
   IElementType STRING_LITERAL = new GraphQLCompositeElementType("STRING_LITERAL");
   IElementType STRING_VALUE = new GraphQLCompositeElementType("STRING_VALUE");
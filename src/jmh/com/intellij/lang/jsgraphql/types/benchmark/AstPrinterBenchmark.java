@@ -0,0 +1,68 @@
+package com.intellij.lang.jsgraphql.types.benchmark;
+
+import com.intellij.lang.jsgraphql.types.language.AstPrinter;
+import com.intellij.lang.jsgraphql.types.language.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single pass {@link AstPrinter} with the previous string joining implementation on a schema of about 50k lines
+ * and on a large operations document. Run with {@code -Pjmh.includes=AstPrinter -Pjmh.profilers=gc} to see the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AstPrinterBenchmark {
+
+  private static final int OPERATIONS_COUNT = 5_000;
+
+  @Param({"SCHEMA", "OPERATIONS"})
+  public String document;
+
+  private Document myDocument;
+  private final StringBuilder myBuilder = new StringBuilder();
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    myDocument = document.equals("SCHEMA")
+                 ? GraphQLBenchmarkCorpus.SDL_50K_LINES.createSchemaDocument()
+                 : GraphQLBenchmarkCorpus.SDL_50K_LINES.createOperationsDocument(OPERATIONS_COUNT);
+
+    // the comparison makes sense only if both printers produce the same text
+    if (!LegacyAstPrinter.printAst(myDocument).equals(AstPrinter.printAst(myDocument)) ||
+        !LegacyAstPrinter.printAstCompact(myDocument).equals(AstPrinter.printAstCompact(myDocument))) {
+      throw new IllegalStateException("The printers produce different results");
+    }
+  }
+
+  @Benchmark
+  public String legacyPretty() {
+    return LegacyAstPrinter.printAst(myDocument);
+  }
+
+  @Benchmark
+  public String pretty() {
+    return AstPrinter.printAst(myDocument);
+  }
+
+  @Benchmark
+  public int prettyReusedBuilder() {
+    myBuilder.setLength(0);
+    AstPrinter.printAst(myBuilder, myDocument);
+    return myBuilder.length();
+  }
+
+  @Benchmark
+  public String legacyCompact() {
+    return LegacyAstPrinter.printAstCompact(myDocument);
+  }
+
+  @Benchmark
+  public String compact() {
+    return AstPrinter.printAstCompact(myDocument);
+  }
+}
@@ -0,0 +1,44 @@
+package com.intellij.lang.jsgraphql.types.benchmark;
+
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaParser;
+import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator;
+import com.intellij.lang.jsgraphql.types.validation.ValidationError;
+import com.intellij.lang.jsgraphql.types.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of executable documents, which runs for every operation file highlighted in the editor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentValidationBenchmark {
+
+  @Param({"GITHUB", "SHOPIFY", "SYNTHETIC_20K"})
+  public GraphQLBenchmarkCorpus corpus;
+
+  @Param({"10", "500"})
+  public int operations;
+
+  private GraphQLSchema mySchema;
+  private Document myOperations;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    mySchema = UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().buildRegistry(corpus.createSchemaDocument()));
+    myOperations = corpus.createOperationsDocument(operations);
+  }
+
+  @Benchmark
+  public List<ValidationError> validateDocument() {
+    return new Validator().validateDocument(mySchema, myOperations);
+  }
+}
@@ -0,0 +1,192 @@
+package com.intellij.lang.jsgraphql.types.benchmark;
+
+import com.intellij.lang.jsgraphql.types.language.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generated schemas with the shape and size of real-world APIs.
+ * <p>
+ * The engine has no SDL text parser, documents are built from PSI in the IDE, so the corpora are created
+ * directly as AST documents to keep the benchmarks free of the platform.
+ */
+public enum GraphQLBenchmarkCorpus {
+  /**
+   * About the size of the public GitHub GraphQL API.
+   */
+  GITHUB(1_600, 8),
+  /**
+   * About the size of the Shopify Admin API.
+   */
+  SHOPIFY(4_000, 10),
+  SYNTHETIC_20K(20_000, 6),
+  /**
+   * Prints to about 50k lines of SDL.
+   */
+  SDL_50K_LINES(4_000, 12);
+
+  private static final int QUERY_ROOT_FIELDS = 200;
+
+  private final int myTypesCount;
+  private final int myFieldsPerType;
+
+  GraphQLBenchmarkCorpus(int typesCount, int fieldsPerType) {
+    myTypesCount = typesCount;
+    myFieldsPerType = fieldsPerType;
+  }
+
+  public @NotNull Document createSchemaDocument() {
+    return createSchemaDocument(false);
+  }
+
+  /**
+   * @param changed if true, some fields are removed and some field types are changed,
+   *                so the result can be diffed against the unchanged document
+   */
+  public @NotNull Document createSchemaDocument(boolean changed) {
+    Counts counts = new Counts();
+    List<Definition> definitions = new ArrayList<>();
+
+    ObjectTypeDefinition.Builder query = ObjectTypeDefinition.newObjectTypeDefinition().name("Query");
+    for (int i = 0; i < Math.min(counts.objects, QUERY_ROOT_FIELDS); i++) {
+      query.fieldDefinition(FieldDefinition.newFieldDefinition()
+                              .name("object" + i)
+                              .type(typeName("Object" + i))
+                              .inputValueDefinitions(List.of(new InputValueDefinition("id", nonNull("ID"))))
+                              .build());
+    }
+    query.fieldDefinition(new FieldDefinition("node", typeName("Node0")));
+    definitions.add(query.build());
+
+    for (int i = 0; i < counts.interfaces; i++) {
+      definitions.add(InterfaceTypeDefinition.newInterfaceTypeDefinition()
+                        .name("Node" + i)
+                        .definitions(createInterfaceFields())
+                        .build());
+    }
+
+    for (int i = 0; i < counts.objects; i++) {
+      definitions.add(createObjectType(i, counts, changed));
+    }
+
+    for (int i = 0; i < counts.unions; i++) {
+      UnionTypeDefinition.Builder union = UnionTypeDefinition.newUnionTypeDefinition().name("Union" + i);
+      for (int j = 0; j < 4; j++) {
+        union.memberType(typeName("Object" + ((i * 4 + j) % counts.objects)));
+      }
+      definitions.add(union.build());
+    }
+
+    for (int i = 0; i < counts.enums; i++) {
+      EnumTypeDefinition.Builder enumType = EnumTypeDefinition.newEnumTypeDefinition().name("Enum" + i);
+      for (int j = 0; j < 5; j++) {
+        enumType.enumValueDefinition(new EnumValueDefinition("VALUE_" + j));
+      }
+      definitions.add(enumType.build());
+    }
+
+    for (int i = 0; i < counts.inputs; i++) {
+      InputObjectTypeDefinition.Builder input = InputObjectTypeDefinition.newInputObjectDefinition().name("Input" + i);
+      input.inputValueDefinition(new InputValueDefinition("query", typeName("String")));
+      input.inputValueDefinition(new InputValueDefinition("limit", typeName("Int"), new IntValue(BigInteger.TEN)));
+      if (i > 0) {
+        input.inputValueDefinition(new InputValueDefinition("nested", typeName("Input" + (i - 1))));
+      }
+      definitions.add(input.build());
+    }
+
+    return Document.newDocument().definitions(definitions).build();
+  }
+
+  /**
+   * Creates valid queries against the schema from {@link #createSchemaDocument()}.
+   */
+  public @NotNull Document createOperationsDocument(int operationsCount) {
+    Counts counts = new Counts();
+    List<Definition> definitions = new ArrayList<>();
+    for (int i = 0; i < operationsCount; i++) {
+      int objectIndex = i % Math.min(counts.objects, QUERY_ROOT_FIELDS);
+      Field nested = Field.newField("field0")
+        .arguments(List.of(new Argument("first", new IntValue(BigInteger.valueOf(5)))))
+        .selectionSet(new SelectionSet(List.of(new Field("id"), new Field("name"))))
+        .build();
+      Field root = Field.newField("object" + objectIndex)
+        .arguments(List.of(new Argument("id", new VariableReference("id"))))
+        .selectionSet(new SelectionSet(List.of(new Field("id"), new Field("name"), nested, new Field("field2"))))
+        .build();
+      definitions.add(OperationDefinition.newOperationDefinition()
+                        .name("Query" + i)
+                        .operation(OperationDefinition.Operation.QUERY)
+                        .variableDefinitions(List.of(new VariableDefinition("id", nonNull("ID"))))
+                        .selectionSet(new SelectionSet(List.of(root)))
+                        .build());
+    }
+    return Document.newDocument().definitions(definitions).build();
+  }
+
+  private @NotNull ObjectTypeDefinition createObjectType(int index, @NotNull Counts counts, boolean changed) {
+    ObjectTypeDefinition.Builder object = ObjectTypeDefinition.newObjectTypeDefinition()
+      .name("Object" + index)
+      .description(new Description("Object " + index + " description", null, false))
+      .implementz(typeName("Node" + (index % counts.interfaces)))
+      .fieldDefinitions(createInterfaceFields());
+
+    int fieldsCount = myFieldsPerType - 2;
+    if (changed && index % 50 == 0) {
+      fieldsCount--;
+    }
+    for (int j = 0; j < fieldsCount; j++) {
+      Type type;
+      int target = (index + j + 1) % counts.objects;
+      switch (j % 4) {
+        case 0 -> type = typeName("Object" + target);
+        case 1 -> type = changed && index % 70 == 0
+                         ? new ListType(typeName("Object" + target))
+                         : nonNull(new ListType(nonNull("Object" + target)));
+        case 2 -> type = typeName("Enum" + ((index + j) % counts.enums));
+        default -> type = counts.unions > 0 ? typeName("Union" + ((index + j) % counts.unions)) : typeName("String");
+      }
+
+      FieldDefinition.Builder field = FieldDefinition.newFieldDefinition()
+        .name("field" + j)
+        .type(type)
+        .inputValueDefinition(new InputValueDefinition("first", typeName("Int"), new IntValue(BigInteger.TEN)))
+        .inputValueDefinition(new InputValueDefinition("filter", typeName("Input" + ((index + j) % counts.inputs))));
+      if (j == 1 && index % 10 == 0) {
+        field.directive(new Directive("deprecated", List.of(new Argument("reason", new StringValue("Use field0")))));
+      }
+      object.fieldDefinition(field.build());
+    }
+    return object.build();
+  }
+
+  private static @NotNull List<FieldDefinition> createInterfaceFields() {
+    List<FieldDefinition> fields = new ArrayList<>();
+    fields.add(new FieldDefinition("id", nonNull("ID")));
+    fields.add(new FieldDefinition("name", typeName("String")));
+    return fields;
+  }
+
+  private static @NotNull TypeName typeName(@NotNull String name) {
+    return new TypeName(name);
+  }
+
+  private static @NotNull NonNullType nonNull(@NotNull String name) {
+    return nonNull(typeName(name));
+  }
+
+  private static @NotNull NonNullType nonNull(@NotNull Type type) {
+    return new NonNullType(type);
+  }
+
+  private final class Counts {
+    final int interfaces = Math.max(1, myTypesCount / 20);
+    final int unions = myTypesCount / 40;
+    final int enums = Math.max(1, myTypesCount / 10);
+    final int inputs = Math.max(1, myTypesCount / 10);
+    final int objects = myTypesCount - interfaces - unions - enums - inputs;
+  }
+}
@@ -0,0 +1,60 @@
+package com.intellij.lang.jsgraphql.types.benchmark;
+
+import com.intellij.lang.jsgraphql.types.language.AstPrinter;
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaParser;
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaPrinter;
+import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Printing of the built schema (generated sources, introspection results) and of the raw AST.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrinterBenchmark {
+
+  @Param({"GITHUB", "SHOPIFY", "SYNTHETIC_20K"})
+  public GraphQLBenchmarkCorpus corpus;
+
+  private Document myDocument;
+  private GraphQLSchema mySchema;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    myDocument = corpus.createSchemaDocument();
+    mySchema = UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().buildRegistry(myDocument));
+  }
+
+  @Benchmark
+  public String printSchema() {
+    return new SchemaPrinter(SchemaPrinter.Options.defaultOptions()).print(mySchema);
+  }
+
+  /**
+   * Streaming to a writer which discards the text, to compare the allocations with {@link #printSchema()}.
+   */
+  @Benchmark
+  public void printSchemaStreaming() throws IOException {
+    new SchemaPrinter(SchemaPrinter.Options.defaultOptions()).print(mySchema, Writer.nullWriter());
+  }
+
+  @Benchmark
+  public String printAst() {
+    return AstPrinter.printAst(myDocument);
+  }
+
+  @Benchmark
+  public String printAstCompact() {
+    return AstPrinter.printAstCompact(myDocument);
+  }
+}
@@ -0,0 +1,54 @@
+package com.intellij.lang.jsgraphql.types.benchmark;
+
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaParser;
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry;
+import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator;
+import com.intellij.lang.jsgraphql.types.schema.validation.SchemaValidationError;
+import com.intellij.lang.jsgraphql.types.schema.validation.SchemaValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry creation, schema generation and schema validation, the steps of every schema rebuild in the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaBuildBenchmark {
+
+  @Param({"GITHUB", "SHOPIFY", "SYNTHETIC_20K"})
+  public GraphQLBenchmarkCorpus corpus;
+
+  private Document myDocument;
+  private TypeDefinitionRegistry myRegistry;
+  private GraphQLSchema mySchema;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    myDocument = corpus.createSchemaDocument();
+    myRegistry = new SchemaParser().buildRegistry(myDocument);
+    mySchema = UnExecutableSchemaGenerator.makeUnExecutableSchema(myRegistry);
+  }
+
+  @Benchmark
+  public TypeDefinitionRegistry buildRegistry() {
+    return new SchemaParser().buildRegistry(myDocument);
+  }
+
+  @Benchmark
+  public GraphQLSchema makeUnExecutableSchema() {
+    return UnExecutableSchemaGenerator.makeUnExecutableSchema(myRegistry);
+  }
+
+  @Benchmark
+  public Set<SchemaValidationError> validateSchema() {
+    return new SchemaValidator().validateSchema(mySchema);
+  }
+}
@@ -0,0 +1,65 @@
+package com.intellij.lang.jsgraphql.types.benchmark;
+
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.language.SDLDefinition;
+import com.intellij.lang.jsgraphql.types.schema.diff.SchemaDiff;
+import com.intellij.lang.jsgraphql.types.schema.diff.reporting.CapturingReporter;
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Difference of two versions of a schema, e.g. before and after a remote introspection refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaDiffBenchmark {
+
+  @Param({"GITHUB", "SHOPIFY", "SYNTHETIC_20K"})
+  public GraphQLBenchmarkCorpus corpus;
+
+  private Document myOldDocument;
+  private Document myNewDocument;
+  private TypeDefinitionRegistry myOldRegistry;
+  private TypeDefinitionRegistry myNewRegistry;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    myOldDocument = corpus.createSchemaDocument(false);
+    myNewDocument = corpus.createSchemaDocument(true);
+    myOldRegistry = createRegistry(myOldDocument);
+    myNewRegistry = createRegistry(myNewDocument);
+  }
+
+  private static TypeDefinitionRegistry createRegistry(Document document) {
+    TypeDefinitionRegistry registry = new TypeDefinitionRegistry();
+    document.getDefinitionsOfType(SDLDefinition.class).forEach(registry::add);
+    return registry;
+  }
+
+  @Benchmark
+  public CapturingReporter diffChanged() {
+    CapturingReporter reporter = new CapturingReporter();
+    new SchemaDiff().diffSchema(myOldDocument, myNewDocument, reporter);
+    return reporter;
+  }
+
+  @Benchmark
+  public CapturingReporter diffUnchanged() {
+    CapturingReporter reporter = new CapturingReporter();
+    new SchemaDiff().diffSchema(myOldDocument, myOldDocument, reporter);
+    return reporter;
+  }
+
+  @Benchmark
+  public CapturingReporter diffChangedRegistries() {
+    CapturingReporter reporter = new CapturingReporter();
+    new SchemaDiff().diffSchema(myOldRegistry, myNewRegistry, reporter);
+    return reporter;
+  }
+}
@@ -8,10 +8,57 @@
 package com.intellij.lang.jsgraphql;
 
 import com.intellij.lexer.FlexAdapter;
+import com.intellij.lexer.RestartableLexer;
+import com.intellij.lexer.TokenIterator;
+import org.jetbrains.annotations.NotNull;
 
 
-public class GraphQLLexerAdapter extends FlexAdapter {
+/**
+ * Reports the complete lexer state including the string/template state stack, so the highlighter
+ * can restart lexing at any token boundary, e.g. in the middle of a large description.
+ */
+public class GraphQLLexerAdapter extends FlexAdapter implements RestartableLexer {
+  private int myTokenStartState;
+
   public GraphQLLexerAdapter() {
     super(new GraphQLLexer(null));
   }
-}
\ No newline at end of file
+
+  @Override
+  public GraphQLLexer getFlex() {
+    return (GraphQLLexer)super.getFlex();
+  }
+
+  @Override
+  public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+    super.start(buffer, startOffset, endOffset, GraphQLLexer.getLexicalState(initialState));
+    getFlex().restoreState(initialState);
+    myTokenStartState = getFlex().getEncodedState();
+  }
+
+  @Override
+  public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState, TokenIterator tokenIterator) {
+    start(buffer, startOffset, endOffset, initialState);
+  }
+
+  @Override
+  public void advance() {
+    super.advance();
+    myTokenStartState = getFlex().getEncodedState();
+  }
+
+  @Override
+  public int getState() {
+    return myTokenStartState;
+  }
+
+  @Override
+  public int getStartState() {
+    return 0;
+  }
+
+  @Override
+  public boolean isRestartableState(int state) {
+    return true;
+  }
+}
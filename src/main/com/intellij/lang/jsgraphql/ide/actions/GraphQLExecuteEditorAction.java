@@ -34,8 +34,8 @@ public class GraphQLExecuteEditorAction extends AnAction {
         e.getPresentation().setEnabled(false);
         return;
       }
-      boolean querying = Boolean.TRUE.equals(editor.getUserData(GraphQLUIProjectService.GRAPH_QL_EDITOR_QUERYING));
-      e.getPresentation().setEnabled(!querying);
+      // a new query replaces the one still running
+      e.getPresentation().setEnabled(true);
     }
   }
 
@@ -59,11 +59,6 @@ public class GraphQLExecuteEditorAction extends AnAction {
       return;
     }
 
-    boolean querying = Boolean.TRUE.equals(editor.getUserData(GraphQLUIProjectService.GRAPH_QL_EDITOR_QUERYING));
-    if (querying) {
-      // already doing a query
-      return;
-    }
     Editor queryEditor = editor.getUserData(GraphQLUIProjectService.GRAPH_QL_QUERY_EDITOR);
     if (queryEditor != null) {
       // this action comes from the variables editor, so we need to resolve the query editor which contains the GraphQL
@@ -73,6 +68,13 @@ public class GraphQLExecuteEditorAction extends AnAction {
     if (virtualFile == null) {
       return;
     }
+    execute(project, editor, virtualFile);
+  }
+
+  /**
+   * @param editor the editor with the query, even if the action comes from the variables editor
+   */
+  protected void execute(@NotNull Project project, @NotNull Editor editor, @NotNull VirtualFile virtualFile) {
     GraphQLUIProjectService.getService(project).executeGraphQL(editor, virtualFile);
   }
 
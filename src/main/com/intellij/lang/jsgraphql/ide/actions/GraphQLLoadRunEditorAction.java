@@ -0,0 +1,23 @@
+package com.intellij.lang.jsgraphql.ide.actions;
+
+import com.intellij.lang.jsgraphql.ui.GraphQLLoadRunDialog;
+import com.intellij.lang.jsgraphql.ui.GraphQLUIProjectService;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Sends the query of the editor repeatedly to measure the throughput and the latencies of the endpoint.
+ */
+public class GraphQLLoadRunEditorAction extends GraphQLExecuteEditorAction {
+  public static final String ACTION_ID = "GraphQLLoadRunEditor";
+
+  @Override
+  protected void execute(@NotNull Project project, @NotNull Editor editor, @NotNull VirtualFile virtualFile) {
+    GraphQLLoadRunDialog dialog = new GraphQLLoadRunDialog(project);
+    if (dialog.showAndGet()) {
+      GraphQLUIProjectService.getService(project).executeLoadRun(editor, virtualFile, dialog.getSettings());
+    }
+  }
+}
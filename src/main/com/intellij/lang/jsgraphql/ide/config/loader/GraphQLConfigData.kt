@@ -46,4 +46,6 @@ data class GraphQLRawEndpoint(
   val url: String? = null,
   val headers: Map<String, Any?> = emptyMap(),
   val introspect: Boolean? = false,
+  val persistedQueries: Boolean? = false,
+  val persistedQueriesUseGet: Boolean? = false,
 )
@@ -15,6 +15,8 @@ object GraphQLConfigKeys {
 
   const val HEADERS = "headers"
   const val INTROSPECT = "introspect"
+  const val PERSISTED_QUERIES = "persistedQueries"
+  const val PERSISTED_QUERIES_USE_GET = "useGETForHashedQueries"
 
   const val EXTENSION_ENDPOINTS = "endpoints"
   const val EXTENSION_ENDPOINT_URL = "url"
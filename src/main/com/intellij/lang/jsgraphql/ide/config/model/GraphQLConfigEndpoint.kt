@@ -45,6 +45,16 @@ class GraphQLConfigEndpoint(
 
   val introspect: Boolean? = rawData.introspect
 
+  /**
+   * Whether the queries are sent as automatic persisted queries, i.e. as the hash of the query when the server knows it.
+   */
+  val persistedQueries: Boolean = rawData.persistedQueries == true
+
+  /**
+   * Whether the queries sent as a hash use GET, so the responses can be cached by a CDN.
+   */
+  val persistedQueriesUseGet: Boolean = rawData.persistedQueriesUseGet == true
+
   val isValidUrl: Boolean = url?.let { URLUtil.canContainUrl(url) } ?: false
 
   val schemaPointer: GraphQLSchemaPointer? = rawSchemaPointer?.let { GraphQLSchemaPointer(project, dir, it, isLegacy, environment) }
@@ -226,11 +226,15 @@ class GraphQLProjectConfig(
             is Map<*, *> -> {
               val url = value[GraphQLConfigKeys.EXTENSION_ENDPOINT_URL]
               if (url is String) {
+                // either a flag or an object with the options
+                val persistedQueries = value[GraphQLConfigKeys.PERSISTED_QUERIES]
                 GraphQLRawEndpoint(
                   endpointName,
                   url,
                   parseMap(value[GraphQLConfigKeys.HEADERS]) ?: emptyMap(),
-                  value[GraphQLConfigKeys.INTROSPECT] as Boolean?
+                  value[GraphQLConfigKeys.INTROSPECT] as Boolean?,
+                  persistedQueries == true || persistedQueries is Map<*, *>,
+                  (persistedQueries as? Map<*, *>)?.get(GraphQLConfigKeys.PERSISTED_QUERIES_USE_GET) == true,
                 )
               }
               else {
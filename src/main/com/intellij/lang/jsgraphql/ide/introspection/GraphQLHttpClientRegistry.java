@@ -0,0 +1,239 @@
+package com.intellij.lang.jsgraphql.ide.introspection;
+
+import com.intellij.ide.util.PropertiesComponent;
+import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigListener;
+import com.intellij.lang.jsgraphql.ide.config.model.GraphQLConfigSecurity;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.registry.Registry;
+import com.intellij.util.io.DigestUtil;
+import com.intellij.util.messages.MessageBusConnection;
+import com.intellij.util.net.HttpConfigurable;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.*;
+
+/**
+ * Keeps one pooled HTTP client per endpoint, so the SSL context is built once and the connections are kept alive
+ * between the query runs and introspections instead of doing a new handshake for every request.
+ * <p>
+ * The clients are shared, callers close the responses and the {@link Lease} they got the client with, never the client itself.
+ * All the clients are dropped when the configuration changes. A client is replaced when the settings it was created with,
+ * i.e. the proxy, the trusted hosts, the timeouts or the pool size, have changed since. A dropped client is closed once
+ * its last lease is closed, so the requests in progress complete with it.
+ */
+@Service(Service.Level.PROJECT)
+public final class GraphQLHttpClientRegistry implements Disposable {
+  private static final Logger LOG = Logger.getInstance(GraphQLHttpClientRegistry.class);
+
+  private static final String[] CLIENT_REGISTRY_KEYS = {
+    "graphql.request.timeout",
+    "graphql.request.connect.timeout",
+    "graphql.request.max.connections",
+    "graphql.request.idle.timeout",
+  };
+
+  private final Project myProject;
+  private final Object myLock = new Object();
+  private final Map<ClientKey, Client> myClients = new HashMap<>();
+
+  public static GraphQLHttpClientRegistry getInstance(@NotNull Project project) {
+    return project.getService(GraphQLHttpClientRegistry.class);
+  }
+
+  public GraphQLHttpClientRegistry(@NotNull Project project) {
+    myProject = project;
+
+    MessageBusConnection connection = project.getMessageBus().connect(this);
+    connection.subscribe(GraphQLConfigListener.TOPIC, this::invalidate);
+  }
+
+  /**
+   * @return the lease of the client for the endpoint, it must be closed when the requests made with the client are done
+   */
+  public @NotNull Lease acquireHttpClient(@NotNull String url, @Nullable GraphQLConfigSecurity sslConfig)
+    throws GeneralSecurityException, IOException {
+    ClientKey key = new ClientKey(url, sslConfig, getClientSettings());
+    synchronized (myLock) {
+      Client client = myClients.get(key);
+      if (client != null) {
+        return new Lease(client);
+      }
+    }
+
+    // building the SSL context and the pool doesn't hold the other endpoints
+    Client created = new Client(GraphQLIntrospectionService.getInstance(myProject).createHttpClient(url, sslConfig));
+    List<CloseableHttpClient> unusedClients = new ArrayList<>();
+    try {
+      synchronized (myLock) {
+        Client client = myClients.putIfAbsent(key, created);
+        if (client != null) {
+          // created concurrently by another request
+          unusedClients.add(created.httpClient);
+          return new Lease(client);
+        }
+        // the client of the same endpoint created with the previous settings is never requested again
+        for (Iterator<Map.Entry<ClientKey, Client>> it = myClients.entrySet().iterator(); it.hasNext(); ) {
+          Map.Entry<ClientKey, Client> entry = it.next();
+          if (entry.getValue() != created && entry.getKey().isSameEndpoint(key)) {
+            it.remove();
+            entry.getValue().drop(unusedClients);
+          }
+        }
+        return new Lease(created);
+      }
+    }
+    finally {
+      close(unusedClients);
+    }
+  }
+
+  /**
+   * @return the values the clients are created with besides the endpoint itself
+   */
+  private @NotNull List<Object> getClientSettings() {
+    HttpConfigurable proxy = HttpConfigurable.getInstance();
+    String proxyPassword = proxy.getPlainProxyPassword();
+    List<Object> settings = new ArrayList<>(Arrays.asList(
+      PropertiesComponent.getInstance(myProject).isTrueValue(GraphQLIntrospectionService.GRAPHQL_TRUST_ALL_HOSTS),
+      proxy.USE_HTTP_PROXY, proxy.USE_PROXY_PAC, proxy.PROXY_TYPE_IS_SOCKS, proxy.PROXY_HOST, proxy.PROXY_PORT,
+      proxy.PROXY_EXCEPTIONS, proxy.PROXY_AUTHENTICATION, proxy.getProxyLogin(),
+      // the keys live as long as the clients, so they don't keep the password itself
+      proxyPassword != null ? DigestUtil.sha256Hex(proxyPassword.getBytes(StandardCharsets.UTF_8)) : null
+    ));
+    for (String registryKey : CLIENT_REGISTRY_KEYS) {
+      settings.add(Registry.stringValue(registryKey));
+    }
+    return settings;
+  }
+
+  /**
+   * Drops all the clients, the ones with requests in progress are closed when their requests are done.
+   */
+  public void invalidate() {
+    List<CloseableHttpClient> unusedClients = new ArrayList<>();
+    synchronized (myLock) {
+      for (Client client : myClients.values()) {
+        client.drop(unusedClients);
+      }
+      myClients.clear();
+    }
+
+    close(unusedClients);
+  }
+
+  private void release(@NotNull Client client) {
+    boolean unused;
+    synchronized (myLock) {
+      client.leases--;
+      unused = client.dropped && client.leases == 0;
+    }
+    if (unused) {
+      close(List.of(client.httpClient));
+    }
+  }
+
+  private static void close(@NotNull List<CloseableHttpClient> clients) {
+    for (CloseableHttpClient client : clients) {
+      try {
+        client.close();
+      }
+      catch (IOException e) {
+        LOG.info(e);
+      }
+    }
+  }
+
+  @Override
+  public void dispose() {
+    // the project is closed, so the requests still in progress are aborted
+    List<CloseableHttpClient> clients = new ArrayList<>();
+    synchronized (myLock) {
+      for (Client client : myClients.values()) {
+        clients.add(client.httpClient);
+      }
+      myClients.clear();
+    }
+    close(clients);
+  }
+
+  /**
+   * A client acquired for the requests of a single run, closing it releases the client.
+   */
+  public final class Lease implements AutoCloseable {
+    private final Client myClient;
+    private boolean myClosed;
+
+    private Lease(@NotNull Client client) {
+      // created under the lock
+      client.leases++;
+      myClient = client;
+    }
+
+    public @NotNull CloseableHttpClient getClient() {
+      return myClient.httpClient;
+    }
+
+    @Override
+    public void close() {
+      if (!myClosed) {
+        myClosed = true;
+        release(myClient);
+      }
+    }
+  }
+
+  private static final class Client {
+    private final CloseableHttpClient httpClient;
+    // guarded by myLock of the registry
+    private int leases;
+    private boolean dropped;
+
+    private Client(@NotNull CloseableHttpClient httpClient) {
+      this.httpClient = httpClient;
+    }
+
+    private void drop(@NotNull List<CloseableHttpClient> unusedClients) {
+      dropped = true;
+      if (leases == 0) {
+        unusedClients.add(httpClient);
+      }
+    }
+  }
+  private static final class ClientKey {
+    private final String url;
+    private final GraphQLConfigSecurity sslConfig;
+    private final List<Object> settings;
+
+    private ClientKey(@NotNull String url, @Nullable GraphQLConfigSecurity sslConfig, @NotNull List<Object> settings) {
+      this.url = url;
+      // the config is mutable, so a copy is used as a key
+      this.sslConfig = sslConfig != null ? sslConfig.copy(sslConfig.getClientCertificate(), sslConfig.getClientCertificateKey()) : null;
+      this.settings = settings;
+    }
+
+    private boolean isSameEndpoint(@NotNull ClientKey key) {
+      return url.equals(key.url) && Objects.equals(sslConfig, key.sslConfig);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ClientKey key = (ClientKey)o;
+      return isSameEndpoint(key) && settings.equals(key.settings);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(url, sslConfig, settings);
+    }
+  }
+}
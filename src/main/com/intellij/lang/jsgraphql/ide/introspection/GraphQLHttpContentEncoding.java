@@ -0,0 +1,144 @@
+package com.intellij.lang.jsgraphql.ide.introspection;
+
+import com.intellij.openapi.util.registry.Registry;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.entity.ContentType;
+import org.brotli.dec.BrotliInputStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Negotiates the compression of GraphQL requests and responses.
+ * <p>
+ * The clients are built with the content compression of the http client disabled, so the responses are decoded here
+ * and both the transferred and the decoded sizes are known.
+ */
+public final class GraphQLHttpContentEncoding {
+  public static final String ACCEPT_ENCODING = "gzip, br, deflate";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private GraphQLHttpContentEncoding() {
+  }
+
+  /**
+   * Asks for a compressed response and compresses the request body if it's large enough,
+   * see the {@code graphql.request.compression.threshold} registry key.
+   */
+  public static void prepareRequest(@NotNull HttpEntityEnclosingRequestBase request) {
+    request.setHeader(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+
+    HttpEntity entity = request.getEntity();
+    // not every server accepts compressed requests, so it's disabled by default
+    int threshold = Registry.intValue("graphql.request.compression.threshold", -1);
+    if (entity != null && threshold >= 0 && entity.getContentLength() >= threshold) {
+      request.setEntity(new GzipCompressingEntity(entity));
+    }
+  }
+
+  /**
+   * Opens the decoded content of the response. The caller must close the returned content.
+   */
+  public static @NotNull Content open(@NotNull HttpResponse response) throws IOException {
+    HttpEntity entity = response.getEntity();
+    if (entity == null) {
+      return new Content(new CountingInputStream(InputStream.nullInputStream()), null, null);
+    }
+
+    CountingInputStream wireStream = new CountingInputStream(new BufferedInputStream(entity.getContent(), BUFFER_SIZE));
+    Header encodingHeader = entity.getContentEncoding();
+    String encoding = encodingHeader != null ? encodingHeader.getValue() : null;
+    ContentType contentType = ContentType.get(entity);
+    Charset charset = contentType != null ? contentType.getCharset() : null;
+    try {
+      return new Content(wireStream, decode(wireStream, encoding), charset);
+    }
+    catch (IOException e) {
+      wireStream.close();
+      throw e;
+    }
+  }
+
+  private static @NotNull InputStream decode(@NotNull InputStream stream, String encoding) throws IOException {
+    if (encoding == null) {
+      return stream;
+    }
+
+    return switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+      case "", "identity" -> stream;
+      case "gzip", "x-gzip" -> new GZIPInputStream(stream, BUFFER_SIZE);
+      case "br" -> new BrotliInputStream(stream);
+      // zlib wrapped as the spec says, servers sending a raw deflate stream aren't supported
+      case "deflate" -> new DeflateInputStream(stream);
+      default -> throw new IOException("Unsupported content encoding: " + encoding);
+    };
+  }
+
+  /**
+   * Unlike with the default inflater of {@link InflaterInputStream}, an inflater passed to the constructor isn't ended on close,
+   * so its native memory would only be freed by the garbage collector.
+   */
+  private static final class DeflateInputStream extends InflaterInputStream {
+    private DeflateInputStream(@NotNull InputStream stream) {
+      super(stream, new Inflater(), BUFFER_SIZE);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      }
+      finally {
+        inf.end();
+      }
+    }
+  }
+
+  public static final class Content implements Closeable {
+    private final CountingInputStream myWireStream;
+    private final InputStream myStream;
+    private final Charset myCharset;
+
+    private Content(@NotNull CountingInputStream wireStream, InputStream stream, Charset charset) {
+      myWireStream = wireStream;
+      myStream = stream != null ? stream : wireStream;
+      myCharset = charset;
+    }
+
+    /**
+     * @return the decoded content
+     */
+    public @NotNull InputStream getStream() {
+      return myStream;
+    }
+
+    public @NotNull String readText() throws IOException {
+      return new String(myStream.readAllBytes(), myCharset != null ? myCharset : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the number of bytes read from the connection so far
+     */
+    public long getTransferredSize() {
+      return myWireStream.getByteCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+      myStream.close();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.intellij.lang.jsgraphql.ide.introspection;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The introspection result an output file was written with, stored in the project properties by
+ * {@link GraphQLIntrospectionService}. The file stamp tells whether the file still has that result,
+ * and the ETag is only sent back for the same request.
+ */
+public final class GraphQLIntrospectionResultStamp {
+  private final String myResultHash;
+  private final long myTimeStamp;
+  private final long myLength;
+  private final String myRequestHash;
+  private final @Nullable String myEtag;
+
+  public GraphQLIntrospectionResultStamp(@NotNull String resultHash,
+                                         long timeStamp,
+                                         long length,
+                                         @NotNull String requestHash,
+                                         @Nullable String etag) {
+    myResultHash = resultHash;
+    myTimeStamp = timeStamp;
+    myLength = length;
+    myRequestHash = requestHash;
+    myEtag = etag;
+  }
+
+  public @NotNull String getResultHash() {
+    return myResultHash;
+  }
+
+  public long getTimeStamp() {
+    return myTimeStamp;
+  }
+
+  public long getLength() {
+    return myLength;
+  }
+
+  public @NotNull String getRequestHash() {
+    return myRequestHash;
+  }
+
+  public @Nullable String getEtag() {
+    return myEtag;
+  }
+
+  public boolean isFor(@NotNull VirtualFile file) {
+    return myTimeStamp == file.getTimeStamp() && myLength == file.getLength();
+  }
+
+  public @NotNull String format() {
+    // the ETag is an arbitrary quoted string, so it goes last
+    return myResultHash + "|" + myTimeStamp + "|" + myLength + "|" + myRequestHash + "|" + StringUtil.notNullize(myEtag);
+  }
+
+  public static @Nullable GraphQLIntrospectionResultStamp parse(@Nullable String value) {
+    if (value == null) {
+      return null;
+    }
+    String[] parts = value.split("\\|", 5);
+    if (parts.length != 5) {
+      // stored by a previous version, the result will be written again
+      return null;
+    }
+    try {
+      return new GraphQLIntrospectionResultStamp(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]), parts[3],
+                                                 StringUtil.nullize(parts[4]));
+    }
+    catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
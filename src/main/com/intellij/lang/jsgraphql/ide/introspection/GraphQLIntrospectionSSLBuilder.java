@@ -3,11 +3,11 @@ package com.intellij.lang.jsgraphql.ide.introspection;
 import com.intellij.lang.jsgraphql.ide.config.model.GraphQLConfigCertificate;
 import com.intellij.lang.jsgraphql.ide.config.model.GraphQLConfigSecurity;
 import org.apache.http.conn.ssl.TrustAllStrategy;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.net.ssl.SSLContext;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
@@ -109,7 +109,10 @@ public final class GraphQLIntrospectionSSLBuilder {
     return privateKey;
   }
 
-  public static void loadCustomSSLConfiguration(@Nullable GraphQLConfigSecurity sslConfig, @NotNull HttpClientBuilder builder)
+  /**
+   * @return the context with the client certificate of the config or null if there's no certificate configured
+   */
+  public static @Nullable SSLContext createCustomSSLContext(@Nullable GraphQLConfigSecurity sslConfig)
     throws UnsupportedEncodingException, NoSuchAlgorithmException, KeyManagementException, KeyStoreException,
            UnrecoverableKeyException {
     if (sslConfig != null && sslConfig.getClientCertificate() != null && sslConfig.getClientCertificateKey() != null) {
@@ -121,12 +124,11 @@ public final class GraphQLIntrospectionSSLBuilder {
       GraphQLConfigCertificate.Encoding keyFormat = sslConfig.getClientCertificateKey().getFormat();
 
       KeyStore store = makeKeyStore(certPath, keyPath, keyFormat);
-      builder.setSSLContext(
-        new SSLContextBuilder()
-          .loadTrustMaterial(null, TrustAllStrategy.INSTANCE)
-          .loadKeyMaterial(store, null)
-          .build()
-      );
+      return new SSLContextBuilder()
+        .loadTrustMaterial(null, TrustAllStrategy.INSTANCE)
+        .loadKeyMaterial(store, null)
+        .build();
     }
+    return null;
   }
 }
@@ -17,11 +17,15 @@ import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigListener;
 import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigProvider;
 import com.intellij.lang.jsgraphql.ide.config.model.*;
 import com.intellij.lang.jsgraphql.ide.notifications.GraphQLNotificationUtil;
+import com.intellij.lang.jsgraphql.psi.GraphQLFile;
 import com.intellij.lang.jsgraphql.schema.GraphQLKnownTypes;
 import com.intellij.lang.jsgraphql.schema.GraphQLRegistryInfo;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaInfo;
 import com.intellij.lang.jsgraphql.types.GraphQLError;
 import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.schema.diff.DiffEvent;
+import com.intellij.lang.jsgraphql.types.schema.diff.SchemaDiff;
+import com.intellij.lang.jsgraphql.types.schema.diff.reporting.CapturingReporter;
 import com.intellij.lang.jsgraphql.types.schema.idl.SchemaParser;
 import com.intellij.lang.jsgraphql.types.schema.idl.SchemaPrinter;
 import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator;
@@ -45,52 +49,69 @@ import com.intellij.openapi.fileTypes.PlainTextLanguage;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.SensitiveProgressWrapper;
 import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.registry.Registry;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.PsiManager;
 import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.psi.impl.file.PsiDirectoryFactory;
 import com.intellij.util.Consumer;
 import com.intellij.util.ExceptionUtil;
 import com.intellij.util.ObjectUtils;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.concurrency.annotations.RequiresWriteLock;
 import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.io.DigestUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.util.net.IdeHttpClientHelpers;
 import com.intellij.util.net.ssl.CertificateManager;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.util.PublicSuffixMatcherLoader;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.*;
-import org.apache.http.util.EntityUtils;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.security.cert.CertificateException;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.intellij.lang.jsgraphql.ide.notifications.GraphQLNotificationUtil.GRAPHQL_NOTIFICATION_GROUP_ID;
 import static com.intellij.lang.jsgraphql.ui.GraphQLUIProjectService.setHeadersFromOptions;
@@ -101,6 +122,9 @@ public final class GraphQLIntrospectionService implements Disposable {
 
   public static final String GRAPHQL_TRUST_ALL_HOSTS = "graphql.trust.all.hosts";
 
+  private static final String INTROSPECTION_RESULT_KEY_PREFIX = "graphql.introspection.result.";
+  private static final int MAX_REPORTED_SCHEMA_CHANGES = 10;
+
   private volatile GraphQLIntrospectionTask latestIntrospection = null;
   private final AtomicBoolean myIntrospected = new AtomicBoolean();
   private final Project myProject;
@@ -123,6 +147,41 @@ public final class GraphQLIntrospectionService implements Disposable {
   }
 
   public void performIntrospectionQuery(@NotNull GraphQLConfigEndpoint endpoint) {
+    IntrospectionQueryTask task = createIntrospectionQueryTask(endpoint);
+    if (task != null) {
+      runIntrospectionQueryTask(task);
+    }
+  }
+
+  private void runIntrospectionQueryTask(@NotNull IntrospectionQueryTask task) {
+    latestIntrospection = new GraphQLIntrospectionTask(task.endpoint, () -> performIntrospectionQuery(task.endpoint));
+    ProgressManager.getInstance().run(task);
+  }
+
+  /**
+   * Introspects the endpoints concurrently in a single background task with one summary notification.
+   * The number of parallel requests and the time limit for each of them are set in the registry.
+   */
+  public void performIntrospectionQueries(@NotNull Collection<GraphQLConfigEndpoint> endpoints) {
+    List<IntrospectionQueryTask> tasks = new ArrayList<>();
+    Set<String> visitedPaths = new HashSet<>();
+    for (GraphQLConfigEndpoint endpoint : endpoints) {
+      IntrospectionQueryTask task = createIntrospectionQueryTask(endpoint);
+      // the endpoints of the same output file would overwrite each other's results
+      if (task != null && visitedPaths.add(FileUtil.toSystemIndependentName(task.filePath))) {
+        tasks.add(task);
+      }
+    }
+
+    if (tasks.size() == 1) {
+      runIntrospectionQueryTask(tasks.get(0));
+    }
+    else if (!tasks.isEmpty()) {
+      ProgressManager.getInstance().run(new BatchIntrospectionTask(tasks));
+    }
+  }
+
+  private @Nullable IntrospectionQueryTask createIntrospectionQueryTask(@NotNull GraphQLConfigEndpoint endpoint) {
     GraphQLProjectConfig projectConfig = endpoint.getConfig();
     VirtualFile configFile = projectConfig != null ? projectConfig.getFile() : null;
     if (projectConfig == null || configFile == null) {
@@ -131,11 +190,11 @@ public final class GraphQLIntrospectionService implements Disposable {
         endpoint.getFile(),
         myProject
       );
-      return;
+      return null;
     }
 
     endpoint = GraphQLIntrospectionUtil.promptForEnvVariables(myProject, endpoint);
-    if (endpoint == null) return;
+    if (endpoint == null) return null;
 
     if (StringUtil.isEmptyOrSpaces(endpoint.getUrl())) {
       GraphQLNotificationUtil.showInvalidConfigurationNotification(
@@ -143,7 +202,7 @@ public final class GraphQLIntrospectionService implements Disposable {
         endpoint.getFile(),
         myProject
       );
-      return;
+      return null;
     }
 
     GraphQLSchemaPointer pointer = endpoint.getSchemaPointer();
@@ -170,18 +229,14 @@ public final class GraphQLIntrospectionService implements Disposable {
           myProject
         );
       }
-      return;
+      return null;
     }
 
-    performIntrospectionQuery(endpoint, schemaPath);
+    return createIntrospectionQueryTask(endpoint, schemaPath);
   }
 
-  private void performIntrospectionQuery(@NotNull GraphQLConfigEndpoint endpoint, @NotNull String schemaPath) {
-    latestIntrospection = new GraphQLIntrospectionTask(
-      endpoint,
-      () -> performIntrospectionQuery(endpoint)
-    );
-
+  private @Nullable IntrospectionQueryTask createIntrospectionQueryTask(@NotNull GraphQLConfigEndpoint endpoint,
+                                                                       @NotNull String schemaPath) {
     final NotificationAction retry = new NotificationAction(GraphQLBundle.message("graphql.notification.retry")) {
 
       @Override
@@ -198,12 +253,13 @@ public final class GraphQLIntrospectionService implements Disposable {
 
       final String requestJson = "{\"query\":\"" + EscapeUtil.escapeJsonString(query) + "\"}";
       HttpPost request = createRequest(endpoint, url, requestJson);
-      Task.Backgroundable task = new IntrospectionQueryTask(request, schemaPath, retry, settings, endpoint, url);
-      ProgressManager.getInstance().run(task);
+      String requestHash = computeIntrospectionRequestHash(request, requestJson);
+      return new IntrospectionQueryTask(request, requestHash, schemaPath, retry, settings, endpoint, url);
     }
     catch (IllegalStateException | IllegalArgumentException e) {
       LOG.warn(e);
       GraphQLNotificationUtil.showGraphQLRequestErrorNotification(myProject, url, e, NotificationType.ERROR, retry);
+      return null;
     }
   }
 
@@ -230,21 +286,41 @@ public final class GraphQLIntrospectionService implements Disposable {
                                        @NotNull String requestJson) {
     HttpPost request = new HttpPost(url);
     request.setEntity(new StringEntity(requestJson, ContentType.APPLICATION_JSON));
+    GraphQLHttpContentEncoding.prepareRequest(request);
     setHeadersFromOptions(endpoint, request);
     return request;
   }
 
+  /**
+   * Creates a new client with a connection pool, prefer the shared clients of {@link GraphQLHttpClientRegistry}.
+   */
   public @NotNull CloseableHttpClient createHttpClient(@NotNull String url, @Nullable GraphQLConfigSecurity sslConfig)
     throws NoSuchAlgorithmException, KeyManagementException, KeyStoreException, IOException, UnrecoverableKeyException,
            CertificateException {
-    HttpClientBuilder builder = HttpClients.custom()
+    SSLContext sslContext = GraphQLIntrospectionSSLBuilder.createCustomSSLContext(sslConfig);
+    // the socket factories and the resolver record the phases of the requests, see GraphQLRequestTimings
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+      RegistryBuilder.<ConnectionSocketFactory>create()
+        .register("http", new GraphQLRequestTimings.TimingPlainSocketFactory())
+        .register("https", new GraphQLRequestTimings.TimingSSLSocketFactory(
+          sslContext != null ? sslContext : CertificateManager.getInstance().getSslContext(), createHostnameVerifier()))
+        .build(),
+      GraphQLRequestTimings.DNS_RESOLVER
+    );
+    connectionManager.setMaxTotal(Registry.intValue("graphql.request.max.connections", 10));
+    connectionManager.setDefaultMaxPerRoute(Registry.intValue("graphql.request.max.connections", 10));
+
+    return HttpClients.custom()
+      .setConnectionManager(connectionManager)
       .setDefaultRequestConfig(createRequestConfig(url))
-      .setSSLContext(CertificateManager.getInstance().getSslContext())
       .setDefaultCredentialsProvider(createCredentialsProvider(url))
       .setRedirectStrategy(LaxRedirectStrategy.INSTANCE)
-      .setSSLHostnameVerifier(createHostnameVerifier());
-    GraphQLIntrospectionSSLBuilder.loadCustomSSLConfiguration(sslConfig, builder);
-    return builder.build();
+      // the responses are decoded by GraphQLHttpContentEncoding, which also supports brotli
+      .disableContentCompression()
+      .addInterceptorLast(GraphQLRequestTimings.REQUEST_INTERCEPTOR)
+      .evictExpiredConnections()
+      .evictIdleConnections(Registry.intValue("graphql.request.idle.timeout", 60000), TimeUnit.MILLISECONDS)
+      .build();
   }
 
   private static @NotNull RequestConfig createRequestConfig(@NotNull String url) {
@@ -317,6 +393,32 @@ public final class GraphQLIntrospectionService implements Disposable {
 
   @NotNull
   public String printIntrospectionAsGraphQL(@NotNull Map<String, Object> introspection) {
+    StringBuilder sb = new StringBuilder();
+    try {
+      printIntrospectionAsGraphQL(introspection, sb);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e); // can't happen for a StringBuilder
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Prints the schema type by type, so large schemas can be written to a file without holding the whole SDL text in memory.
+   */
+  public void printIntrospectionAsGraphQL(@NotNull String introspectionJson, @NotNull Appendable out) throws IOException {
+    printIntrospectionAsGraphQL(parseIntrospectionJson(introspectionJson), out);
+  }
+
+  public void printIntrospectionAsGraphQL(@NotNull Map<String, Object> introspection, @NotNull Appendable out) throws IOException {
+    printIntrospectionAsGraphQL(createIntrospectionDocument(introspection), out);
+  }
+
+  /**
+   * Note that the default values are removed from the passed introspection if they are disabled in the settings.
+   */
+  @NotNull
+  Document createIntrospectionDocument(@NotNull Map<String, Object> introspection) {
     introspection = getIntrospectionSchemaData(introspection);
 
     if (!GraphQLSettings.getSettings(myProject).isEnableIntrospectionDefaultValues()) {
@@ -334,8 +436,10 @@ public final class GraphQLIntrospectionService implements Disposable {
       defaultValueVisitJson.get().consume(introspection);
     }
 
-    final Document schemaDefinition = new GraphQLIntrospectionResultToSchema(myProject)
-      .createSchemaDefinition(introspection);
+    return new GraphQLIntrospectionResultToSchema(myProject).createSchemaDefinition(introspection);
+  }
+
+  private void printIntrospectionAsGraphQL(@NotNull Document schemaDefinition, @NotNull Appendable out) throws IOException {
     final SchemaPrinter.Options options = SchemaPrinter.Options
       .defaultOptions()
       .includeScalarTypes(true)
@@ -358,9 +462,9 @@ public final class GraphQLIntrospectionService implements Disposable {
     }
 
     try {
-      return new SchemaPrinter(myProject, options).print(schemaInfo.getSchema());
+      new SchemaPrinter(myProject, options).print(schemaInfo.getSchema(), out, Registry.is("graphql.schema.print.parallel"));
     }
-    catch (ProcessCanceledException e) {
+    catch (ProcessCanceledException | IOException e) {
       throw e;
     }
     catch (Exception e) {
@@ -407,15 +511,29 @@ public final class GraphQLIntrospectionService implements Disposable {
     SDL
   }
 
-  void createOrUpdateIntrospectionOutputFile(@NotNull String schemaText,
-                                             @NotNull IntrospectionOutputFormat format,
-                                             @NotNull String outputFileName,
-                                             @NotNull VirtualFile dir) {
+  /**
+   * @return the written file or null if it couldn't be written
+   */
+  @Nullable
+  VirtualFile createOrUpdateIntrospectionOutputFile(@NotNull String schemaText,
+                                                    @NotNull IntrospectionOutputFormat format,
+                                                    @NotNull String outputFileName,
+                                                    @NotNull VirtualFile dir) {
+    return createOrUpdateIntrospectionOutputFile(schemaText, format, outputFileName, dir, true);
+  }
+
+  @Nullable
+  private VirtualFile createOrUpdateIntrospectionOutputFile(@NotNull String schemaText,
+                                                            @NotNull IntrospectionOutputFormat format,
+                                                            @NotNull String outputFileName,
+                                                            @NotNull VirtualFile dir,
+                                                            boolean openInEditor) {
     String header = switch (format) {
       case SDL -> "# This file was generated. Do not edit manually.\n\n";
       case JSON -> "";
     };
 
+    Ref<VirtualFile> result = Ref.create();
     WriteCommandAction.runWriteCommandAction(myProject, () -> {
       try {
         FileDocumentManager fileDocumentManager = FileDocumentManager.getInstance();
@@ -435,7 +553,10 @@ public final class GraphQLIntrospectionService implements Disposable {
           psiDocumentManager.commitDocument(document);
           fileDocumentManager.saveDocument(document);
         }
-        openSchemaInEditor(outputFile);
+        if (openInEditor) {
+          openSchemaInEditor(outputFile);
+        }
+        result.set(outputFile);
       }
       catch (ProcessCanceledException e) {
         throw e;
@@ -454,6 +575,102 @@ public final class GraphQLIntrospectionService implements Disposable {
         LOG.error(e);
       }
     });
+    return result.get();
+  }
+
+  /**
+   * The hash of the introspection response is stored together with the output file stamp, so a repeated introspection
+   * returning the same result is recognized without parsing it and the file isn't touched. A file changed since then,
+   * even if not saved yet, is always rewritten.
+   *
+   * @return the stamp of the latest result if the output file hasn't been changed since it was written
+   */
+  private @Nullable GraphQLIntrospectionResultStamp findIntrospectionResultStamp(@NotNull String filePath) {
+    GraphQLIntrospectionResultStamp stamp =
+      GraphQLIntrospectionResultStamp.parse(PropertiesComponent.getInstance(myProject).getValue(getIntrospectionResultKey(filePath)));
+    if (stamp == null) {
+      return null;
+    }
+    VirtualFile file = LocalFileSystem.getInstance().findFileByPath(FileUtil.toSystemIndependentName(filePath));
+    return file != null && file.isValid() &&
+           !FileDocumentManager.getInstance().isFileModified(file) &&
+           stamp.isFor(file) ? stamp : null;
+  }
+
+  private void storeIntrospectionResultStamp(@NotNull String filePath,
+                                             @NotNull String resultHash,
+                                             @NotNull String requestHash,
+                                             @Nullable String etag,
+                                             @NotNull VirtualFile file) {
+    PropertiesComponent.getInstance(myProject).setValue(
+      getIntrospectionResultKey(filePath),
+      new GraphQLIntrospectionResultStamp(resultHash, file.getTimeStamp(), file.getLength(), requestHash, etag).format()
+    );
+  }
+
+  private static @NotNull String getIntrospectionResultKey(@NotNull String filePath) {
+    return INTROSPECTION_RESULT_KEY_PREFIX + FileUtil.toSystemIndependentName(filePath);
+  }
+
+  /**
+   * An ETag is only valid for the same request, so the url, the headers and the query are a part of the hash.
+   */
+  private static @NotNull String computeIntrospectionRequestHash(@NotNull HttpUriRequest request, @NotNull String requestJson) {
+    StringBuilder builder = new StringBuilder(request.getURI().toString()).append('|').append(requestJson);
+    for (Header header : request.getAllHeaders()) {
+      builder.append('|').append(header.getName()).append(':').append(header.getValue());
+    }
+    return DigestUtil.sha256Hex(builder.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * The printed schema sorts the types and the fields by name, so a response that is only reordered or reformatted
+   * has the same hash. The output depends on the settings as well, so they are a part of the hash.
+   */
+  private static @NotNull String computeIntrospectionResultHash(@NotNull String schemaAsSDL,
+                                                                @NotNull IntrospectionOutputFormat format,
+                                                                @NotNull GraphQLSettings settings) {
+    String suffix = "|" + format + "|" + settings.isEnableIntrospectionDefaultValues();
+    return DigestUtil.sha256Hex((schemaAsSDL + suffix).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void showSchemaChangesNotification(@NotNull String url,
+                                             @NotNull CapturingReporter changes,
+                                             @NotNull VirtualFile schemaFile) {
+    List<DiffEvent> events = ContainerUtil.concat(changes.getBreakages(), changes.getDangers());
+    if (events.isEmpty()) {
+      return;
+    }
+
+    StringBuilder content = new StringBuilder(GraphQLBundle.message(
+      "graphql.notification.introspection.schema.changes.body", url, changes.getBreakageCount(), changes.getDangerCount()));
+    for (DiffEvent event : ContainerUtil.getFirstItems(events, MAX_REPORTED_SCHEMA_CHANGES)) {
+      content.append("<br/>").append(StringUtil.escapeXmlEntities(event.getReasonMsg()));
+    }
+    if (events.size() > MAX_REPORTED_SCHEMA_CHANGES) {
+      content.append("<br/>")
+        .append(GraphQLBundle.message("graphql.notification.introspection.schema.changes.more",
+                                      events.size() - MAX_REPORTED_SCHEMA_CHANGES));
+    }
+
+    Notification notification = new Notification(
+      GRAPHQL_NOTIFICATION_GROUP_ID,
+      GraphQLBundle.message("graphql.notification.introspection.schema.changes.title"),
+      content.toString(),
+      changes.getBreakageCount() > 0 ? NotificationType.WARNING : NotificationType.INFORMATION
+    );
+    notification.addAction(new NotificationAction(GraphQLBundle.message("graphql.notification.content.open.schema.file")) {
+      @Override
+      public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
+        if (schemaFile.isValid()) {
+          FileEditorManager.getInstance(myProject).openFile(schemaFile, true);
+        }
+        else {
+          notification.expire();
+        }
+      }
+    });
+    Notifications.Bus.notify(notification, myProject);
   }
 
   private void openSchemaInEditor(@NotNull VirtualFile file) {
@@ -502,6 +719,7 @@ public final class GraphQLIntrospectionService implements Disposable {
     DumbService.getInstance(myProject).smartInvokeLater(() -> {
       ApplicationManager.getApplication().executeOnPooledThread(() -> {
         Set<String> visitedUrls = new HashSet<>();
+        Map<GraphQLConfigEndpoint, String> introspectedEndpoints = new LinkedHashMap<>();
 
         var configList = GraphQLConfigProvider.getInstance(myProject).getAllConfigs().stream()
           .map(GraphQLConfig::getDefault)
@@ -525,60 +743,92 @@ public final class GraphQLIntrospectionService implements Disposable {
               continue;
             }
             String url = endpoint.getUrl();
-            if (!visitedUrls.add(url)) {
-              continue;
-            }
-
-            final Notification introspect = new Notification(
-              GRAPHQL_NOTIFICATION_GROUP_ID,
-              GraphQLBundle.message("graphql.notification.load.schema.from.endpoint.title"),
-              GraphQLBundle.message("graphql.notification.load.schema.from.endpoint.body", endpoint.getDisplayName()),
-              NotificationType.INFORMATION
-            ).setImportant(true);
-
-
-            introspect.addAction(new NotificationAction(
-              GraphQLBundle.message("graphql.notification.load.schema.from.endpoint.action", url)) {
-              @Override
-              public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
-                performIntrospectionQuery(endpoint);
-              }
-            });
-
-            final VirtualFile schemaFile = ReadAction.compute(() -> LocalFileSystem.getInstance().findFileByPath(schemaPath));
-            if (schemaFile != null) {
-              introspect.addAction(new NotificationAction(GraphQLBundle.message("graphql.notification.content.open.schema.file")) {
-                @Override
-                public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
-                  if (schemaFile.isValid()) {
-                    FileEditorManager.getInstance(myProject).openFile(schemaFile, true);
-                  }
-                  else {
-                    notification.expire();
-                  }
-                }
-              });
+            if (visitedUrls.add(url)) {
+              introspectedEndpoints.put(endpoint, schemaPath);
             }
-            Notifications.Bus.notify(introspect);
           }
         }
+
+        if (introspectedEndpoints.size() > 1) {
+          notifyIntrospectionAvailable(introspectedEndpoints.keySet());
+        }
+        else {
+          introspectedEndpoints.forEach(this::notifyIntrospectionAvailable);
+        }
       });
     }, ModalityState.nonModal());
   }
 
+  private void notifyIntrospectionAvailable(@NotNull Collection<GraphQLConfigEndpoint> endpoints) {
+    Notification introspect = new Notification(
+      GRAPHQL_NOTIFICATION_GROUP_ID,
+      GraphQLBundle.message("graphql.notification.load.schema.from.endpoint.title"),
+      GraphQLBundle.message("graphql.notification.load.schema.from.endpoints.body", endpoints.size()),
+      NotificationType.INFORMATION
+    ).setImportant(true);
+
+    List<GraphQLConfigEndpoint> introspectedEndpoints = new ArrayList<>(endpoints);
+    introspect.addAction(new NotificationAction(GraphQLBundle.message("graphql.notification.load.schema.from.endpoints.action")) {
+      @Override
+      public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
+        notification.expire();
+        performIntrospectionQueries(introspectedEndpoints);
+      }
+    });
+    Notifications.Bus.notify(introspect);
+  }
+
+  private void notifyIntrospectionAvailable(@NotNull GraphQLConfigEndpoint endpoint, @NotNull String schemaPath) {
+    String url = endpoint.getUrl();
+    Notification introspect = new Notification(
+      GRAPHQL_NOTIFICATION_GROUP_ID,
+      GraphQLBundle.message("graphql.notification.load.schema.from.endpoint.title"),
+      GraphQLBundle.message("graphql.notification.load.schema.from.endpoint.body", endpoint.getDisplayName()),
+      NotificationType.INFORMATION
+    ).setImportant(true);
+
+    introspect.addAction(new NotificationAction(
+      GraphQLBundle.message("graphql.notification.load.schema.from.endpoint.action", url)) {
+      @Override
+      public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
+        performIntrospectionQuery(endpoint);
+      }
+    });
+
+    VirtualFile schemaFile = ReadAction.compute(() -> LocalFileSystem.getInstance().findFileByPath(schemaPath));
+    if (schemaFile != null) {
+      introspect.addAction(new NotificationAction(GraphQLBundle.message("graphql.notification.content.open.schema.file")) {
+        @Override
+        public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
+          if (schemaFile.isValid()) {
+            FileEditorManager.getInstance(myProject).openFile(schemaFile, true);
+          }
+          else {
+            notification.expire();
+          }
+        }
+      });
+    }
+    Notifications.Bus.notify(introspect);
+  }
+
   @Override
   public void dispose() {
   }
 
   private class IntrospectionQueryTask extends Task.Backgroundable {
     private final HttpUriRequest request;
+    private final String requestHash;
     private final String filePath;
     private final NotificationAction retry;
     private final GraphQLSettings graphQLSettings;
     private final GraphQLConfigEndpoint endpoint;
     private final String url;
+    private volatile @Nullable BatchIntrospectionTask batch;
+    private volatile boolean timedOut;
 
     private IntrospectionQueryTask(@NotNull HttpUriRequest request,
+                                   @NotNull String requestHash,
                                    @NotNull String filePath,
                                    @NotNull NotificationAction retry,
                                    @NotNull GraphQLSettings graphQLSettings,
@@ -590,6 +840,7 @@ public final class GraphQLIntrospectionService implements Disposable {
         false
       );
       this.request = request;
+      this.requestHash = requestHash;
       this.filePath = FileUtil.toSystemDependentName(filePath);
       this.retry = retry;
       this.graphQLSettings = graphQLSettings;
@@ -599,28 +850,75 @@ public final class GraphQLIntrospectionService implements Disposable {
 
     @Override
     public void run(@NotNull ProgressIndicator indicator) {
+      indicator.setIndeterminate(true);
+      introspect();
+    }
+
+    private void introspect() {
       if (myProject == null) {
         return;
       }
 
-      indicator.setIndeterminate(true);
+      BatchIntrospectionTask batch = this.batch;
+      GraphQLIntrospectionResultStamp previousStamp = findIntrospectionResultStamp(filePath);
+      if (previousStamp != null && previousStamp.getEtag() != null && previousStamp.getRequestHash().equals(requestHash)) {
+        // the output file still has the result the ETag was received with, so the server can answer with 304
+        request.setHeader(HttpHeaders.IF_NONE_MATCH, previousStamp.getEtag());
+      }
+      else {
+        request.removeHeaders(HttpHeaders.IF_NONE_MATCH);
+      }
+
       String responseJson;
+      String etag;
       GraphQLProjectConfig config = endpoint.getConfig();
       GraphQLConfigSecurity sslConfig = config != null ? GraphQLConfigSecurity.getSecurityConfig(config) : null;
-      try (final CloseableHttpClient httpClient = createHttpClient(url, sslConfig);
-           final CloseableHttpResponse response = httpClient.execute(request)) {
-        responseJson = ObjectUtils.coalesce(EntityUtils.toString(response.getEntity()), "");
+      // a single slow endpoint shouldn't hold the whole batch
+      ScheduledFuture<?> timeout = batch != null ? AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> {
+        timedOut = true;
+        request.abort();
+      }, batch.myTimeout, TimeUnit.MILLISECONDS) : null;
+      try (GraphQLHttpClientRegistry.Lease lease = GraphQLHttpClientRegistry.getInstance(myProject).acquireHttpClient(url, sslConfig);
+           final CloseableHttpResponse response = lease.getClient().execute(request);
+           GraphQLHttpContentEncoding.Content content = GraphQLHttpContentEncoding.open(response)) {
+        if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED && previousStamp != null) {
+          LOG.debug("Introspection result is not modified: " + url);
+          notifySchemaUnchanged();
+          return;
+        }
+        Header etagHeader = response.getFirstHeader(HttpHeaders.ETAG);
+        etag = etagHeader != null ? etagHeader.getValue() : null;
+        responseJson = content.readText();
+        if (LOG.isDebugEnabled()) {
+          LOG.debug(String.format("Introspection response from %s: %d bytes transferred, %d characters decoded",
+                                  url, content.getTransferredSize(), responseJson.length()));
+        }
       }
       catch (IOException | GeneralSecurityException e) {
         LOG.warn(e);
-        GraphQLNotificationUtil.showGraphQLRequestErrorNotification(myProject, url, e, NotificationType.WARNING, retry);
+        if (batch != null) {
+          batch.failed(this, timedOut
+                             ? GraphQLBundle.message("graphql.notification.introspection.batch.timeout", batch.myTimeout)
+                             : GraphQLNotificationUtil.formatExceptionMessage(e));
+        }
+        else {
+          GraphQLNotificationUtil.showGraphQLRequestErrorNotification(myProject, url, e, NotificationType.WARNING, retry);
+        }
         return;
       }
+      finally {
+        if (timeout != null) {
+          timeout.cancel(false);
+        }
+      }
+
+      IntrospectionOutputFormat format = filePath.endsWith(".json")
+                                         ? IntrospectionOutputFormat.JSON : IntrospectionOutputFormat.SDL;
 
       Map<String, Object> introspection;
       try {
         introspection = parseIntrospectionJson(responseJson);
-        if (getErrorCount(introspection) > 0) {
+        if (getErrorCount(introspection) > 0 && batch == null) {
           GraphQLUIProjectService.getService(myProject).showQueryResult(responseJson);
         }
       }
@@ -629,13 +927,14 @@ public final class GraphQLIntrospectionService implements Disposable {
         return;
       }
 
-      IntrospectionOutputFormat format = filePath.endsWith(".json")
-                                         ? IntrospectionOutputFormat.JSON : IntrospectionOutputFormat.SDL;
-      String schemaText;
+      Document schemaDocument;
+      String schemaAsSDL;
       try {
         // always try to print the schema to validate it since that will be done in schema discovery of the JSON anyway
-        final String schemaAsSDL = printIntrospectionAsGraphQL(introspection);
-        schemaText = format == IntrospectionOutputFormat.SDL ? schemaAsSDL : responseJson;
+        schemaDocument = createIntrospectionDocument(introspection);
+        StringBuilder builder = new StringBuilder();
+        printIntrospectionAsGraphQL(schemaDocument, builder);
+        schemaAsSDL = builder.toString();
       }
       catch (ProcessCanceledException exception) {
         throw exception;
@@ -645,7 +944,23 @@ public final class GraphQLIntrospectionService implements Disposable {
         return;
       }
 
-      ApplicationManager.getApplication().invokeLater(() -> {
+      String resultHash = computeIntrospectionResultHash(schemaAsSDL, format, graphQLSettings);
+      if (previousStamp != null && previousStamp.getResultHash().equals(resultHash)) {
+        if (!Objects.equals(previousStamp.getEtag(), etag) || !previousStamp.getRequestHash().equals(requestHash)) {
+          VirtualFile file = LocalFileSystem.getInstance().findFileByPath(FileUtil.toSystemIndependentName(filePath));
+          if (file != null) {
+            storeIntrospectionResultStamp(filePath, resultHash, requestHash, etag, file);
+          }
+        }
+        notifySchemaUnchanged();
+        return;
+      }
+
+      String schemaText = format == IntrospectionOutputFormat.SDL ? schemaAsSDL : responseJson;
+
+      CapturingReporter changes = diffWithPreviousSchema(format, schemaDocument);
+
+      Runnable write = () -> {
         try {
           File file = new File(filePath);
           FileUtil.createParentDirs(file);
@@ -654,7 +969,20 @@ public final class GraphQLIntrospectionService implements Disposable {
           if (dir == null) {
             throw new IOException("unable to create target directory: path=" + filePath);
           }
-          createOrUpdateIntrospectionOutputFile(schemaText, format, file.getName(), dir);
+          VirtualFile outputFile =
+            createOrUpdateIntrospectionOutputFile(schemaText, format, file.getName(), dir, batch == null);
+          if (outputFile != null) {
+            storeIntrospectionResultStamp(filePath, resultHash, requestHash, etag, outputFile);
+            if (batch != null) {
+              batch.updated(this, changes);
+            }
+            else if (changes != null) {
+              showSchemaChangesNotification(url, changes, outputFile);
+            }
+          }
+          else if (batch != null) {
+            batch.failed(this, null);
+          }
         }
         catch (ProcessCanceledException exception) {
           throw exception;
@@ -662,7 +990,66 @@ public final class GraphQLIntrospectionService implements Disposable {
         catch (Exception e) {
           handleIntrospectionError(e, null, responseJson);
         }
-      });
+      };
+
+      if (batch != null) {
+        // the next endpoint is fetched and converted by this thread only after the file is written
+        ApplicationManager.getApplication().invokeAndWait(write, batch.myModalityState);
+      }
+      else {
+        ApplicationManager.getApplication().invokeLater(write);
+      }
+    }
+
+    private void notifySchemaUnchanged() {
+      BatchIntrospectionTask batch = this.batch;
+      if (batch != null) {
+        batch.unchanged(this);
+        return;
+      }
+
+      Notifications.Bus.notify(new Notification(
+        GRAPHQL_NOTIFICATION_GROUP_ID,
+        GraphQLBundle.message("graphql.notification.introspection.schema.changes.title"),
+        GraphQLBundle.message("graphql.notification.introspection.schema.unchanged", url),
+        NotificationType.INFORMATION
+      ), myProject);
+    }
+
+    /**
+     * @return the changes compared to the schema currently stored in the output file or null if there's nothing to compare with
+     */
+    private @Nullable CapturingReporter diffWithPreviousSchema(@NotNull IntrospectionOutputFormat format,
+                                                               @NotNull Document schemaDocument) {
+      VirtualFile file = LocalFileSystem.getInstance().findFileByPath(FileUtil.toSystemIndependentName(filePath));
+      if (file == null || !file.isValid()) {
+        return null;
+      }
+
+      try {
+        Document previousDocument = switch (format) {
+          case SDL -> ReadAction.compute(() -> {
+            PsiFile psiFile = PsiManager.getInstance(myProject).findFile(file);
+            return psiFile instanceof GraphQLFile ? ((GraphQLFile)psiFile).getTypeSystemDocument() : null;
+          });
+          case JSON -> createIntrospectionDocument(parseIntrospectionJson(VfsUtilCore.loadText(file)));
+        };
+        if (previousDocument == null) {
+          return null;
+        }
+
+        CapturingReporter reporter = new CapturingReporter();
+        new SchemaDiff().diffSchema(previousDocument, schemaDocument, reporter);
+        return reporter;
+      }
+      catch (ProcessCanceledException e) {
+        throw e;
+      }
+      catch (Exception e) {
+        // the previous file could have been edited manually, it's only used for the changes summary anyway
+        LOG.info("Unable to compare the introspection result with " + filePath, e);
+        return null;
+      }
     }
 
     private static int getErrorCount(@NotNull Map<String, Object> introspection) {
@@ -673,6 +1060,13 @@ public final class GraphQLIntrospectionService implements Disposable {
     private void handleIntrospectionError(@NotNull Exception e,
                                           @Nullable @Nls String content,
                                           @NotNull String responseJson) {
+      BatchIntrospectionTask batch = this.batch;
+      if (batch != null) {
+        LOG.info("Introspection of " + url + " failed", e);
+        batch.failed(this, content != null ? content : GraphQLNotificationUtil.formatExceptionMessage(e));
+        return;
+      }
+
       String body = content != null
                     ? content
                     : GraphQLBundle.message("graphql.notification.introspection.error.body",
@@ -698,4 +1092,121 @@ public final class GraphQLIntrospectionService implements Disposable {
       }
     }
   }
+
+  /**
+   * Runs the introspection queries on a bounded pool. Each worker fetches and converts a schema and then waits for it to be
+   * written on the EDT, so the writes of the finished endpoints overlap with the requests to the others.
+   */
+  private class BatchIntrospectionTask extends Task.Backgroundable {
+    private final List<IntrospectionQueryTask> myTasks;
+    private final int myTimeout;
+    private final AtomicInteger myFinished = new AtomicInteger();
+    private final Queue<String> myUpdated = new ConcurrentLinkedQueue<>();
+    private final Queue<String> myUnchanged = new ConcurrentLinkedQueue<>();
+    private final Queue<Pair<IntrospectionQueryTask, String>> myFailed = new ConcurrentLinkedQueue<>();
+    private volatile ModalityState myModalityState = ModalityState.nonModal();
+
+    private BatchIntrospectionTask(@NotNull List<IntrospectionQueryTask> tasks) {
+      super(
+        GraphQLIntrospectionService.this.myProject,
+        GraphQLBundle.message("graphql.progress.executing.introspection.queries", tasks.size()),
+        true
+      );
+      myTasks = tasks;
+      myTimeout = Registry.intValue("graphql.introspection.timeout", 60000);
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+      indicator.setIndeterminate(false);
+      indicator.setFraction(0);
+      myModalityState = ModalityState.defaultModalityState();
+
+      int parallelism = Math.max(1, Registry.intValue("graphql.introspection.parallelism", 4));
+      ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("GraphQL Introspection", parallelism);
+      List<Future<?>> futures = new ArrayList<>(myTasks.size());
+      try {
+        for (IntrospectionQueryTask task : myTasks) {
+          task.batch = this;
+          futures.add(executor.submit(() -> {
+            try {
+              ProgressManager.getInstance().runProcess(task::introspect, new SensitiveProgressWrapper(indicator));
+            }
+            catch (ProcessCanceledException e) {
+              throw e;
+            }
+            catch (RuntimeException e) {
+              LOG.error(e);
+              failed(task, GraphQLNotificationUtil.formatExceptionMessage(e));
+            }
+            finally {
+              int finished = myFinished.incrementAndGet();
+              indicator.setFraction((double)finished / myTasks.size());
+              indicator.setText2(GraphQLBundle.message("graphql.progress.introspection.endpoints", finished, myTasks.size()));
+            }
+          }));
+        }
+
+        for (Future<?> future : futures) {
+          ProgressIndicatorUtils.awaitWithCheckCanceled(future, indicator);
+        }
+      }
+      finally {
+        if (indicator.isCanceled()) {
+          for (IntrospectionQueryTask task : myTasks) {
+            task.request.abort();
+          }
+        }
+        executor.shutdown();
+      }
+
+      showSummaryNotification();
+    }
+
+    private void updated(@NotNull IntrospectionQueryTask task, @Nullable CapturingReporter changes) {
+      myUpdated.add(changes != null
+                    ? GraphQLBundle.message("graphql.notification.introspection.batch.updated.changes",
+                                            task.url, changes.getBreakageCount(), changes.getDangerCount())
+                    : GraphQLBundle.message("graphql.notification.introspection.batch.updated", task.url));
+    }
+
+    private void unchanged(@NotNull IntrospectionQueryTask task) {
+      myUnchanged.add(task.url);
+    }
+
+    private void failed(@NotNull IntrospectionQueryTask task, @Nullable String message) {
+      myFailed.add(Pair.create(task, message));
+    }
+
+    private void showSummaryNotification() {
+      StringBuilder content = new StringBuilder(GraphQLBundle.message(
+        "graphql.notification.introspection.batch.body", myUpdated.size(), myUnchanged.size(), myFailed.size()));
+      for (Pair<IntrospectionQueryTask, String> failure : myFailed) {
+        content.append("<br/>").append(StringUtil.escapeXmlEntities(GraphQLBundle.message(
+          "graphql.notification.introspection.batch.failed", failure.first.url,
+          ObjectUtils.notNull(failure.second, GraphQLBundle.message("graphql.notification.introspection.batch.failed.unknown")))));
+      }
+      for (String updated : myUpdated) {
+        content.append("<br/>").append(StringUtil.escapeXmlEntities(updated));
+      }
+
+      Notification notification = new Notification(
+        GRAPHQL_NOTIFICATION_GROUP_ID,
+        GraphQLBundle.message("graphql.notification.introspection.batch.title"),
+        content.toString(),
+        myFailed.isEmpty() ? NotificationType.INFORMATION : NotificationType.WARNING
+      );
+      if (!myFailed.isEmpty()) {
+        List<GraphQLConfigEndpoint> failedEndpoints = ContainerUtil.map(myFailed, failure -> failure.first.endpoint);
+        notification.addAction(new NotificationAction(GraphQLBundle.message("graphql.notification.introspection.batch.retry")) {
+          @Override
+          public void actionPerformed(@NotNull AnActionEvent e, @NotNull Notification notification) {
+            notification.expire();
+            performIntrospectionQueries(failedEndpoints);
+          }
+        });
+      }
+      Notifications.Bus.notify(notification, myProject);
+    }
+  }
 }
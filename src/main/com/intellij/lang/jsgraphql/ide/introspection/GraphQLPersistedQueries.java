@@ -0,0 +1,248 @@
+package com.intellij.lang.jsgraphql.ide.introspection;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.intellij.lang.jsgraphql.ide.config.model.GraphQLConfigEndpoint;
+import com.intellij.lang.jsgraphql.types.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import com.intellij.lang.jsgraphql.types.execution.preparsed.persisted.PersistedQueryNotFound;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.io.DigestUtil;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.utils.URIBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static com.intellij.lang.jsgraphql.ui.GraphQLUIProjectService.setHeadersFromOptions;
+
+/**
+ * Client side of the automatic persisted queries, the server side is {@link ApolloPersistedQuerySupport}.
+ * <p>
+ * A query is identified by its SHA-256 hash. The hashes the server has already accepted are remembered per endpoint,
+ * so those queries are sent as the hash alone, and the others are sent with the hash and the text at once,
+ * which registers them without a round trip for the inevitable miss. If the server has evicted a remembered hash,
+ * it responds with {@link PersistedQueryNotFound} and the query is sent again with its text.
+ */
+@Service(Service.Level.PROJECT)
+public final class GraphQLPersistedQueries {
+  private static final Logger LOG = Logger.getInstance(GraphQLPersistedQueries.class);
+
+  static final int MAX_HASHES = 1000;
+  private static final int MAX_ERROR_RESULT_SIZE = 16 * 1024;
+
+  private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+  private static final String PERSISTED_QUERY_NOT_SUPPORTED = "PersistedQueryNotSupported";
+  private static final String PERSISTED_QUERY_NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND";
+  private static final String PERSISTED_QUERY_NOT_SUPPORTED_CODE = "PERSISTED_QUERY_NOT_SUPPORTED";
+
+  public enum Error {
+    NOT_FOUND,
+    NOT_SUPPORTED
+  }
+
+  // the least recently used hashes are dropped first, the server would have evicted them as well
+  private final Map<String, Boolean> myRegisteredHashes = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+      return size() > MAX_HASHES;
+    }
+  };
+  private final Set<String> myUnsupportedUrls = new HashSet<>();
+
+  public static GraphQLPersistedQueries getInstance(@NotNull Project project) {
+    return project.getService(GraphQLPersistedQueries.class);
+  }
+
+  public static @NotNull String computeHash(@NotNull String query) {
+    return DigestUtil.sha256Hex(query.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return the {@code extensions} of a request identifying the query by its hash
+   */
+  public static @NotNull Map<String, Object> createExtensions(@NotNull String hash) {
+    Map<String, Object> persistedQuery = new LinkedHashMap<>();
+    persistedQuery.put("version", 1);
+    persistedQuery.put("sha256Hash", hash);
+    return Collections.singletonMap("persistedQuery", persistedQuery);
+  }
+
+  /**
+   * Creates a request with the hash and without the text of the query, the parameters are passed as JSON.
+   */
+  public static @NotNull HttpGet createGetRequest(@NotNull GraphQLConfigEndpoint endpoint,
+                                                  @NotNull String url,
+                                                  @NotNull String extensionsJson,
+                                                  @Nullable String variablesJson) {
+    try {
+      URIBuilder builder = new URIBuilder(url).addParameter("extensions", extensionsJson);
+      if (variablesJson != null) {
+        builder.addParameter("variables", variablesJson);
+      }
+      HttpGet request = new HttpGet(builder.build());
+      request.setHeader(HttpHeaders.ACCEPT_ENCODING, GraphQLHttpContentEncoding.ACCEPT_ENCODING);
+      setHeadersFromOptions(endpoint, request);
+      return request;
+    }
+    catch (URISyntaxException e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  /**
+   * @return false if the endpoint has rejected the persisted queries, so the queries should be sent as is
+   */
+  public boolean isSupported(@NotNull String url) {
+    synchronized (myRegisteredHashes) {
+      return !myUnsupportedUrls.contains(url);
+    }
+  }
+
+  public boolean isRegistered(@NotNull String url, @NotNull String hash) {
+    synchronized (myRegisteredHashes) {
+      return myRegisteredHashes.containsKey(url + " " + hash);
+    }
+  }
+
+  public void registered(@NotNull String url, @NotNull String hash) {
+    synchronized (myRegisteredHashes) {
+      myRegisteredHashes.put(url + " " + hash, Boolean.TRUE);
+    }
+  }
+
+  public void failed(@NotNull String url, @NotNull String hash, @NotNull Error error) {
+    synchronized (myRegisteredHashes) {
+      myRegisteredHashes.remove(url + " " + hash);
+      if (error == Error.NOT_SUPPORTED) {
+        myUnsupportedUrls.add(url);
+      }
+    }
+  }
+
+  /**
+   * Looks for the persisted query errors in the result, only the top level errors are read.
+   */
+  public static @Nullable Error findError(@NotNull Path result) {
+    try {
+      // these errors come without any data, so a large result is never one of them
+      if (Files.size(result) > MAX_ERROR_RESULT_SIZE) return null;
+    }
+    catch (IOException e) {
+      return null;
+    }
+
+    try (JsonReader reader = new JsonReader(Files.newBufferedReader(result, StandardCharsets.UTF_8))) {
+      if (reader.peek() != JsonToken.BEGIN_OBJECT) return null;
+      reader.beginObject();
+      while (reader.hasNext()) {
+        if (!"errors".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+          reader.skipValue();
+          continue;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+          Error error = readError(reader);
+          if (error != null) return error;
+        }
+        return null;
+      }
+    }
+    catch (IOException | IllegalStateException | NumberFormatException e) {
+      LOG.debug("Unable to read the errors of the query result", e);
+    }
+    return null;
+  }
+
+  /**
+   * Looks for the persisted query errors in the result of a request with the hash, see {@link #findError(Path)}.
+   * A hash only request the server hasn't accepted is handled as {@link Error#NOT_FOUND} whatever the error is,
+   * so the query is sent again with its text instead of relying on a hash the server may not know.
+   */
+  public static @Nullable Error findError(@NotNull Path result, int statusCode, boolean hashOnly) {
+    Error error = findError(result);
+    if (error == null && hashOnly && !isAccepted(statusCode, result)) {
+      return Error.NOT_FOUND;
+    }
+    return error;
+  }
+
+  /**
+   * @return true if the server has run the query, i.e. the response is successful and has no top level errors,
+   * only then the hash is known to be registered
+   */
+  public static boolean isAccepted(int statusCode, @NotNull Path result) {
+    if (statusCode < 200 || statusCode >= 300) return false;
+
+    try (JsonReader reader = new JsonReader(Files.newBufferedReader(result, StandardCharsets.UTF_8))) {
+      if (reader.peek() != JsonToken.BEGIN_OBJECT) return false;
+      reader.beginObject();
+      while (reader.hasNext()) {
+        if (!"errors".equals(reader.nextName())) {
+          reader.skipValue();
+          continue;
+        }
+        if (reader.peek() == JsonToken.NULL) {
+          reader.skipValue();
+          continue;
+        }
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) return false;
+        reader.beginArray();
+        return !reader.hasNext();
+      }
+      return true;
+    }
+    catch (IOException | IllegalStateException | NumberFormatException e) {
+      LOG.debug("Unable to read the errors of the query result", e);
+      return false;
+    }
+  }
+
+  private static @Nullable Error readError(@NotNull JsonReader reader) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+      reader.skipValue();
+      return null;
+    }
+    Error error = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if ("message".equals(name) && reader.peek() == JsonToken.STRING) {
+        error = toError(reader.nextString(), error);
+      }
+      else if ("extensions".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+        reader.beginObject();
+        while (reader.hasNext()) {
+          if ("code".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+            error = toError(reader.nextString(), error);
+          }
+          else {
+            reader.skipValue();
+          }
+        }
+        reader.endObject();
+      }
+      else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return error;
+  }
+
+  private static @Nullable Error toError(@NotNull String value, @Nullable Error current) {
+    return switch (value) {
+      case PERSISTED_QUERY_NOT_FOUND, PERSISTED_QUERY_NOT_FOUND_CODE -> Error.NOT_FOUND;
+      case PERSISTED_QUERY_NOT_SUPPORTED, PERSISTED_QUERY_NOT_SUPPORTED_CODE -> Error.NOT_SUPPORTED;
+      default -> current;
+    };
+  }
+}
@@ -0,0 +1,207 @@
+package com.intellij.lang.jsgraphql.ide.introspection;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.protocol.HttpContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The phases of a single GraphQL request.
+ * <p>
+ * The http client is blocking, so the name resolution, the connection and the TLS handshake all run on the thread
+ * executing the request, where they are recorded by the resolver and the socket factories of the clients created by
+ * {@link GraphQLIntrospectionService#createHttpClient}. A reused pooled connection has none of these phases.
+ */
+public final class GraphQLRequestTimings {
+  private static final ThreadLocal<GraphQLRequestTimings> CURRENT = new ThreadLocal<>();
+
+  static final DnsResolver DNS_RESOLVER = new TimingDnsResolver();
+  static final HttpRequestInterceptor REQUEST_INTERCEPTOR = (request, context) -> {
+    GraphQLRequestTimings timings = CURRENT.get();
+    if (timings != null) timings.myRequestStart = System.nanoTime();
+  };
+
+  private long myStart;
+  private long myDnsStart;
+  private long myDnsEnd;
+  private long myConnectStart;
+  private long myConnectEnd;
+  private long myTlsEnd;
+  private long myRequestStart;
+  private long myFirstByte;
+  private long myDownloadEnd;
+  private long myFormatEnd;
+
+  public @NotNull CloseableHttpResponse execute(@NotNull CloseableHttpClient client, @NotNull HttpUriRequest request)
+    throws IOException {
+    myStart = System.nanoTime();
+    CURRENT.set(this);
+    try {
+      CloseableHttpResponse response = client.execute(request);
+      myFirstByte = System.nanoTime();
+      return response;
+    }
+    finally {
+      CURRENT.remove();
+    }
+  }
+
+  public void downloaded() {
+    myDownloadEnd = System.nanoTime();
+  }
+
+  public void formatted() {
+    myFormatEnd = System.nanoTime();
+  }
+
+  /**
+   * @return the time from the start of the request until the response was downloaded
+   */
+  public long getTotalMillis() {
+    return toMillis(myStart, myDownloadEnd);
+  }
+
+  /**
+   * @return the duration of the phase or -1 if it didn't happen, e.g. the connection was reused
+   */
+  public long getDnsMillis() {
+    return toMillis(myDnsStart, myDnsEnd);
+  }
+
+  public long getConnectMillis() {
+    return toMillis(myConnectStart, myConnectEnd);
+  }
+
+  public long getTlsMillis() {
+    return toMillis(myConnectEnd, myTlsEnd);
+  }
+
+  /**
+   * @return the time from sending the request until the response headers were received
+   */
+  public long getTimeToFirstByteMillis() {
+    return toMillis(myRequestStart != 0 ? myRequestStart : myStart, myFirstByte);
+  }
+
+  public long getDownloadMillis() {
+    return toMillis(myFirstByte, myDownloadEnd);
+  }
+
+  public long getFormatMillis() {
+    return toMillis(myDownloadEnd, myFormatEnd);
+  }
+
+  /**
+   * @return the offset of the phase start from the request start
+   */
+  public long getDnsOffsetMillis() {
+    return toMillis(myStart, myDnsStart);
+  }
+
+  public long getConnectOffsetMillis() {
+    return toMillis(myStart, myConnectStart);
+  }
+
+  public long getTlsOffsetMillis() {
+    return toMillis(myStart, myConnectEnd);
+  }
+
+  public long getTimeToFirstByteOffsetMillis() {
+    return toMillis(myStart, myRequestStart != 0 ? myRequestStart : myStart);
+  }
+
+  public long getDownloadOffsetMillis() {
+    return toMillis(myStart, myFirstByte);
+  }
+
+  public long getFormatOffsetMillis() {
+    return toMillis(myStart, myDownloadEnd);
+  }
+
+  private static long toMillis(long start, long end) {
+    return start != 0 && end != 0 ? TimeUnit.NANOSECONDS.toMillis(end - start) : -1;
+  }
+
+  private static final class TimingDnsResolver implements DnsResolver {
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+      GraphQLRequestTimings timings = CURRENT.get();
+      if (timings != null) timings.myDnsStart = System.nanoTime();
+      try {
+        return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+      }
+      finally {
+        if (timings != null) timings.myDnsEnd = System.nanoTime();
+      }
+    }
+  }
+
+  static final class TimingPlainSocketFactory extends PlainConnectionSocketFactory {
+    @Override
+    public Socket connectSocket(int connectTimeout,
+                                Socket socket,
+                                HttpHost host,
+                                InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress,
+                                HttpContext context) throws IOException {
+      GraphQLRequestTimings timings = CURRENT.get();
+      if (timings != null) timings.myConnectStart = System.nanoTime();
+      try {
+        return super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+      }
+      finally {
+        if (timings != null) timings.myConnectEnd = System.nanoTime();
+      }
+    }
+  }
+
+  static final class TimingSSLSocketFactory extends SSLConnectionSocketFactory {
+    TimingSSLSocketFactory(@NotNull SSLContext sslContext, @Nullable HostnameVerifier hostnameVerifier) {
+      super(sslContext, hostnameVerifier);
+    }
+
+    @Override
+    public Socket connectSocket(int connectTimeout,
+                                Socket socket,
+                                HttpHost host,
+                                InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress,
+                                HttpContext context) throws IOException {
+      // the handshake is done by createLayeredSocket
+      GraphQLRequestTimings timings = CURRENT.get();
+      if (timings != null) timings.myConnectStart = System.nanoTime();
+      return super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+    }
+
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+      // called once the plain connection is established, directly or as a tunnel through a proxy,
+      // in the latter case connectSocket isn't called at all and the plain connection is recorded by the plain factory
+      GraphQLRequestTimings timings = CURRENT.get();
+      if (timings != null) timings.myConnectEnd = System.nanoTime();
+      try {
+        return super.createLayeredSocket(socket, target, port, context);
+      }
+      finally {
+        if (timings != null) timings.myTlsEnd = System.nanoTime();
+      }
+    }
+  }
+}
@@ -35,7 +35,12 @@ import com.intellij.util.xmlb.annotations.Attribute
 import com.intellij.util.xmlb.annotations.Tag
 import com.intellij.util.xmlb.annotations.XCollection
 import java.io.FileNotFoundException
+import java.io.Writer
 import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
 import java.util.concurrent.*
 import java.util.concurrent.atomic.AtomicInteger
 import java.util.concurrent.locks.ReentrantReadWriteLock
@@ -210,28 +215,45 @@ class GraphQLGeneratedSourcesManager(
                      val sourceText = runReadAction { FileDocumentManager.getInstance().getDocument(source.file)?.text }
                                       ?: throw FileNotFoundException("Unable to read file: ${source.file.path}")
 
-                     GraphQLIntrospectionService.getInstance(project).printIntrospectionAsGraphQL(sourceText)
+                     writeGeneratedFile(source.targetFileName) { out ->
+                       GraphQLIntrospectionService.getInstance(project).printIntrospectionAsGraphQL(sourceText, out)
+                     }
                    }, executor)
-      .thenApplyAsync({ introspection ->
+      .thenApplyAsync({ path ->
                         if (project.isDisposed) throw ProcessCanceledException()
 
-                        val file = generatedSdlDirPath
-                          .let { VfsUtil.createDirectories(it) }
-                          .findOrCreateChildData(null, source.targetFileName)
+                        val file = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(path)
+                                   ?: throw FileNotFoundException("Unable to find generated file: $path")
+                        VfsUtil.markDirtyAndRefresh(false, false, false, file)
 
                         val fileDocumentManager = FileDocumentManager.getInstance()
                         if (fileDocumentManager.isFileModified(file)) {
                           fileDocumentManager.reloadFiles(file)
                         }
 
-                        VfsUtil.saveText(file, introspection)
-                        file.refresh(false, false)
-
                         reformatLater(file)
                         source.createResult(file)
                       }, inWriteAction(ModalityState.defaultModalityState()))
   }
 
+  /**
+   * The SDL is streamed to a temporary file next to the target one, which then replaces it,
+   * so the text of a large schema isn't held in memory and a partially written file is never visible.
+   */
+  private fun writeGeneratedFile(fileName: String, printer: (Writer) -> Unit): Path {
+    val dir = Files.createDirectories(Paths.get(generatedSdlDirPath))
+    val target = dir.resolve(fileName)
+    val temp = Files.createTempFile(dir, fileName, ".tmp")
+    try {
+      Files.newBufferedWriter(temp, StandardCharsets.UTF_8).use { printer(it) }
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+    }
+    finally {
+      Files.deleteIfExists(temp)
+    }
+    return target
+  }
+
   private fun reformatLater(file: VirtualFile) {
     invokeLater {
       if (project.isDisposed) return@invokeLater
@@ -7,6 +7,7 @@ import com.intellij.lang.jsgraphql.GraphQLConstants
 import com.intellij.lang.jsgraphql.GraphQLSettings
 import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionService
 import com.intellij.lang.jsgraphql.types.GraphQLException
+import com.intellij.lang.jsgraphql.ui.GraphQLLoadRun
 import com.intellij.notification.Notification
 import com.intellij.notification.NotificationAction
 import com.intellij.notification.NotificationType
@@ -109,6 +110,39 @@ private fun addRetryWithoutDefaultValuesAction(
   }
 }
 
+fun showLoadRunResultNotification(
+  project: Project,
+  fileName: @NlsSafe String,
+  url: @NlsSafe String,
+  result: GraphQLLoadRun.Result
+) {
+  var content = GraphQLBundle.message(
+    "graphql.notification.load.run.body",
+    url,
+    result.count,
+    result.elapsedMillis / 1000.0,
+    result.throughput,
+    result.errorCount,
+    result.errorRate,
+    result.getLatencyMillis(50),
+    result.getLatencyMillis(90),
+    result.getLatencyMillis(95),
+    result.getLatencyMillis(99),
+    result.getLatencyMillis(100)
+  )
+  result.firstError?.let {
+    content += GraphQLBundle.message("graphql.notification.load.run.first.error", it)
+  }
+
+  val notification = Notification(
+    GRAPHQL_NOTIFICATION_GROUP_ID,
+    GraphQLBundle.message("graphql.notification.load.run.title", fileName),
+    content,
+    if (result.errorCount > 0) NotificationType.WARNING else NotificationType.INFORMATION
+  )
+  Notifications.Bus.notify(notification, project)
+}
+
 @NlsSafe
 fun formatExceptionMessage(throwable: Throwable): String {
   return StringUtil.decapitalize(ObjectUtils.coalesce(throwable.message, ""))
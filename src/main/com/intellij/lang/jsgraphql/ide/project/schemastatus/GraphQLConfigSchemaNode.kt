@@ -18,6 +18,7 @@ import com.intellij.openapi.application.runReadAction
 import com.intellij.openapi.project.IndexNotReadyException
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.psi.search.GlobalSearchScope
 import com.intellij.ui.treeStructure.CachingSimpleNode
 import com.intellij.ui.treeStructure.SimpleNode
 
@@ -33,6 +34,7 @@ class GraphQLConfigSchemaNode(
 
   private val usedProjectConfig: GraphQLProjectConfig?
   private val schemaInfo: GraphQLSchemaInfo?
+  private val schemaScope: GlobalSearchScope?
   private val performSchemaDiscovery: Boolean
   private val isProjectLevelNode: Boolean
 
@@ -54,13 +56,14 @@ class GraphQLConfigSchemaNode(
 
     if (performSchemaDiscovery) {
       usedProjectConfig = projectConfig ?: defaultProjectConfig
+      schemaScope = runReadAction { usedProjectConfig!!.schemaScope }
       schemaInfo = runReadAction {
-        val scope = usedProjectConfig!!.schemaScope
-        GraphQLSchemaProvider.getInstance(myProject).getSchemaInfo(scope)
+        GraphQLSchemaProvider.getInstance(myProject).getSchemaInfo(schemaScope)
       }
     }
     else {
       schemaInfo = null
+      schemaScope = null
       usedProjectConfig = null
     }
   }
@@ -73,6 +76,9 @@ class GraphQLConfigSchemaNode(
     if (performSchemaDiscovery && schemaInfo != null) {
       children.add(GraphQLSchemaContentNode(this, schemaInfo))
       children.add(GraphQLSchemaErrorsListNode(this, schemaInfo))
+      if (schemaScope != null) {
+        children.add(GraphQLSchemaBuildStatisticsNode(this, schemaScope))
+      }
     }
     if (!isProjectLevelNode && !config.hasOnlyDefaultProject()) {
       children.add(GraphQLConfigProjectsNode(this))
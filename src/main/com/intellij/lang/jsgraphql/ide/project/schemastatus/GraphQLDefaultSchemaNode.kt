@@ -14,6 +14,7 @@ import com.intellij.lang.jsgraphql.schema.GraphQLSchemaInfo
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider
 import com.intellij.openapi.application.runReadAction
 import com.intellij.openapi.project.Project
+import com.intellij.psi.search.GlobalSearchScope
 import com.intellij.ui.treeStructure.CachingSimpleNode
 import com.intellij.ui.treeStructure.SimpleNode
 
@@ -22,21 +23,23 @@ import com.intellij.ui.treeStructure.SimpleNode
  */
 class GraphQLDefaultSchemaNode(project: Project, parent: GraphQLSchemasRootNode) : CachingSimpleNode(project, parent) {
   private val schemaInfo: GraphQLSchemaInfo
+  private val schemaScope: GlobalSearchScope
 
   init {
     myName = GraphQLBundle.message("graphql.toolwindow.default.schema.node.name")
     presentation.locationString = project.presentableUrl
     presentation.setIcon(GraphQLIcons.Files.GraphQLSchema)
 
+    schemaScope = runReadAction { GraphQLScopeProvider.getInstance(project).globalScope }
     schemaInfo = runReadAction {
-      val globalScope = GraphQLScopeProvider.getInstance(project).globalScope
-      GraphQLSchemaProvider.getInstance(myProject).getSchemaInfo(globalScope)
+      GraphQLSchemaProvider.getInstance(myProject).getSchemaInfo(schemaScope)
     }
   }
 
   public override fun buildChildren(): Array<SimpleNode> {
     val children: MutableList<SimpleNode> = mutableListOf(GraphQLSchemaContentNode(this, schemaInfo))
     children.add(GraphQLSchemaErrorsListNode(this, schemaInfo))
+    children.add(GraphQLSchemaBuildStatisticsNode(this, schemaScope))
     children.add(GraphQLSchemaEndpointsListNode(this, null))
     return children.toTypedArray()
   }
@@ -0,0 +1,64 @@
+package com.intellij.lang.jsgraphql.ide.project.schemastatus
+
+import com.intellij.icons.AllIcons
+import com.intellij.lang.jsgraphql.GraphQLBundle
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaBuildStatistics
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaBuildStatistics.Stage
+import com.intellij.openapi.util.text.HtmlBuilder
+import com.intellij.openapi.util.text.HtmlChunk
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.ui.treeStructure.CachingSimpleNode
+import com.intellij.ui.treeStructure.SimpleNode
+
+/**
+ * Tree node which shows how long the last build of the schema took, see [GraphQLSchemaBuildStatistics]
+ */
+class GraphQLSchemaBuildStatisticsNode(parent: SimpleNode, scope: GlobalSearchScope) : CachingSimpleNode(parent) {
+
+  init {
+    myName = GraphQLBundle.message("graphql.toolwindow.schema.build.node.name")
+    icon = AllIcons.Actions.Profile
+
+    val statistics = GraphQLSchemaBuildStatistics.getInstance(myProject).getStatistics(scope)
+    if (statistics == null) {
+      templatePresentation.locationString = "- " + GraphQLBundle.message("graphql.toolwindow.schema.build.not.measured")
+    }
+    else {
+      val buildMillis = listOf(Stage.DOCUMENTS, Stage.MERGE, Stage.SCHEMA, Stage.SCHEMA_VALIDATION)
+        .sumOf { statistics.getTiming(it).lastMillis }
+      templatePresentation.locationString = "- " + GraphQLBundle.message(
+        "graphql.toolwindow.schema.build.summary",
+        buildMillis,
+        statistics.filesCount,
+        statistics.typesCount,
+        (statistics.schemaCache.hitRatio * 100).toInt()
+      )
+
+      val tooltip = HtmlBuilder()
+      for (stage in Stage.values()) {
+        val timing = statistics.getTiming(stage)
+        tooltip.append(GraphQLBundle.message(
+          "graphql.toolwindow.schema.build.stage.tooltip",
+          stage.displayName,
+          timing.lastMillis,
+          timing.totalMillis,
+          timing.invocations
+        )).br()
+      }
+      tooltip.append(GraphQLBundle.message(
+        "graphql.toolwindow.schema.build.cache.tooltip",
+        statistics.registryCache.hits, statistics.registryCache.misses,
+        statistics.schemaCache.hits, statistics.schemaCache.misses
+      ))
+      templatePresentation.tooltip = tooltip.wrapWith(HtmlChunk.html()).toString()
+    }
+  }
+
+  public override fun buildChildren(): Array<SimpleNode> {
+    return NO_CHILDREN
+  }
+
+  override fun isAlwaysLeaf(): Boolean {
+    return true
+  }
+}
@@ -17,17 +17,20 @@ import com.intellij.lang.jsgraphql.ide.actions.GraphQLRestartSchemaDiscoveryActi
 import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigFactory
 import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigListener
 import com.intellij.lang.jsgraphql.ide.project.toolwindow.GraphQLToolWindow
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaBuildStatistics
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaContentChangeListener
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaContentTracker
 import com.intellij.openapi.Disposable
 import com.intellij.openapi.actionSystem.*
 import com.intellij.openapi.application.ModalityState
 import com.intellij.openapi.fileEditor.FileEditorManager
+import com.intellij.openapi.fileTypes.FileTypeManager
 import com.intellij.openapi.progress.ProcessCanceledException
 import com.intellij.openapi.project.DumbService
 import com.intellij.openapi.project.IndexNotReadyException
 import com.intellij.openapi.project.Project
 import com.intellij.profile.ProfileChangeAdapter
+import com.intellij.testFramework.LightVirtualFile
 import com.intellij.ui.IdeBorderFactory
 import com.intellij.ui.PopupHandler
 import com.intellij.ui.SideBorder
@@ -51,6 +54,10 @@ import javax.swing.tree.TreeSelectionModel
  * Tool window panel that shows the status of the GraphQL schemas discovered in the project.
  */
 class GraphQLSchemasPanel(private val project: Project) : JPanel(), Disposable {
+  companion object {
+    private const val BUILD_REPORT_FILE_NAME = "graphql-schema-build-report.json"
+  }
+
   private val connection: MessageBusConnection = project.messageBus.connect(this)
   private val schemaModificationTracker = GraphQLSchemaContentTracker.getInstance(project)
 
@@ -204,6 +211,18 @@ class GraphQLSchemasPanel(private val project: Project) : JPanel(), Disposable {
       group.add(it)
     }
 
+    group.add(object : AnAction(
+      GraphQLBundle.message("graphql.action.schemas.panel.build.report.text"),
+      GraphQLBundle.message("graphql.action.schemas.panel.build.report.description"),
+      AllIcons.Actions.Profile
+    ) {
+      override fun actionPerformed(e: AnActionEvent) {
+        val report = GraphQLSchemaBuildStatistics.getInstance(project).createReport()
+        val fileType = FileTypeManager.getInstance().getFileTypeByExtension("json")
+        FileEditorManager.getInstance(project).openFile(LightVirtualFile(BUILD_REPORT_FILE_NAME, fileType, report), true)
+      }
+    })
+
     group.add(object : AnAction(
       GraphQLBundle.message("graphql.action.schemas.panel.help.text"),
       GraphQLBundle.message("graphql.action.schemas.panel.open.documentation.description"),
@@ -3,8 +3,13 @@ package com.intellij.lang.jsgraphql.ide.project.toolwindow
 import com.intellij.json.JsonFileType
 import com.intellij.lang.jsgraphql.GraphQLBundle
 import com.intellij.lang.jsgraphql.GraphQLConstants
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLRequestTimings
 import com.intellij.lang.jsgraphql.ide.project.schemastatus.GraphQLSchemasPanel
+import com.intellij.lang.jsgraphql.ui.GraphQLQueryTimingsPanel
+import com.intellij.lang.jsgraphql.ui.GraphQLQueryTracing
+import com.intellij.openapi.application.PathManager
 import com.intellij.openapi.application.runInEdt
+import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.editor.ex.EditorEx
 import com.intellij.openapi.editor.impl.EditorHeaderComponent
 import com.intellij.openapi.fileEditor.FileEditorManager
@@ -12,12 +17,16 @@ import com.intellij.openapi.fileEditor.TextEditor
 import com.intellij.openapi.fileEditor.impl.text.PsiAwareTextEditorProvider
 import com.intellij.openapi.project.DumbAware
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.popup.JBPopupFactory
 import com.intellij.openapi.util.Key
+import com.intellij.openapi.vfs.LocalFileSystem
+import com.intellij.openapi.vfs.VirtualFile
 import com.intellij.openapi.vfs.VirtualFileManager
 import com.intellij.openapi.wm.ToolWindow
 import com.intellij.openapi.wm.ToolWindowFactory
 import com.intellij.openapi.wm.ToolWindowManager
 import com.intellij.testFramework.LightVirtualFile
+import com.intellij.ui.components.ActionLink
 import com.intellij.ui.components.JBLabel
 import com.intellij.ui.content.Content
 import com.intellij.util.concurrency.ThreadingAssertions
@@ -26,6 +35,10 @@ import java.awt.BorderLayout
 import java.awt.Cursor
 import java.awt.event.MouseAdapter
 import java.awt.event.MouseEvent
+import java.io.IOException
+import java.nio.file.Files
+import java.nio.file.Path
+import javax.swing.JComponent
 import javax.swing.SwingConstants
 
 class GraphQLToolWindow : ToolWindowFactory, DumbAware {
@@ -44,7 +57,7 @@ class GraphQLToolWindow : ToolWindowFactory, DumbAware {
   }
 
   private fun createToolWindowResultEditor(project: Project, toolWindow: ToolWindow) {
-    val virtualFile = LightVirtualFile("GraphQL.result.json", JsonFileType.INSTANCE, "")
+    val virtualFile = createQueryResultPreviewFile(project) ?: LightVirtualFile("GraphQL.result.json", JsonFileType.INSTANCE, "")
     val fileEditor =
       PsiAwareTextEditorProvider().createEditor(project, virtualFile) as? TextEditor ?: return
     val editor = fileEditor.editor
@@ -72,6 +85,24 @@ class GraphQLToolWindow : ToolWindowFactory, DumbAware {
     contentManager.addContent(content)
   }
 
+  /**
+   * The editor shows a preview of the result file, which is cut at a size limit, so a VFS refresh reloads at most
+   * that much on EDT, and the result is never held as a single string.
+   */
+  private fun createQueryResultPreviewFile(project: Project): VirtualFile? {
+    val path = getQueryResultPreviewPath(project)
+    return try {
+      Files.createDirectories(path.parent)
+      // the result of the previous session is not relevant anymore
+      Files.writeString(path, "")
+      LocalFileSystem.getInstance().refreshAndFindFileByNioFile(path)
+    }
+    catch (e: IOException) {
+      LOG.warn(e)
+      null
+    }
+  }
+
   class GraphQLQueryResultHeaderComponent(project: Project) : EditorHeaderComponent() {
     val statusLabel = JBLabel().apply {
       isVisible = false
@@ -84,9 +115,38 @@ class GraphQLToolWindow : ToolWindowFactory, DumbAware {
       isVisible = false
     }
 
+    private var timings: GraphQLRequestTimings? = null
+    private var tracing: GraphQLQueryTracing? = null
+    private var fullResultFile: VirtualFile? = null
+
+    private val fullResultLink = ActionLink(GraphQLBundle.message("graphql.query.result.open.full")) {
+      val file = fullResultFile ?: return@ActionLink
+      // the platform opens a large file as a read-only preview of its beginning
+      FileEditorManager.getInstance(project).openFile(file, true, true)
+    }.apply {
+      border = JBUI.Borders.empty(4, 6)
+      isVisible = false
+    }
+
+    private val timingsLink = ActionLink(GraphQLBundle.message("graphql.query.result.timings")) { e ->
+      val timings = timings ?: return@ActionLink
+      JBPopupFactory.getInstance()
+        .createComponentPopupBuilder(GraphQLQueryTimingsPanel(timings, tracing), null)
+        .setTitle(GraphQLBundle.message("graphql.query.timings.title"))
+        .setResizable(true)
+        .setMovable(true)
+        .setRequestFocus(true)
+        .createPopup()
+        .showUnderneathOf(e.source as JComponent)
+    }.apply {
+      border = JBUI.Borders.empty(4, 6)
+      isVisible = false
+    }
+
     init {
       add(statusLabel, BorderLayout.WEST)
       add(resultLabel, BorderLayout.CENTER)
+      add(JBUI.Panels.simplePanel().addToCenter(fullResultLink).addToRight(timingsLink).andTransparent(), BorderLayout.EAST)
 
       resultLabel.addMouseListener(object : MouseAdapter() {
         override fun mouseClicked(e: MouseEvent) {
@@ -101,9 +161,25 @@ class GraphQLToolWindow : ToolWindowFactory, DumbAware {
         }
       })
     }
+
+    fun setTimings(timings: GraphQLRequestTimings?, tracing: GraphQLQueryTracing?) {
+      this.timings = timings
+      this.tracing = tracing
+      timingsLink.isVisible = timings != null
+    }
+
+    /**
+     * @param file the full result if the editor shows a cut preview of it, null otherwise
+     */
+    fun setFullResultFile(file: VirtualFile?) {
+      fullResultFile = file
+      fullResultLink.isVisible = file != null
+    }
   }
 
   companion object {
+    private val LOG = logger<GraphQLToolWindow>()
+
     private const val GRAPHQL_TOOL_WINDOW = GraphQLConstants.GraphQL
 
     const val GRAPHQL_TOOL_WINDOW_TOOLBAR = "GraphQLToolWindowToolbar"
@@ -113,6 +189,14 @@ class GraphQLToolWindow : ToolWindowFactory, DumbAware {
 
     private val QUERY_RESULT_EDITOR_KEY = Key.create<TextEditor>("graphql.query.result.editor")
 
+    @JvmStatic
+    fun getQueryResultPath(project: Project): Path =
+      PathManager.getSystemDir().resolve("graphql").resolve("results").resolve("${project.locationHash}.json")
+
+    @JvmStatic
+    fun getQueryResultPreviewPath(project: Project): Path =
+      PathManager.getSystemDir().resolve("graphql").resolve("results").resolve("${project.locationHash}.preview.json")
+
     @JvmStatic
     fun getQueryResultEditor(project: Project): TextEditor? {
       ThreadingAssertions.assertEventDispatchThread()
@@ -10,8 +10,10 @@ package com.intellij.lang.jsgraphql.ide.validation;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.jsgraphql.GraphQLBundle;
+import com.intellij.lang.jsgraphql.ide.resolve.GraphQLScopeProvider;
 import com.intellij.lang.jsgraphql.ide.validation.inspections.GraphQLInspection;
 import com.intellij.lang.jsgraphql.psi.*;
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaBuildStatistics;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaInfo;
 import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider;
 import com.intellij.lang.jsgraphql.types.GraphQLError;
@@ -27,6 +29,7 @@ import com.intellij.openapi.util.NlsSafe;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.impl.source.tree.LeafElement;
 import com.intellij.psi.impl.source.tree.TreeUtil;
 import com.intellij.psi.util.PsiTreeUtil;
@@ -53,13 +56,18 @@ public final class GraphQLSchemaAnnotator implements Annotator {
     if (GraphQLInspection.isEditorInspectionHighlightingDisabled(project, file)) return;
 
     try {
-      GraphQLSchemaInfo schemaInfo = GraphQLSchemaProvider.getInstance(project).getSchemaInfo(psiElement);
+      GlobalSearchScope scope = GraphQLScopeProvider.getInstance(project).getResolveScope(psiElement, true);
+      GraphQLSchemaInfo schemaInfo = GraphQLSchemaProvider.getInstance(project).getSchemaInfo(scope);
       List<GraphQLError> schemaErrors = schemaInfo.getErrors(project);
       if (!schemaErrors.isEmpty()) {
         showSchemaErrors(annotationHolder, schemaErrors, file);
       }
       else {
-        showDocumentErrors(annotationHolder, schemaInfo, file);
+        long start = System.nanoTime();
+        List<? extends GraphQLError> errors = validateQueryDocument(schemaInfo, file);
+        GraphQLSchemaBuildStatistics.getInstance(project)
+          .recordStage(scope, GraphQLSchemaBuildStatistics.Stage.DOCUMENT_VALIDATION, System.nanoTime() - start);
+        showDocumentErrors(annotationHolder, errors, file);
       }
     }
     catch (ProcessCanceledException e) {
@@ -74,10 +82,8 @@ public final class GraphQLSchemaAnnotator implements Annotator {
   }
 
   private static void showDocumentErrors(@NotNull AnnotationHolder annotationHolder,
-                                         @NotNull GraphQLSchemaInfo schemaInfo,
+                                         @NotNull List<? extends GraphQLError> errors,
                                          @NotNull GraphQLFile file) {
-    List<? extends GraphQLError> errors = validateQueryDocument(schemaInfo, file);
-
     for (GraphQLError error : errors) {
       if (!(error instanceof ValidationError validationError)) {
         if (LOG.isDebugEnabled()) {
@@ -83,9 +83,22 @@ public class GraphQLFile extends PsiFileBase implements GraphQLElement {
     });
   }
 
+  /**
+   * Full document including operations and fragments, used for validation.
+   */
   public @NotNull Document getDocument() {
     return CachedValuesManager.getCachedValue(this, () -> {
-      Document document = new GraphQLPsiDocumentBuilder(this).createDocument();
+      Document document = new GraphQLPsiDocumentBuilder(this).createDocument(getTypeSystemDocument());
+      return CachedValueProvider.Result.createSingleDependency(document, this);
+    });
+  }
+
+  /**
+   * Document with type system definitions and extensions only, used for the schema assembly.
+   */
+  public @NotNull Document getTypeSystemDocument() {
+    return CachedValuesManager.getCachedValue(this, () -> {
+      Document document = new GraphQLPsiDocumentBuilder(this).createTypeSystemDocument();
       return CachedValueProvider.Result.createSingleDependency(document, this);
     });
   }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018-present, Jim Kynde Meyer
+ * All rights reserved.
+ * <p>
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.lang.jsgraphql.psi;
+
+import com.intellij.lang.Language;
+import com.intellij.lang.jsgraphql.GraphQLLanguage;
+import com.intellij.lang.jsgraphql.GraphQLLexerAdapter;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IErrorCounterReparseableElementType;
+import org.jetbrains.annotations.NonNls;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Brace-delimited blocks (selection sets, fields and input values definitions) which are parsed lazily
+ * and reparsed in isolation when an edit doesn't break the brace balance.
+ */
+public class GraphQLReparseableElementType extends IErrorCounterReparseableElementType {
+  public GraphQLReparseableElementType(@NotNull @NonNls String debugName) {
+    super(debugName, GraphQLLanguage.INSTANCE);
+  }
+
+  @Override
+  public int getErrorsCount(CharSequence seq, Language fileLanguage, Project project) {
+    Lexer lexer = new GraphQLLexerAdapter();
+    lexer.start(seq);
+    if (lexer.getTokenType() != GraphQLElementTypes.BRACE_L) return FATAL_ERROR;
+    lexer.advance();
+
+    int balance = 1;
+    while (true) {
+      IElementType type = lexer.getTokenType();
+      if (type == null) break;
+      if (balance == 0) return FATAL_ERROR;
+
+      if (type == GraphQLElementTypes.BRACE_L) {
+        balance++;
+      }
+      else if (type == GraphQLElementTypes.BRACE_R) {
+        balance--;
+      }
+      lexer.advance();
+    }
+
+    // an unterminated string or template consumes the rest of the text
+    return balance == 0 && lexer.getState() == 0 ? NO_ERRORS : FATAL_ERROR;
+  }
+}
@@ -9,14 +9,19 @@ import com.intellij.lang.jsgraphql.types.language.*;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiLanguageInjectionHost;
+import com.intellij.util.containers.Interner;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.intellij.lang.jsgraphql.types.Assert.assertShouldNeverHappen;
 import static com.intellij.lang.jsgraphql.types.collect.ImmutableKit.emptyList;
@@ -27,18 +32,34 @@ import static com.intellij.lang.jsgraphql.types.parser.StringValueParsing.parseT
 @SuppressWarnings("rawtypes")
 public final class GraphQLPsiDocumentBuilder {
 
-  private static final String IS_IN_LIBRARY_KEY = "is.in.library";
+  /**
+   * Documents are cached per file and shared by all schema scopes, so the names are pooled for the whole application.
+   */
+  private static final Interner<String> ourNamesInterner = Interner.createWeakInterner();
 
   private final GraphQLFile myFile;
   private final boolean myIsInLibrary;
+  private final boolean myCompact;
 
   public static boolean isInLibrary(@NotNull Node<?> node) {
-    return node.getAdditionalData().containsKey(IS_IN_LIBRARY_KEY);
+    if (node instanceof AbstractNode<?> abstractNode) {
+      return abstractNode.isInLibrary();
+    }
+    return node.getAdditionalData().containsKey(AbstractNode.IS_IN_LIBRARY_KEY);
   }
 
   public GraphQLPsiDocumentBuilder(@NotNull GraphQLFile file) {
+    this(file, true);
+  }
+
+  /**
+   * @param compact if true, names are interned and source locations are created on demand from the PSI elements
+   */
+  @VisibleForTesting
+  public GraphQLPsiDocumentBuilder(@NotNull GraphQLFile file, boolean compact) {
     myFile = file;
     myIsInLibrary = GraphQLLibraryManager.getInstance(file.getProject()).isLibraryRoot(file.getVirtualFile());
+    myCompact = compact;
   }
 
   public @NotNull Document createDocument() {
@@ -48,6 +69,42 @@ public final class GraphQLPsiDocumentBuilder {
     return document.build();
   }
 
+  /**
+   * Creates a document with the type system definitions and extensions only, operations and fragments are skipped
+   * without converting their selection sets. That is enough for the schema assembly.
+   */
+  public @NotNull Document createTypeSystemDocument() {
+    Document.Builder document = Document.newDocument();
+    addCommonData(document, myFile);
+    document.definitions(mapNotNull(myFile.getDefinitions(), definition ->
+      isExecutableDefinition(definition) ? null : createDefinition(definition)));
+    return document.build();
+  }
+
+  /**
+   * Creates a full document reusing the already converted definitions of the provided type system document,
+   * so only operations and fragments are converted here.
+   */
+  public @NotNull Document createDocument(@NotNull Document typeSystemDocument) {
+    Map<PsiElement, Definition> typeSystemDefinitions = new HashMap<>();
+    for (Definition<?> definition : typeSystemDocument.getDefinitions()) {
+      PsiElement element = definition.getElement();
+      if (element != null) {
+        typeSystemDefinitions.put(element, definition);
+      }
+    }
+
+    Document.Builder document = Document.newDocument();
+    addCommonData(document, myFile);
+    document.definitions(mapNotNull(myFile.getDefinitions(), definition ->
+      isExecutableDefinition(definition) ? createDefinition(definition) : typeSystemDefinitions.get(definition)));
+    return document.build();
+  }
+
+  private static boolean isExecutableDefinition(@NotNull GraphQLDefinition definition) {
+    return definition instanceof GraphQLOperationDefinition || definition instanceof GraphQLFragmentDefinition;
+  }
+
   @Nullable
   private Definition createDefinition(@NotNull GraphQLDefinition definition) {
     if (definition instanceof GraphQLOperationDefinition) {
@@ -83,7 +140,7 @@ public final class GraphQLPsiDocumentBuilder {
     }
     else if (definition instanceof GraphQLTypedOperationDefinition typedOperation) {
       operationDefinition.operation(parseOperation(typedOperation));
-      operationDefinition.name(typedOperation.getName());
+      operationDefinition.name(intern(typedOperation.getName()));
 
       operationDefinition.variableDefinitions(createVariableDefinitions(typedOperation.getVariableDefinitions()));
       operationDefinition.directives(createDirectives(typedOperation.getDirectives()));
@@ -108,7 +165,7 @@ public final class GraphQLPsiDocumentBuilder {
 
   @Nullable
   private FragmentSpread createFragmentSpread(@NotNull GraphQLFragmentSpread fragment) {
-    FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(fragment.getName());
+    FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(intern(fragment.getName()));
     addCommonData(fragmentSpread, fragment);
     fragmentSpread.directives(createDirectives(fragment.getDirectives()));
     return checkNode(fragmentSpread.build());
@@ -126,7 +183,7 @@ public final class GraphQLPsiDocumentBuilder {
   private VariableDefinition createVariableDefinition(@NotNull GraphQLVariableDefinition definition) {
     VariableDefinition.Builder variableDefinition = VariableDefinition.newVariableDefinition();
     addCommonData(variableDefinition, definition);
-    variableDefinition.name(definition.getVariable().getName());
+    variableDefinition.name(intern(definition.getVariable().getName()));
     GraphQLDefaultValue defaultValue = definition.getDefaultValue();
     if (defaultValue != null) {
       variableDefinition.defaultValue(createValue(defaultValue.getValue()));
@@ -140,14 +197,14 @@ public final class GraphQLPsiDocumentBuilder {
   private FragmentDefinition createFragmentDefinition(@NotNull GraphQLFragmentDefinition definition) {
     FragmentDefinition.Builder fragmentDefinition = FragmentDefinition.newFragmentDefinition();
     addCommonData(fragmentDefinition, definition);
-    fragmentDefinition.name(definition.getName());
+    fragmentDefinition.name(intern(definition.getName()));
 
     GraphQLTypeCondition typeCondition = definition.getTypeCondition();
     if (typeCondition != null) {
       GraphQLTypeName typeName = typeCondition.getTypeName();
       if (typeName != null) {
         fragmentDefinition.typeCondition(checkNode(
-          TypeName.newTypeName().name(typeName.getName()).build()));
+          TypeName.newTypeName().name(intern(typeName.getName())).build()));
       }
     }
 
@@ -197,7 +254,7 @@ public final class GraphQLPsiDocumentBuilder {
   private Field createField(@NotNull GraphQLField field) {
     Field.Builder builder = Field.newField();
     addCommonData(builder, field);
-    builder.name(field.getName());
+    builder.name(intern(field.getName()));
     GraphQLAlias alias = field.getAlias();
     if (alias != null) {
       builder.alias(alias.getIdentifier().getText());
@@ -314,7 +371,7 @@ public final class GraphQLPsiDocumentBuilder {
   private TypeName createTypeName(@Nullable GraphQLTypeName typeName) {
     if (typeName == null) return null;
     TypeName.Builder builder = TypeName.newTypeName();
-    builder.name(typeName.getName());
+    builder.name(intern(typeName.getName()));
     addCommonData(builder, typeName);
     return checkNode(builder.build());
   }
@@ -348,7 +405,7 @@ public final class GraphQLPsiDocumentBuilder {
   private Argument createArgument(@NotNull GraphQLArgument argument) {
     Argument.Builder builder = Argument.newArgument();
     addCommonData(builder, argument);
-    builder.name(argument.getName());
+    builder.name(intern(argument.getName()));
     builder.value(createValue(argument.getValue()));
     return checkNode(builder.build());
   }
@@ -370,7 +427,7 @@ public final class GraphQLPsiDocumentBuilder {
   @Nullable
   private Directive createDirective(@NotNull GraphQLDirective directive) {
     Directive.Builder builder = Directive.newDirective();
-    builder.name(directive.getName());
+    builder.name(intern(directive.getName()));
     addCommonData(builder, directive);
     builder.arguments(createArguments(directive.getArguments()));
     return checkNode(builder.build());
@@ -409,7 +466,7 @@ public final class GraphQLPsiDocumentBuilder {
     OperationTypeDefinition.Builder def = OperationTypeDefinition.newOperationTypeDefinition();
     GraphQLOperationType operationType = definition.getOperationType();
     if (operationType != null) {
-      def.name(operationType.getText());
+      def.name(intern(operationType.getText()));
     }
     def.typeName(createTypeName(definition.getTypeName()));
     addCommonData(def, definition);
@@ -421,7 +478,7 @@ public final class GraphQLPsiDocumentBuilder {
     ScalarTypeDefinition.Builder def = ScalarTypeDefinition.newScalarTypeDefinition();
     GraphQLTypeNameDefinition typeNameDefinition = typeDefinition.getTypeNameDefinition();
     if (typeNameDefinition != null) {
-      def.name(typeNameDefinition.getName());
+      def.name(intern(typeNameDefinition.getName()));
     }
     addCommonData(def, typeDefinition);
     def.description(newDescription(typeDefinition.getDescription()));
@@ -434,7 +491,7 @@ public final class GraphQLPsiDocumentBuilder {
     ScalarTypeExtensionDefinition.Builder def = ScalarTypeExtensionDefinition.newScalarTypeExtensionDefinition();
     GraphQLTypeName typeName = extensionDefinition.getTypeName();
     if (typeName != null) {
-      def.name(typeName.getName());
+      def.name(intern(typeName.getName()));
     }
     addCommonData(def, extensionDefinition);
     def.directives(createDirectives(extensionDefinition.getDirectives()));
@@ -446,7 +503,7 @@ public final class GraphQLPsiDocumentBuilder {
     ObjectTypeDefinition.Builder def = ObjectTypeDefinition.newObjectTypeDefinition();
     GraphQLTypeNameDefinition typeNameDefinition = typeDefinition.getTypeNameDefinition();
     if (typeNameDefinition != null) {
-      def.name(typeNameDefinition.getName());
+      def.name(intern(typeNameDefinition.getName()));
     }
     addCommonData(def, typeDefinition);
     def.description(newDescription(typeDefinition.getDescription()));
@@ -461,7 +518,7 @@ public final class GraphQLPsiDocumentBuilder {
     ObjectTypeExtensionDefinition.Builder def = ObjectTypeExtensionDefinition.newObjectTypeExtensionDefinition();
     GraphQLTypeName typeName = extensionDefinition.getTypeName();
     if (typeName != null) {
-      def.name(typeName.getName());
+      def.name(intern(typeName.getName()));
     }
     addCommonData(def, extensionDefinition);
     def.directives(createDirectives(extensionDefinition.getDirectives()));
@@ -485,7 +542,7 @@ public final class GraphQLPsiDocumentBuilder {
   @Nullable
   private FieldDefinition createFieldDefinition(@NotNull GraphQLFieldDefinition fieldDefinition) {
     FieldDefinition.Builder def = FieldDefinition.newFieldDefinition();
-    def.name(fieldDefinition.getName());
+    def.name(intern(fieldDefinition.getName()));
     def.type(createType(fieldDefinition.getType()));
     addCommonData(def, fieldDefinition);
     def.description(newDescription(fieldDefinition.getDescription()));
@@ -505,7 +562,7 @@ public final class GraphQLPsiDocumentBuilder {
   @Nullable
   private InputValueDefinition createInputValueDefinition(@NotNull GraphQLInputValueDefinition valueDefinition) {
     InputValueDefinition.Builder def = InputValueDefinition.newInputValueDefinition();
-    def.name(valueDefinition.getName());
+    def.name(intern(valueDefinition.getName()));
     def.type(createType(valueDefinition.getType()));
     addCommonData(def, valueDefinition);
     def.description(newDescription(valueDefinition.getDescription()));
@@ -522,7 +579,7 @@ public final class GraphQLPsiDocumentBuilder {
     InterfaceTypeDefinition.Builder def = InterfaceTypeDefinition.newInterfaceTypeDefinition();
     GraphQLTypeNameDefinition typeNameDefinition = typeDefinition.getTypeNameDefinition();
     if (typeNameDefinition != null) {
-      def.name(typeNameDefinition.getName());
+      def.name(intern(typeNameDefinition.getName()));
     }
     addCommonData(def, typeDefinition);
     def.description(newDescription(typeDefinition.getDescription()));
@@ -538,7 +595,7 @@ public final class GraphQLPsiDocumentBuilder {
     InterfaceTypeExtensionDefinition.Builder def = InterfaceTypeExtensionDefinition.newInterfaceTypeExtensionDefinition();
     GraphQLTypeName typeName = extensionDefinition.getTypeName();
     if (typeName != null) {
-      def.name(typeName.getName());
+      def.name(intern(typeName.getName()));
     }
     addCommonData(def, extensionDefinition);
     def.directives(createDirectives(extensionDefinition.getDirectives()));
@@ -553,7 +610,7 @@ public final class GraphQLPsiDocumentBuilder {
     UnionTypeDefinition.Builder def = UnionTypeDefinition.newUnionTypeDefinition();
     GraphQLTypeNameDefinition typeNameDefinition = typeDefinition.getTypeNameDefinition();
     if (typeNameDefinition != null) {
-      def.name(typeNameDefinition.getName());
+      def.name(intern(typeNameDefinition.getName()));
     }
     addCommonData(def, typeDefinition);
     def.description(newDescription(typeDefinition.getDescription()));
@@ -580,7 +637,7 @@ public final class GraphQLPsiDocumentBuilder {
     UnionTypeExtensionDefinition.Builder def = UnionTypeExtensionDefinition.newUnionTypeExtensionDefinition();
     GraphQLTypeName typeName = extensionDefinition.getTypeName();
     if (typeName != null) {
-      def.name(typeName.getName());
+      def.name(intern(typeName.getName()));
     }
     addCommonData(def, extensionDefinition);
     def.directives(createDirectives(extensionDefinition.getDirectives()));
@@ -606,7 +663,7 @@ public final class GraphQLPsiDocumentBuilder {
     EnumTypeDefinition.Builder def = EnumTypeDefinition.newEnumTypeDefinition();
     GraphQLTypeNameDefinition typeNameDefinition = enumTypeDefinition.getTypeNameDefinition();
     if (typeNameDefinition != null) {
-      def.name(typeNameDefinition.getName());
+      def.name(intern(typeNameDefinition.getName()));
     }
     addCommonData(def, enumTypeDefinition);
     def.description(newDescription(enumTypeDefinition.getDescription()));
@@ -624,7 +681,7 @@ public final class GraphQLPsiDocumentBuilder {
     EnumTypeExtensionDefinition.Builder def = EnumTypeExtensionDefinition.newEnumTypeExtensionDefinition();
     GraphQLTypeName typeName = extensionDefinition.getTypeName();
     if (typeName != null) {
-      def.name(typeName.getName());
+      def.name(intern(typeName.getName()));
     }
     addCommonData(def, extensionDefinition);
     def.directives(createDirectives(extensionDefinition.getDirectives()));
@@ -639,7 +696,7 @@ public final class GraphQLPsiDocumentBuilder {
   @Nullable
   private EnumValueDefinition createEnumValueDefinition(@NotNull GraphQLEnumValueDefinition valueDefinition) {
     EnumValueDefinition.Builder def = EnumValueDefinition.newEnumValueDefinition();
-    def.name(valueDefinition.getEnumValue().getName());
+    def.name(intern(valueDefinition.getEnumValue().getName()));
     addCommonData(def, valueDefinition);
     def.description(newDescription(valueDefinition.getDescription()));
     def.directives(createDirectives(valueDefinition.getDirectives()));
@@ -651,7 +708,7 @@ public final class GraphQLPsiDocumentBuilder {
     InputObjectTypeDefinition.Builder def = InputObjectTypeDefinition.newInputObjectDefinition();
     GraphQLTypeNameDefinition typeNameDefinition = typeDefinition.getTypeNameDefinition();
     if (typeNameDefinition != null) {
-      def.name(typeNameDefinition.getName());
+      def.name(intern(typeNameDefinition.getName()));
     }
     addCommonData(def, typeDefinition);
     def.description(newDescription(typeDefinition.getDescription()));
@@ -668,7 +725,7 @@ public final class GraphQLPsiDocumentBuilder {
     InputObjectTypeExtensionDefinition.Builder def = InputObjectTypeExtensionDefinition.newInputObjectTypeExtensionDefinition();
     GraphQLTypeName typeName = extensionDefinition.getTypeName();
     if (typeName != null) {
-      def.name(typeName.getName());
+      def.name(intern(typeName.getName()));
     }
     addCommonData(def, extensionDefinition);
     def.directives(createDirectives(extensionDefinition.getDirectives()));
@@ -684,7 +741,7 @@ public final class GraphQLPsiDocumentBuilder {
     DirectiveDefinition.Builder def = DirectiveDefinition.newDirectiveDefinition();
     GraphQLIdentifier nameIdentifier = directiveDefinition.getNameIdentifier();
     if (nameIdentifier != null) {
-      def.name(nameIdentifier.getText());
+      def.name(intern(nameIdentifier.getText()));
     }
     addCommonData(def, directiveDefinition);
     def.description(newDescription(directiveDefinition.getDescription()));
@@ -713,7 +770,7 @@ public final class GraphQLPsiDocumentBuilder {
   @Nullable
   private DirectiveLocation createDirectiveLocation(@NotNull GraphQLDirectiveLocation directiveLocation) {
     DirectiveLocation.Builder def = DirectiveLocation.newDirectiveLocation();
-    def.name(directiveLocation.getText());
+    def.name(intern(directiveLocation.getText()));
     addCommonData(def, directiveLocation);
     return checkNode(def.build());
   }
@@ -760,7 +817,7 @@ public final class GraphQLPsiDocumentBuilder {
       return stringValue.build();
     }
     else if (value instanceof GraphQLEnumValue) {
-      EnumValue.Builder enumValue = EnumValue.newEnumValue().name(((GraphQLEnumValue)value).getName());
+      EnumValue.Builder enumValue = EnumValue.newEnumValue().name(intern(((GraphQLEnumValue)value).getName()));
       addCommonData(enumValue, value);
       return checkNode(enumValue.build());
     }
@@ -782,7 +839,7 @@ public final class GraphQLPsiDocumentBuilder {
       List<ObjectField> objectFields = new ArrayList<>();
       for (GraphQLObjectField field : ((GraphQLObjectValue)value).getObjectFieldList()) {
         ObjectField objectField = checkNode(ObjectField.newObjectField()
-                                              .name(field.getName())
+                                              .name(intern(field.getName()))
                                               .value(createValue(field.getValue()))
                                               .build());
         if (objectField != null) {
@@ -793,7 +850,7 @@ public final class GraphQLPsiDocumentBuilder {
     }
     else if (value instanceof GraphQLVariable) {
       VariableReference.Builder variableReference = VariableReference.newVariableReference()
-        .name(((GraphQLVariable)value).getName());
+        .name(intern(((GraphQLVariable)value).getName()));
       addCommonData(variableReference, value);
       return checkNode(variableReference.build());
     }
@@ -804,14 +861,21 @@ public final class GraphQLPsiDocumentBuilder {
   }
 
   private void addCommonData(NodeBuilder nodeBuilder, @NotNull PsiElement element) {
-    nodeBuilder.sourceLocation(getSourceLocation(element));
+    if (!myCompact) {
+      nodeBuilder.sourceLocation(getSourceLocation(element));
+    }
     nodeBuilder.element(element);
 
     if (myIsInLibrary) {
-      nodeBuilder.additionalData(IS_IN_LIBRARY_KEY, "");
+      nodeBuilder.additionalData(AbstractNode.IS_IN_LIBRARY_KEY, "");
     }
   }
 
+  @Contract("null -> null; !null -> !null")
+  private @Nullable String intern(@Nullable String name) {
+    return name != null && myCompact ? ourNamesInterner.intern(name) : name;
+  }
+
   @Nullable
   private Description newDescription(@Nullable GraphQLDescription description) {
     if (description == null) {
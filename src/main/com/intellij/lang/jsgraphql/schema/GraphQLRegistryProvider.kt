@@ -11,6 +11,7 @@ import com.intellij.lang.jsgraphql.GraphQLFileType
 import com.intellij.lang.jsgraphql.ide.resolve.GraphQLScopeProvider
 import com.intellij.lang.jsgraphql.ide.search.GraphQLPsiSearchHelper
 import com.intellij.lang.jsgraphql.types.GraphQLException
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry
 import com.intellij.openapi.components.Service
 import com.intellij.openapi.components.service
 import com.intellij.openapi.diagnostic.logger
@@ -22,6 +23,7 @@ import com.intellij.psi.search.GlobalSearchScope
 import com.intellij.psi.util.CachedValue
 import com.intellij.psi.util.CachedValueProvider
 import com.intellij.psi.util.CachedValuesManager
+import com.intellij.util.containers.CollectionFactory
 import com.intellij.util.containers.ContainerUtil
 import java.util.concurrent.ConcurrentMap
 
@@ -38,6 +40,7 @@ class GraphQLRegistryProvider(private val project: Project) {
   private val psiManager = PsiManager.getInstance(project)
   private val scopeProvider = GraphQLScopeProvider.getInstance(project)
   private val psiSearchHelper = GraphQLPsiSearchHelper.getInstance(project)
+  private val statistics = GraphQLSchemaBuildStatistics.getInstance(project)
 
   private val scopeToRegistryCache: CachedValue<ConcurrentMap<GlobalSearchScope, GraphQLRegistryInfo>> =
     CachedValuesManager.getManager(project).createCachedValue {
@@ -47,6 +50,13 @@ class GraphQLRegistryProvider(private val project: Project) {
       )
     }
 
+  /**
+   * The last registry built for a scope. It outlives the cache, so the registry rebuilt after a change carries its
+   * reference index forward, and only the definitions of the changed files are indexed again.
+   */
+  private val previousRegistries: ConcurrentMap<GlobalSearchScope, TypeDefinitionRegistry> =
+    CollectionFactory.createConcurrentSoftValueMap()
+
   /**
    * @param context pass null for a global scope
    * @return registry for provided scope
@@ -56,7 +66,9 @@ class GraphQLRegistryProvider(private val project: Project) {
   }
 
   fun getRegistryInfo(schemaScope: GlobalSearchScope): GraphQLRegistryInfo {
-    return scopeToRegistryCache.value.computeIfAbsent(schemaScope) {
+    var isCached = true
+    val registryInfo = scopeToRegistryCache.value.computeIfAbsent(schemaScope) {
+      isCached = false
       val errors: MutableList<GraphQLException> = mutableListOf()
       val processor = GraphQLSchemaDocumentProcessor()
 
@@ -76,9 +88,22 @@ class GraphQLRegistryProvider(private val project: Project) {
       // Injected GraphQL
       psiSearchHelper.processInjectedGraphQLFiles(project, schemaScope, processor)
 
+      val buildStart = System.nanoTime()
       val registry = processor.compositeRegistry.buildTypeDefinitionRegistry()
+      previousRegistries.put(schemaScope, registry)?.let { registry.updateReferenceIndex(it) }
+
+      statistics.recordStage(schemaScope, GraphQLSchemaBuildStatistics.Stage.DOCUMENTS, processor.documentsNanos)
+      statistics.recordStage(
+        schemaScope,
+        GraphQLSchemaBuildStatistics.Stage.MERGE,
+        processor.mergeNanos + System.nanoTime() - buildStart
+      )
+      statistics.getOrCreateStatistics(schemaScope).filesCount = processor.filesCount
+
       GraphQLRegistryInfo(registry, errors)
     }
+    statistics.getOrCreateStatistics(schemaScope).registryCache.record(isCached)
+    return registryInfo
   }
 }
 
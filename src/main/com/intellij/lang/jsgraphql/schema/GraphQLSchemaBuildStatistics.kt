@@ -0,0 +1,160 @@
+package com.intellij.lang.jsgraphql.schema
+
+import com.google.gson.GsonBuilder
+import com.google.gson.JsonArray
+import com.google.gson.JsonObject
+import com.intellij.lang.jsgraphql.GraphQLBundle
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.components.service
+import com.intellij.openapi.project.Project
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.util.containers.ContainerUtil
+import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Collects timings of the schema build stages per schema scope, so it's possible to tell where the time goes
+ * when the highlighting is slow. Only counters are updated on the hot path, the report is assembled on demand.
+ */
+@Service(Service.Level.PROJECT)
+class GraphQLSchemaBuildStatistics {
+
+  companion object {
+    @JvmStatic
+    fun getInstance(project: Project) = project.service<GraphQLSchemaBuildStatistics>()
+  }
+
+  enum class Stage(private val messageKey: String) {
+    /**
+     * PSI to AST conversion of the schema files, see [com.intellij.lang.jsgraphql.schema.GraphQLPsiDocumentBuilder].
+     */
+    DOCUMENTS("graphql.schema.build.stage.documents"),
+
+    /**
+     * Merge of the documents into a type definition registry, see [com.intellij.lang.jsgraphql.schema.builder.GraphQLCompositeRegistry].
+     */
+    MERGE("graphql.schema.build.stage.merge"),
+    SCHEMA("graphql.schema.build.stage.schema"),
+    SCHEMA_VALIDATION("graphql.schema.build.stage.schema.validation"),
+    DOCUMENT_VALIDATION("graphql.schema.build.stage.document.validation");
+
+    val displayName: String
+      get() = GraphQLBundle.message(messageKey)
+  }
+
+  class StageTiming {
+    private val count = AtomicInteger()
+    private val totalNanos = AtomicLong()
+    private val lastNanos = AtomicLong()
+
+    val invocations: Int
+      get() = count.get()
+
+    val totalMillis: Long
+      get() = TimeUnit.NANOSECONDS.toMillis(totalNanos.get())
+
+    val lastMillis: Long
+      get() = TimeUnit.NANOSECONDS.toMillis(lastNanos.get())
+
+    fun record(nanos: Long) {
+      count.incrementAndGet()
+      totalNanos.addAndGet(nanos)
+      lastNanos.set(nanos)
+    }
+  }
+
+  class CacheCounter {
+    private val hitCount = AtomicInteger()
+    private val missCount = AtomicInteger()
+
+    val hits: Int
+      get() = hitCount.get()
+
+    val misses: Int
+      get() = missCount.get()
+
+    val hitRatio: Double
+      get() = hits.toDouble() / (hits + misses).coerceAtLeast(1)
+
+    fun record(hit: Boolean) {
+      if (hit) hitCount.incrementAndGet() else missCount.incrementAndGet()
+    }
+  }
+
+  class ScopeStatistics(val scopeName: String) {
+    private val stages = Stage.values().associateWith { StageTiming() }
+
+    val registryCache = CacheCounter()
+    val schemaCache = CacheCounter()
+
+    @Volatile
+    var filesCount: Int = 0
+      internal set
+
+    @Volatile
+    var typesCount: Int = 0
+      internal set
+
+    fun getTiming(stage: Stage): StageTiming = stages.getValue(stage)
+  }
+
+  private val scopeToStatistics: ConcurrentMap<GlobalSearchScope, ScopeStatistics> = ContainerUtil.createConcurrentWeakMap()
+
+  fun getStatistics(scope: GlobalSearchScope): ScopeStatistics? = scopeToStatistics[scope]
+
+  fun getOrCreateStatistics(scope: GlobalSearchScope): ScopeStatistics =
+    scopeToStatistics.computeIfAbsent(scope) { ScopeStatistics(it.displayName) }
+
+  fun recordStage(scope: GlobalSearchScope, stage: Stage, nanos: Long) {
+    getOrCreateStatistics(scope).getTiming(stage).record(nanos)
+  }
+
+  inline fun <T> measure(scope: GlobalSearchScope, stage: Stage, block: () -> T): T {
+    val start = System.nanoTime()
+    try {
+      return block()
+    }
+    finally {
+      recordStage(scope, stage, System.nanoTime() - start)
+    }
+  }
+
+  fun reset() {
+    scopeToStatistics.clear()
+  }
+
+  fun createReport(): String {
+    val scopes = JsonArray()
+    for (statistics in scopeToStatistics.values.sortedBy { it.scopeName }) {
+      val scope = JsonObject()
+      scope.addProperty("scope", statistics.scopeName)
+      scope.addProperty("files", statistics.filesCount)
+      scope.addProperty("types", statistics.typesCount)
+      scope.add("registryCache", toJson(statistics.registryCache))
+      scope.add("schemaCache", toJson(statistics.schemaCache))
+
+      val stages = JsonObject()
+      for (stage in Stage.values()) {
+        val timing = statistics.getTiming(stage)
+        stages.add(stage.name.lowercase(), JsonObject().apply {
+          addProperty("invocations", timing.invocations)
+          addProperty("totalMs", timing.totalMillis)
+          addProperty("lastMs", timing.lastMillis)
+        })
+      }
+      scope.add("stages", stages)
+      scopes.add(scope)
+    }
+
+    val report = JsonObject()
+    report.add("scopes", scopes)
+    return GsonBuilder().setPrettyPrinting().create().toJson(report)
+  }
+
+  private fun toJson(counter: CacheCounter) = JsonObject().apply {
+    addProperty("hits", counter.hits)
+    addProperty("misses", counter.misses)
+  }
+}
@@ -12,6 +12,7 @@ import com.intellij.lang.jsgraphql.ide.resolve.GraphQLScopeProvider
 import com.intellij.lang.jsgraphql.types.GraphQLException
 import com.intellij.lang.jsgraphql.types.schema.GraphQLObjectType
 import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaTypeCheckResult
 import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator
 import com.intellij.lang.jsgraphql.types.schema.validation.InvalidSchemaException
 import com.intellij.lang.jsgraphql.types.schema.validation.SchemaValidator
@@ -20,6 +21,7 @@ import com.intellij.openapi.components.service
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.progress.ProcessCanceledException
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.registry.Registry
 import com.intellij.psi.PsiElement
 import com.intellij.psi.search.GlobalSearchScope
 import com.intellij.psi.util.CachedValue
@@ -46,6 +48,7 @@ class GraphQLSchemaProvider(project: Project) {
 
   private val registryProvider = GraphQLRegistryProvider.getInstance(project)
   private val scopeProvider = GraphQLScopeProvider.getInstance(project)
+  private val statistics = GraphQLSchemaBuildStatistics.getInstance(project)
 
   private val scopeToSchemaCache: CachedValue<ConcurrentMap<GlobalSearchScope, GraphQLSchemaInfo>> =
     CachedValuesManager.getManager(project).createCachedValue {
@@ -55,6 +58,12 @@ class GraphQLSchemaProvider(project: Project) {
       )
     }
 
+  /**
+   * Outlives the schema cache on purpose: the previous check result is used to check only the changed types on the next build.
+   */
+  private val scopeToTypeCheckResult: ConcurrentMap<GlobalSearchScope, SchemaTypeCheckResult> =
+    ContainerUtil.createConcurrentWeakMap()
+
   @RequiresReadLock
   fun getSchemaInfo(context: PsiElement?): GraphQLSchemaInfo {
     return getSchemaInfo(scopeProvider.getResolveScope(context, true))
@@ -62,13 +71,27 @@ class GraphQLSchemaProvider(project: Project) {
 
   @RequiresReadLock
   fun getSchemaInfo(scope: GlobalSearchScope): GraphQLSchemaInfo {
-    return scopeToSchemaCache.value.computeIfAbsent(scope) {
+    var isCached = true
+    val schemaInfo = scopeToSchemaCache.value.computeIfAbsent(scope) {
+      isCached = false
       val registryWithErrors = registryProvider.getRegistryInfo(scope)
 
       try {
-        val schema =
-          UnExecutableSchemaGenerator.makeUnExecutableSchema(registryWithErrors.typeDefinitionRegistry)
-        val validationErrors = SchemaValidator().validateSchema(schema)
+        val schema = statistics.measure(scope, GraphQLSchemaBuildStatistics.Stage.SCHEMA) {
+          if (Registry.`is`("graphql.schema.check.incremental")) {
+            UnExecutableSchemaGenerator.makeUnExecutableSchema(
+              registryWithErrors.typeDefinitionRegistry,
+              scopeToTypeCheckResult[scope],
+            ) { scopeToTypeCheckResult[scope] = it }
+          }
+          else {
+            UnExecutableSchemaGenerator.makeUnExecutableSchema(registryWithErrors.typeDefinitionRegistry)
+          }
+        }
+        statistics.getOrCreateStatistics(scope).typesCount = schema.allTypesAsList.size
+        val validationErrors = statistics.measure(scope, GraphQLSchemaBuildStatistics.Stage.SCHEMA_VALIDATION) {
+          SchemaValidator(Registry.`is`("graphql.schema.validation.parallel")).validateSchema(schema)
+        }
         val errors = if (validationErrors.isEmpty())
           emptyList()
         else
@@ -88,5 +111,7 @@ class GraphQLSchemaProvider(project: Project) {
         )
       }
     }
+    statistics.getOrCreateStatistics(scope).schemaCache.record(isCached)
+    return schemaInfo
   }
 }
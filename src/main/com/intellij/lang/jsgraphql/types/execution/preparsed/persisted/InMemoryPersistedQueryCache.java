@@ -21,22 +21,56 @@ import com.intellij.lang.jsgraphql.types.Assert;
 import com.intellij.lang.jsgraphql.types.ExecutionInput;
 import com.intellij.lang.jsgraphql.types.PublicApi;
 import com.intellij.lang.jsgraphql.types.execution.preparsed.PreparsedDocumentEntry;
+import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.language.Node;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
 
 /**
  * A PersistedQueryCache that is just an in memory map of known queries.
+ * <p>
+ * The cache is unbounded unless a maximum size or weight is set with the {@link Builder}. A bounded cache evicts
+ * the approximately least recently used documents: lookups don't take a lock, they are recorded in a buffer
+ * that is replayed on the access order under a lock, and the records that don't fit into the buffer are dropped.
  */
 @PublicApi
 public class InMemoryPersistedQueryCache implements PersistedQueryCache {
 
-  private final Map<Object, PreparsedDocumentEntry> cache = new ConcurrentHashMap<>();
+  private static final int READ_BUFFER_SIZE = 128;
+
+  private final Map<Object, CacheEntry> cache = new ConcurrentHashMap<>();
   private final Map<Object, String> knownQueries;
 
+  private final long maximumWeight;
+  private final ToIntFunction<PreparsedDocumentEntry> weigher;
+
+  // the access order of the entries, guarded by the eviction lock
+  private final LinkedHashMap<Object, CacheEntry> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private final Queue<CacheEntry> readBuffer = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger readBufferSize = new AtomicInteger();
+  private long weightedSize;
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
   public InMemoryPersistedQueryCache(Map<Object, String> knownQueries) {
+    this(knownQueries, Long.MAX_VALUE, entry -> 1);
+  }
+
+  private InMemoryPersistedQueryCache(Map<Object, String> knownQueries,
+                                      long maximumWeight,
+                                      ToIntFunction<PreparsedDocumentEntry> weigher) {
     this.knownQueries = Assert.assertNotNull(knownQueries);
+    this.maximumWeight = maximumWeight;
+    this.weigher = weigher;
   }
 
   public Map<Object, String> getKnownQueries() {
@@ -47,32 +81,204 @@ public class InMemoryPersistedQueryCache implements PersistedQueryCache {
   public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId,
                                                           ExecutionInput executionInput,
                                                           PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
-    return cache.compute(persistedQueryId, (k, v) -> {
-      if (v != null) {
-        return v;
-      }
+    CacheEntry entry = cache.get(persistedQueryId);
+    if (entry != null) {
+      hitCount.increment();
+      afterRead(entry);
+      return entry.document;
+    }
+
+    boolean[] loaded = {false};
+    // the document is compiled once even if requested concurrently, the others wait for it
+    entry = cache.computeIfAbsent(persistedQueryId, k -> {
       String queryText = knownQueries.get(persistedQueryId);
       if (queryText == null) {
+        missCount.increment();
         throw new PersistedQueryNotFound(persistedQueryId);
       }
-      return onCacheMiss.apply(queryText);
+      PreparsedDocumentEntry document = onCacheMiss.apply(queryText);
+      loaded[0] = true;
+      return new CacheEntry(persistedQueryId, document, Math.max(0, weigher.applyAsInt(document)));
     });
+
+    if (loaded[0]) {
+      missCount.increment();
+      afterWrite(entry);
+    }
+    else {
+      hitCount.increment();
+      afterRead(entry);
+    }
+    return entry.document;
+  }
+
+  private void afterRead(CacheEntry entry) {
+    if (maximumWeight == Long.MAX_VALUE) return;
+
+    // a full buffer drops the record, so the order is approximate, but the lookups never wait for each other
+    if (readBufferSize.get() < READ_BUFFER_SIZE) {
+      readBufferSize.incrementAndGet();
+      readBuffer.add(entry);
+    }
+    if (readBufferSize.get() >= READ_BUFFER_SIZE / 2 && evictionLock.tryLock()) {
+      try {
+        drainReadBuffer();
+      }
+      finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  private void afterWrite(CacheEntry entry) {
+    evictionLock.lock();
+    try {
+      weightedSize += entry.weight;
+      if (maximumWeight != Long.MAX_VALUE) {
+        drainReadBuffer();
+        accessOrder.put(entry.key, entry);
+        evict();
+      }
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private void drainReadBuffer() {
+    CacheEntry entry;
+    while ((entry = readBuffer.poll()) != null) {
+      readBufferSize.decrementAndGet();
+      // a lookup in the access ordered map moves the entry to the end, an evicted entry isn't found
+      accessOrder.get(entry.key);
+    }
+  }
+
+  private void evict() {
+    Iterator<CacheEntry> iterator = accessOrder.values().iterator();
+    // the most recent entry stays even if it alone is heavier than the maximum
+    while (weightedSize > maximumWeight && accessOrder.size() > 1 && iterator.hasNext()) {
+      CacheEntry eldest = iterator.next();
+      iterator.remove();
+      cache.remove(eldest.key, eldest);
+      weightedSize -= eldest.weight;
+      evictionCount.increment();
+    }
+  }
+
+  /**
+   * @return the number of lookups that found the compiled document in the cache
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * @return the number of lookups that had to compile the document or didn't find the query at all
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * @return the number of documents removed to stay within the maximum size or weight
+   */
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  /**
+   * @return the number of the cached documents
+   */
+  public int getSize() {
+    return cache.size();
+  }
+
+  /**
+   * @return the total weight of the cached documents, the same as the size unless weighed by the node count
+   */
+  public long getWeightedSize() {
+    evictionLock.lock();
+    try {
+      return weightedSize;
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of nodes in the document, or 1 for an entry with errors instead of a document
+   */
+  public static int countNodes(PreparsedDocumentEntry entry) {
+    Document document = entry.getDocument();
+    if (document == null) {
+      return 1;
+    }
+    int count = 0;
+    Deque<Node<?>> stack = new ArrayDeque<>();
+    stack.push(document);
+    while (!stack.isEmpty()) {
+      Node<?> node = stack.pop();
+      count++;
+      for (Node<?> child : node.getChildren()) {
+        if (child != null) {
+          stack.push(child);
+        }
+      }
+    }
+    return count;
   }
 
   public static Builder newInMemoryPersistedQueryCache() {
     return new Builder();
   }
 
+  private static final class CacheEntry {
+    private final Object key;
+    private final PreparsedDocumentEntry document;
+    private final int weight;
+
+    private CacheEntry(Object key, PreparsedDocumentEntry document, int weight) {
+      this.key = key;
+      this.document = document;
+      this.weight = weight;
+    }
+  }
+
   public static class Builder {
     private final Map<Object, String> knownQueries = new HashMap<>();
+    private long maximumWeight = Long.MAX_VALUE;
+    private ToIntFunction<PreparsedDocumentEntry> weigher = entry -> 1;
 
     public Builder addQuery(Object key, String queryText) {
       knownQueries.put(key, queryText);
       return this;
     }
 
+    /**
+     * Limits the number of the cached documents.
+     */
+    public Builder maximumSize(long maximumSize) {
+      Assert.assertTrue(maximumSize > 0, () -> "The maximum size must be positive");
+      this.maximumWeight = maximumSize;
+      this.weigher = entry -> 1;
+      return this;
+    }
+
+    /**
+     * Limits the total number of nodes in the cached documents,
+     * so a few large documents take the place of many small ones.
+     */
+    public Builder maximumNodeCount(long maximumNodeCount) {
+      Assert.assertTrue(maximumNodeCount > 0, () -> "The maximum node count must be positive");
+      this.maximumWeight = maximumNodeCount;
+      this.weigher = InMemoryPersistedQueryCache::countNodes;
+      return this;
+    }
+
     public InMemoryPersistedQueryCache build() {
-      return new InMemoryPersistedQueryCache(knownQueries);
+      return new InMemoryPersistedQueryCache(knownQueries, maximumWeight, weigher);
     }
   }
 }
@@ -21,6 +21,7 @@ package com.intellij.lang.jsgraphql.types.language;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.intellij.lang.jsgraphql.types.Assert;
+import com.intellij.lang.jsgraphql.types.Internal;
 import com.intellij.lang.jsgraphql.types.PublicApi;
 import com.intellij.psi.PsiElement;
 import com.intellij.util.containers.ContainerUtil;
@@ -39,10 +40,23 @@ import static com.intellij.lang.jsgraphql.types.collect.ImmutableKit.map;
 @PublicApi
 public abstract class AbstractNode<T extends Node> implements Node<T> {
 
-  private final SourceLocation sourceLocation;
+  /**
+   * Marks nodes created from library definitions. Checked through a flag bit, the nodes without other additional data
+   * share a single map with this entry.
+   */
+  @Internal
+  public static final String IS_IN_LIBRARY_KEY = "is.in.library";
+
+  private static final ImmutableMap<String, String> IN_LIBRARY_DATA = ImmutableMap.of(IS_IN_LIBRARY_KEY, "");
+
+  private static final byte FLAG_IN_LIBRARY = 1;
+
+  // created on the first request for the nodes built from PSI without an explicit location
+  private @Nullable SourceLocation sourceLocation;
   private final ImmutableList<Comment> comments;
   private final IgnoredChars ignoredChars;
   private final ImmutableMap<String, String> additionalData;
+  private final byte myFlags;
 
   private final @Nullable PsiElement myElement;
   private final @NotNull List<Node> mySourceNodes;
@@ -62,7 +76,16 @@ public abstract class AbstractNode<T extends Node> implements Node<T> {
     Assert.assertNotNull(additionalData, () -> "additionalData can't be null");
 
     this.sourceLocation = sourceLocation;
-    this.additionalData = ImmutableMap.copyOf(additionalData);
+    if (additionalData.containsKey(IS_IN_LIBRARY_KEY)) {
+      myFlags = FLAG_IN_LIBRARY;
+      // the map with only the library entry is shared by all the library nodes
+      this.additionalData = additionalData.size() == 1 ? IN_LIBRARY_DATA : ImmutableMap.copyOf(additionalData);
+    }
+    else {
+      myFlags = 0;
+      // the empty map is a shared instance
+      this.additionalData = ImmutableMap.copyOf(additionalData);
+    }
     this.comments = ImmutableList.copyOf(comments);
     this.ignoredChars = ignoredChars;
 
@@ -70,9 +93,18 @@ public abstract class AbstractNode<T extends Node> implements Node<T> {
     mySourceNodes = sourceNodes == null ? Collections.emptyList() : ImmutableList.copyOf(sourceNodes);
   }
 
+  /**
+   * Nodes built from PSI may omit an explicit location, in this case it is created on the first request from the element.
+   */
   @Override
   public SourceLocation getSourceLocation() {
-    return sourceLocation;
+    SourceLocation location = sourceLocation;
+    if (location == null && myElement != null) {
+      // a racing thread creates an equal location, so the field isn't volatile
+      location = new SourceLocation(myElement);
+      sourceLocation = location;
+    }
+    return location;
   }
 
   @Override
@@ -90,6 +122,10 @@ public abstract class AbstractNode<T extends Node> implements Node<T> {
     return additionalData;
   }
 
+  public boolean isInLibrary() {
+    return (myFlags & FLAG_IN_LIBRARY) != 0;
+  }
+
   @SuppressWarnings("unchecked")
   protected <V extends Node> V deepCopy(V nullableObj) {
     if (nullableObj == null) {
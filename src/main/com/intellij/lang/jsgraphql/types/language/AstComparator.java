@@ -28,7 +28,8 @@ public class AstComparator {
 
 
   public boolean isEqual(Node node1, Node node2) {
-    if (null == node1) return null == node2;
+    if (node1 == node2) return true;
+    if (null == node1) return false;
     if (!node1.isEqualTo(node2)) return false;
     List<Node> childs1 = node1.getChildren();
     List<Node> childs2 = node2.getChildren();
@@ -19,24 +19,29 @@ package com.intellij.lang.jsgraphql.types.language;
 
 import com.intellij.lang.jsgraphql.types.AssertException;
 import com.intellij.lang.jsgraphql.types.PublicApi;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import static com.intellij.lang.jsgraphql.types.Assert.assertTrue;
 import static com.intellij.lang.jsgraphql.types.util.EscapeUtil.escapeJsonString;
-import static java.lang.String.valueOf;
 
 /**
  * This can take graphql language AST and print it out as a string
+ * <p>
+ * The nodes are printed in a single pass into one {@link StringBuilder}. Instead of building the strings of the child nodes
+ * and joining them, optional parts are printed in place and dropped again if they turn out to be blank.
  */
-@SuppressWarnings("UnnecessaryLocalVariable")
 @PublicApi
 public class AstPrinter {
+  private static final AstPrinter PRETTY_PRINTER = new AstPrinter(false);
+  private static final AstPrinter COMPACT_PRINTER = new AstPrinter(true);
+
   private final Map<Class<? extends Node>, NodePrinter<? extends Node>> printers = new LinkedHashMap<>();
 
   private final boolean compactMode;
@@ -89,41 +94,54 @@ public class AstPrinter {
   }
 
   private NodePrinter<Argument> argument() {
-    if (compactMode) {
-      return (out, node) -> out.append(node.getName()).append(':').append(value(node.getValue()));
-    }
-    return (out, node) -> out.append(node.getName()).append(": ").append(value(node.getValue()));
+    final String nameValueSep = compactMode ? ":" : ": ";
+    return (out, node) -> {
+      out.append(node.getName()).append(nameValueSep);
+      value(out, node.getValue());
+    };
   }
 
   private NodePrinter<Document> document() {
-    if (compactMode) {
-      return (out, node) -> out.append(join(node.getDefinitions(), " "));
-    }
-    return (out, node) -> out.append(join(node.getDefinitions(), "\n\n")).append("\n");
+    String delim = compactMode ? " " : "\n\n";
+    return (out, node) -> {
+      boolean first = true;
+      for (Definition definition : node.getDefinitions()) {
+        if (first) {
+          first = false;
+        }
+        else {
+          out.append(delim);
+        }
+        node(out, definition);
+        // a printed definition is never changed again
+        out.flush();
+      }
+      if (!compactMode) {
+        out.append('\n');
+      }
+    };
   }
 
   private NodePrinter<Directive> directive() {
     final String argSep = compactMode ? "," : ", ";
     return (out, node) -> {
-      String arguments = wrap("(", join(node.getArguments(), argSep), ")");
-      out.append('@').append(node.getName()).append(arguments);
+      out.append('@').append(node.getName());
+      wrap(out, "(", node.getArguments(), argSep, ")");
     };
   }
 
   private NodePrinter<DirectiveDefinition> directiveDefinition() {
     final String argSep = compactMode ? "," : ", ";
     return (out, node) -> {
-      out.append(description(node));
-      String arguments = wrap("(", join(node.getInputValueDefinitions(), argSep), ")");
-      String locations = join(node.getDirectiveLocations(), " | ");
-      String repeatable = node.isRepeatable() ? "repeatable " : "";
-      out.append("directive @")
-        .append(node.getName())
-        .append(arguments)
-        .append(" ")
-        .append(repeatable)
-        .append("on ")
-        .append(locations);
+      description(out, node);
+      out.append("directive @").append(node.getName());
+      wrap(out, "(", node.getInputValueDefinitions(), argSep, ")");
+      out.append(' ');
+      if (node.isRepeatable()) {
+        out.append("repeatable ");
+      }
+      out.append("on ");
+      join(out, node.getDirectiveLocations(), " | ");
     };
   }
 
@@ -133,13 +151,13 @@ public class AstPrinter {
 
   private NodePrinter<EnumTypeDefinition> enumTypeDefinition() {
     return (out, node) -> {
-      out.append(description(node));
-      out.append(spaced(
-        "enum",
-        node.getName(),
-        directives(node.getDirectives()),
-        block(node.getEnumValueDefinitions())
-      ));
+      description(out, node);
+      int start = out.length();
+      out.append("enum");
+      spacedName(out, start, node.getName());
+      spacedDirectives(out, start, node.getDirectives());
+      out.startPart(start);
+      block(out, node.getEnumValueDefinitions());
     };
   }
 
@@ -149,11 +167,10 @@ public class AstPrinter {
 
   private NodePrinter<EnumValueDefinition> enumValueDefinition() {
     return (out, node) -> {
-      out.append(description(node));
-      out.append(spaced(
-        node.getName(),
-        directives(node.getDirectives())
-      ));
+      description(out, node);
+      int start = out.length();
+      spacedName(out, start, node.getName());
+      spacedDirectives(out, start, node.getDirectives());
     };
   }
 
@@ -161,46 +178,40 @@ public class AstPrinter {
     final String argSep = compactMode ? "," : ", ";
     final String aliasSuffix = compactMode ? ":" : ": ";
     return (out, node) -> {
-      String alias = wrap("", node.getAlias(), aliasSuffix);
-      String name = node.getName();
-      String arguments = wrap("(", join(node.getArguments(), argSep), ")");
-      String directives = directives(node.getDirectives());
-      String selectionSet = node(node.getSelectionSet());
-
-      out.append(spaced(
-        alias + name + arguments,
-        directives,
-        selectionSet
-      ));
+      int start = out.length();
+      int part = out.startPart(start);
+      wrap(out, "", node.getAlias(), aliasSuffix);
+      out.append(node.getName());
+      wrap(out, "(", node.getArguments(), argSep, ")");
+      out.endPart(part);
+
+      spacedDirectives(out, start, node.getDirectives());
+
+      part = out.startPart(start);
+      node(out, node.getSelectionSet());
+      out.endPart(part);
     };
   }
 
-
   private NodePrinter<FieldDefinition> fieldDefinition() {
     final String argSep = compactMode ? "," : ", ";
     return (out, node) -> {
-      String args;
       if (hasDescription(node.getInputValueDefinitions()) && !compactMode) {
-        out.append(description(node));
-        args = join(node.getInputValueDefinitions(), "\n");
-        out.append(node.getName())
-          .append(wrap("(\n", args, ")"))
-          .append(": ")
-          .append(spaced(
-            type(node.getType()),
-            directives(node.getDirectives())
-          ));
+        description(out, node);
+        out.append(node.getName());
+        wrap(out, "(\n", node.getInputValueDefinitions(), "\n", ")");
       }
       else {
-        args = join(node.getInputValueDefinitions(), argSep);
-        out.append(node.getName())
-          .append(wrap("(", args, ")"))
-          .append(": ")
-          .append(spaced(
-            type(node.getType()),
-            directives(node.getDirectives())
-          ));
+        out.append(node.getName());
+        wrap(out, "(", node.getInputValueDefinitions(), argSep, ")");
       }
+      out.append(": ");
+
+      int start = out.length();
+      int part = out.startPart(start);
+      type(out, node.getType());
+      out.endPart(part);
+      spacedDirectives(out, start, node.getDirectives());
     };
   }
 
@@ -219,53 +230,55 @@ public class AstPrinter {
 
   private NodePrinter<FragmentDefinition> fragmentDefinition() {
     return (out, node) -> {
-      String name = node.getName();
-      String typeCondition = type(node.getTypeCondition());
-      String directives = directives(node.getDirectives());
-      String selectionSet = node(node.getSelectionSet());
-
-      out.append("fragment ").append(name).append(" on ").append(typeCondition)
-        .append(' ')
-        .append(directives)
-        .append(selectionSet);
+      out.append("fragment ").append(node.getName()).append(" on ");
+      type(out, node.getTypeCondition());
+      out.append(' ');
+      directives(out, node.getDirectives());
+      node(out, node.getSelectionSet());
     };
   }
 
   private NodePrinter<FragmentSpread> fragmentSpread() {
     return (out, node) -> {
-      String name = node.getName();
-      String directives = directives(node.getDirectives());
-
-      out.append("...").append(name).append(directives);
+      out.append("...").append(node.getName());
+      directives(out, node.getDirectives());
     };
   }
 
   private NodePrinter<InlineFragment> inlineFragment() {
     return (out, node) -> {
-      TypeName typeName = node.getTypeCondition();
+      int start = out.length();
+      out.append("...");
+
       //Inline fragments may not have a type condition
-      String typeCondition = typeName == null ? "" : wrap("on ", type(typeName), "");
-      String directives = directives(node.getDirectives());
-      String selectionSet = node(node.getSelectionSet());
-
-      out.append(spaced(
-        "...",
-        typeCondition,
-        directives,
-        selectionSet
-      ));
+      TypeName typeName = node.getTypeCondition();
+      if (typeName != null) {
+        int part = out.startPart(start);
+        out.append("on ");
+        int typeStart = out.length();
+        type(out, typeName);
+        if (out.isBlank(typeStart)) {
+          out.setLength(part);
+        }
+      }
+
+      spacedDirectives(out, start, node.getDirectives());
+
+      int part = out.startPart(start);
+      node(out, node.getSelectionSet());
+      out.endPart(part);
     };
   }
 
   private NodePrinter<InputObjectTypeDefinition> inputObjectTypeDefinition() {
     return (out, node) -> {
-      out.append(description(node));
-      out.append(spaced(
-        "input",
-        node.getName(),
-        directives(node.getDirectives()),
-        block(node.getInputValueDefinitions())
-      ));
+      description(out, node);
+      int start = out.length();
+      out.append("input");
+      spacedName(out, start, node.getName());
+      spacedDirectives(out, start, node.getDirectives());
+      out.startPart(start);
+      block(out, node.getInputValueDefinitions());
     };
   }
 
@@ -273,32 +286,41 @@ public class AstPrinter {
     String nameTypeSep = compactMode ? ":" : ": ";
     String defaultValueEquals = compactMode ? "=" : "= ";
     return (out, node) -> {
+      description(out, node);
+      int start = out.length();
+      out.append(node.getName()).append(nameTypeSep);
+      type(out, node.getType());
+
       Value defaultValue = node.getDefaultValue();
-      out.append(description(node));
-      out.append(spaced(
-        node.getName() + nameTypeSep + type(node.getType()),
-        wrap(defaultValueEquals, defaultValue, ""),
-        directives(node.getDirectives())
-      ));
+      if (defaultValue != null) {
+        out.startPart(start);
+        out.append(defaultValueEquals);
+        node(out, defaultValue);
+      }
+
+      spacedDirectives(out, start, node.getDirectives());
     };
   }
 
   private NodePrinter<InterfaceTypeDefinition> interfaceTypeDefinition() {
     return (out, node) -> {
-      out.append(description(node));
-      out.append(spaced(
-        "interface",
-        node.getName(),
-        wrap("implements ", join(node.getImplements(), " & "), ""),
-        directives(node.getDirectives()),
-        block(node.getFieldDefinitions())
-      ));
+      description(out, node);
+      int start = out.length();
+      out.append("interface");
+      spacedName(out, start, node.getName());
+      spacedImplements(out, start, node.getImplements());
+      spacedDirectives(out, start, node.getDirectives());
+      out.startPart(start);
+      block(out, node.getFieldDefinitions());
     };
   }
 
   private NodePrinter<ObjectField> objectField() {
     String nameValueSep = compactMode ? ":" : ": ";
-    return (out, node) -> out.append(node.getName()).append(nameValueSep).append(value(node.getValue()));
+    return (out, node) -> {
+      out.append(node.getName()).append(nameValueSep);
+      value(out, node.getValue());
+    };
   }
 
   private NodePrinter<OperationDefinition> operationDefinition() {
@@ -306,168 +328,190 @@ public class AstPrinter {
     return (out, node) -> {
       String op = node.getOperation().toString().toLowerCase();
       String name = node.getName();
-      String varDefinitions = wrap("(", join(nvl(node.getVariableDefinitions()), argSep), ")");
-      String directives = directives(node.getDirectives());
-      String selectionSet = node(node.getSelectionSet());
+      List<VariableDefinition> variableDefinitions = node.getVariableDefinitions();
+      List<Directive> directives = node.getDirectives();
 
       // Anonymous queries with no directives or variable definitions can use
       // the query short form.
-      if (isEmpty(name) && isEmpty(directives) && isEmpty(varDefinitions) && op.equals("query")) {
-        out.append(selectionSet);
+      if (isEmpty(name) && isEmpty(directives) && isEmpty(variableDefinitions) && op.equals("query")) {
+        node(out, node.getSelectionSet());
       }
       else {
-        out.append(spaced(op, smooshed(name, varDefinitions), directives, selectionSet));
+        int start = out.length();
+        out.append(op);
+
+        int part = out.startPart(start);
+        if (!isEmpty(name)) {
+          out.append(name);
+        }
+        if (variableDefinitions != null) {
+          wrap(out, "(", variableDefinitions, argSep, ")");
+        }
+        out.endPart(part);
+
+        spacedDirectives(out, start, directives);
+
+        part = out.startPart(start);
+        node(out, node.getSelectionSet());
+        out.endPart(part);
       }
     };
   }
 
   private NodePrinter<OperationTypeDefinition> operationTypeDefinition() {
     String nameTypeSep = compactMode ? ":" : ": ";
-    return (out, node) -> out.append(node.getName()).append(nameTypeSep).append(type(node.getTypeName()));
+    return (out, node) -> {
+      out.append(node.getName()).append(nameTypeSep);
+      type(out, node.getTypeName());
+    };
   }
 
   private NodePrinter<ObjectTypeDefinition> objectTypeDefinition() {
     return (out, node) -> {
-      out.append(description(node));
-      out.append(spaced(
-        "type",
-        node.getName(),
-        wrap("implements ", join(node.getImplements(), " & "), ""),
-        directives(node.getDirectives()),
-        block(node.getFieldDefinitions())
-      ));
+      description(out, node);
+      int start = out.length();
+      out.append("type");
+      spacedName(out, start, node.getName());
+      spacedImplements(out, start, node.getImplements());
+      spacedDirectives(out, start, node.getDirectives());
+      out.startPart(start);
+      block(out, node.getFieldDefinitions());
     };
   }
 
   private NodePrinter<SelectionSet> selectionSet() {
-    return (out, node) -> {
-      out.append(block(node.getSelections()));
-    };
+    return (out, node) -> block(out, node.getSelections());
   }
 
   private NodePrinter<ScalarTypeDefinition> scalarTypeDefinition() {
     return (out, node) -> {
-      out.append(description(node));
-      out.append(spaced(
-        "scalar",
-        node.getName(),
-        directives(node.getDirectives())));
+      description(out, node);
+      int start = out.length();
+      out.append("scalar");
+      spacedName(out, start, node.getName());
+      spacedDirectives(out, start, node.getDirectives());
     };
   }
 
-
   private NodePrinter<SchemaDefinition> schemaDefinition() {
     return (out, node) -> {
-      out.append(description(node));
-      out.append(spaced(
-        "schema",
-        directives(node.getDirectives()),
-        block(node.getOperationTypeDefinitions())
-      ));
+      description(out, node);
+      int start = out.length();
+      out.append("schema");
+      spacedDirectives(out, start, node.getDirectives());
+      out.startPart(start);
+      block(out, node.getOperationTypeDefinitions());
     };
   }
 
-
   private NodePrinter<Type> type() {
-    return (out, node) -> out.append(type(node));
+    return this::type;
   }
 
-  private String type(Type type) {
+  private void type(Output out, Type type) {
     if (type instanceof NonNullType) {
-      NonNullType inner = (NonNullType)type;
-      return wrap("", type(inner.getType()), "!");
+      int start = out.length();
+      type(out, ((NonNullType)type).getType());
+      if (out.isBlank(start)) {
+        out.setLength(start);
+      }
+      else {
+        out.append('!');
+      }
     }
     else if (type instanceof ListType) {
-      ListType inner = (ListType)type;
-      return wrap("[", type(inner.getType()), "]");
+      int start = out.length();
+      out.append('[');
+      type(out, ((ListType)type).getType());
+      if (out.isBlank(start + 1)) {
+        out.setLength(start);
+      }
+      else {
+        out.append(']');
+      }
     }
-    else {
-      TypeName inner = (TypeName)type;
-      return inner.getName();
+    else if (type instanceof TypeName) {
+      String name = ((TypeName)type).getName();
+      if (name != null) {
+        out.append(name);
+      }
     }
   }
 
   private NodePrinter<ObjectTypeExtensionDefinition> objectTypeExtensionDefinition() {
-    return (out, node) -> out.append("extend ").append(node(node, ObjectTypeDefinition.class));
+    return (out, node) -> extension(out, node, ObjectTypeDefinition.class);
   }
 
   private NodePrinter<EnumTypeExtensionDefinition> enumTypeExtensionDefinition() {
-    return (out, node) -> out.append("extend ").append(node(node, EnumTypeDefinition.class));
+    return (out, node) -> extension(out, node, EnumTypeDefinition.class);
   }
 
   private NodePrinter<InterfaceTypeDefinition> interfaceTypeExtensionDefinition() {
-    return (out, node) -> out.append("extend ").append(node(node, InterfaceTypeDefinition.class));
+    return (out, node) -> extension(out, node, InterfaceTypeDefinition.class);
   }
 
   private NodePrinter<UnionTypeExtensionDefinition> unionTypeExtensionDefinition() {
-    return (out, node) -> out.append("extend ").append(node(node, UnionTypeDefinition.class));
+    return (out, node) -> extension(out, node, UnionTypeDefinition.class);
   }
 
   private NodePrinter<ScalarTypeExtensionDefinition> scalarTypeExtensionDefinition() {
-    return (out, node) -> out.append("extend ").append(node(node, ScalarTypeDefinition.class));
+    return (out, node) -> extension(out, node, ScalarTypeDefinition.class);
   }
 
   private NodePrinter<InputObjectTypeExtensionDefinition> inputObjectTypeExtensionDefinition() {
-    return (out, node) -> out.append("extend ").append(node(node, InputObjectTypeDefinition.class));
+    return (out, node) -> extension(out, node, InputObjectTypeDefinition.class);
   }
 
   private NodePrinter<SchemaExtensionDefinition> schemaExtensionDefinition() {
-    return (out, node) -> out.append("extend ").append(node(node, SchemaDefinition.class));
+    return (out, node) -> extension(out, node, SchemaDefinition.class);
+  }
+
+  private void extension(Output out, Node node, Class<? extends Node> definitionClass) {
+    assertTrue(definitionClass.isInstance(node), () -> "The starting class must be in the inherit tree");
+    out.append("extend ");
+    _findPrinter(node, definitionClass).print(out, node);
   }
 
   private NodePrinter<UnionTypeDefinition> unionTypeDefinition() {
     String barSep = compactMode ? "|" : " | ";
     String equals = compactMode ? "=" : "= ";
     return (out, node) -> {
-      out.append(description(node));
-      out.append(spaced(
-        "union",
-        node.getName(),
-        directives(node.getDirectives()),
-        equals + join(node.getMemberTypes(), barSep)
-      ));
+      description(out, node);
+      int start = out.length();
+      out.append("union");
+      spacedName(out, start, node.getName());
+      spacedDirectives(out, start, node.getDirectives());
+      out.startPart(start);
+      out.append(equals);
+      join(out, node.getMemberTypes(), barSep);
     };
   }
 
   private NodePrinter<VariableDefinition> variableDefinition() {
     String nameTypeSep = compactMode ? ":" : ": ";
     String defaultValueEquals = compactMode ? "=" : " = ";
-    return (out, node) -> out.append('$')
-      .append(node.getName())
-      .append(nameTypeSep)
-      .append(type(node.getType()))
-      .append(wrap(defaultValueEquals, node.getDefaultValue(), ""))
-      .append(directives(node.getDirectives()));
+    return (out, node) -> {
+      out.append('$').append(node.getName()).append(nameTypeSep);
+      type(out, node.getType());
+      Value defaultValue = node.getDefaultValue();
+      if (defaultValue != null) {
+        out.append(defaultValueEquals);
+        node(out, defaultValue);
+      }
+      directives(out, node.getDirectives());
+    };
   }
 
   private NodePrinter<VariableReference> variableReference() {
     return (out, node) -> out.append('$').append(node.getName());
   }
 
-  private String node(Node node) {
-    return node(node, null);
-  }
-
-  private String node(Node node, Class startClass) {
-    if (startClass != null) {
-      assertTrue(startClass.isInstance(node), () -> "The starting class must be in the inherit tree");
-    }
-    StringBuilder builder = new StringBuilder();
-    NodePrinter<Node> printer = _findPrinter(node, startClass);
-    printer.print(builder, node);
-    return builder.toString();
-  }
-
-  @SuppressWarnings("unchecked")
-  private <T extends Node> NodePrinter<T> _findPrinter(Node node) {
-    return _findPrinter(node, null);
+  private void node(Output out, Node node) {
+    if (node == null) return;
+    _findPrinter(node, null).print(out, node);
   }
 
-  private <T extends Node> NodePrinter<T> _findPrinter(Node node, Class startClass) {
-    if (node == null) {
-      return (out, type) -> {
-      };
-    }
+  private NodePrinter<Node> _findPrinter(Node node, Class startClass) {
     Class clazz = startClass != null ? startClass : node.getClass();
     while (clazz != Object.class) {
       NodePrinter nodePrinter = printers.get(clazz);
@@ -480,164 +524,158 @@ public class AstPrinter {
     throw new AssertException(String.format("We have a missing printer implementation for %s : report a bug!", clazz));
   }
 
-  private <T> boolean isEmpty(List<T> list) {
+  private static <T> boolean isEmpty(List<T> list) {
     return list == null || list.isEmpty();
   }
 
-  private boolean isEmpty(String s) {
+  private static boolean isEmpty(String s) {
     return s == null || s.trim().length() == 0;
   }
 
-  private <T> List<T> nvl(List<T> list) {
-    return list != null ? list : Collections.emptyList();
-  }
-
   private NodePrinter<Value> value() {
-    return (out, node) -> out.append(value(node));
+    return this::value;
   }
 
-  private String value(Value value) {
+  private void value(Output out, Value value) {
     String argSep = compactMode ? "," : ", ";
     if (value instanceof IntValue) {
-      return valueOf(((IntValue)value).getValue());
+      out.append(String.valueOf(((IntValue)value).getValue()));
     }
     else if (value instanceof FloatValue) {
-      return valueOf(((FloatValue)value).getValue());
+      out.append(String.valueOf(((FloatValue)value).getValue()));
     }
     else if (value instanceof StringValue) {
-      return wrap("\"", escapeJsonString(((StringValue)value).getValue()), "\"");
+      String escaped = escapeJsonString(((StringValue)value).getValue());
+      out.append('"');
+      if (!isEmpty(escaped)) {
+        out.append(escaped);
+      }
+      out.append('"');
     }
     else if (value instanceof EnumValue) {
-      return valueOf(((EnumValue)value).getName());
+      out.append(((EnumValue)value).getName());
     }
     else if (value instanceof BooleanValue) {
-      return valueOf(((BooleanValue)value).isValue());
+      out.append(((BooleanValue)value).isValue() ? "true" : "false");
     }
     else if (value instanceof NullValue) {
-      return "null";
+      out.append("null");
     }
     else if (value instanceof ArrayValue) {
-      return "[" + join(((ArrayValue)value).getValues(), argSep) + "]";
+      out.append('[');
+      join(out, ((ArrayValue)value).getValues(), argSep);
+      out.append(']');
     }
     else if (value instanceof ObjectValue) {
-      return "{" + join(((ObjectValue)value).getObjectFields(), argSep) + "}";
+      out.append('{');
+      join(out, ((ObjectValue)value).getObjectFields(), argSep);
+      out.append('}');
     }
     else if (value instanceof VariableReference) {
-      return "$" + ((VariableReference)value).getName();
+      out.append('$').append(((VariableReference)value).getName());
     }
-    return "";
   }
 
-  private String description(Node<?> node) {
+  private void description(Output out, Node<?> node) {
     Description description = ((AbstractDescribedNode)node).getDescription();
     if (description == null || description.getContent() == null || compactMode) {
-      return "";
+      return;
     }
-    String s;
-    boolean startNewLine = description.getContent().charAt(0) == '\n';
+    String content = description.getContent();
     if (description.isMultiLine()) {
-      s = "\"\"\"" + (startNewLine ? "" : "\n") + description.getContent() + "\n\"\"\"\n";
+      boolean startNewLine = !content.isEmpty() && content.charAt(0) == '\n';
+      out.append("\"\"\"");
+      if (!startNewLine) {
+        out.append('\n');
+      }
+      out.append(content).append("\n\"\"\"\n");
     }
     else {
-      s = "\"" + description.getContent() + "\"\n";
+      out.append('"').append(content).append("\"\n");
     }
-    return s;
   }
 
-  private String directives(List<Directive> directives) {
-    return join(nvl(directives), " ");
-  }
-
-  private <T extends Node> String join(List<T> nodes, String delim) {
-    return join(nodes, delim, "", "");
+  private void directives(Output out, List<Directive> directives) {
+    if (directives != null) {
+      join(out, directives, " ");
+    }
   }
 
-  @SuppressWarnings("SameParameterValue")
-  private <T extends Node> String join(List<T> nodes, String delim, String prefix, String suffix) {
-    StringBuilder joined = new StringBuilder();
-    joined.append(prefix);
-
-    boolean first = true;
-    for (T node : nodes) {
-      if (first) {
-        first = false;
-      }
-      else {
-        joined.append(delim);
-      }
-      joined.append(this.node(node));
+  private void spacedName(Output out, int start, String name) {
+    if (!isEmpty(name)) {
+      out.startPart(start);
+      out.append(name);
     }
-
-    joined.append(suffix);
-    return joined.toString();
   }
 
-  private String spaced(String... args) {
-    return join(" ", args);
+  private void spacedDirectives(Output out, int start, List<Directive> directives) {
+    if (!isEmpty(directives)) {
+      int part = out.startPart(start);
+      directives(out, directives);
+      out.endPart(part);
+    }
   }
 
-  private String smooshed(String... args) {
-    return join("", args);
+  private void spacedImplements(Output out, int start, List<Type> implementz) {
+    if (!isEmpty(implementz)) {
+      int part = out.startPart(start);
+      wrap(out, "implements ", implementz, " & ", "");
+      out.endPart(part);
+    }
   }
 
-  private String join(String delim, String... args) {
-    StringBuilder builder = new StringBuilder();
-
+  private <T extends Node> void join(Output out, List<T> nodes, String delim) {
     boolean first = true;
-    for (final String arg : args) {
-      if (isEmpty(arg)) {
-        continue;
-      }
+    for (T node : nodes) {
       if (first) {
         first = false;
       }
       else {
-        builder.append(delim);
+        out.append(delim);
       }
-      builder.append(arg);
+      node(out, node);
     }
-
-    return builder.toString();
   }
 
-  String wrap(String start, String maybeString, String end) {
-    if (isEmpty(maybeString)) {
-      if (start.equals("\"") && end.equals("\"")) {
-        return "\"\"";
-      }
-      return "";
-    }
-    return start + maybeString + (!isEmpty(end) ? end : "");
-  }
-
-  private <T extends Node> String block(List<T> nodes) {
-    if (isEmpty(nodes)) {
-      return "{}";
+  /**
+   * Prints the joined nodes between the start and the end, or nothing if the joined nodes are blank.
+   */
+  private <T extends Node> void wrap(Output out, String start, List<T> nodes, String delim, String end) {
+    int wrapStart = out.length();
+    out.append(start);
+    int contentStart = out.length();
+    join(out, nodes, delim);
+    if (out.isBlank(contentStart)) {
+      out.setLength(wrapStart);
     }
-    if (compactMode) {
-      return "{"
-             + join(nodes, " ")
-             + "}";
+    else {
+      out.append(end);
     }
-    return indent("{\n"
-                  + join(nodes, "\n"))
-           + "\n}";
   }
 
-  private String indent(String maybeString) {
-    if (isEmpty(maybeString)) {
-      return "";
+  private static void wrap(Output out, String start, String maybeString, String end) {
+    if (!isEmpty(maybeString)) {
+      out.append(start).append(maybeString).append(end);
     }
-    maybeString = maybeString.replaceAll("\\n", "\n  ");
-    return maybeString;
   }
 
-  @SuppressWarnings("SameParameterValue")
-  String wrap(String start, Node maybeNode, String end) {
-    if (maybeNode == null) {
-      return "";
+  private <T extends Node> void block(Output out, List<T> nodes) {
+    if (isEmpty(nodes)) {
+      out.append("{}");
+    }
+    else if (compactMode) {
+      out.append('{');
+      join(out, nodes, " ");
+      out.append('}');
+    }
+    else {
+      out.append('{');
+      out.indent();
+      out.append('\n');
+      join(out, nodes, "\n");
+      out.unindent();
+      out.append('\n').append('}');
     }
-    return start + node(maybeNode) + (isEmpty(end) ? "" : end);
   }
 
   /**
@@ -648,10 +686,20 @@ public class AstPrinter {
    */
   public static String printAst(Node node) {
     StringBuilder builder = new StringBuilder();
-    printImpl(builder, node, false);
+    printAst(builder, node);
     return builder.toString();
   }
 
+  /**
+   * This will pretty print the AST node in graphql language format
+   *
+   * @param builder the place to put the output, it can be reused between the calls
+   * @param node    the AST node to print
+   */
+  public static void printAst(StringBuilder builder, Node node) {
+    printImpl(builder, node, false);
+  }
+
   /**
    * This will pretty print the AST node in graphql language format
    *
@@ -659,9 +707,10 @@ public class AstPrinter {
    * @param node   the AST node to print
    */
   public static void printAst(Writer writer, Node node) {
-    String ast = printAst(node);
-    PrintWriter printer = new PrintWriter(writer);
-    printer.write(ast);
+    // the definitions of a document are passed to the writer one by one, so only the largest of them is kept in memory
+    Output out = new Output(new StringBuilder(), writer);
+    PRETTY_PRINTER.node(out, node);
+    out.flush();
   }
 
   /**
@@ -673,14 +722,24 @@ public class AstPrinter {
    */
   public static String printAstCompact(Node node) {
     StringBuilder builder = new StringBuilder();
-    printImpl(builder, node, true);
+    printAstCompact(builder, node);
     return builder.toString();
   }
 
-  private static void printImpl(StringBuilder writer, Node node, boolean compactMode) {
-    AstPrinter astPrinter = new AstPrinter(compactMode);
-    NodePrinter<Node> printer = astPrinter._findPrinter(node);
-    printer.print(writer, node);
+  /**
+   * This will print the Ast node in graphql language format in a compact manner, with no new lines
+   * and comments stripped out of the text.
+   *
+   * @param builder the place to put the output, it can be reused between the calls
+   * @param node    the AST node to print
+   */
+  public static void printAstCompact(StringBuilder builder, Node node) {
+    printImpl(builder, node, true);
+  }
+
+  private static void printImpl(StringBuilder builder, Node node, boolean compactMode) {
+    AstPrinter astPrinter = compactMode ? COMPACT_PRINTER : PRETTY_PRINTER;
+    astPrinter.node(new Output(builder, null), node);
   }
 
   /**
@@ -689,6 +748,102 @@ public class AstPrinter {
    * @param <T> the type of node
    */
   private interface NodePrinter<T extends Node> {
-    void print(StringBuilder out, T node);
+    void print(Output out, T node);
+  }
+
+  /**
+   * The output of a single print call. It indents every new line inside the blocks and supports dropping a blank part printed last.
+   * With a writer, the text is buffered until {@link #flush()}, and the parts printed before it can't be dropped anymore.
+   */
+  private static final class Output {
+    private static final String INDENT = "  ";
+
+    private final StringBuilder myBuilder;
+    private final @Nullable Writer myWriter;
+    private int myIndent;
+
+    private Output(StringBuilder builder, @Nullable Writer writer) {
+      myBuilder = builder;
+      myWriter = writer;
+    }
+
+    void flush() {
+      if (myWriter == null) return;
+      try {
+        myWriter.append(myBuilder);
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      myBuilder.setLength(0);
+    }
+
+    Output append(String s) {
+      if (s == null || myIndent == 0 || s.indexOf('\n') < 0) {
+        myBuilder.append(s);
+        return this;
+      }
+      for (int i = 0; i < s.length(); i++) {
+        append(s.charAt(i));
+      }
+      return this;
+    }
+
+    Output append(char c) {
+      myBuilder.append(c);
+      if (c == '\n') {
+        for (int i = 0; i < myIndent; i++) {
+          myBuilder.append(INDENT);
+        }
+      }
+      return this;
+    }
+
+    void indent() {
+      myIndent++;
+    }
+
+    void unindent() {
+      myIndent--;
+    }
+
+    int length() {
+      return myBuilder.length();
+    }
+
+    void setLength(int length) {
+      myBuilder.setLength(length);
+    }
+
+    boolean isBlank(int from) {
+      for (int i = from; i < myBuilder.length(); i++) {
+        if (myBuilder.charAt(i) > ' ') {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Starts a space separated part of the text printed after the given start.
+     *
+     * @return the position to pass to {@link #endPart(int)}
+     */
+    int startPart(int start) {
+      int part = myBuilder.length();
+      if (part > start) {
+        myBuilder.append(' ');
+      }
+      return part;
+    }
+
+    /**
+     * Drops the part together with its separator if nothing but whitespace was printed for it.
+     */
+    void endPart(int part) {
+      if (isBlank(part)) {
+        myBuilder.setLength(part);
+      }
+    }
   }
 }
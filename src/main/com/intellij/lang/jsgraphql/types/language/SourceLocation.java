@@ -20,13 +20,12 @@ package com.intellij.lang.jsgraphql.types.language;
 
 import com.intellij.lang.injection.InjectedLanguageManager;
 import com.intellij.lang.jsgraphql.types.PublicApi;
-import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.util.CachedValue;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
 import org.jetbrains.annotations.NotNull;
@@ -35,6 +34,10 @@ import org.jetbrains.annotations.Nullable;
 import java.io.Serializable;
 import java.util.Objects;
 
+/**
+ * PSI-based locations only keep a reference to the element, line and column are resolved on demand
+ * through a line table shared by all locations of the same top-level file, and kept until the document changes.
+ */
 @PublicApi
 public final class SourceLocation implements Serializable {
 
@@ -42,7 +45,7 @@ public final class SourceLocation implements Serializable {
   private final int column;
   private final String sourceName;
   private final @Nullable PsiElement myElement;
-  private final @Nullable CachedValue<Location> myPsiBasedLocation;
+  private transient volatile @Nullable Position myPosition;
 
   public SourceLocation(int line, int column) {
     this(line, column, null);
@@ -62,24 +65,30 @@ public final class SourceLocation implements Serializable {
     this.sourceName = sourceName;
 
     myElement = element;
-    myPsiBasedLocation = myElement != null ?
-                         CachedValuesManager.getManager(myElement.getProject()).createCachedValue(this::computeLocation) : null;
   }
 
   public int getLine() {
-    return isPsiBased() ? Objects.requireNonNull(myPsiBasedLocation).getValue().line : line;
+    if (!isPsiBased()) return line;
+    Position position = resolve();
+    return position != null ? position.line : -1;
   }
 
   public int getColumn() {
-    return isPsiBased() ? Objects.requireNonNull(myPsiBasedLocation).getValue().column : column;
+    if (!isPsiBased()) return column;
+    Position position = resolve();
+    return position != null ? position.column : -1;
   }
 
   public String getSourceName() {
-    return isPsiBased() ? Objects.requireNonNull(myPsiBasedLocation).getValue().sourceName : sourceName;
+    if (!isPsiBased()) return sourceName;
+    LineTable lineTable = getLineTable();
+    return lineTable != null ? lineTable.sourceName : null;
   }
 
   public int getOffset() {
-    return isPsiBased() ? Objects.requireNonNull(myPsiBasedLocation).getValue().offset : -1;
+    if (!isPsiBased()) return -1;
+    Position position = resolve();
+    return position != null ? position.offset : -1;
   }
 
   public boolean isPsiBased() {
@@ -90,28 +99,54 @@ public final class SourceLocation implements Serializable {
     return myElement;
   }
 
-  private @NotNull CachedValueProvider.Result<Location> computeLocation() {
+  /**
+   * Computes the offset, the line and the column together with a single line lookup, and keeps them while the document
+   * has the same modification stamp.
+   */
+  private @Nullable Position resolve() {
+    LineTable lineTable = getLineTable();
+    if (lineTable == null) return null;
+
+    long stamp = lineTable.getModificationStamp();
+    Position position = myPosition;
+    if (position != null && position.stamp == stamp) {
+      return position;
+    }
+
+    int offset = computeOffset();
+    if (offset < 0) return null;
+    int lineNumber = lineTable.getLineNumber(offset);
+    position = new Position(stamp, offset, lineNumber + 1, offset - lineTable.getLineStartOffset(lineNumber) + 1);
+    myPosition = position;
+    return position;
+  }
+
+  private int computeOffset() {
     Objects.requireNonNull(myElement);
+    if (!myElement.isValid()) return -1;
 
-    Location defaultLocation = new Location(-1, -1, null, -1);
-    PsiFile containingFile = myElement.getContainingFile();
     InjectedLanguageManager injectedLanguageManager = InjectedLanguageManager.getInstance(myElement.getProject());
-    PsiFile topLevelFile = injectedLanguageManager.getTopLevelFile(myElement);
-    if (topLevelFile == null) return CachedValueProvider.Result.create(defaultLocation, ModificationTracker.NEVER_CHANGED);
-    com.intellij.openapi.editor.Document document = PsiDocumentManager.getInstance(myElement.getProject()).getDocument(topLevelFile);
-    if (document == null) return CachedValueProvider.Result.create(defaultLocation, ModificationTracker.NEVER_CHANGED);
-
-    VirtualFile virtualFile = topLevelFile.getVirtualFile();
-    int offset = injectedLanguageManager.injectedToHost(myElement, myElement.getNavigationElement().getTextOffset());
-    int lineNumber = document.getLineNumber(offset);
-    int column = offset - document.getLineStartOffset(lineNumber);
-    Location location = new Location(
-      lineNumber + 1,
-      column + 1,
-      virtualFile != null ? FileUtil.toSystemIndependentName(virtualFile.getPath()) : null,
-      offset
-    );
-    return CachedValueProvider.Result.create(location, containingFile, topLevelFile, document);
+    return injectedLanguageManager.injectedToHost(myElement, myElement.getNavigationElement().getTextOffset());
+  }
+
+  private @Nullable LineTable getLineTable() {
+    Objects.requireNonNull(myElement);
+    if (!myElement.isValid()) return null;
+
+    PsiFile topLevelFile = InjectedLanguageManager.getInstance(myElement.getProject()).getTopLevelFile(myElement);
+    if (topLevelFile == null) return null;
+
+    return CachedValuesManager.getCachedValue(topLevelFile, () -> {
+      Document document = PsiDocumentManager.getInstance(topLevelFile.getProject()).getDocument(topLevelFile);
+      if (document == null) return CachedValueProvider.Result.create(null, topLevelFile);
+
+      VirtualFile virtualFile = topLevelFile.getVirtualFile();
+      LineTable lineTable = new LineTable(
+        document,
+        virtualFile != null ? FileUtil.toSystemIndependentName(virtualFile.getPath()) : null
+      );
+      return CachedValueProvider.Result.create(lineTable, topLevelFile, document);
+    });
   }
 
   public @NotNull String getNavigationLocation() {
@@ -125,40 +160,81 @@ public final class SourceLocation implements Serializable {
 
     SourceLocation that = (SourceLocation)o;
 
-    if (getLine() != that.getLine()) return false;
-    if (getColumn() != that.getColumn()) return false;
+    Position position = isPsiBased() ? resolve() : null;
+    Position thatPosition = that.isPsiBased() ? that.resolve() : null;
+    if (getLine(position) != that.getLine(thatPosition)) return false;
+    if (getColumn(position) != that.getColumn(thatPosition)) return false;
     return Objects.equals(getSourceName(), that.getSourceName());
   }
 
   @Override
   public int hashCode() {
+    Position position = isPsiBased() ? resolve() : null;
     int result = 1;
-    result = 31 * result + Integer.hashCode(getLine());
-    result = 31 * result + Integer.hashCode(getColumn());
+    result = 31 * result + Integer.hashCode(getLine(position));
+    result = 31 * result + Integer.hashCode(getColumn(position));
     result = 31 * result + Objects.hashCode(getSourceName());
     return result;
   }
 
   @Override
   public String toString() {
+    Position position = isPsiBased() ? resolve() : null;
+    String sourceName = getSourceName();
     return "SourceLocation{" +
-           "line=" + getLine() +
-           ", column=" + getColumn() +
-           (getSourceName() != null ? ", sourceName=" + getSourceName() : "") +
+           "line=" + getLine(position) +
+           ", column=" + getColumn(position) +
+           (sourceName != null ? ", sourceName=" + sourceName : "") +
            '}';
   }
 
-  private static final class Location {
+  private int getLine(@Nullable Position position) {
+    if (!isPsiBased()) return line;
+    return position != null ? position.line : -1;
+  }
+
+  private int getColumn(@Nullable Position position) {
+    if (!isPsiBased()) return column;
+    return position != null ? position.column : -1;
+  }
+
+  private static final class Position {
+    private final long stamp;
+    private final int offset;
     private final int line;
     private final int column;
-    private final String sourceName;
-    private final int offset;
 
-    Location(int line, int column, @Nullable String sourceName, int offset) {
+    Position(long stamp, int offset, int line, int column) {
+      this.stamp = stamp;
+      this.offset = offset;
       this.line = line;
       this.column = column;
+    }
+  }
+
+  /**
+   * Looks the lines up in the document itself, which keeps its line starts, instead of copying them.
+   */
+  private static final class LineTable {
+    private final Document myDocument;
+    private final String sourceName;
+
+    LineTable(@NotNull Document document, @Nullable String sourceName) {
+      myDocument = document;
       this.sourceName = sourceName;
-      this.offset = offset;
+    }
+
+    long getModificationStamp() {
+      return myDocument.getModificationStamp();
+    }
+
+    int getLineNumber(int offset) {
+      // the PSI offset can be ahead of a document which has just been changed
+      return myDocument.getLineNumber(Math.min(offset, myDocument.getTextLength()));
+    }
+
+    int getLineStartOffset(int lineNumber) {
+      return myDocument.getLineStartOffset(lineNumber);
     }
   }
 }
@@ -18,28 +18,27 @@
 package com.intellij.lang.jsgraphql.types.schema.diff;
 
 import com.intellij.lang.jsgraphql.types.Internal;
-import com.intellij.lang.jsgraphql.types.language.Document;
+import com.intellij.lang.jsgraphql.types.language.AstComparator;
 import com.intellij.lang.jsgraphql.types.language.Type;
 import com.intellij.lang.jsgraphql.types.language.TypeDefinition;
 import com.intellij.lang.jsgraphql.types.schema.diff.reporting.DifferenceReporter;
 
 import java.util.*;
 
-/*
- * A helper class that represents diff state (eg visited types) as well as helpers
- */
 @Internal
 class DiffCtx {
-  final List<String> examinedTypes = new ArrayList<>();
+  private static final AstComparator AST_COMPARATOR = new AstComparator();
+
+  final Set<String> examinedTypes = new HashSet<>();
   final Deque<String> currentTypes = new ArrayDeque<>();
   private final DifferenceReporter reporter;
-  final Document oldDoc;
-  final Document newDoc;
+  final DiffDefinitions oldDefinitions;
+  final DiffDefinitions newDefinitions;
 
-  DiffCtx(DifferenceReporter reporter, Document oldDoc, Document newDoc) {
+  DiffCtx(DifferenceReporter reporter, DiffDefinitions oldDefinitions, DiffDefinitions newDefinitions) {
     this.reporter = reporter;
-    this.oldDoc = oldDoc;
-    this.newDoc = newDoc;
+    this.oldDefinitions = oldDefinitions;
+    this.newDefinitions = newDefinitions;
   }
 
   void report(DiffEvent differenceEvent) {
@@ -47,10 +46,9 @@ class DiffCtx {
   }
 
   boolean examiningType(String typeName) {
-    if (examinedTypes.contains(typeName)) {
+    if (!examinedTypes.add(typeName)) {
       return true;
     }
-    examinedTypes.add(typeName);
     currentTypes.push(typeName);
     return false;
   }
@@ -59,22 +57,19 @@ class DiffCtx {
     currentTypes.pop();
   }
 
-  <T extends TypeDefinition> Optional<T> getOldTypeDef(Type type, Class<T> typeDefClass) {
-    return getType(SchemaDiff.getTypeName(type), typeDefClass, oldDoc);
+  /**
+   * The definitions built from unchanged files or introspection results are usually the same objects or
+   * structurally equal, such types can only produce info events, so their members aren't compared one by one.
+   */
+  boolean isUnchanged(TypeDefinition oldDef, TypeDefinition newDef) {
+    return oldDef == newDef || AST_COMPARATOR.isEqual(oldDef, newDef);
   }
 
-  <T extends TypeDefinition> Optional<T> getNewTypeDef(Type type, Class<T> typeDefClass) {
-    return getType(SchemaDiff.getTypeName(type), typeDefClass, newDoc);
+  <T extends TypeDefinition> Optional<T> getOldTypeDef(Type type, Class<T> typeDefClass) {
+    return oldDefinitions.getType(SchemaDiff.getTypeName(type), typeDefClass);
   }
 
-  private <T extends TypeDefinition> Optional<T> getType(String typeName, Class<T> typeDefClass, Document doc) {
-    if (typeName == null) {
-      return Optional.empty();
-    }
-    return doc.getDefinitions().stream()
-      .filter(def -> typeDefClass.isAssignableFrom(def.getClass()))
-      .map(typeDefClass::cast)
-      .filter(defT -> defT.getName().equals(typeName))
-      .findFirst();
+  <T extends TypeDefinition> Optional<T> getNewTypeDef(Type type, Class<T> typeDefClass) {
+    return newDefinitions.getType(SchemaDiff.getTypeName(type), typeDefClass);
   }
 }
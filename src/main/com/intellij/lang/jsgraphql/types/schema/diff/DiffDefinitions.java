@@ -0,0 +1,237 @@
+/*
+    The MIT License (MIT)
+
+    Copyright (c) 2015 Andreas Marek and Contributors
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files
+    (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge,
+    publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do
+    so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+    OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+    LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+    CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.intellij.lang.jsgraphql.types.schema.diff;
+
+import com.intellij.lang.jsgraphql.types.Internal;
+import com.intellij.lang.jsgraphql.types.language.*;
+import com.intellij.lang.jsgraphql.types.schema.*;
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The type definitions of one side of a difference indexed by name, so the types are matched with a hash lookup
+ * instead of a scan of the whole document.
+ */
+@Internal
+final class DiffDefinitions {
+  private final Map<String, TypeDefinition> types;
+  private final @Nullable SchemaDefinition schemaDefinition;
+
+  private DiffDefinitions(@NotNull Map<String, TypeDefinition> types, @Nullable SchemaDefinition schemaDefinition) {
+    this.types = types;
+    this.schemaDefinition = schemaDefinition;
+  }
+
+  /**
+   * The first definition with a given name wins, extensions aren't merged, that's how documents were always compared.
+   */
+  static @NotNull DiffDefinitions fromDocument(@NotNull Document document) {
+    Map<String, TypeDefinition> types = new HashMap<>();
+    SchemaDefinition schemaDefinition = null;
+    for (Definition definition : document.getDefinitions()) {
+      if (definition instanceof TypeDefinition) {
+        types.putIfAbsent(((TypeDefinition<?>)definition).getName(), (TypeDefinition)definition);
+      }
+      else if (definition instanceof SchemaDefinition && schemaDefinition == null) {
+        schemaDefinition = (SchemaDefinition)definition;
+      }
+    }
+    return new DiffDefinitions(types, schemaDefinition);
+  }
+
+  static @NotNull DiffDefinitions fromRegistry(@NotNull TypeDefinitionRegistry registry) {
+    Map<String, TypeDefinition> types = new HashMap<>();
+    for (TypeDefinition definition : registry.types().values()) {
+      types.put(definition.getName(), withExtensions(definition, getExtensions(registry, definition)));
+    }
+    for (ScalarTypeDefinition definition : registry.scalars().values()) {
+      types.put(definition.getName(), withExtensions(definition, getExtensions(registry, definition)));
+    }
+
+    SchemaDefinition schemaDefinition = registry.schemaDefinition().orElse(null);
+    List<SchemaExtensionDefinition> schemaExtensions = registry.getSchemaExtensionDefinitions();
+    if (!schemaExtensions.isEmpty()) {
+      List<OperationTypeDefinition> operations = new ArrayList<>();
+      if (schemaDefinition != null) {
+        operations.addAll(schemaDefinition.getOperationTypeDefinitions());
+      }
+      for (SchemaExtensionDefinition extension : schemaExtensions) {
+        operations.addAll(extension.getOperationTypeDefinitions());
+      }
+      schemaDefinition = SchemaDefinition.newSchemaDefinition().operationTypeDefinitions(operations).build();
+    }
+    return new DiffDefinitions(types, schemaDefinition);
+  }
+
+  /**
+   * Only the types created from the SDL definitions take part, the built-in ones are never compared anyway.
+   */
+  static @NotNull DiffDefinitions fromSchema(@NotNull GraphQLSchema schema) {
+    Map<String, TypeDefinition> types = new HashMap<>();
+    for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+      if (type.getDefinition() instanceof TypeDefinition) {
+        types.put(type.getName(), withExtensions((TypeDefinition)type.getDefinition(), getExtensions(type)));
+      }
+    }
+
+    List<OperationTypeDefinition> operations = new ArrayList<>();
+    addOperation(operations, "query", schema.getQueryType());
+    addOperation(operations, "mutation", schema.getMutationType());
+    addOperation(operations, "subscription", schema.getSubscriptionType());
+    return new DiffDefinitions(types, SchemaDefinition.newSchemaDefinition().operationTypeDefinitions(operations).build());
+  }
+
+  @NotNull Optional<SchemaDefinition> getSchemaDefinition() {
+    return Optional.ofNullable(schemaDefinition);
+  }
+
+  <T extends TypeDefinition> @NotNull Optional<T> getType(@Nullable String typeName, @NotNull Class<T> typeDefClass) {
+    if (typeName == null) {
+      return Optional.empty();
+    }
+    TypeDefinition definition = types.get(typeName);
+    return typeDefClass.isInstance(definition) ? Optional.of(typeDefClass.cast(definition)) : Optional.empty();
+  }
+
+  private static void addOperation(@NotNull List<OperationTypeDefinition> operations,
+                                   @NotNull String name,
+                                   @Nullable GraphQLObjectType type) {
+    if (type != null) {
+      operations.add(OperationTypeDefinition.newOperationTypeDefinition()
+                       .name(name)
+                       .typeName(TypeName.newTypeName(type.getName()).build())
+                       .build());
+    }
+  }
+
+  private static @NotNull List<? extends TypeDefinition> getExtensions(@NotNull TypeDefinitionRegistry registry,
+                                                                       @NotNull TypeDefinition definition) {
+    Map<String, ? extends List<? extends TypeDefinition>> extensions;
+    if (definition instanceof ObjectTypeDefinition) {
+      extensions = registry.objectTypeExtensions();
+    }
+    else if (definition instanceof InterfaceTypeDefinition) {
+      extensions = registry.interfaceTypeExtensions();
+    }
+    else if (definition instanceof UnionTypeDefinition) {
+      extensions = registry.unionTypeExtensions();
+    }
+    else if (definition instanceof EnumTypeDefinition) {
+      extensions = registry.enumTypeExtensions();
+    }
+    else if (definition instanceof InputObjectTypeDefinition) {
+      extensions = registry.inputObjectTypeExtensions();
+    }
+    else if (definition instanceof ScalarTypeDefinition) {
+      extensions = registry.scalarTypeExtensions();
+    }
+    else {
+      return Collections.emptyList();
+    }
+    List<? extends TypeDefinition> result = extensions.get(definition.getName());
+    return result != null ? result : Collections.emptyList();
+  }
+
+  private static @NotNull List<? extends TypeDefinition> getExtensions(@NotNull GraphQLNamedType type) {
+    if (type instanceof GraphQLObjectType) {
+      return ((GraphQLObjectType)type).getExtensionDefinitions();
+    }
+    if (type instanceof GraphQLInterfaceType) {
+      return ((GraphQLInterfaceType)type).getExtensionDefinitions();
+    }
+    if (type instanceof GraphQLUnionType) {
+      return ((GraphQLUnionType)type).getExtensionDefinitions();
+    }
+    if (type instanceof GraphQLEnumType) {
+      return ((GraphQLEnumType)type).getExtensionDefinitions();
+    }
+    if (type instanceof GraphQLInputObjectType) {
+      return ((GraphQLInputObjectType)type).getExtensionDefinitions();
+    }
+    if (type instanceof GraphQLScalarType) {
+      return ((GraphQLScalarType)type).getExtensionDefinitions();
+    }
+    return Collections.emptyList();
+  }
+
+  /**
+   * Folds the extensions into a single definition, so an extended type is compared the same way as the one declared at once.
+   */
+  private static @NotNull TypeDefinition withExtensions(@NotNull TypeDefinition definition,
+                                                        @NotNull List<? extends TypeDefinition> extensions) {
+    if (extensions.isEmpty()) {
+      return definition;
+    }
+
+    List<Directive> directives = new ArrayList<>(definition.getDirectives());
+    for (TypeDefinition<?> extension : extensions) {
+      directives.addAll(extension.getDirectives());
+    }
+
+    if (definition instanceof ObjectTypeDefinition) {
+      List<Type> implementz = new ArrayList<>(((ObjectTypeDefinition)definition).getImplements());
+      List<FieldDefinition> fields = new ArrayList<>(((ObjectTypeDefinition)definition).getFieldDefinitions());
+      for (TypeDefinition<?> extension : extensions) {
+        implementz.addAll(((ObjectTypeDefinition)extension).getImplements());
+        fields.addAll(((ObjectTypeDefinition)extension).getFieldDefinitions());
+      }
+      return ((ObjectTypeDefinition)definition).transform(
+        builder -> builder.implementz(implementz).fieldDefinitions(fields).directives(directives));
+    }
+    if (definition instanceof InterfaceTypeDefinition) {
+      List<Type> implementz = new ArrayList<>(((InterfaceTypeDefinition)definition).getImplements());
+      List<FieldDefinition> fields = new ArrayList<>(((InterfaceTypeDefinition)definition).getFieldDefinitions());
+      for (TypeDefinition<?> extension : extensions) {
+        implementz.addAll(((InterfaceTypeDefinition)extension).getImplements());
+        fields.addAll(((InterfaceTypeDefinition)extension).getFieldDefinitions());
+      }
+      return ((InterfaceTypeDefinition)definition).transform(
+        builder -> builder.implementz(implementz).definitions(fields).directives(directives));
+    }
+    if (definition instanceof UnionTypeDefinition) {
+      List<Type> members = new ArrayList<>(((UnionTypeDefinition)definition).getMemberTypes());
+      for (TypeDefinition<?> extension : extensions) {
+        members.addAll(((UnionTypeDefinition)extension).getMemberTypes());
+      }
+      return ((UnionTypeDefinition)definition).transform(builder -> builder.memberTypes(members).directives(directives));
+    }
+    if (definition instanceof EnumTypeDefinition) {
+      List<EnumValueDefinition> values = new ArrayList<>(((EnumTypeDefinition)definition).getEnumValueDefinitions());
+      for (TypeDefinition<?> extension : extensions) {
+        values.addAll(((EnumTypeDefinition)extension).getEnumValueDefinitions());
+      }
+      return ((EnumTypeDefinition)definition).transform(
+        builder -> builder.enumValueDefinitions(values).directives(directives));
+    }
+    if (definition instanceof InputObjectTypeDefinition) {
+      List<InputValueDefinition> fields = new ArrayList<>(((InputObjectTypeDefinition)definition).getInputValueDefinitions());
+      for (TypeDefinition<?> extension : extensions) {
+        fields.addAll(((InputObjectTypeDefinition)extension).getInputValueDefinitions());
+      }
+      return ((InputObjectTypeDefinition)definition).transform(
+        builder -> builder.inputValueDefinitions(fields).directives(directives));
+    }
+    if (definition instanceof ScalarTypeDefinition) {
+      return ((ScalarTypeDefinition)definition).transform(builder -> builder.directives(directives));
+    }
+    return definition;
+  }
+}
@@ -19,8 +19,11 @@ package com.intellij.lang.jsgraphql.types.schema.diff;
 
 import com.intellij.lang.jsgraphql.types.PublicSpi;
 import com.intellij.lang.jsgraphql.types.language.*;
+import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
 import com.intellij.lang.jsgraphql.types.schema.diff.reporting.DifferenceReporter;
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry;
 import com.intellij.lang.jsgraphql.types.schema.idl.TypeInfo;
+import com.intellij.openapi.progress.ProgressManager;
 
 import java.util.*;
 import java.util.function.Function;
@@ -31,9 +34,13 @@ import static com.intellij.lang.jsgraphql.types.schema.idl.TypeInfo.getAstDesc;
 import static com.intellij.lang.jsgraphql.types.schema.idl.TypeInfo.typeInfo;
 
 /**
- * The SchemaDiff is called with a {@link DiffSet} and will report the
+ * The SchemaDiff is called with two schema documents, registries or schemas and will report the
  * differences in the graphql schema APIs by raising events to a
  * {@link com.intellij.lang.jsgraphql.types.schema.diff.reporting.DifferenceReporter}
+ * as soon as they are found.
+ * <p>
+ * Types are matched by name, and the types which are structurally the same on both sides are only
+ * walked through to reach the types they refer to, so only the info events about their members are omitted.
  */
 @SuppressWarnings("ConstantConditions")
 @PublicSpi
@@ -61,7 +68,7 @@ public class SchemaDiff {
 
   private static class CountingReporter implements DifferenceReporter {
     final DifferenceReporter delegate;
-    int breakingCount = 1;
+    int breakingCount = 0;
 
     private CountingReporter(DifferenceReporter delegate) {
       this.delegate = delegate;
@@ -100,6 +107,65 @@ public class SchemaDiff {
     this.options = options;
   }
 
+  /**
+   * This will perform a difference on the two schema documents, reporting the changes to the provided reporter.
+   * Introspection results are converted to documents by the IDE, so the documents are accepted here directly.
+   *
+   * @param oldDoc   the old API document
+   * @param newDoc   the new API document
+   * @param reporter the reporter of differences
+   * @return the number of API breaking changes
+   */
+  @SuppressWarnings("UnusedReturnValue")
+  public int diffSchema(Document oldDoc, Document newDoc, DifferenceReporter reporter) {
+    return diffSchema(DiffDefinitions.fromDocument(oldDoc), DiffDefinitions.fromDocument(newDoc), reporter);
+  }
+
+  /**
+   * This will perform a difference on the two type registries, the type extensions are merged into the types they extend.
+   *
+   * @param oldRegistry the old API registry
+   * @param newRegistry the new API registry
+   * @param reporter    the reporter of differences
+   * @return the number of API breaking changes
+   */
+  @SuppressWarnings("UnusedReturnValue")
+  public int diffSchema(TypeDefinitionRegistry oldRegistry, TypeDefinitionRegistry newRegistry, DifferenceReporter reporter) {
+    return diffSchema(DiffDefinitions.fromRegistry(oldRegistry), DiffDefinitions.fromRegistry(newRegistry), reporter);
+  }
+
+  /**
+   * This will perform a difference on the two schemas using the definitions they were built from.
+   *
+   * @param oldSchema the old API schema
+   * @param newSchema the new API schema
+   * @param reporter  the reporter of differences
+   * @return the number of API breaking changes
+   */
+  @SuppressWarnings("UnusedReturnValue")
+  public int diffSchema(GraphQLSchema oldSchema, GraphQLSchema newSchema, DifferenceReporter reporter) {
+    return diffSchema(DiffDefinitions.fromSchema(oldSchema), DiffDefinitions.fromSchema(newSchema), reporter);
+  }
+
+  private int diffSchema(DiffDefinitions oldDefinitions, DiffDefinitions newDefinitions, DifferenceReporter reporter) {
+    CountingReporter countingReporter = new CountingReporter(reporter);
+    diffSchemaImpl(oldDefinitions, newDefinitions, countingReporter);
+    return countingReporter.breakingCount;
+  }
+
+  private void diffSchemaImpl(DiffDefinitions oldDefinitions, DiffDefinitions newDefinitions, DifferenceReporter reporter) {
+    DiffCtx ctx = new DiffCtx(reporter, oldDefinitions, newDefinitions);
+
+    Optional<SchemaDefinition> oldSchemaDef = oldDefinitions.getSchemaDefinition();
+    Optional<SchemaDefinition> newSchemaDef = newDefinitions.getSchemaDefinition();
+
+    checkOperation(ctx, "query", oldSchemaDef, newSchemaDef);
+    checkOperation(ctx, "mutation", oldSchemaDef, newSchemaDef);
+    checkOperation(ctx, "subscription", oldSchemaDef, newSchemaDef);
+
+    reporter.onEnd();
+  }
+
   private void checkOperation(DiffCtx ctx,
                               String opName,
                               Optional<SchemaDefinition> oldSchemaDef,
@@ -166,6 +232,7 @@ public class SchemaDiff {
     if (isReservedType(typeName)) {
       return;
     }
+    ProgressManager.checkCanceled();
     Optional<TypeDefinition> oldTD = ctx.getOldTypeDef(oldType, TypeDefinition.class);
     Optional<TypeDefinition> newTD = ctx.getNewTypeDef(newType, TypeDefinition.class);
 
@@ -207,6 +274,11 @@ public class SchemaDiff {
       ctx.exitType();
       return;
     }
+    if (ctx.isUnchanged(oldDef, newDef)) {
+      checkReferencedTypes(ctx, oldDef);
+      ctx.exitType();
+      return;
+    }
     if (oldDef instanceof ObjectTypeDefinition) {
       checkObjectType(ctx, (ObjectTypeDefinition)oldDef, (ObjectTypeDefinition)newDef);
     }
@@ -228,6 +300,34 @@ public class SchemaDiff {
     ctx.exitType();
   }
 
+  /**
+   * Follows the references of a type that is the same in both APIs, the types it refers to may still differ.
+   */
+  private void checkReferencedTypes(DiffCtx ctx, TypeDefinition def) {
+    if (def instanceof ObjectTypeDefinition) {
+      ObjectTypeDefinition objectDef = (ObjectTypeDefinition)def;
+      checkFieldTypes(ctx, objectDef.getFieldDefinitions());
+      checkImplements(ctx, objectDef, objectDef.getImplements(), objectDef.getImplements());
+    }
+    else if (def instanceof InterfaceTypeDefinition) {
+      checkFieldTypes(ctx, ((InterfaceTypeDefinition)def).getFieldDefinitions());
+    }
+    else if (def instanceof InputObjectTypeDefinition) {
+      for (InputValueDefinition inputField : ((InputObjectTypeDefinition)def).getInputValueDefinitions()) {
+        checkType(ctx, inputField.getType(), inputField.getType());
+      }
+    }
+  }
+
+  private void checkFieldTypes(DiffCtx ctx, List<FieldDefinition> fields) {
+    for (FieldDefinition field : fields) {
+      for (InputValueDefinition arg : field.getInputValueDefinitions()) {
+        checkType(ctx, arg.getType(), arg.getType());
+      }
+      checkType(ctx, field.getType(), field.getType());
+    }
+  }
+
   private boolean isDeprecated(DirectivesContainer<?> node) {
     return node.hasDirective("deprecated");
   }
@@ -483,6 +583,9 @@ public class SchemaDiff {
                      .reasonMsg("The new API is missing the interface named '%s'", oldInterface.get().getName())
                      .build());
       }
+      else if (ctx.isUnchanged(oldInterface.get(), newInterface.get())) {
+        checkReferencedTypes(ctx, oldInterface.get());
+      }
       else {
         checkInterfaceType(ctx, oldInterface.get(), newInterface.get());
       }
@@ -883,14 +986,6 @@ public class SchemaDiff {
     return typeInfo(type).getName();
   }
 
-  @SuppressWarnings("ConstantConditions")
-  private Optional<SchemaDefinition> getSchemaDef(Document document) {
-    return document.getDefinitions().stream()
-      .filter(d -> d instanceof SchemaDefinition)
-      .map(SchemaDefinition.class::cast)
-      .findFirst();
-  }
-
   private Optional<OperationTypeDefinition> getOpDef(String opName, SchemaDefinition schemaDef) {
     return schemaDef.getOperationTypeDefinitions()
       .stream()
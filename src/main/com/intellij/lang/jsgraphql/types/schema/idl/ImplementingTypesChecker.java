@@ -26,6 +26,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.*;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static com.intellij.lang.jsgraphql.schema.GraphQLTypeDefinitionUtil.mapNamedNodesByKey;
@@ -48,6 +49,19 @@ class ImplementingTypesChecker {
     TYPE_OF_MAP.put(InterfaceTypeExtensionDefinition.class, "interface extension");
   }
 
+  private final Predicate<String> typeFilter;
+
+  ImplementingTypesChecker() {
+    this(name -> true);
+  }
+
+  /**
+   * @param typeFilter only the types with the accepted names are checked
+   */
+  ImplementingTypesChecker(Predicate<String> typeFilter) {
+    this.typeFilter = typeFilter;
+  }
+
   /*
    * "Implementing types" (i.e.: types that might implement interfaces) have the potential to be invalid if incorrectly defined.
    *
@@ -61,7 +75,8 @@ class ImplementingTypesChecker {
     List<ObjectTypeDefinition> objects = typeRegistry.getTypes(ObjectTypeDefinition.class);
 
     TypeDefinitionRegistry.fromSourceNodes(Stream.of(interfaces.stream(), objects.stream())
-                                             .flatMap(Function.identity()), ImplementingTypeDefinition.class)
+                                             .flatMap(Function.identity())
+                                             .filter(type -> typeFilter.test(type.getName())), ImplementingTypeDefinition.class)
       .forEach(type -> checkImplementingType(errors, typeRegistry, type));
   }
 
@@ -24,11 +24,10 @@ import com.intellij.lang.jsgraphql.types.schema.*;
 import com.intellij.lang.jsgraphql.types.schema.idl.errors.SchemaProblem;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Consumer;
 
 
 /**
@@ -84,13 +83,41 @@ public class SchemaGenerator {
   public GraphQLSchema makeExecutableSchema(Options options,
                                             TypeDefinitionRegistry typeRegistry,
                                             RuntimeWiring wiring) throws SchemaProblem {
+    return makeExecutableSchema(options, typeRegistry, wiring, null, null);
+  }
+
+  /**
+   * Same as {@link #makeExecutableSchema(Options, TypeDefinitionRegistry, RuntimeWiring)}, but the type registry is checked incrementally:
+   * only the definitions which changed since the previous check and their direct dependents are checked again.
+   *
+   * @param previousCheckResult the result of the previous check of this schema, if any
+   * @param checkResultConsumer receives the result of the current check, which should be passed to the next build
+   */
+  public GraphQLSchema makeExecutableSchema(Options options,
+                                            TypeDefinitionRegistry typeRegistry,
+                                            RuntimeWiring wiring,
+                                            @Nullable SchemaTypeCheckResult previousCheckResult,
+                                            @Nullable Consumer<SchemaTypeCheckResult> checkResultConsumer) throws SchemaProblem {
 
     TypeDefinitionRegistry typeRegistryCopy = new TypeDefinitionRegistry();
     typeRegistryCopy.merge(typeRegistry);
 
     schemaGeneratorHelper.addDirectivesIncludedByDefault(typeRegistryCopy);
 
-    List<GraphQLError> errors = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring);
+    List<GraphQLError> errors;
+    if (checkResultConsumer == null) {
+      errors = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring);
+    }
+    else {
+      Set<String> changedNames = Collections.emptySet();
+      if (previousCheckResult != null) {
+        changedNames = SchemaTypeCheckResult.getChangedNames(previousCheckResult.getRegistry(), typeRegistryCopy);
+        typeRegistryCopy.updateReferenceIndex(previousCheckResult.getRegistry());
+      }
+      SchemaTypeCheckResult checkResult = typeChecker.checkTypeRegistry(typeRegistryCopy, wiring, previousCheckResult, changedNames);
+      checkResultConsumer.accept(checkResult);
+      errors = checkResult.getErrors();
+    }
 
     Map<String, OperationTypeDefinition> operationTypeDefinitions = SchemaExtensionsChecker.gatherOperationDefs(typeRegistry);
 
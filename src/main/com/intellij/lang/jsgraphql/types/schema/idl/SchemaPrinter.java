@@ -17,7 +17,9 @@
  */
 package com.intellij.lang.jsgraphql.types.schema.idl;
 
+import com.google.common.collect.Lists;
 import com.intellij.application.options.CodeStyle;
+import com.intellij.concurrency.JobLauncher;
 import com.intellij.lang.jsgraphql.GraphQLLanguage;
 import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionResultToSchema;
 import com.intellij.lang.jsgraphql.types.Assert;
@@ -25,15 +27,19 @@ import com.intellij.lang.jsgraphql.types.PublicApi;
 import com.intellij.lang.jsgraphql.types.language.*;
 import com.intellij.lang.jsgraphql.types.schema.*;
 import com.intellij.lang.jsgraphql.types.schema.visibility.GraphqlFieldVisibility;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.codeStyle.CommonCodeStyleSettings;
 import com.intellij.util.containers.ContainerUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -282,10 +288,12 @@ public class SchemaPrinter {
     }
   }
 
-  private final Map<Class<?>, TypePrinter<?>> printers = new LinkedHashMap<>();
+  private final Map<Class<?>, TypePrinter<?>> printers = new ConcurrentHashMap<>();
 
   private static final String DEFAULT_INDENT = "  ";
 
+  private static final int CHUNK_SIZE = 256;
+
   private final @Nullable CommonCodeStyleSettings.IndentOptions indentOptions;
   private final Options options;
 
@@ -355,30 +363,132 @@ public class SchemaPrinter {
    * @return the logical schema definition
    */
   public String print(GraphQLSchema schema) {
-    StringWriter sw = new StringWriter();
-    PrintWriter out = new PrintWriter(sw);
+    StringBuilder sb = new StringBuilder();
+    try {
+      print(schema, sb, false);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e); // can't happen for a StringBuilder
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Prints the schema type by type to the given output, so the whole text is never held in memory.
+   *
+   * @param schema the schema in play
+   * @param out    the output, e.g. a {@link java.io.Writer} of a file
+   */
+  public void print(GraphQLSchema schema, Appendable out) throws IOException {
+    print(schema, out, false);
+  }
 
+  /**
+   * Prints the schema type by type to the given output, so the whole text is never held in memory.
+   * <p>
+   * If {@code parallel} is true, the types are rendered concurrently in chunks and each chunk is written in the usual order,
+   * so the output is the same as for the sequential printing.
+   *
+   * @param schema   the schema in play
+   * @param out      the output, e.g. a {@link java.io.Writer} of a file
+   * @param parallel whether to render the types concurrently
+   */
+  public void print(GraphQLSchema schema, Appendable out, boolean parallel) throws IOException {
+    TrailingLineBreakTrimmer trimmer = new TrailingLineBreakTrimmer(out);
     GraphqlFieldVisibility visibility = schema.getCodeRegistry().getFieldVisibility();
 
-    printer(schema.getClass()).print(out, schema, visibility);
+    trimmer.append(render(schema, visibility));
 
     List<GraphQLType> typesAsList = schema.getAllTypesAsList()
       .stream()
       .sorted(Comparator.comparing(GraphQLNamedType::getName))
       .collect(toList());
 
-    printType(out, typesAsList, GraphQLInterfaceType.class, visibility);
-    printType(out, typesAsList, GraphQLUnionType.class, visibility);
-    printType(out, typesAsList, GraphQLObjectType.class, visibility);
-    printType(out, typesAsList, GraphQLEnumType.class, visibility);
-    printType(out, typesAsList, GraphQLScalarType.class, visibility);
-    printType(out, typesAsList, GraphQLInputObjectType.class, visibility);
+    List<GraphQLType> types = new ArrayList<>(typesAsList.size());
+    collectTypes(types, typesAsList, GraphQLInterfaceType.class);
+    collectTypes(types, typesAsList, GraphQLUnionType.class);
+    collectTypes(types, typesAsList, GraphQLObjectType.class);
+    collectTypes(types, typesAsList, GraphQLEnumType.class);
+    collectTypes(types, typesAsList, GraphQLScalarType.class);
+    collectTypes(types, typesAsList, GraphQLInputObjectType.class);
+
+    if (!parallel || types.size() <= CHUNK_SIZE) {
+      for (GraphQLType type : types) {
+        ProgressManager.checkCanceled();
+        trimmer.append(render(type, visibility));
+      }
+    }
+    else {
+      for (List<GraphQLType> chunk : Lists.partition(types, CHUNK_SIZE)) {
+        String[] rendered = new String[chunk.size()];
+        List<Integer> indices = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+          indices.add(i);
+        }
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+          indices, ProgressManager.getGlobalProgressIndicator(), index -> {
+            ProgressManager.checkCanceled();
+            rendered[index] = render(chunk.get(index), visibility);
+            return true;
+          });
+        for (String text : rendered) {
+          trimmer.append(text);
+        }
+      }
+    }
 
-    String result = sw.toString();
-    if (result.endsWith("\n\n")) {
-      result = result.substring(0, result.length() - 1);
+    trimmer.finish();
+  }
+
+  private void collectTypes(List<GraphQLType> result, List<GraphQLType> typesAsList, Class<?> typeClazz) {
+    typesAsList.stream()
+      .filter(type -> typeClazz.isAssignableFrom(type.getClass()))
+      .filter(type -> options.getIncludeSchemaElement().test(type))
+      .forEach(result::add);
+  }
+
+  private String render(Object element, GraphqlFieldVisibility visibility) {
+    StringWriter sw = new StringWriter();
+    PrintWriter out = new PrintWriter(sw);
+    printer(element.getClass()).print(out, element, visibility);
+    out.flush();
+    return sw.toString();
+  }
+
+  /**
+   * Holds back the last two characters, so a trailing empty line after the last definition can be dropped.
+   */
+  private static final class TrailingLineBreakTrimmer {
+    private final Appendable myOut;
+    private final StringBuilder myTail = new StringBuilder(2);
+
+    private TrailingLineBreakTrimmer(Appendable out) {
+      myOut = out;
+    }
+
+    void append(String text) throws IOException {
+      if (text.isEmpty()) return;
+      if (text.length() < 2) {
+        myTail.append(text);
+      }
+      else {
+        myOut.append(myTail);
+        myTail.setLength(0);
+        myOut.append(text, 0, text.length() - 2);
+        myTail.append(text, text.length() - 2, text.length());
+      }
+      if (myTail.length() > 2) {
+        myOut.append(myTail, 0, myTail.length() - 2);
+        myTail.delete(0, myTail.length() - 2);
+      }
+    }
+
+    void finish() throws IOException {
+      if (myTail.length() == 2 && myTail.charAt(0) == '\n' && myTail.charAt(1) == '\n') {
+        myTail.setLength(1);
+      }
+      myOut.append(myTail);
     }
-    return result;
   }
 
   private interface TypePrinter<T> {
@@ -979,14 +1089,6 @@ public class SchemaPrinter {
     return sw.toString();
   }
 
-  private void printType(PrintWriter out, List<GraphQLType> typesAsList, Class<?>
-    typeClazz, GraphqlFieldVisibility visibility) {
-    typesAsList.stream()
-      .filter(type -> typeClazz.isAssignableFrom(type.getClass()))
-      .filter(type -> options.getIncludeSchemaElement().test(type))
-      .forEach(type -> printType(out, type, visibility));
-  }
-
   private void printType(PrintWriter out, GraphQLType type, GraphqlFieldVisibility visibility) {
     TypePrinter<Object> printer = printer(type.getClass());
     printer.print(out, type, visibility);
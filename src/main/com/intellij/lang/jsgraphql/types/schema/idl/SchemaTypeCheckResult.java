@@ -0,0 +1,129 @@
+/*
+    The MIT License (MIT)
+
+    Copyright (c) 2015 Andreas Marek and Contributors
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files
+    (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge,
+    publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do
+    so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+    OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+    LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+    CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.intellij.lang.jsgraphql.types.schema.idl;
+
+import com.intellij.lang.jsgraphql.types.GraphQLError;
+import com.intellij.lang.jsgraphql.types.Internal;
+import com.intellij.lang.jsgraphql.types.language.Node;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * The errors found by {@link SchemaTypeChecker}, grouped by the name of the type they were reported for.
+ * <p>
+ * It's passed back to the checker on the next build together with the names of the changed definitions,
+ * so only the changed types and their direct dependents are checked again and the errors of the other types are reused.
+ * The errors which don't belong to a single type (schema definition, directive definitions) are always computed again.
+ */
+@Internal
+public final class SchemaTypeCheckResult {
+
+  private final TypeDefinitionRegistry myRegistry;
+  private final Map<String, List<GraphQLError>> myTypeErrors;
+  private final List<GraphQLError> myGlobalErrors;
+  private final boolean myReusable;
+
+  SchemaTypeCheckResult(@NotNull TypeDefinitionRegistry registry,
+                        @NotNull Map<String, List<GraphQLError>> typeErrors,
+                        @NotNull List<GraphQLError> globalErrors,
+                        boolean reusable) {
+    myRegistry = registry;
+    myTypeErrors = typeErrors;
+    myGlobalErrors = globalErrors;
+    myReusable = reusable;
+  }
+
+  /**
+   * The registry which was checked.
+   */
+  public @NotNull TypeDefinitionRegistry getRegistry() {
+    return myRegistry;
+  }
+
+  public @NotNull List<GraphQLError> getErrors() {
+    List<GraphQLError> errors = new ArrayList<>(myGlobalErrors);
+    myTypeErrors.values().forEach(errors::addAll);
+    return errors;
+  }
+
+  @NotNull List<GraphQLError> getTypeErrors(@NotNull String typeName) {
+    return myTypeErrors.getOrDefault(typeName, Collections.emptyList());
+  }
+
+  @NotNull Set<String> getTypeNames() {
+    return myTypeErrors.keySet();
+  }
+
+  /**
+   * False if some of the type errors couldn't be attributed to a type, the next check has to be a full one then.
+   */
+  boolean isReusable() {
+    return myReusable;
+  }
+
+  /**
+   * Names of the types, scalars, type extensions and directive definitions which differ between the two registries.
+   * <p>
+   * The definitions are compared by identity: the IDE builds the registry from cached documents of the unchanged files,
+   * so an unchanged definition is the same instance in both registries. A merged definition (e.g. a type declared in several files)
+   * is created anew on every build and is always reported as changed.
+   */
+  public static @NotNull Set<String> getChangedNames(@NotNull TypeDefinitionRegistry previous, @NotNull TypeDefinitionRegistry current) {
+    Set<String> changed = new LinkedHashSet<>();
+    collectChanged(previous.types(), current.types(), changed, (a, b) -> a == b);
+    collectChanged(previous.scalars(), current.scalars(), changed, (a, b) -> a == b);
+    collectChanged(previous.getDirectiveDefinitions(), current.getDirectiveDefinitions(), changed, (a, b) -> a == b);
+    collectChanged(previous.objectTypeExtensions(), current.objectTypeExtensions(), changed, SchemaTypeCheckResult::isSameList);
+    collectChanged(previous.interfaceTypeExtensions(), current.interfaceTypeExtensions(), changed, SchemaTypeCheckResult::isSameList);
+    collectChanged(previous.unionTypeExtensions(), current.unionTypeExtensions(), changed, SchemaTypeCheckResult::isSameList);
+    collectChanged(previous.enumTypeExtensions(), current.enumTypeExtensions(), changed, SchemaTypeCheckResult::isSameList);
+    collectChanged(previous.scalarTypeExtensions(), current.scalarTypeExtensions(), changed, SchemaTypeCheckResult::isSameList);
+    collectChanged(previous.inputObjectTypeExtensions(), current.inputObjectTypeExtensions(), changed, SchemaTypeCheckResult::isSameList);
+    return changed;
+  }
+
+  private static <T> void collectChanged(@NotNull Map<String, T> previous,
+                                         @NotNull Map<String, T> current,
+                                         @NotNull Set<String> changed,
+                                         @NotNull SameCheck<T> sameCheck) {
+    current.forEach((name, definition) -> {
+      T previousDefinition = previous.get(name);
+      if (previousDefinition == null || !sameCheck.isSame(previousDefinition, definition)) {
+        changed.add(name);
+      }
+    });
+    for (String name : previous.keySet()) {
+      if (!current.containsKey(name)) {
+        changed.add(name);
+      }
+    }
+  }
+
+  private static <T extends Node> boolean isSameList(@NotNull List<T> previous, @NotNull List<T> current) {
+    if (previous.size() != current.size()) return false;
+    for (int i = 0; i < previous.size(); i++) {
+      if (previous.get(i) != current.get(i)) return false;
+    }
+    return true;
+  }
+
+  private interface SameCheck<T> {
+    boolean isSame(@NotNull T previous, @NotNull T current);
+  }
+}
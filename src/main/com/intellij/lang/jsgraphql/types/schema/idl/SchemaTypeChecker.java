@@ -23,11 +23,15 @@ import com.intellij.lang.jsgraphql.types.introspection.Introspection;
 import com.intellij.lang.jsgraphql.types.language.*;
 import com.intellij.lang.jsgraphql.types.schema.idl.errors.*;
 import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static com.intellij.lang.jsgraphql.types.DirectivesUtil.nonRepeatableDirectivesOnly;
@@ -45,7 +49,8 @@ public class SchemaTypeChecker {
 
   public List<GraphQLError> checkTypeRegistry(TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring) throws SchemaProblem {
     List<GraphQLError> errors = new ArrayList<>();
-    checkForMissingTypes(errors, typeRegistry);
+    Predicate<String> typeFilter = name -> true;
+    checkForMissingTypes(errors, typeRegistry, typeFilter);
 
     SchemaTypeExtensionsChecker typeExtensionsChecker = new SchemaTypeExtensionsChecker();
 
@@ -59,7 +64,7 @@ public class SchemaTypeChecker {
 
     SchemaExtensionsChecker.checkSchemaInvariants(errors, typeRegistry);
 
-    checkFieldsAreSensible(errors, typeRegistry);
+    checkFieldsAreSensible(errors, typeRegistry, typeFilter);
 
     //check directive definitions before checking directive usages
     checkDirectiveDefinitions(typeRegistry, errors);
@@ -70,10 +75,174 @@ public class SchemaTypeChecker {
     return errors;
   }
 
-  private void checkForMissingTypes(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry) {
+  /**
+   * Checks only the types which changed since the previous check and their dependents:
+   * the types which reference a changed type (field, argument and input field types, implemented interfaces, union members)
+   * or use a changed directive, directly or through input types and directive definitions.
+   * The errors of the other types are taken from the previous result.
+   *
+   * @param previous     result of the previous check, a full check is done if it's null
+   * @param changedNames names of the changed types, type extensions and directives,
+   *                     see {@link SchemaTypeCheckResult#getChangedNames(TypeDefinitionRegistry, TypeDefinitionRegistry)}
+   */
+  public SchemaTypeCheckResult checkTypeRegistry(TypeDefinitionRegistry typeRegistry,
+                                                 RuntimeWiring wiring,
+                                                 @Nullable SchemaTypeCheckResult previous,
+                                                 @NotNull Set<String> changedNames) throws SchemaProblem {
+    boolean isIncremental = previous != null && previous.isReusable();
+    Set<String> affectedNames = isIncremental ? collectAffectedNames(typeRegistry, changedNames) : null;
+    Predicate<String> typeFilter = affectedNames != null ? affectedNames::contains : name -> true;
+
+    List<GraphQLError> typeErrors = new ArrayList<>();
+    checkDefinitions(typeErrors, typeRegistry, wiring, typeFilter);
+
+    List<GraphQLError> globalErrors = new ArrayList<>();
+    checkSchemaAndDirectiveDefinitions(globalErrors, typeRegistry, wiring);
+
+    Map<String, List<GraphQLError>> errorsByType = new LinkedHashMap<>();
+    if (isIncremental) {
+      for (String typeName : previous.getTypeNames()) {
+        if (!affectedNames.contains(typeName)) {
+          errorsByType.put(typeName, previous.getTypeErrors(typeName));
+        }
+      }
+    }
+
+    Map<Node, String> nodeToTypeName = mapNodesToTypeNames(typeRegistry, typeFilter);
+    boolean isReusable = true;
+    for (GraphQLError error : typeErrors) {
+      String typeName = error.getNode() != null ? nodeToTypeName.get(error.getNode()) : null;
+      if (typeName == null) {
+        // can't tell which type it belongs to, so it can't be reused and the next check has to be a full one
+        isReusable = false;
+        globalErrors.add(error);
+      }
+      else {
+        errorsByType.computeIfAbsent(typeName, k -> new ArrayList<>()).add(error);
+      }
+    }
+    return new SchemaTypeCheckResult(typeRegistry, errorsByType, globalErrors, isReusable);
+  }
+
+  private void checkDefinitions(List<GraphQLError> errors,
+                                TypeDefinitionRegistry typeRegistry,
+                                RuntimeWiring wiring,
+                                Predicate<String> typeFilter) {
+    checkForMissingTypes(errors, typeRegistry, typeFilter);
+
+    SchemaTypeExtensionsChecker typeExtensionsChecker = new SchemaTypeExtensionsChecker(typeFilter);
+
+    typeExtensionsChecker.checkTypeExtensions(errors, typeRegistry);
+
+    ImplementingTypesChecker implementingTypesChecker = new ImplementingTypesChecker(typeFilter);
+    implementingTypesChecker.checkImplementingTypes(errors, typeRegistry);
+
+    UnionTypesChecker unionTypesChecker = new UnionTypesChecker(typeFilter);
+    unionTypesChecker.checkUnionType(errors, typeRegistry);
+
+    checkFieldsAreSensible(errors, typeRegistry, typeFilter);
+
+    SchemaTypeDirectivesChecker directivesChecker = new SchemaTypeDirectivesChecker(typeRegistry, wiring, typeFilter);
+    directivesChecker.checkDefinitionDirectives(errors);
+  }
+
+  private void checkSchemaAndDirectiveDefinitions(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry, RuntimeWiring wiring) {
+    SchemaExtensionsChecker.checkSchemaInvariants(errors, typeRegistry);
+
+    //check directive definitions before checking directive usages
+    checkDirectiveDefinitions(typeRegistry, errors);
+
+    SchemaTypeDirectivesChecker directivesChecker = new SchemaTypeDirectivesChecker(typeRegistry, wiring);
+    directivesChecker.checkSchemaDirectives(errors);
+  }
+
+  /**
+   * The changed names and the names of the definitions which depend on them. The dependents of input types and directive definitions
+   * are followed transitively, because argument and default values are checked against them: a changed enum affects the directives
+   * and the input types using it, and those affect every definition using the directives or the input types.
+   */
+  private static Set<String> collectAffectedNames(TypeDefinitionRegistry typeRegistry, Set<String> changedNames) {
+    TypeReferenceIndex referenceIndex = typeRegistry.getReferenceIndex();
+    Set<String> affectedNames = new HashSet<>(changedNames);
+
+    Set<String> visitedTypeNames = new HashSet<>(changedNames);
+    Set<String> visitedDirectiveNames = new HashSet<>();
+    Deque<String> typeNames = new ArrayDeque<>(changedNames);
+    Deque<String> directiveNames = new ArrayDeque<>();
+    while (!typeNames.isEmpty() || !directiveNames.isEmpty()) {
+      Collection<TypeReferenceIndex.Reference> references;
+      if (!typeNames.isEmpty()) {
+        references = referenceIndex.getReferences(typeNames.poll());
+      }
+      else {
+        // only the usages of a directive, a type can have the same name
+        references = referenceIndex.getReferences(directiveNames.poll(), TypeReferenceIndex.Kind.DIRECTIVE);
+      }
+      for (TypeReferenceIndex.Reference reference : references) {
+        String referringName = reference.getDefinitionName();
+        if (referringName == null) continue;
+
+        affectedNames.add(referringName);
+        if (reference.getDefinition() instanceof DirectiveDefinition) {
+          if (visitedDirectiveNames.add(referringName)) {
+            directiveNames.add(referringName);
+          }
+        }
+        else if (reference.getDefinition() instanceof InputObjectTypeDefinition) {
+          if (visitedTypeNames.add(referringName)) {
+            typeNames.add(referringName);
+          }
+        }
+      }
+    }
+    return affectedNames;
+  }
+
+  private static Map<Node, String> mapNodesToTypeNames(TypeDefinitionRegistry typeRegistry, Predicate<String> typeFilter) {
+    Map<Node, String> nodeToTypeName = new IdentityHashMap<>();
+    forEachTypeDefinition(typeRegistry, typeFilter, (name, definition) -> mapNodes(definition, name, nodeToTypeName));
+    return nodeToTypeName;
+  }
+
+  private static void mapNodes(Node<?> node, String typeName, Map<Node, String> nodeToTypeName) {
+    nodeToTypeName.put(node, typeName);
+    for (Node<?> child : node.getChildren()) {
+      mapNodes(child, typeName, nodeToTypeName);
+    }
+  }
+
+  /**
+   * Visits type definitions with their source definitions (if merged), scalars and type extensions of the accepted names.
+   */
+  private static void forEachTypeDefinition(TypeDefinitionRegistry typeRegistry,
+                                            Predicate<String> typeFilter,
+                                            BiConsumer<String, Node<?>> consumer) {
+    Stream.<TypeDefinition>concat(typeRegistry.types().values().stream(), typeRegistry.scalars().values().stream())
+      .filter(definition -> typeFilter.test(definition.getName()))
+      .forEach(definition -> {
+        consumer.accept(definition.getName(), definition);
+        if (definition.isComposite()) {
+          definition.getSourceNodes().forEach(source -> consumer.accept(definition.getName(), source));
+        }
+      });
+
+    List<Map<String, ? extends List<? extends TypeDefinition>>> extensionMaps = List.of(
+      typeRegistry.objectTypeExtensions(), typeRegistry.interfaceTypeExtensions(), typeRegistry.unionTypeExtensions(),
+      typeRegistry.enumTypeExtensions(), typeRegistry.scalarTypeExtensions(), typeRegistry.inputObjectTypeExtensions());
+    for (Map<String, ? extends List<? extends TypeDefinition>> extensions : extensionMaps) {
+      extensions.forEach((name, definitions) -> {
+        if (typeFilter.test(name)) {
+          definitions.forEach(definition -> consumer.accept(name, definition));
+        }
+      });
+    }
+  }
+
+  private void checkForMissingTypes(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry, Predicate<String> typeFilter) {
     // type extensions
     List<ObjectTypeExtensionDefinition> typeExtensions =
-      typeRegistry.objectTypeExtensions().values().stream().flatMap(Collection::stream).toList();
+      typeRegistry.objectTypeExtensions().values().stream().flatMap(Collection::stream)
+        .filter(typeExtension -> typeFilter.test(typeExtension.getName())).toList();
     typeExtensions.forEach(typeExtension -> {
 
       List<Type> implementsTypes = typeExtension.getImplements();
@@ -86,7 +255,7 @@ public class SchemaTypeChecker {
     Map<String, TypeDefinition> typesMap = typeRegistry.types();
 
     // objects
-    List<ObjectTypeDefinition> objectTypes = filterTo(typesMap, ObjectTypeDefinition.class);
+    List<ObjectTypeDefinition> objectTypes = filterTo(typesMap, ObjectTypeDefinition.class, typeFilter);
     objectTypes.forEach(objectType -> {
 
       List<Type> implementsTypes = objectType.getImplements();
@@ -96,7 +265,7 @@ public class SchemaTypeChecker {
     });
 
     // interfaces
-    List<InterfaceTypeDefinition> interfaceTypes = filterTo(typesMap, InterfaceTypeDefinition.class);
+    List<InterfaceTypeDefinition> interfaceTypes = filterTo(typesMap, InterfaceTypeDefinition.class, typeFilter);
     interfaceTypes.forEach(interfaceType -> {
       List<FieldDefinition> fields = interfaceType.getFieldDefinitions();
 
@@ -104,7 +273,7 @@ public class SchemaTypeChecker {
     });
 
     // union types
-    List<UnionTypeDefinition> unionTypes = filterTo(typesMap, UnionTypeDefinition.class);
+    List<UnionTypeDefinition> unionTypes = filterTo(typesMap, UnionTypeDefinition.class, typeFilter);
     unionTypes.forEach(unionType -> {
       List<Type> memberTypes = unionType.getMemberTypes();
       memberTypes.forEach(checkTypeExists("union member", typeRegistry, errors, unionType));
@@ -112,7 +281,7 @@ public class SchemaTypeChecker {
 
 
     // input types
-    List<InputObjectTypeDefinition> inputTypes = filterTo(typesMap, InputObjectTypeDefinition.class);
+    List<InputObjectTypeDefinition> inputTypes = filterTo(typesMap, InputObjectTypeDefinition.class, typeFilter);
     inputTypes.forEach(inputType -> {
       List<InputValueDefinition> inputValueDefinitions = inputType.getInputValueDefinitions();
       List<Type> inputValueTypes = ContainerUtil.map(inputValueDefinitions, InputValueDefinition::getType);
@@ -150,26 +319,26 @@ public class SchemaTypeChecker {
     });
   }
 
-  private void checkFieldsAreSensible(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry) {
+  private void checkFieldsAreSensible(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry, Predicate<String> typeFilter) {
     Map<String, TypeDefinition> typesMap = typeRegistry.types();
 
     Map<String, DirectiveDefinition> directiveDefinitionMap = typeRegistry.getDirectiveDefinitions();
 
     // objects
-    List<ObjectTypeDefinition> objectTypes = filterTo(typesMap, ObjectTypeDefinition.class);
+    List<ObjectTypeDefinition> objectTypes = filterTo(typesMap, ObjectTypeDefinition.class, typeFilter);
     objectTypes.forEach(objectType -> checkObjTypeFields(errors, objectType, objectType.getFieldDefinitions(), directiveDefinitionMap));
 
     // interfaces
-    List<InterfaceTypeDefinition> interfaceTypes = filterTo(typesMap, InterfaceTypeDefinition.class);
+    List<InterfaceTypeDefinition> interfaceTypes = filterTo(typesMap, InterfaceTypeDefinition.class, typeFilter);
     interfaceTypes.forEach(
       interfaceType -> checkInterfaceFields(errors, interfaceType, interfaceType.getFieldDefinitions(), directiveDefinitionMap));
 
     // enum types
-    List<EnumTypeDefinition> enumTypes = filterTo(typesMap, EnumTypeDefinition.class);
+    List<EnumTypeDefinition> enumTypes = filterTo(typesMap, EnumTypeDefinition.class, typeFilter);
     enumTypes.forEach(enumType -> checkEnumValues(errors, enumType, enumType.getEnumValueDefinitions(), directiveDefinitionMap));
 
     // input types
-    List<InputObjectTypeDefinition> inputTypes = filterTo(typesMap, InputObjectTypeDefinition.class);
+    List<InputObjectTypeDefinition> inputTypes = filterTo(typesMap, InputObjectTypeDefinition.class, typeFilter);
     inputTypes.forEach(inputType -> checkInputValues(errors, inputType, inputType.getInputValueDefinitions(), INPUT_FIELD_DEFINITION,
                                                      directiveDefinitionMap));
   }
@@ -373,9 +542,11 @@ public class SchemaTypeChecker {
     };
   }
 
-  private <T extends TypeDefinition> List<T> filterTo(Map<String, TypeDefinition> types, Class<? extends T> clazz) {
+  private <T extends TypeDefinition> List<T> filterTo(Map<String, TypeDefinition> types,
+                                                      Class<? extends T> clazz,
+                                                      Predicate<String> typeFilter) {
     return types.values().stream()
-      .filter(t -> clazz.equals(t.getClass()))
+      .filter(t -> clazz.equals(t.getClass()) && typeFilter.test(t.getName()))
       .map(clazz::cast)
       .collect(toList());
   }
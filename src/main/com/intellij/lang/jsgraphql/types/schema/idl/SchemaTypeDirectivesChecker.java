@@ -27,6 +27,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static com.intellij.lang.jsgraphql.types.introspection.Introspection.DirectiveLocation.*;
@@ -44,41 +45,48 @@ class SchemaTypeDirectivesChecker {
 
   private final TypeDefinitionRegistry typeRegistry;
   private final RuntimeWiring runtimeWiring;
+  private final Predicate<String> typeFilter;
 
   public SchemaTypeDirectivesChecker(final TypeDefinitionRegistry typeRegistry,
                                      final RuntimeWiring runtimeWiring) {
+    this(typeRegistry, runtimeWiring, name -> true);
+  }
+
+  /**
+   * @param typeFilter only the directives of the types with the accepted names are checked by {@link #checkDefinitionDirectives}
+   */
+  SchemaTypeDirectivesChecker(final TypeDefinitionRegistry typeRegistry,
+                              final RuntimeWiring runtimeWiring,
+                              final Predicate<String> typeFilter) {
     this.typeRegistry = typeRegistry;
     this.runtimeWiring = runtimeWiring;
+    this.typeFilter = typeFilter;
   }
 
   void checkTypeDirectives(List<GraphQLError> errors) {
-    typeRegistry.objectTypeExtensions().values()
-      .forEach(extDefinitions -> extDefinitions.forEach(ext -> checkDirectives(OBJECT, errors, ext)));
-    typeRegistry.interfaceTypeExtensions().values()
-      .forEach(extDefinitions -> extDefinitions.forEach(ext -> checkDirectives(INTERFACE, errors, ext)));
-    typeRegistry.unionTypeExtensions().values()
-      .forEach(extDefinitions -> extDefinitions.forEach(ext -> checkDirectives(UNION, errors, ext)));
-    typeRegistry.enumTypeExtensions().values()
-      .forEach(extDefinitions -> extDefinitions.forEach(ext -> checkDirectives(ENUM, errors, ext)));
-    typeRegistry.scalarTypeExtensions().values()
-      .forEach(extDefinitions -> extDefinitions.forEach(ext -> checkDirectives(SCALAR, errors, ext)));
-    typeRegistry.inputObjectTypeExtensions().values()
-      .forEach(extDefinitions -> extDefinitions.forEach(ext -> checkDirectives(INPUT_OBJECT, errors, ext)));
-
-    typeRegistry.getTypes(ObjectTypeDefinition.class, true)
-      .forEach(typeDef -> checkDirectives(OBJECT, errors, typeDef));
-    typeRegistry.getTypes(InterfaceTypeDefinition.class, true)
-      .forEach(typeDef -> checkDirectives(INTERFACE, errors, typeDef));
-    typeRegistry.getTypes(UnionTypeDefinition.class, true)
-      .forEach(typeDef -> checkDirectives(UNION, errors, typeDef));
-    typeRegistry.getTypes(EnumTypeDefinition.class, true)
-      .forEach(typeDef -> checkDirectives(ENUM, errors, typeDef));
-    typeRegistry.getTypes(InputObjectTypeDefinition.class, true)
-      .forEach(typeDef -> checkDirectives(INPUT_OBJECT, errors, typeDef));
-
-    fromSourceNodes(typeRegistry.scalars().values().stream(), ScalarTypeDefinition.class)
-      .forEach(typeDef -> checkDirectives(SCALAR, errors, typeDef));
+    checkDefinitionDirectives(errors);
+    checkSchemaDirectives(errors);
+  }
+
+  void checkDefinitionDirectives(List<GraphQLError> errors) {
+    checkExtensionsDirectives(OBJECT, errors, typeRegistry.objectTypeExtensions());
+    checkExtensionsDirectives(INTERFACE, errors, typeRegistry.interfaceTypeExtensions());
+    checkExtensionsDirectives(UNION, errors, typeRegistry.unionTypeExtensions());
+    checkExtensionsDirectives(ENUM, errors, typeRegistry.enumTypeExtensions());
+    checkExtensionsDirectives(SCALAR, errors, typeRegistry.scalarTypeExtensions());
+    checkExtensionsDirectives(INPUT_OBJECT, errors, typeRegistry.inputObjectTypeExtensions());
 
+    checkDefinitionsDirectives(OBJECT, errors, typeRegistry.getTypes(ObjectTypeDefinition.class, true));
+    checkDefinitionsDirectives(INTERFACE, errors, typeRegistry.getTypes(InterfaceTypeDefinition.class, true));
+    checkDefinitionsDirectives(UNION, errors, typeRegistry.getTypes(UnionTypeDefinition.class, true));
+    checkDefinitionsDirectives(ENUM, errors, typeRegistry.getTypes(EnumTypeDefinition.class, true));
+    checkDefinitionsDirectives(INPUT_OBJECT, errors, typeRegistry.getTypes(InputObjectTypeDefinition.class, true));
+
+    checkDefinitionsDirectives(SCALAR, errors,
+                               fromSourceNodes(typeRegistry.scalars().values().stream(), ScalarTypeDefinition.class).toList());
+  }
+
+  void checkSchemaDirectives(List<GraphQLError> errors) {
     // we need to have a Node for error reporting so we make one in case there is not one
     Stream<SchemaDefinition> schemaDefinitions = fromSourceNodes(
       Stream.of(typeRegistry.schemaDefinition().orElse(SchemaDefinition.newSchemaDefinition().build())),
@@ -95,6 +103,26 @@ class SchemaTypeDirectivesChecker {
   }
 
 
+  private <T extends TypeDefinition<?>> void checkExtensionsDirectives(DirectiveLocation expectedLocation,
+                                                                       List<GraphQLError> errors,
+                                                                       Map<String, List<T>> extensions) {
+    extensions.forEach((name, extDefinitions) -> {
+      if (typeFilter.test(name)) {
+        extDefinitions.forEach(ext -> checkDirectives(expectedLocation, errors, ext));
+      }
+    });
+  }
+
+  private void checkDefinitionsDirectives(DirectiveLocation expectedLocation,
+                                          List<GraphQLError> errors,
+                                          List<? extends TypeDefinition<?>> definitions) {
+    for (TypeDefinition<?> typeDef : definitions) {
+      if (typeFilter.test(typeDef.getName())) {
+        checkDirectives(expectedLocation, errors, typeDef);
+      }
+    }
+  }
+
   private void checkDirectives(DirectiveLocation expectedLocation, List<GraphQLError> errors, TypeDefinition<?> typeDef) {
     checkDirectives(expectedLocation, errors, typeRegistry, typeDef, typeDef.getName(), typeDef.getDirectives());
 
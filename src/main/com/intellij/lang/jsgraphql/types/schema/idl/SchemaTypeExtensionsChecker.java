@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.intellij.lang.jsgraphql.types.DirectivesUtil.nonRepeatableDirectivesOnly;
@@ -40,6 +41,19 @@ import static com.intellij.lang.jsgraphql.types.util.FpKit.mergeFirst;
 @Internal
 class SchemaTypeExtensionsChecker {
 
+  private final Predicate<String> typeFilter;
+
+  SchemaTypeExtensionsChecker() {
+    this(name -> true);
+  }
+
+  /**
+   * @param typeFilter only extensions of the types with the accepted names are checked
+   */
+  SchemaTypeExtensionsChecker(Predicate<String> typeFilter) {
+    this.typeFilter = typeFilter;
+  }
+
   void checkTypeExtensions(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry) {
     Map<String, DirectiveDefinition> directiveDefinitionMap = typeRegistry.getDirectiveDefinitions();
     checkObjectTypeExtensions(errors, typeRegistry, directiveDefinitionMap);
@@ -66,6 +80,7 @@ class SchemaTypeExtensionsChecker {
                                          Map<String, DirectiveDefinition> directiveDefinitionMap) {
     typeRegistry.objectTypeExtensions()
       .forEach((name, extensions) -> {
+                 if (!typeFilter.test(name)) return;
                  checkTypeExtensionHasCorrespondingType(errors, typeRegistry, name, extensions, ObjectTypeDefinition.class);
                  checkTypeExtensionDirectiveRedefinition(errors, typeRegistry, name, extensions, ObjectTypeDefinition.class, directiveDefinitionMap);
 
@@ -122,6 +137,7 @@ class SchemaTypeExtensionsChecker {
                                             Map<String, DirectiveDefinition> directiveDefinitionMap) {
     typeRegistry.interfaceTypeExtensions()
       .forEach((name, extensions) -> {
+        if (!typeFilter.test(name)) return;
         checkTypeExtensionHasCorrespondingType(errors, typeRegistry, name, extensions, InterfaceTypeDefinition.class);
         checkTypeExtensionDirectiveRedefinition(errors, typeRegistry, name, extensions, InterfaceTypeDefinition.class,
                                                 directiveDefinitionMap);
@@ -178,6 +194,7 @@ class SchemaTypeExtensionsChecker {
                                         Map<String, DirectiveDefinition> directiveDefinitionMap) {
     typeRegistry.unionTypeExtensions()
       .forEach((name, extensions) -> {
+        if (!typeFilter.test(name)) return;
         checkTypeExtensionHasCorrespondingType(errors, typeRegistry, name, extensions, UnionTypeDefinition.class);
         checkTypeExtensionDirectiveRedefinition(errors, typeRegistry, name, extensions, UnionTypeDefinition.class, directiveDefinitionMap);
 
@@ -213,6 +230,7 @@ class SchemaTypeExtensionsChecker {
                                        Map<String, DirectiveDefinition> directiveDefinitionMap) {
     typeRegistry.enumTypeExtensions()
       .forEach((name, extensions) -> {
+        if (!typeFilter.test(name)) return;
         checkTypeExtensionHasCorrespondingType(errors, typeRegistry, name, extensions, EnumTypeDefinition.class);
         checkTypeExtensionDirectiveRedefinition(errors, typeRegistry, name, extensions, EnumTypeDefinition.class, directiveDefinitionMap);
 
@@ -249,6 +267,7 @@ class SchemaTypeExtensionsChecker {
                                          Map<String, DirectiveDefinition> directiveDefinitionMap) {
     typeRegistry.scalarTypeExtensions()
       .forEach((name, extensions) -> {
+        if (!typeFilter.test(name)) return;
         checkTypeExtensionHasCorrespondingType(errors, typeRegistry, name, extensions, ScalarTypeDefinition.class);
         checkTypeExtensionDirectiveRedefinition(errors, typeRegistry, name, extensions, ScalarTypeDefinition.class, directiveDefinitionMap);
       });
@@ -267,6 +286,7 @@ class SchemaTypeExtensionsChecker {
                                               Map<String, DirectiveDefinition> directiveDefinitionMap) {
     typeRegistry.inputObjectTypeExtensions()
       .forEach((name, extensions) -> {
+        if (!typeFilter.test(name)) return;
         checkTypeExtensionHasCorrespondingType(errors, typeRegistry, name, extensions, InputObjectTypeDefinition.class);
         checkTypeExtensionDirectiveRedefinition(errors, typeRegistry, name, extensions, InputObjectTypeDefinition.class,
                                                 directiveDefinitionMap);
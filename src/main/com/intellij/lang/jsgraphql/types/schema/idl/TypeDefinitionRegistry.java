@@ -58,6 +58,8 @@ public class TypeDefinitionRegistry {
 
   private final List<GraphQLException> myErrors = new ArrayList<>();
 
+  private volatile TypeReferenceIndex myReferenceIndex;
+
   public static <T extends Node> Stream<T> fromSourceNodes(@NotNull Stream<T> definitions, @NotNull Class<T> targetClass) {
     //noinspection unchecked
     return definitions
@@ -86,6 +88,8 @@ public class TypeDefinitionRegistry {
    * @throws SchemaProblem if there are problems merging the types such as redefinitions
    */
   public TypeDefinitionRegistry merge(TypeDefinitionRegistry typeRegistry) {
+    myReferenceIndex = null;
+
     Map<String, TypeDefinition> tempTypes = new LinkedHashMap<>();
     typeRegistry.types.values().forEach(newEntry -> define(this.types, tempTypes, newEntry));
 
@@ -179,6 +183,8 @@ public class TypeDefinitionRegistry {
    * @param definition the definition to add
    */
   public void add(SDLDefinition definition) {
+    myReferenceIndex = null;
+
     // extensions
     if (definition instanceof ObjectTypeExtensionDefinition) {
       ObjectTypeExtensionDefinition newEntry = (ObjectTypeExtensionDefinition)definition;
@@ -262,6 +268,30 @@ public class TypeDefinitionRegistry {
     currentList.add(newEntry);
   }
 
+  /**
+   * The index of the references between the definitions of this registry, built on the first request.
+   * The registry is expected not to be changed after that, any change drops the index.
+   */
+  public @NotNull TypeReferenceIndex getReferenceIndex() {
+    TypeReferenceIndex index = myReferenceIndex;
+    if (index == null) {
+      index = TypeReferenceIndex.create(this);
+      myReferenceIndex = index;
+    }
+    return index;
+  }
+
+  /**
+   * Builds the reference index from the index of the previous version of this registry, if it has one,
+   * so only the definitions which aren't present in the previous registry are visited.
+   */
+  public void updateReferenceIndex(@NotNull TypeDefinitionRegistry previous) {
+    TypeReferenceIndex previousIndex = previous.myReferenceIndex;
+    if (previousIndex != null) {
+      myReferenceIndex = previousIndex.update(this);
+    }
+  }
+
   public Map<String, TypeDefinition> types() {
     ProgressManager.checkCanceled();
     return new LinkedHashMap<>(types);
@@ -470,20 +500,18 @@ public class TypeDefinitionRegistry {
    * @see TypeDefinitionRegistry#getImplementationsOf(InterfaceTypeDefinition)
    */
   public List<ImplementingTypeDefinition> getAllImplementationsOf(InterfaceTypeDefinition targetInterface) {
-    List<ImplementingTypeDefinition> typeDefinitions = getTypes(ImplementingTypeDefinition.class);
-    return typeDefinitions.stream().filter(typeDefinition -> {
-      List<Type> implementsList = typeDefinition.getImplements();
-      for (Type iFace : implementsList) {
-        Optional<InterfaceTypeDefinition> interfaceTypeDef = getType(iFace, InterfaceTypeDefinition.class);
-        if (interfaceTypeDef.isPresent()) {
-          boolean equals = interfaceTypeDef.get().getName().equals(targetInterface.getName());
-          if (equals) {
-            return true;
-          }
-        }
+    if (getType(targetInterface.getName(), InterfaceTypeDefinition.class).isEmpty()) {
+      return Collections.emptyList();
+    }
+    Set<ImplementingTypeDefinition> implementations = new LinkedHashSet<>();
+    for (TypeReferenceIndex.Reference reference : getReferenceIndex().getReferences(targetInterface.getName(), TypeReferenceIndex.Kind.IMPLEMENTS)) {
+      // type extensions aren't taken into account
+      SDLDefinition definition = reference.getDefinition();
+      if (definition instanceof ImplementingTypeDefinition && types.get(reference.getDefinitionName()) == definition) {
+        implementations.add((ImplementingTypeDefinition)definition);
       }
-      return false;
-    }).collect(Collectors.toList());
+    }
+    return new ArrayList<>(implementations);
   }
 
   /**
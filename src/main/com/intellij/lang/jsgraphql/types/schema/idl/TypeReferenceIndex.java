@@ -0,0 +1,277 @@
+/*
+    The MIT License (MIT)
+
+    Copyright (c) 2015 Andreas Marek and Contributors
+
+    Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files
+    (the "Software"), to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge,
+    publish, distribute, sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do
+    so, subject to the following conditions:
+
+    The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+
+    THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+    OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+    LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+    CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.intellij.lang.jsgraphql.types.schema.idl;
+
+import com.intellij.lang.jsgraphql.types.Internal;
+import com.intellij.lang.jsgraphql.types.language.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Reverse references of a {@link TypeDefinitionRegistry}: for a type or directive name it gives the definitions which refer to it
+ * as a field type, an argument type, an input field type, an implemented interface, a union member, an operation type or a directive.
+ * <p>
+ * The index is immutable. A new index for a changed registry can be created from the previous one,
+ * in that case only the definitions which are not present in the previous registry are visited,
+ * so editing a single file costs the size of its definitions rather than the size of the whole schema.
+ */
+@SuppressWarnings("rawtypes")
+@Internal
+public final class TypeReferenceIndex {
+
+  public enum Kind {
+    FIELD_TYPE,
+    ARGUMENT_TYPE,
+    INPUT_FIELD_TYPE,
+    IMPLEMENTS,
+    UNION_MEMBER,
+    OPERATION_TYPE,
+    DIRECTIVE
+  }
+
+  public static final class Reference {
+    private final SDLDefinition myDefinition;
+    private final Node myNode;
+    private final Kind myKind;
+
+    private Reference(@NotNull SDLDefinition definition, @NotNull Node node, @NotNull Kind kind) {
+      myDefinition = definition;
+      myNode = node;
+      myKind = kind;
+    }
+
+    /**
+     * The registry definition which contains the reference: a type, a type extension, a directive definition or a schema definition.
+     */
+    public @NotNull SDLDefinition getDefinition() {
+      return myDefinition;
+    }
+
+    /**
+     * The referring {@link TypeName} or {@link Directive}.
+     */
+    public @NotNull Node getNode() {
+      return myNode;
+    }
+
+    public @NotNull Kind getKind() {
+      return myKind;
+    }
+
+    /**
+     * The name of the referring definition or null for a schema definition.
+     */
+    public @Nullable String getDefinitionName() {
+      return myDefinition instanceof NamedNode ? ((NamedNode)myDefinition).getName() : null;
+    }
+  }
+
+  private final Map<SDLDefinition, List<Reference>> myReferencesByDefinition;
+  private final Map<String, Set<Reference>> myReferencesByName;
+
+  private TypeReferenceIndex(@NotNull Map<SDLDefinition, List<Reference>> referencesByDefinition,
+                             @NotNull Map<String, Set<Reference>> referencesByName) {
+    myReferencesByDefinition = referencesByDefinition;
+    myReferencesByName = referencesByName;
+  }
+
+  static @NotNull TypeReferenceIndex create(@NotNull TypeDefinitionRegistry registry) {
+    Map<SDLDefinition, List<Reference>> referencesByDefinition = new IdentityHashMap<>();
+    Map<String, Set<Reference>> referencesByName = new HashMap<>();
+    for (SDLDefinition definition : collectDefinitions(registry)) {
+      List<Reference> references = collectReferences(definition);
+      referencesByDefinition.put(definition, references);
+      for (Reference reference : references) {
+        referencesByName.computeIfAbsent(getReferencedName(reference), k -> new LinkedHashSet<>()).add(reference);
+      }
+    }
+    return new TypeReferenceIndex(referencesByDefinition, referencesByName);
+  }
+
+  /**
+   * Creates an index of the registry reusing the references of the definitions which are the same instances in both registries.
+   */
+  @NotNull TypeReferenceIndex update(@NotNull TypeDefinitionRegistry registry) {
+    Map<SDLDefinition, List<Reference>> referencesByDefinition = new IdentityHashMap<>();
+    Map<String, Set<Reference>> referencesByName = new HashMap<>(myReferencesByName);
+    Set<String> copiedNames = new HashSet<>();
+
+    for (SDLDefinition definition : collectDefinitions(registry)) {
+      List<Reference> references = myReferencesByDefinition.get(definition);
+      if (references == null) {
+        references = collectReferences(definition);
+        for (Reference reference : references) {
+          getMutableReferences(referencesByName, copiedNames, getReferencedName(reference)).add(reference);
+        }
+      }
+      referencesByDefinition.put(definition, references);
+    }
+
+    myReferencesByDefinition.forEach((definition, references) -> {
+      if (!referencesByDefinition.containsKey(definition)) {
+        for (Reference reference : references) {
+          String name = getReferencedName(reference);
+          Set<Reference> nameReferences = getMutableReferences(referencesByName, copiedNames, name);
+          nameReferences.remove(reference);
+          if (nameReferences.isEmpty()) {
+            referencesByName.remove(name);
+          }
+        }
+      }
+    });
+    return new TypeReferenceIndex(referencesByDefinition, referencesByName);
+  }
+
+  /**
+   * All references to the type or directive with the given name.
+   */
+  public @NotNull Collection<Reference> getReferences(@NotNull String name) {
+    Set<Reference> references = myReferencesByName.get(name);
+    return references != null ? Collections.unmodifiableCollection(references) : Collections.emptyList();
+  }
+
+  public @NotNull List<Reference> getReferences(@NotNull String name, @NotNull Kind kind) {
+    List<Reference> result = new ArrayList<>();
+    for (Reference reference : getReferences(name)) {
+      if (reference.getKind() == kind) {
+        result.add(reference);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Names of the definitions which refer to the type or directive with the given name.
+   */
+  public @NotNull Set<String> getReferringNames(@NotNull String name) {
+    Set<String> result = new LinkedHashSet<>();
+    for (Reference reference : getReferences(name)) {
+      String definitionName = reference.getDefinitionName();
+      if (definitionName != null) {
+        result.add(definitionName);
+      }
+    }
+    return result;
+  }
+
+  private static @NotNull Set<Reference> getMutableReferences(@NotNull Map<String, Set<Reference>> referencesByName,
+                                                              @NotNull Set<String> copiedNames,
+                                                              @NotNull String name) {
+    // the sets are shared with the previous index until they are changed
+    if (copiedNames.add(name)) {
+      Set<Reference> references = referencesByName.get(name);
+      referencesByName.put(name, references != null ? new LinkedHashSet<>(references) : new LinkedHashSet<>());
+    }
+    return referencesByName.get(name);
+  }
+
+  private static @NotNull String getReferencedName(@NotNull Reference reference) {
+    Node node = reference.getNode();
+    return node instanceof Directive ? ((Directive)node).getName() : ((TypeName)node).getName();
+  }
+
+  private static @NotNull List<SDLDefinition> collectDefinitions(@NotNull TypeDefinitionRegistry registry) {
+    List<SDLDefinition> definitions = new ArrayList<>();
+    definitions.addAll(registry.types().values());
+    definitions.addAll(registry.scalars().values());
+    definitions.addAll(registry.getDirectiveDefinitions().values());
+    registry.objectTypeExtensions().values().forEach(definitions::addAll);
+    registry.interfaceTypeExtensions().values().forEach(definitions::addAll);
+    registry.unionTypeExtensions().values().forEach(definitions::addAll);
+    registry.enumTypeExtensions().values().forEach(definitions::addAll);
+    registry.scalarTypeExtensions().values().forEach(definitions::addAll);
+    registry.inputObjectTypeExtensions().values().forEach(definitions::addAll);
+    registry.schemaDefinition().ifPresent(definitions::add);
+    definitions.addAll(registry.getSchemaExtensionDefinitions());
+    return definitions;
+  }
+
+  private static @NotNull List<Reference> collectReferences(@NotNull SDLDefinition definition) {
+    List<Reference> references = new ArrayList<>();
+    if (definition instanceof DirectivesContainer) {
+      addDirectives(references, definition, ((DirectivesContainer<?>)definition).getDirectives());
+    }
+
+    if (definition instanceof ImplementingTypeDefinition) {
+      ImplementingTypeDefinition<?> implementingType = (ImplementingTypeDefinition<?>)definition;
+      for (Type type : implementingType.getImplements()) {
+        addType(references, definition, type, Kind.IMPLEMENTS);
+      }
+      for (FieldDefinition field : implementingType.getFieldDefinitions()) {
+        addType(references, definition, field.getType(), Kind.FIELD_TYPE);
+        addDirectives(references, definition, field.getDirectives());
+        addInputValues(references, definition, field.getInputValueDefinitions(), Kind.ARGUMENT_TYPE);
+      }
+    }
+    else if (definition instanceof UnionTypeDefinition) {
+      for (Type type : ((UnionTypeDefinition)definition).getMemberTypes()) {
+        addType(references, definition, type, Kind.UNION_MEMBER);
+      }
+    }
+    else if (definition instanceof EnumTypeDefinition) {
+      for (EnumValueDefinition value : ((EnumTypeDefinition)definition).getEnumValueDefinitions()) {
+        addDirectives(references, definition, value.getDirectives());
+      }
+    }
+    else if (definition instanceof InputObjectTypeDefinition) {
+      addInputValues(references, definition, ((InputObjectTypeDefinition)definition).getInputValueDefinitions(), Kind.INPUT_FIELD_TYPE);
+    }
+    else if (definition instanceof DirectiveDefinition) {
+      addInputValues(references, definition, ((DirectiveDefinition)definition).getInputValueDefinitions(), Kind.ARGUMENT_TYPE);
+    }
+    else if (definition instanceof SchemaDefinition) {
+      for (OperationTypeDefinition operationType : ((SchemaDefinition)definition).getOperationTypeDefinitions()) {
+        addType(references, definition, operationType.getTypeName(), Kind.OPERATION_TYPE);
+      }
+    }
+    return references;
+  }
+
+  private static void addInputValues(@NotNull List<Reference> references,
+                                     @NotNull SDLDefinition definition,
+                                     @NotNull List<InputValueDefinition> inputValues,
+                                     @NotNull Kind kind) {
+    for (InputValueDefinition inputValue : inputValues) {
+      addType(references, definition, inputValue.getType(), kind);
+      addDirectives(references, definition, inputValue.getDirectives());
+    }
+  }
+
+  private static void addType(@NotNull List<Reference> references,
+                              @NotNull SDLDefinition definition,
+                              @Nullable Type type,
+                              @NotNull Kind kind) {
+    if (type == null) return;
+    TypeName typeName = TypeUtil.unwrapAll(type);
+    if (typeName != null && typeName.getName() != null) {
+      references.add(new Reference(definition, typeName, kind));
+    }
+  }
+
+  private static void addDirectives(@NotNull List<Reference> references,
+                                    @NotNull SDLDefinition definition,
+                                    @NotNull List<Directive> directives) {
+    for (Directive directive : directives) {
+      if (directive.getName() != null) {
+        references.add(new Reference(definition, directive, Kind.DIRECTIVE));
+      }
+    }
+  }
+}
@@ -21,8 +21,10 @@ import com.intellij.lang.jsgraphql.types.Internal;
 import com.intellij.lang.jsgraphql.types.language.ScalarTypeDefinition;
 import com.intellij.lang.jsgraphql.types.schema.GraphQLScalarType;
 import com.intellij.lang.jsgraphql.types.schema.GraphQLSchema;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static com.intellij.lang.jsgraphql.types.schema.idl.EchoingWiringFactory.fakeScalar;
 
@@ -34,6 +36,15 @@ public class UnExecutableSchemaGenerator {
    * be sensibly executed
    */
   public static GraphQLSchema makeUnExecutableSchema(TypeDefinitionRegistry registry) {
+    return makeUnExecutableSchema(registry, null, null);
+  }
+
+  /**
+   * See {@link SchemaGenerator#makeExecutableSchema(SchemaGenerator.Options, TypeDefinitionRegistry, RuntimeWiring, SchemaTypeCheckResult, Consumer)}
+   */
+  public static GraphQLSchema makeUnExecutableSchema(TypeDefinitionRegistry registry,
+                                                     @Nullable SchemaTypeCheckResult previousCheckResult,
+                                                     @Nullable Consumer<SchemaTypeCheckResult> checkResultConsumer) {
     RuntimeWiring runtimeWiring = EchoingWiringFactory.newEchoingWiring(wiring -> {
       Map<String, ScalarTypeDefinition> scalars = registry.scalars();
       scalars.forEach((name, v) -> {
@@ -53,6 +64,7 @@ public class UnExecutableSchemaGenerator {
       });
     });
 
-    return new SchemaGenerator().makeExecutableSchema(registry, runtimeWiring);
+    return new SchemaGenerator().makeExecutableSchema(
+      SchemaGenerator.Options.defaultOptions(), registry, runtimeWiring, previousCheckResult, checkResultConsumer);
   }
 }
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -46,6 +47,19 @@ import java.util.stream.Stream;
 @Internal
 class UnionTypesChecker {
 
+  private final Predicate<String> typeFilter;
+
+  UnionTypesChecker() {
+    this(name -> true);
+  }
+
+  /**
+   * @param typeFilter only the types with the accepted names are checked
+   */
+  UnionTypesChecker(Predicate<String> typeFilter) {
+    this.typeFilter = typeFilter;
+  }
+
   void checkUnionType(List<GraphQLError> errors, TypeDefinitionRegistry typeRegistry) {
     List<UnionTypeDefinition> unionTypes = typeRegistry.getTypes(UnionTypeDefinition.class);
     List<UnionTypeExtensionDefinition> unionTypeExtensions = typeRegistry.getTypes(UnionTypeExtensionDefinition.class);
@@ -53,7 +67,8 @@ class UnionTypesChecker {
     //noinspection RedundantCast
     TypeDefinitionRegistry.fromSourceNodes(
       Stream.of(unionTypes.stream(), unionTypeExtensions.stream())
-        .flatMap(Function.identity()),
+        .flatMap(Function.identity())
+        .filter(type -> typeFilter.test(type.getName())),
       UnionTypeDefinition.class
     ).forEach(type -> checkUnionType(typeRegistry, ((UnionTypeDefinition)type), errors));
   }
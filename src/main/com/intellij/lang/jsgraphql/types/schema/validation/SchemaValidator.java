@@ -17,28 +17,57 @@
  */
 package com.intellij.lang.jsgraphql.types.schema.validation;
 
+import com.google.common.collect.Lists;
+import com.intellij.concurrency.JobLauncher;
 import com.intellij.lang.jsgraphql.types.Internal;
 import com.intellij.lang.jsgraphql.types.schema.*;
+import com.intellij.openapi.progress.ProgressManager;
 
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-
+import java.util.function.BiConsumer;
+
+/**
+ * Runs the {@link SchemaValidationRule}s over the types and the reachable field definitions of the schema.
+ * <p>
+ * In the parallel mode the types and the fields are split into chunks, which are checked concurrently on the fork-join pool.
+ * Every chunk has its own error collector, the collectors are merged in the chunk order, so the errors are reported
+ * in the same order as by the sequential mode. Rules must not keep any state between the checks for this to work.
+ */
 @Internal
 public class SchemaValidator {
 
+  private static final int CHUNK_SIZE = 256;
+
   private final Set<GraphQLOutputType> processed = new LinkedHashSet<>();
 
-  private List<SchemaValidationRule> rules = new ArrayList<>();
+  private final List<SchemaValidationRule> rules;
+  private final boolean parallel;
 
   public SchemaValidator() {
-    rules.add(new NoUnbrokenInputCycles());
-    rules.add(new TypeAndFieldRule());
+    this(false);
+  }
+
+  public SchemaValidator(boolean parallel) {
+    this(createDefaultRules(), parallel);
   }
 
   SchemaValidator(List<SchemaValidationRule> rules) {
+    this(rules, false);
+  }
+
+  SchemaValidator(List<SchemaValidationRule> rules, boolean parallel) {
     this.rules = rules;
+    this.parallel = parallel;
+  }
+
+  private static List<SchemaValidationRule> createDefaultRules() {
+    List<SchemaValidationRule> rules = new ArrayList<>();
+    rules.add(new NoUnbrokenInputCycles());
+    rules.add(new TypeAndFieldRule());
+    return rules;
   }
 
   public List<SchemaValidationRule> getRules() {
@@ -51,13 +80,20 @@ public class SchemaValidator {
     checkTypes(schema, validationErrorCollector);
     checkSchema(schema, validationErrorCollector);
 
-    traverse(schema.getQueryType(), rules, validationErrorCollector);
+    List<GraphQLFieldDefinition> fieldDefinitions = new ArrayList<>();
+    traverse(schema.getQueryType(), fieldDefinitions);
     if (schema.isSupportingMutations()) {
-      traverse(schema.getMutationType(), rules, validationErrorCollector);
+      traverse(schema.getMutationType(), fieldDefinitions);
     }
     if (schema.isSupportingSubscriptions()) {
-      traverse(schema.getSubscriptionType(), rules, validationErrorCollector);
+      traverse(schema.getSubscriptionType(), fieldDefinitions);
     }
+    check(fieldDefinitions, (fieldDefinition, collector) -> {
+      for (SchemaValidationRule rule : rules) {
+        rule.check(fieldDefinition, collector);
+      }
+    }, validationErrorCollector);
+
     return validationErrorCollector.getErrors();
   }
 
@@ -68,17 +104,49 @@ public class SchemaValidator {
   }
 
   private void checkTypes(GraphQLSchema schema, SchemaValidationErrorCollector validationErrorCollector) {
-    List<GraphQLNamedType> types = schema.getAllTypesAsList();
-    types.forEach(type -> {
+    check(schema.getAllTypesAsList(), (type, collector) -> {
       for (SchemaValidationRule rule : rules) {
-        rule.check(type, validationErrorCollector);
+        rule.check(type, collector);
+      }
+    }, validationErrorCollector);
+  }
+
+  private <T> void check(List<T> elements,
+                         BiConsumer<T, SchemaValidationErrorCollector> checker,
+                         SchemaValidationErrorCollector validationErrorCollector) {
+    if (!parallel || elements.size() <= CHUNK_SIZE) {
+      for (T element : elements) {
+        ProgressManager.checkCanceled();
+        checker.accept(element, validationErrorCollector);
+      }
+      return;
+    }
+
+    List<List<T>> chunks = Lists.partition(elements, CHUNK_SIZE);
+    SchemaValidationErrorCollector[] collectors = new SchemaValidationErrorCollector[chunks.size()];
+    List<Integer> indices = new ArrayList<>(chunks.size());
+    for (int i = 0; i < chunks.size(); i++) {
+      indices.add(i);
+    }
+    JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+      indices, ProgressManager.getGlobalProgressIndicator(), index -> {
+        SchemaValidationErrorCollector collector = new SchemaValidationErrorCollector();
+        for (T element : chunks.get(index)) {
+          ProgressManager.checkCanceled();
+          checker.accept(element, collector);
+        }
+        collectors[index] = collector;
+        return true;
+      });
+
+    for (SchemaValidationErrorCollector collector : collectors) {
+      for (SchemaValidationError error : collector.getErrors()) {
+        validationErrorCollector.addError(error);
       }
-    });
+    }
   }
 
-  private void traverse(GraphQLOutputType root,
-                        List<SchemaValidationRule> rules,
-                        SchemaValidationErrorCollector validationErrorCollector) {
+  private void traverse(GraphQLOutputType root, List<GraphQLFieldDefinition> fieldDefinitions) {
     if (processed.contains(root)) {
       return;
     }
@@ -87,10 +155,8 @@ public class SchemaValidator {
       // this deliberately has open field visibility here since its validating the schema
       // when completely open
       for (GraphQLFieldDefinition fieldDefinition : ((GraphQLFieldsContainer)root).getFieldDefinitions()) {
-        for (SchemaValidationRule rule : rules) {
-          rule.check(fieldDefinition, validationErrorCollector);
-        }
-        traverse(fieldDefinition.getType(), rules, validationErrorCollector);
+        fieldDefinitions.add(fieldDefinition);
+        traverse(fieldDefinition.getType(), fieldDefinitions);
       }
     }
   }
@@ -19,12 +19,8 @@ package com.intellij.lang.jsgraphql.types.schema.validation;
 
 import com.intellij.lang.jsgraphql.types.language.Node;
 import com.intellij.lang.jsgraphql.types.schema.*;
-import com.intellij.lang.jsgraphql.types.util.FpKit;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Predicate;
 
 import static com.intellij.lang.jsgraphql.types.introspection.Introspection.isIntrospectionTypes;
 import static com.intellij.lang.jsgraphql.types.schema.idl.ScalarInfo.isGraphqlSpecifiedScalar;
@@ -42,29 +38,19 @@ import static com.intellij.lang.jsgraphql.types.schema.idl.ScalarInfo.isGraphqlS
  */
 public class TypeAndFieldRule implements SchemaValidationRule {
 
-  private Map<String, GraphQLNamedType> schemaTypeHolder;
-
   @Override
   public void check(GraphQLSchema graphQLSchema, SchemaValidationErrorCollector validationErrorCollector) {
-
-    List<GraphQLNamedType> allTypesAsList = graphQLSchema.getAllTypesAsList();
-
-    List<GraphQLNamedType> filteredType = filterBuiltInTypes(allTypesAsList);
-
-    schemaTypeHolder = graphQLSchema.getTypeMap();
-
-    checkTypes(filteredType, validationErrorCollector);
   }
 
-
-  private void checkTypes(List<GraphQLNamedType> customizedType, SchemaValidationErrorCollector errorCollector) {
-    if (customizedType == null || customizedType.isEmpty()) {
+  /**
+   * Called for each type of the schema, possibly concurrently, so the rule must stay stateless.
+   */
+  @Override
+  public void check(GraphQLType type, SchemaValidationErrorCollector validationErrorCollector) {
+    if (type instanceof GraphQLNamedType && isBuiltInType((GraphQLNamedType)type)) {
       return;
     }
-
-    for (GraphQLType type : customizedType) {
-      checkType(type, errorCollector);
-    }
+    checkType(type, validationErrorCollector);
   }
 
   private void checkType(GraphQLType type, SchemaValidationErrorCollector errorCollector) {
@@ -237,30 +223,14 @@ public class TypeAndFieldRule implements SchemaValidationRule {
     }
   }
 
-  private List<GraphQLNamedType> filterBuiltInTypes(List<GraphQLNamedType> graphQLNamedTypes) {
-    if (graphQLNamedTypes == null || graphQLNamedTypes.isEmpty()) {
-      return Collections.emptyList();
-    }
-
-    Predicate<GraphQLNamedType> filterFunction = namedType -> {
-      if (isIntrospectionTypes(namedType)) {
-        return false;
-      }
-      if (namedType instanceof GraphQLScalarType && isGraphqlSpecifiedScalar((GraphQLScalarType)namedType)) {
-        return false;
-      }
+  private static boolean isBuiltInType(GraphQLNamedType namedType) {
+    if (isIntrospectionTypes(namedType)) {
       return true;
-    };
-
-    return FpKit.filterList(graphQLNamedTypes, filterFunction);
+    }
+    return namedType instanceof GraphQLScalarType && isGraphqlSpecifiedScalar((GraphQLScalarType)namedType);
   }
 
-
   @Override
   public void check(GraphQLFieldDefinition fieldDef, SchemaValidationErrorCollector validationErrorCollector) {
   }
-
-  @Override
-  public void check(GraphQLType type, SchemaValidationErrorCollector validationErrorCollector) {
-  }
 }
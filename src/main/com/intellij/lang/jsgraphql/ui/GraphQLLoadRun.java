@@ -0,0 +1,272 @@
+package com.intellij.lang.jsgraphql.ui;
+
+import com.intellij.lang.jsgraphql.GraphQLBundle;
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLHttpContentEncoding;
+import com.intellij.lang.jsgraphql.ide.notifications.GraphQLNotificationUtil;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends the same query repeatedly from several threads at once and collects the latencies of the requests.
+ * A request fails if it can't be sent, the server responds with an error status or the result has errors.
+ */
+public final class GraphQLLoadRun {
+  private static final Logger LOG = Logger.getInstance(GraphQLLoadRun.class);
+
+  private static final int CANCEL_CHECK_MS = 100;
+
+  private final CloseableHttpClient myClient;
+  private final Supplier<? extends HttpUriRequest> myRequestFactory;
+  private final Settings mySettings;
+
+  private final AtomicInteger myStarted = new AtomicInteger();
+  private final AtomicInteger myCompleted = new AtomicInteger();
+  private final Set<HttpUriRequest> myRunningRequests = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @param client         the client sending the requests, it must allow as many connections per route as the concurrency
+   * @param requestFactory creates a new request for every run, a request can't be executed twice
+   */
+  public GraphQLLoadRun(@NotNull CloseableHttpClient client,
+                        @NotNull Supplier<? extends HttpUriRequest> requestFactory,
+                        @NotNull Settings settings) {
+    myClient = client;
+    myRequestFactory = requestFactory;
+    mySettings = settings;
+  }
+
+  public @NotNull Result run(@NotNull ProgressIndicator indicator) {
+    ExecutorService executor =
+      AppExecutorUtil.createBoundedApplicationPoolExecutor("GraphQL Load Run", mySettings.getConcurrency());
+    // the blocking client doesn't react to the cancellation, so the running requests are aborted
+    ScheduledFuture<?> abortOnCancel = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(() -> {
+      if (indicator.isCanceled()) {
+        myRunningRequests.forEach(HttpUriRequest::abort);
+      }
+    }, CANCEL_CHECK_MS, CANCEL_CHECK_MS, TimeUnit.MILLISECONDS);
+
+    long start = System.nanoTime();
+    long deadline = mySettings.getDurationSeconds() > 0
+                    ? start + TimeUnit.SECONDS.toNanos(mySettings.getDurationSeconds())
+                    : Long.MAX_VALUE;
+    List<Future<Worker>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < mySettings.getConcurrency(); i++) {
+        Worker worker = new Worker(indicator, start, deadline);
+        futures.add(executor.submit(worker, worker));
+      }
+
+      List<Worker> workers = new ArrayList<>();
+      for (Future<Worker> future : futures) {
+        try {
+          workers.add(future.get());
+        }
+        catch (ExecutionException e) {
+          LOG.error(e.getCause());
+        }
+      }
+      long elapsed = System.nanoTime() - start;
+      indicator.checkCanceled();
+      return new Result(workers, elapsed);
+    }
+    catch (InterruptedException e) {
+      throw new ProcessCanceledException(e);
+    }
+    finally {
+      abortOnCancel.cancel(false);
+      futures.forEach(future -> future.cancel(true));
+      executor.shutdown();
+    }
+  }
+
+  private boolean hasNext(@NotNull ProgressIndicator indicator, long deadline) {
+    if (indicator.isCanceled() || System.nanoTime() >= deadline) return false;
+    return mySettings.getRequests() <= 0 || myStarted.getAndIncrement() < mySettings.getRequests();
+  }
+
+  private void updateProgress(@NotNull ProgressIndicator indicator, long start) {
+    int completed = myCompleted.incrementAndGet();
+    if (mySettings.getRequests() > 0) {
+      indicator.setFraction((double)completed / mySettings.getRequests());
+    }
+    else {
+      double elapsed = (System.nanoTime() - start) / (double)TimeUnit.SECONDS.toNanos(mySettings.getDurationSeconds());
+      indicator.setFraction(Math.min(1.0, elapsed));
+    }
+  }
+
+  private final class Worker implements Runnable {
+    private final ProgressIndicator myIndicator;
+    private final long myStart;
+    private final long myDeadline;
+
+    private long[] myLatencies = new long[64];
+    private int myCount;
+    private int myErrorCount;
+    private @Nullable String myFirstError;
+
+    private Worker(@NotNull ProgressIndicator indicator, long start, long deadline) {
+      myIndicator = indicator;
+      myStart = start;
+      myDeadline = deadline;
+    }
+
+    @Override
+    public void run() {
+      while (hasNext(myIndicator, myDeadline)) {
+        HttpUriRequest request = myRequestFactory.get();
+        myRunningRequests.add(request);
+        long requestStart = System.nanoTime();
+        String error = null;
+        try (CloseableHttpResponse response = myClient.execute(request)) {
+          int status = response.getStatusLine().getStatusCode();
+          Integer errorCount;
+          try (GraphQLHttpContentEncoding.Content content = GraphQLHttpContentEncoding.open(response)) {
+            errorCount = GraphQLQueryResultFormatter.countErrors(content.getStream());
+          }
+          if (status >= 400) {
+            error = response.getStatusLine().toString();
+          }
+          else if (errorCount != null && errorCount > 0) {
+            error = GraphQLBundle.message("graphql.load.run.result.errors", errorCount);
+          }
+        }
+        catch (IOException e) {
+          if (myIndicator.isCanceled()) break;
+          error = GraphQLNotificationUtil.formatExceptionMessage(e);
+        }
+        finally {
+          myRunningRequests.remove(request);
+        }
+        add(System.nanoTime() - requestStart, error);
+        updateProgress(myIndicator, myStart);
+      }
+    }
+
+    private void add(long latency, @Nullable String error) {
+      if (myCount == myLatencies.length) {
+        myLatencies = Arrays.copyOf(myLatencies, myCount * 2);
+      }
+      myLatencies[myCount++] = latency;
+      if (error != null) {
+        myErrorCount++;
+        if (myFirstError == null) myFirstError = error;
+      }
+    }
+  }
+
+  public static final class Settings {
+    private final int myRequests;
+    private final int myDurationSeconds;
+    private final int myConcurrency;
+
+    /**
+     * @param requests        the number of requests to send or 0 to send them until the duration is over
+     * @param durationSeconds the duration of the run or 0 to send the given number of requests
+     */
+    public Settings(int requests, int durationSeconds, int concurrency) {
+      if (requests <= 0 && durationSeconds <= 0) {
+        throw new IllegalArgumentException("Either the number of requests or the duration must be positive");
+      }
+      myRequests = requests;
+      myDurationSeconds = durationSeconds;
+      myConcurrency = Math.max(1, concurrency);
+    }
+
+    public int getRequests() {
+      return myRequests;
+    }
+
+    public int getDurationSeconds() {
+      return myDurationSeconds;
+    }
+
+    public int getConcurrency() {
+      return myConcurrency;
+    }
+  }
+
+  public static final class Result {
+    private final long[] myLatencies;
+    private final int myErrorCount;
+    private final long myElapsed;
+    private final @Nullable String myFirstError;
+
+    private Result(@NotNull List<Worker> workers, long elapsed) {
+      int count = 0;
+      int errorCount = 0;
+      String firstError = null;
+      for (Worker worker : workers) {
+        count += worker.myCount;
+        errorCount += worker.myErrorCount;
+        if (firstError == null) firstError = worker.myFirstError;
+      }
+
+      long[] latencies = new long[count];
+      int offset = 0;
+      for (Worker worker : workers) {
+        System.arraycopy(worker.myLatencies, 0, latencies, offset, worker.myCount);
+        offset += worker.myCount;
+      }
+      Arrays.sort(latencies);
+
+      myLatencies = latencies;
+      myErrorCount = errorCount;
+      myElapsed = elapsed;
+      myFirstError = firstError;
+    }
+
+    public int getCount() {
+      return myLatencies.length;
+    }
+
+    public int getErrorCount() {
+      return myErrorCount;
+    }
+
+    public double getErrorRate() {
+      return myLatencies.length > 0 ? (double)myErrorCount / myLatencies.length : 0;
+    }
+
+    public long getElapsedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(myElapsed);
+    }
+
+    /**
+     * @return the completed requests per second
+     */
+    public double getThroughput() {
+      return myElapsed > 0 ? myLatencies.length * (double)TimeUnit.SECONDS.toNanos(1) / myElapsed : 0;
+    }
+
+    /**
+     * @return the latency percentile of all the requests, including the failed ones, in milliseconds
+     */
+    public double getLatencyMillis(int percentile) {
+      return GraphQLQueryHistory.percentile(myLatencies, percentile) / 1_000_000.0;
+    }
+
+    /**
+     * @return the description of the first failed request
+     */
+    public @Nullable String getFirstError() {
+      return myFirstError;
+    }
+  }
+}
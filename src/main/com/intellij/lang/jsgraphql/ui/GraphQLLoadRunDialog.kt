@@ -0,0 +1,71 @@
+package com.intellij.lang.jsgraphql.ui
+
+import com.intellij.ide.util.PropertiesComponent
+import com.intellij.lang.jsgraphql.GraphQLBundle.message
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.DialogWrapper
+import com.intellij.openapi.util.registry.Registry
+import com.intellij.ui.dsl.builder.*
+import com.intellij.ui.layout.selected
+import javax.swing.JComponent
+
+private const val BY_DURATION_KEY = "graphql.load.run.by.duration"
+private const val REQUESTS_KEY = "graphql.load.run.requests"
+private const val DURATION_KEY = "graphql.load.run.duration"
+private const val CONCURRENCY_KEY = "graphql.load.run.concurrency"
+
+class GraphQLLoadRunDialog(project: Project) : DialogWrapper(project) {
+
+  private val properties = PropertiesComponent.getInstance()
+
+  // more concurrent requests than pooled connections would wait for a connection and distort the latencies
+  private val maxConcurrency = Registry.intValue("graphql.request.max.connections", 10).coerceAtLeast(1)
+
+  private var byDuration = properties.getBoolean(BY_DURATION_KEY, false)
+  private var requests = properties.getInt(REQUESTS_KEY, 100)
+  private var durationSeconds = properties.getInt(DURATION_KEY, 10)
+  private var concurrency = properties.getInt(CONCURRENCY_KEY, 4).coerceIn(1, maxConcurrency)
+
+  val settings: GraphQLLoadRun.Settings
+    get() = GraphQLLoadRun.Settings(if (byDuration) 0 else requests, if (byDuration) durationSeconds else 0, concurrency)
+
+  init {
+    title = message("graphql.load.run.dialog.title")
+    init()
+  }
+
+  override fun createCenterPanel(): JComponent {
+    return panel {
+      buttonsGroup {
+        row {
+          val requestsButton = radioButton(message("graphql.load.run.dialog.requests"), false)
+          intTextField(1..1_000_000)
+            .bindIntText(::requests)
+            .enabledIf(requestsButton.selected)
+        }
+        row {
+          val durationButton = radioButton(message("graphql.load.run.dialog.duration"), true)
+          intTextField(1..3600)
+            .bindIntText(::durationSeconds)
+            .enabledIf(durationButton.selected)
+            .gap(RightGap.SMALL)
+          label(message("graphql.load.run.dialog.seconds"))
+        }
+      }.bind(::byDuration)
+      row(message("graphql.load.run.dialog.concurrency")) {
+        spinner(1..maxConcurrency)
+          .bindIntValue(::concurrency)
+          .comment(message("graphql.load.run.dialog.concurrency.comment", maxConcurrency))
+      }
+    }
+  }
+
+  override fun doOKAction() {
+    super.doOKAction()
+
+    properties.setValue(BY_DURATION_KEY, byDuration)
+    properties.setValue(REQUESTS_KEY, requests, 100)
+    properties.setValue(DURATION_KEY, durationSeconds, 10)
+    properties.setValue(CONCURRENCY_KEY, concurrency, 4)
+  }
+}
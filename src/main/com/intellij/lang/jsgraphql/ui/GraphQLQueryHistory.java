@@ -0,0 +1,105 @@
+package com.intellij.lang.jsgraphql.ui;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the durations of the latest runs of each operation per endpoint,
+ * so the result of a query can be compared with the previous runs. The history lives as long as the project is open.
+ */
+@Service(Service.Level.PROJECT)
+public final class GraphQLQueryHistory {
+  static final int MAX_RUNS = 100;
+
+  private static final Pattern OPERATION_NAME =
+    Pattern.compile("\\b(?:query|mutation|subscription)\\s+([_A-Za-z][_0-9A-Za-z]*)");
+
+  private final Map<String, Runs> myRuns = new HashMap<>();
+
+  public static GraphQLQueryHistory getInstance(@NotNull Project project) {
+    return project.getService(GraphQLQueryHistory.class);
+  }
+
+  /**
+   * @return the statistics of the operation including the added run
+   */
+  public @NotNull Statistics addRun(@NotNull String url, @Nullable String operationName, long durationMillis) {
+    String key = url + " " + (operationName != null ? operationName : "");
+    synchronized (myRuns) {
+      Runs runs = myRuns.computeIfAbsent(key, __ -> new Runs());
+      runs.add(durationMillis);
+      return runs.getStatistics();
+    }
+  }
+
+  /**
+   * @return the name of the first named operation in the query, anonymous operations are all tracked together
+   */
+  public static @Nullable String getOperationName(@Nullable String query) {
+    if (query == null) return null;
+    Matcher matcher = OPERATION_NAME.matcher(query);
+    return matcher.find() ? matcher.group(1) : null;
+  }
+
+  public static final class Statistics {
+    private final int myCount;
+    private final long myMedian;
+    private final long myP95;
+
+    private Statistics(int count, long median, long p95) {
+      myCount = count;
+      myMedian = median;
+      myP95 = p95;
+    }
+
+    public int getCount() {
+      return myCount;
+    }
+
+    public long getMedian() {
+      return myMedian;
+    }
+
+    public long getP95() {
+      return myP95;
+    }
+  }
+
+  /**
+   * A ring buffer of the latest durations.
+   */
+  private static final class Runs {
+    private final long[] myDurations = new long[MAX_RUNS];
+    private int myCount;
+    private int myNext;
+
+    void add(long duration) {
+      myDurations[myNext] = duration;
+      myNext = (myNext + 1) % myDurations.length;
+      myCount = Math.min(myCount + 1, myDurations.length);
+    }
+
+    @NotNull Statistics getStatistics() {
+      long[] sorted = Arrays.copyOf(myDurations, myCount);
+      Arrays.sort(sorted);
+      return new Statistics(myCount, percentile(sorted, 50), percentile(sorted, 95));
+    }
+  }
+
+  /**
+   * The nearest-rank percentile.
+   */
+  static long percentile(long @NotNull [] sorted, int percentile) {
+    if (sorted.length == 0) return 0;
+    int rank = (int)Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+}
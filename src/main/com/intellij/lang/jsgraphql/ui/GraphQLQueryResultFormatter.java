@@ -0,0 +1,214 @@
+package com.intellij.lang.jsgraphql.ui;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import com.intellij.openapi.progress.ProgressManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Pretty prints query results token by token, so a response of any size is formatted with a constant amount of memory
+ * and without building a PSI for it. The errors are counted in the same pass.
+ */
+public final class GraphQLQueryResultFormatter {
+  private static final String INDENT = "  ";
+
+  private GraphQLQueryResultFormatter() {
+  }
+
+  /**
+   * @return the number of the copied bytes
+   */
+  public static long download(@NotNull InputStream in, @NotNull Path target) throws IOException {
+    Files.createDirectories(target.getParent());
+    return Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Writes the formatted source to the target. If the source isn't a valid JSON or the formatting isn't requested,
+   * it's copied as is.
+   *
+   * @return the number of errors in the result or null if it isn't a JSON object
+   */
+  public static @Nullable Integer format(@NotNull Path source, @NotNull Path target, boolean reformat) throws IOException {
+    Files.createDirectories(target.getParent());
+    if (reformat) {
+      try (JsonReader reader = new JsonReader(Files.newBufferedReader(source, StandardCharsets.UTF_8));
+           JsonWriter writer = new JsonWriter(Files.newBufferedWriter(target, StandardCharsets.UTF_8))) {
+        writer.setIndent(INDENT);
+        return copyResult(reader, writer);
+      }
+      catch (IOException | IllegalStateException | NumberFormatException e) {
+        // not a JSON, e.g. an HTML error page, show it as is
+      }
+    }
+
+    Integer errorCount;
+    try (JsonReader reader = new JsonReader(Files.newBufferedReader(source, StandardCharsets.UTF_8))) {
+      errorCount = copyResult(reader, null);
+    }
+    catch (IOException | IllegalStateException | NumberFormatException e) {
+      errorCount = null;
+    }
+    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    return errorCount;
+  }
+
+  /**
+   * Formats the text as {@link #format(Path, Path, boolean)} does.
+   */
+  public static @Nullable Integer format(@NotNull String text, @NotNull Path target) throws IOException {
+    Files.createDirectories(target.getParent());
+    try (JsonReader reader = new JsonReader(new StringReader(text));
+         JsonWriter writer = new JsonWriter(Files.newBufferedWriter(target, StandardCharsets.UTF_8))) {
+      writer.setIndent(INDENT);
+      return copyResult(reader, writer);
+    }
+    catch (IOException | IllegalStateException | NumberFormatException e) {
+      Files.writeString(target, text, StandardCharsets.UTF_8);
+      return null;
+    }
+  }
+
+  /**
+   * Copies the source to the target if it's not larger than the max size, otherwise only its beginning up to the last line
+   * end that fits, so the preview doesn't end in the middle of a line.
+   *
+   * @return true if the source didn't fit and the preview is cut
+   */
+  public static boolean preview(@NotNull Path source, @NotNull Path target, int maxSize) throws IOException {
+    Files.createDirectories(target.getParent());
+    if (Files.size(source) <= maxSize) {
+      Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+      return false;
+    }
+
+    byte[] head;
+    try (InputStream in = Files.newInputStream(source)) {
+      // one more byte tells whether the cut falls inside a character
+      head = in.readNBytes(maxSize + 1);
+    }
+    int end = maxSize;
+    while (end > 0 && head[end - 1] != '\n') {
+      end--;
+    }
+    if (end == 0) {
+      // a single long line, it's cut at a character boundary instead
+      end = maxSize;
+      while (end > 0 && (head[end] & 0xC0) == 0x80) {
+        end--;
+      }
+    }
+    try (OutputStream out = Files.newOutputStream(target)) {
+      out.write(head, 0, end);
+    }
+    return true;
+  }
+
+  /**
+   * Reads the result to the end without keeping it.
+   *
+   * @return the number of errors in the result or null if it isn't a JSON object
+   */
+  public static @Nullable Integer countErrors(@NotNull InputStream in) throws IOException {
+    try {
+      return copyResult(new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8)), null);
+    }
+    catch (IllegalStateException | NumberFormatException | MalformedJsonException | EOFException e) {
+      return null;
+    }
+    finally {
+      // the rest of a malformed result, so the connection can be reused
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+  }
+
+  private static @Nullable Integer copyResult(@NotNull JsonReader reader, @Nullable JsonWriter writer) throws IOException {
+    Integer errorCount = null;
+    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+      errorCount = 0;
+      reader.beginObject();
+      if (writer != null) writer.beginObject();
+      while (reader.hasNext()) {
+        String name = reader.nextName();
+        if (writer != null) writer.name(name);
+        if ("errors".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+          reader.beginArray();
+          if (writer != null) writer.beginArray();
+          while (reader.hasNext()) {
+            copyValue(reader, writer);
+            errorCount++;
+          }
+          reader.endArray();
+          if (writer != null) writer.endArray();
+        }
+        else {
+          copyValue(reader, writer);
+        }
+      }
+      reader.endObject();
+      if (writer != null) writer.endObject();
+    }
+    else {
+      copyValue(reader, writer);
+    }
+
+    if (reader.peek() != JsonToken.END_DOCUMENT) {
+      throw new IllegalStateException("Unexpected content after the end of the result");
+    }
+    return errorCount;
+  }
+
+  private static void copyValue(@NotNull JsonReader reader, @Nullable JsonWriter writer) throws IOException {
+    switch (reader.peek()) {
+      case BEGIN_ARRAY -> {
+        ProgressManager.checkCanceled();
+        reader.beginArray();
+        if (writer != null) writer.beginArray();
+        while (reader.hasNext()) {
+          copyValue(reader, writer);
+        }
+        reader.endArray();
+        if (writer != null) writer.endArray();
+      }
+      case BEGIN_OBJECT -> {
+        ProgressManager.checkCanceled();
+        reader.beginObject();
+        if (writer != null) writer.beginObject();
+        while (reader.hasNext()) {
+          String name = reader.nextName();
+          if (writer != null) writer.name(name);
+          copyValue(reader, writer);
+        }
+        reader.endObject();
+        if (writer != null) writer.endObject();
+      }
+      case STRING -> {
+        String value = reader.nextString();
+        if (writer != null) writer.value(value);
+      }
+      case NUMBER -> {
+        // keep the literal as is, e.g. a big integer or `1.0`
+        String value = reader.nextString();
+        if (writer != null) writer.jsonValue(value);
+      }
+      case BOOLEAN -> {
+        boolean value = reader.nextBoolean();
+        if (writer != null) writer.value(value);
+      }
+      case NULL -> {
+        reader.nextNull();
+        if (writer != null) writer.nullValue();
+      }
+      default -> throw new IllegalStateException("Unexpected token: " + reader.peek());
+    }
+  }
+}
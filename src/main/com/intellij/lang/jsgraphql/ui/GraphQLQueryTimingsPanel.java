@@ -0,0 +1,156 @@
+package com.intellij.lang.jsgraphql.ui;
+
+import com.intellij.lang.jsgraphql.GraphQLBundle;
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLRequestTimings;
+import com.intellij.openapi.util.NlsSafe;
+import com.intellij.ui.JBColor;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.ListTableModel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows the phases of a query request and the resolver timings reported by the server as bars on a common timeline,
+ * the client phases relative to the whole request and the resolvers relative to the execution on the server.
+ */
+public final class GraphQLQueryTimingsPanel extends JPanel {
+
+  public GraphQLQueryTimingsPanel(@NotNull GraphQLRequestTimings timings, @Nullable GraphQLQueryTracing tracing) {
+    super(new BorderLayout());
+
+    List<Row> rows = new ArrayList<>();
+    long total = TimeUnit.MILLISECONDS.toNanos(timings.getTotalMillis() + Math.max(0, timings.getFormatMillis()));
+    addPhase(rows, "graphql.query.timings.dns", timings.getDnsOffsetMillis(), timings.getDnsMillis(), total);
+    addPhase(rows, "graphql.query.timings.connect",
+             timings.getConnectOffsetMillis(), timings.getConnectMillis(), total);
+    addPhase(rows, "graphql.query.timings.tls", timings.getTlsOffsetMillis(), timings.getTlsMillis(), total);
+    addPhase(rows, "graphql.query.timings.ttfb",
+             timings.getTimeToFirstByteOffsetMillis(), timings.getTimeToFirstByteMillis(), total);
+    addPhase(rows, "graphql.query.timings.download",
+             timings.getDownloadOffsetMillis(), timings.getDownloadMillis(), total);
+    addPhase(rows, "graphql.query.timings.format", timings.getFormatOffsetMillis(), timings.getFormatMillis(), total);
+
+    if (tracing != null) {
+      long duration = tracing.getDuration();
+      for (GraphQLQueryTracing.Entry entry : tracing.getEntries()) {
+        @NlsSafe String name = "  ".repeat(entry.getDepth()) + entry.getName();
+        rows.add(new Row(name, entry.getType(), entry.getStartOffset(), entry.getDuration(),
+                         duration > 0 ? duration : entry.getStartOffset() + entry.getDuration()));
+      }
+    }
+
+    TableView<Row> table = new TableView<>(new ListTableModel<>(
+      new ColumnInfo[]{new NameColumn(), new DurationColumn(), new TimelineColumn()}, rows));
+    table.setShowGrid(false);
+    table.setStriped(true);
+    table.getColumnModel().getColumn(0).setPreferredWidth(JBUI.scale(280));
+    table.getColumnModel().getColumn(1).setPreferredWidth(JBUI.scale(80));
+    table.getColumnModel().getColumn(2).setPreferredWidth(JBUI.scale(320));
+
+    JBScrollPane scrollPane = new JBScrollPane(table);
+    scrollPane.setPreferredSize(JBUI.size(680, Math.min(480, (rows.size() + 2) * table.getRowHeight())));
+    add(scrollPane, BorderLayout.CENTER);
+  }
+
+  private static void addPhase(@NotNull List<Row> rows, @NotNull String key, long offset, long duration, long total) {
+    // the phases of a reused connection don't happen at all
+    if (duration < 0) return;
+    rows.add(new Row(GraphQLBundle.message(key), null, TimeUnit.MILLISECONDS.toNanos(offset),
+                     TimeUnit.MILLISECONDS.toNanos(duration), total));
+  }
+
+  private static final class Row {
+    private final String myName;
+    private final String myType;
+    private final long myStart;
+    private final long myDuration;
+    private final long myScale;
+
+    private Row(@NotNull String name, @Nullable String type, long start, long duration, long scale) {
+      myName = name;
+      myType = type;
+      myStart = start;
+      myDuration = duration;
+      myScale = scale;
+    }
+  }
+
+  private static final class NameColumn extends ColumnInfo<Row, String> {
+    private NameColumn() {
+      super(GraphQLBundle.message("graphql.query.timings.column.name"));
+    }
+
+    @Override
+    public @NotNull String valueOf(Row row) {
+      return row.myName;
+    }
+
+    @Override
+    public @NotNull TableCellRenderer getRenderer(Row row) {
+      DefaultTableCellRenderer renderer = new DefaultTableCellRenderer();
+      renderer.setToolTipText(row.myType);
+      return renderer;
+    }
+  }
+
+  private static final class DurationColumn extends ColumnInfo<Row, String> {
+    private DurationColumn() {
+      super(GraphQLBundle.message("graphql.query.timings.column.duration"));
+    }
+
+    @Override
+    public @NotNull String valueOf(Row row) {
+      return GraphQLBundle.message("graphql.query.timings.duration", row.myDuration / 1_000_000.0);
+    }
+  }
+
+  private static final class TimelineColumn extends ColumnInfo<Row, Row> {
+    private TimelineColumn() {
+      super(GraphQLBundle.message("graphql.query.timings.column.timeline"));
+    }
+
+    @Override
+    public @NotNull Row valueOf(Row row) {
+      return row;
+    }
+
+    @Override
+    public @NotNull TableCellRenderer getRenderer(Row row) {
+      return (table, value, isSelected, hasFocus, rowIndex, column) -> new BarComponent((Row)value);
+    }
+  }
+
+  private static final class BarComponent extends JComponent {
+    private static final Color BAR_COLOR = new JBColor(new Color(0x4A90D9), new Color(0x3D7AB8));
+
+    private final Row myRow;
+
+    private BarComponent(@NotNull Row row) {
+      myRow = row;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+      if (myRow.myScale <= 0) return;
+
+      int width = getWidth() - JBUI.scale(4);
+      int x = JBUI.scale(2) + (int)(width * Math.min(1.0, (double)myRow.myStart / myRow.myScale));
+      // even the shortest resolver stays visible
+      int barWidth = Math.max(JBUI.scale(1), (int)(width * Math.min(1.0, (double)myRow.myDuration / myRow.myScale)));
+      int inset = JBUI.scale(3);
+      g.setColor(BAR_COLOR);
+      g.fillRect(x, inset, Math.min(barWidth, width + JBUI.scale(2) - x), getHeight() - 2 * inset);
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package com.intellij.lang.jsgraphql.ui;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The resolver timings from the Apollo tracing extension of a query result, {@code extensions.tracing}.
+ */
+public final class GraphQLQueryTracing {
+  private static final Logger LOG = Logger.getInstance(GraphQLQueryTracing.class);
+
+  private final long myDuration;
+  private final List<Entry> myEntries;
+
+  private GraphQLQueryTracing(long duration, @NotNull List<Entry> entries) {
+    myDuration = duration;
+    myEntries = entries;
+  }
+
+  /**
+   * @return the total duration of the request on the server in nanoseconds
+   */
+  public long getDuration() {
+    return myDuration;
+  }
+
+  /**
+   * @return the parsing, the validation and the resolvers ordered by their start
+   */
+  public @NotNull List<Entry> getEntries() {
+    return myEntries;
+  }
+
+  /**
+   * Reads the tracing from the result file, the rest of the result is skipped without being parsed.
+   *
+   * @return the tracing or null if the result doesn't have it
+   */
+  public static @Nullable GraphQLQueryTracing read(@NotNull Path result) {
+    try (JsonReader reader = new JsonReader(Files.newBufferedReader(result, StandardCharsets.UTF_8))) {
+      if (reader.peek() != JsonToken.BEGIN_OBJECT) return null;
+      reader.beginObject();
+      while (reader.hasNext()) {
+        if (!"extensions".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_OBJECT) {
+          reader.skipValue();
+          continue;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+          if ("tracing".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+            return parse(JsonParser.parseReader(reader).getAsJsonObject());
+          }
+          reader.skipValue();
+        }
+        reader.endObject();
+      }
+    }
+    catch (IOException | IllegalStateException | UnsupportedOperationException | JsonParseException |
+           NumberFormatException e) {
+      LOG.debug("Unable to read the tracing from the query result", e);
+    }
+    return null;
+  }
+
+  private static @NotNull GraphQLQueryTracing parse(@NotNull JsonObject tracing) {
+    List<Entry> entries = new ArrayList<>();
+    addPhase(entries, tracing, "parsing");
+    addPhase(entries, tracing, "validation");
+
+    JsonObject execution = getObject(tracing, "execution");
+    JsonElement resolvers = execution != null ? execution.get("resolvers") : null;
+    if (resolvers instanceof JsonArray) {
+      for (JsonElement element : (JsonArray)resolvers) {
+        if (!(element instanceof JsonObject)) continue;
+        JsonObject resolver = (JsonObject)element;
+
+        StringBuilder path = new StringBuilder();
+        int depth = 0;
+        JsonElement pathElement = resolver.get("path");
+        if (pathElement instanceof JsonArray) {
+          for (JsonElement segment : (JsonArray)pathElement) {
+            if (path.length() > 0) path.append('.');
+            path.append(segment.getAsString());
+            // list indices don't nest the fields any deeper
+            if (!segment.getAsJsonPrimitive().isNumber()) depth++;
+          }
+        }
+        String type = getString(resolver, "parentType") + "." + getString(resolver, "fieldName") +
+                      ": " + getString(resolver, "returnType");
+        entries.add(new Entry(path.toString(), type, Math.max(0, depth - 1),
+                              getLong(resolver, "startOffset"), getLong(resolver, "duration")));
+      }
+    }
+    entries.sort(Comparator.comparingLong(Entry::getStartOffset));
+    return new GraphQLQueryTracing(getLong(tracing, "duration"), entries);
+  }
+
+  private static void addPhase(@NotNull List<Entry> entries, @NotNull JsonObject tracing, @NotNull String name) {
+    JsonObject phase = getObject(tracing, name);
+    if (phase != null) {
+      entries.add(new Entry(name, null, 0, getLong(phase, "startOffset"), getLong(phase, "duration")));
+    }
+  }
+
+  private static @Nullable JsonObject getObject(@NotNull JsonObject object, @NotNull String name) {
+    JsonElement element = object.get(name);
+    return element instanceof JsonObject ? (JsonObject)element : null;
+  }
+
+  private static @NotNull String getString(@NotNull JsonObject object, @NotNull String name) {
+    JsonElement element = object.get(name);
+    return element != null && element.isJsonPrimitive() ? element.getAsString() : "?";
+  }
+
+  private static long getLong(@NotNull JsonObject object, @NotNull String name) {
+    JsonElement element = object.get(name);
+    return element != null && element.isJsonPrimitive() ? element.getAsLong() : 0;
+  }
+
+  public static final class Entry {
+    private final String myName;
+    private final String myType;
+    private final int myDepth;
+    private final long myStartOffset;
+    private final long myDuration;
+
+    private Entry(@NotNull String name, @Nullable String type, int depth, long startOffset, long duration) {
+      myName = name;
+      myType = type;
+      myDepth = depth;
+      myStartOffset = startOffset;
+      myDuration = duration;
+    }
+
+    /**
+     * @return the path of the resolved field or the name of the phase
+     */
+    public @NotNull String getName() {
+      return myName;
+    }
+
+    /**
+     * @return the resolved field with its type, null for the phases
+     */
+    public @Nullable String getType() {
+      return myType;
+    }
+
+    public int getDepth() {
+      return myDepth;
+    }
+
+    /**
+     * @return the start in nanoseconds from the start of the request on the server
+     */
+    public long getStartOffset() {
+      return myStartOffset;
+    }
+
+    /**
+     * @return the duration in nanoseconds
+     */
+    public long getDuration() {
+      return myDuration;
+    }
+  }
+}
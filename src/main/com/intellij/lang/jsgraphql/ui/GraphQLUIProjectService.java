@@ -19,6 +19,7 @@ import com.intellij.lang.jsgraphql.GraphQLBundle;
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.GraphQLParserDefinition;
 import com.intellij.lang.jsgraphql.ide.actions.GraphQLExecuteEditorAction;
+import com.intellij.lang.jsgraphql.ide.actions.GraphQLLoadRunEditorAction;
 import com.intellij.lang.jsgraphql.ide.actions.GraphQLOpenConfigAction;
 import com.intellij.lang.jsgraphql.ide.actions.GraphQLToggleVariablesAction;
 import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigListener;
@@ -29,9 +30,13 @@ import com.intellij.lang.jsgraphql.ide.config.model.GraphQLConfigSecurity;
 import com.intellij.lang.jsgraphql.ide.config.model.GraphQLProjectConfig;
 import com.intellij.lang.jsgraphql.ide.highlighting.query.GraphQLQueryContext;
 import com.intellij.lang.jsgraphql.ide.highlighting.query.GraphQLQueryContextHighlightVisitor;
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLHttpClientRegistry;
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLHttpContentEncoding;
 import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionService;
 import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionUtil;
 import com.intellij.lang.jsgraphql.ide.introspection.GraphQLOpenIntrospectionSchemaAction;
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLPersistedQueries;
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLRequestTimings;
 import com.intellij.lang.jsgraphql.ide.introspection.GraphQLRunIntrospectionQueryAction;
 import com.intellij.lang.jsgraphql.ide.introspection.remote.GraphQLRemoteSchemasRegistry;
 import com.intellij.lang.jsgraphql.ide.introspection.source.GraphQLGeneratedSourcesManager;
@@ -52,25 +57,28 @@ import com.intellij.openapi.editor.ex.EditorEx;
 import com.intellij.openapi.editor.impl.EditorHeaderComponent;
 import com.intellij.openapi.fileEditor.*;
 import com.intellij.openapi.fileEditor.impl.text.TextEditorProvider;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.progress.impl.BackgroundableProcessIndicator;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.ComboBox;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.NlsSafe;
+import com.intellij.openapi.util.registry.Registry;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vcs.CodeSmellDetector;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiFileFactory;
-import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.testFramework.LightVirtualFile;
 import com.intellij.ui.*;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.panels.NonOpaquePanel;
 import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import com.intellij.util.ui.JBUI;
@@ -78,17 +86,25 @@ import com.intellij.util.ui.UIUtil;
 import org.apache.http.Header;
 import org.apache.http.HttpRequest;
 import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.util.EntityUtils;
+import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class GraphQLUIProjectService implements Disposable, FileEditorManagerListener, GraphQLConfigListener {
 
@@ -117,9 +133,19 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
 
   public final static Key<Boolean> GRAPH_QL_EDITOR_QUERYING = Key.create("graphql.editor.querying");
 
+  /**
+   * The progress of the query currently running from the editor, a new query cancels it
+   */
+  @VisibleForTesting
+  final static Key<ProgressIndicator> GRAPH_QL_EDITOR_QUERY_INDICATOR = Key.create("graphql.editor.query.indicator");
+
   private static final int UPDATE_MS = 500;
+  private static final int CANCEL_CHECK_MS = 100;
   private static final @NlsSafe String VARIABLES_PLACEHOLDER = "{ variables }";
   private final Alarm myUpdateUIAlarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+  private final Object myQuerySlotsLock = new Object();
+  private int myRunningQueries;
+  private final Object myQueryResultLock = new Object();
 
   @NotNull
   private final Project myProject;
@@ -267,6 +293,7 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
     final DefaultActionGroup queryActions = new DefaultActionGroup();
     final AnAction executeGraphQLAction = ActionManager.getInstance().getAction(GraphQLExecuteEditorAction.ACTION_ID);
     queryActions.add(executeGraphQLAction);
+    queryActions.add(ActionManager.getInstance().getAction(GraphQLLoadRunEditorAction.ACTION_ID));
     queryActions.addSeparator();
     queryActions.add(new GraphQLRunIntrospectionQueryAction());
     queryActions.add(new GraphQLOpenIntrospectionSchemaAction());
@@ -350,7 +377,106 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
     }
 
     final GraphQLQueryContext context = GraphQLQueryContextHighlightVisitor.getQueryContextBufferAndHighlightUnused(editor);
+    final Map<String, Object> requestData = createQueryRequestData(editor, context);
+    if (requestData == null) {
+      return;
+    }
+    final String url = selectedEndpoint.getUrl();
+    final String persistedQueryHash = getPersistedQueryHash(selectedEndpoint, url, context.query);
+    final boolean hashOnly = persistedQueryHash != null &&
+                             GraphQLPersistedQueries.getInstance(myProject).isRegistered(url, persistedQueryHash);
+    try {
+      final HttpRequestBase request =
+        createQueryRequest(selectedEndpoint, url, requestData, persistedQueryHash, !hashOnly);
+      //noinspection DialogTitleCapitalization
+      final Task.Backgroundable task =
+        new Task.Backgroundable(myProject, GraphQLBundle.message("graphql.progress.title.executing.graphql"), true) {
+          @Override
+          public void run(@NotNull ProgressIndicator indicator) {
+            indicator.setIndeterminate(true);
+            runQuery(editor, virtualFile, context, url, selectedEndpoint, requestData, persistedQueryHash, hashOnly, request,
+                     indicator);
+          }
+        };
+
+      // the indicator is created here, so the next run from this editor can cancel it even if it hasn't started yet
+      ProgressIndicator previous = editor.getUserData(GRAPH_QL_EDITOR_QUERY_INDICATOR);
+      if (previous != null) {
+        previous.cancel();
+      }
+      ProgressIndicator indicator = new BackgroundableProcessIndicator(task);
+      editor.putUserData(GRAPH_QL_EDITOR_QUERY_INDICATOR, indicator);
+      editor.putUserData(GRAPH_QL_EDITOR_QUERYING, true);
+      ProgressManager.getInstance().runProcessWithProgressAsynchronously(task, indicator);
+    }
+    catch (IllegalStateException | IllegalArgumentException e) {
+      LOG.warn(e);
+      GraphQLNotificationUtil.showGraphQLRequestErrorNotification(myProject, url, e, NotificationType.ERROR, null);
+    }
+  }
+
+  /**
+   * Sends the query of the editor as {@link #executeGraphQL} does, but repeatedly and without showing the results,
+   * and reports the throughput, the errors and the latencies of the requests.
+   */
+  public void executeLoadRun(@NotNull Editor editor,
+                             @NotNull VirtualFile virtualFile,
+                             @NotNull GraphQLLoadRun.Settings settings) {
+    final GraphQLEndpointsModel endpointsModel = editor.getUserData(GRAPH_QL_ENDPOINTS_MODEL);
+    if (endpointsModel == null) {
+      return;
+    }
+    final GraphQLConfigEndpoint selectedEndpoint =
+      GraphQLIntrospectionUtil.promptForEnvVariables(myProject, endpointsModel.getSelectedItem());
+    if (selectedEndpoint == null || selectedEndpoint.getUrl() == null) {
+      return;
+    }
+
+    final GraphQLQueryContext context = GraphQLQueryContextHighlightVisitor.getQueryContextBufferAndHighlightUnused(editor);
+    final Map<String, Object> requestData = createQueryRequestData(editor, context);
+    if (requestData == null) {
+      return;
+    }
+    final String url = selectedEndpoint.getUrl();
+    final String persistedQueryHash = getPersistedQueryHash(selectedEndpoint, url, context.query);
+    try {
+      // fails right away for an invalid endpoint instead of on every request of the run
+      createQueryRequest(selectedEndpoint, url, requestData, persistedQueryHash, true);
+      new Task.Backgroundable(myProject, GraphQLBundle.message("graphql.progress.title.load.run", virtualFile.getName()), true) {
+        @Override
+        public void run(@NotNull ProgressIndicator indicator) {
+          indicator.setIndeterminate(false);
+          try {
+            GraphQLConfigSecurity sslConfig = GraphQLConfigSecurity.getSecurityConfig(selectedEndpoint.getConfig());
+            try (GraphQLHttpClientRegistry.Lease lease =
+                   GraphQLHttpClientRegistry.getInstance(myProject).acquireHttpClient(url, sslConfig)) {
+              // the hash of a query known to the server is sent alone, the run doesn't register the unknown ones
+              GraphQLLoadRun.Result result = new GraphQLLoadRun(lease.getClient(), () -> {
+                boolean hashOnly = persistedQueryHash != null &&
+                                   GraphQLPersistedQueries.getInstance(myProject).isRegistered(url, persistedQueryHash);
+                return createQueryRequest(selectedEndpoint, url, requestData, persistedQueryHash, !hashOnly);
+              }, settings).run(indicator);
+              GraphQLNotificationUtil.showLoadRunResultNotification(myProject, virtualFile.getName(), url, result);
+            }
+          }
+          catch (IOException | GeneralSecurityException e) {
+            LOG.warn(e);
+            GraphQLNotificationUtil.showGraphQLRequestErrorNotification(myProject, url, e, NotificationType.WARNING, null);
+          }
+        }
+      }.queue();
+    }
+    catch (IllegalStateException | IllegalArgumentException e) {
+      LOG.warn(e);
+      GraphQLNotificationUtil.showGraphQLRequestErrorNotification(myProject, url, e, NotificationType.ERROR, null);
+    }
+  }
 
+  /**
+   * @return the query and the variables of the editor or null if the variables aren't valid,
+   * the error is shown in the variables editor
+   */
+  private @Nullable Map<String, Object> createQueryRequestData(@NotNull Editor editor, @NotNull GraphQLQueryContext context) {
     Map<String, Object> requestData = new HashMap<>();
     requestData.put("query", context.query);
     try {
@@ -381,69 +507,178 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
       final LightweightHint lightweightHint = new LightweightHint(label);
       final Point hintPosition = hintManager.getHintPosition(lightweightHint, errorEditor, HintManager.UNDER);
       hintManager.showEditorHint(lightweightHint, editor, hintPosition, 0, 10000, false, HintManager.UNDER);
-      return;
+      return null;
     }
-    String requestJson = createQueryJsonSerializer().toJson(requestData);
-    final String url = selectedEndpoint.getUrl();
-    try {
-      final HttpPost request = GraphQLIntrospectionService.createRequest(selectedEndpoint, url, requestJson);
-      //noinspection DialogTitleCapitalization
-      final Task.Backgroundable task =
-        new Task.Backgroundable(myProject, GraphQLBundle.message("graphql.progress.title.executing.graphql"), false) {
-          @Override
-          public void run(@NotNull ProgressIndicator indicator) {
-            indicator.setIndeterminate(true);
-            runQuery(editor, virtualFile, context, url, request, selectedEndpoint);
-          }
-        };
-      ProgressManager.getInstance().run(task);
+    return requestData;
+  }
+
+  /**
+   * @return the hash identifying the query if the endpoint uses the persisted queries
+   */
+  private @Nullable String getPersistedQueryHash(@NotNull GraphQLConfigEndpoint endpoint,
+                                                 @NotNull String url,
+                                                 @Nullable String query) {
+    if (!endpoint.getPersistedQueries() || query == null ||
+        !GraphQLPersistedQueries.getInstance(myProject).isSupported(url)) {
+      return null;
     }
-    catch (IllegalStateException | IllegalArgumentException e) {
-      LOG.warn(e);
-      GraphQLNotificationUtil.showGraphQLRequestErrorNotification(myProject, url, e, NotificationType.ERROR, null);
+    return GraphQLPersistedQueries.computeHash(query);
+  }
+
+  /**
+   * @param persistedQueryHash the hash sent in the extensions or null to send the query as is
+   * @param includeQuery       whether the text of the query is sent along with its hash
+   */
+  private static @NotNull HttpRequestBase createQueryRequest(@NotNull GraphQLConfigEndpoint endpoint,
+                                                             @NotNull String url,
+                                                             @NotNull Map<String, Object> requestData,
+                                                             @Nullable String persistedQueryHash,
+                                                             boolean includeQuery) {
+    Gson gson = createQueryJsonSerializer();
+    if (persistedQueryHash == null) {
+      return GraphQLIntrospectionService.createRequest(endpoint, url, gson.toJson(requestData));
     }
+
+    Map<String, Object> extensions = GraphQLPersistedQueries.createExtensions(persistedQueryHash);
+    if (!includeQuery && endpoint.getPersistedQueriesUseGet()) {
+      Object variables = requestData.get("variables");
+      return GraphQLPersistedQueries.createGetRequest(
+        endpoint, url, gson.toJson(extensions), variables != null ? gson.toJson(variables) : null);
+    }
+
+    Map<String, Object> persistedRequestData = new HashMap<>(requestData);
+    if (!includeQuery) {
+      persistedRequestData.remove("query");
+    }
+    persistedRequestData.put("extensions", extensions);
+    return GraphQLIntrospectionService.createRequest(endpoint, url, gson.toJson(persistedRequestData));
   }
 
   private void runQuery(@NotNull Editor editor,
                         @NotNull VirtualFile virtualFile,
                         @NotNull GraphQLQueryContext context,
                         @NotNull String url,
-                        @NotNull HttpPost request,
-                        @NotNull GraphQLConfigEndpoint endpoint) {
-    GraphQLIntrospectionService introspectionService = GraphQLIntrospectionService.getInstance(myProject);
+                        @NotNull GraphQLConfigEndpoint endpoint,
+                        @NotNull Map<String, Object> requestData,
+                        @Nullable String persistedQueryHash,
+                        boolean hashOnly,
+                        @NotNull HttpRequestBase request,
+                        @NotNull ProgressIndicator indicator) {
+    Path downloadPath = null;
+    GraphQLHttpClientRegistry.Lease clientLease = null;
+    // the request is replaced if a persisted query has to be sent again with its text
+    AtomicReference<HttpRequestBase> currentRequest = new AtomicReference<>(request);
+    // the blocking client doesn't react to the cancellation, so the request is aborted when the indicator is cancelled
+    ScheduledFuture<?> abortOnCancel = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(() -> {
+      if (indicator.isCanceled()) {
+        currentRequest.get().abort();
+      }
+    }, CANCEL_CHECK_MS, CANCEL_CHECK_MS, TimeUnit.MILLISECONDS);
     try {
       GraphQLConfigSecurity sslConfig = GraphQLConfigSecurity.getSecurityConfig(endpoint.getConfig());
-      try (final CloseableHttpClient httpClient = introspectionService.createHttpClient(url, sslConfig)) {
-        editor.putUserData(GRAPH_QL_EDITOR_QUERYING, true);
-
-        String responseJson;
-        Header contentType;
-        long start = System.currentTimeMillis();
-        long end;
-        try (final CloseableHttpResponse response = httpClient.execute(request)) {
-          responseJson = StringUtil.notNullize(EntityUtils.toString(response.getEntity()));
-          contentType = response.getFirstHeader("Content-Type");
-        }
-        finally {
-          end = System.currentTimeMillis();
+      // the client is shared between requests, so only the response and the lease are closed
+      clientLease = GraphQLHttpClientRegistry.getInstance(myProject).acquireHttpClient(url, sslConfig);
+      final CloseableHttpClient httpClient = clientLease.getClient();
+      acquireQuerySlot(indicator);
+      try {
+        indicator.setText2(null);
+
+        // the response is streamed to disk and formatted from there, so its size doesn't matter
+        Path resultPath = GraphQLToolWindow.getQueryResultPath(myProject);
+        Files.createDirectories(resultPath.getParent());
+        // a superseded query could still be downloading, so every query has its own file
+        downloadPath = Files.createTempFile(resultPath.getParent(), resultPath.getFileName().toString(), ".download");
+        QueryResponse queryResponse = download(httpClient, request, downloadPath);
+        @Nls String persistedQueryStatus = null;
+        if (persistedQueryHash != null) {
+          GraphQLPersistedQueries persistedQueries = GraphQLPersistedQueries.getInstance(myProject);
+          GraphQLPersistedQueries.Error error =
+            GraphQLPersistedQueries.findError(downloadPath, queryResponse.statusCode, hashOnly);
+          if (error != null) {
+            persistedQueries.failed(url, persistedQueryHash, error);
+          }
+          if (error != null && (hashOnly || error == GraphQLPersistedQueries.Error.NOT_SUPPORTED)) {
+            // evicted by the server, or the server doesn't support the persisted queries at all
+            indicator.checkCanceled();
+            String fallbackHash = error == GraphQLPersistedQueries.Error.NOT_FOUND ? persistedQueryHash : null;
+            HttpRequestBase fallbackRequest = createQueryRequest(endpoint, url, requestData, fallbackHash, true);
+            currentRequest.set(fallbackRequest);
+            queryResponse = download(httpClient, fallbackRequest, downloadPath);
+            if (error == GraphQLPersistedQueries.Error.NOT_FOUND &&
+                GraphQLPersistedQueries.isAccepted(queryResponse.statusCode, downloadPath)) {
+              persistedQueries.registered(url, persistedQueryHash);
+              persistedQueryStatus = GraphQLBundle.message("graphql.query.result.statistics.persisted.registered");
+            }
+          }
+          else if (error == null && GraphQLPersistedQueries.isAccepted(queryResponse.statusCode, downloadPath)) {
+            persistedQueries.registered(url, persistedQueryHash);
+            persistedQueryStatus = hashOnly
+                                   ? GraphQLBundle.message("graphql.query.result.statistics.persisted.hash")
+                                   : GraphQLBundle.message("graphql.query.result.statistics.persisted.registered");
+          }
         }
 
+        final GraphQLRequestTimings timings = queryResponse.timings;
+        final long responseSize = queryResponse.responseSize;
+        final long transferredSize = queryResponse.transferredSize;
+        final Header contentType = queryResponse.contentType;
+        final String persistedQueryText = persistedQueryStatus;
         final boolean reformatJson = contentType != null && contentType.getValue() != null &&
                                      contentType.getValue().startsWith("application/json");
-        final Integer errorCount = getErrorCount(responseJson);
+        final GraphQLQueryTracing tracing = reformatJson ? GraphQLQueryTracing.read(downloadPath) : null;
+        final GraphQLQueryHistory.Statistics statistics = GraphQLQueryHistory.getInstance(myProject)
+          .addRun(url, GraphQLQueryHistory.getOperationName(context.query), timings.getTotalMillis());
+        final Integer errorCount;
+        final QueryResultPreview preview;
+        synchronized (myQueryResultLock) {
+          // a cancelled query must not replace the result of the one superseding it
+          indicator.checkCanceled();
+          errorCount = GraphQLQueryResultFormatter.format(downloadPath, resultPath, reformatJson);
+          timings.formatted();
+          // the next result overwrites the files, so the preview is made under the lock
+          preview = updateQueryResultPreview(resultPath);
+        }
+
         ApplicationManager.getApplication().invokeLater(() -> {
+          // a newer query from the same editor cancels this one on EDT, so it can't have started painting its result yet
+          if (indicator.isCanceled()) {
+            return;
+          }
           TextEditor queryResultEditor = GraphQLToolWindow.getQueryResultEditor(myProject);
           if (queryResultEditor == null) {
             return;
           }
 
-          updateQueryResultEditor(responseJson, queryResultEditor, reformatJson);
+          updateQueryResultEditor(queryResultEditor, preview);
           String queryResultText = GraphQLBundle.message(
             "graphql.query.result.statistics",
             virtualFile.getName(),
-            end - start,
-            bytesToDisplayString(responseJson.length())
+            timings.getTotalMillis(),
+            bytesToDisplayString(responseSize)
           );
+          if (transferredSize != responseSize) {
+            queryResultText += GraphQLBundle.message(
+              "graphql.query.result.statistics.transferred",
+              bytesToDisplayString(transferredSize)
+            );
+          }
+          if (persistedQueryText != null) {
+            queryResultText += persistedQueryText;
+          }
+          if (preview.fullResultFile != null) {
+            queryResultText += GraphQLBundle.message(
+              "graphql.query.result.statistics.preview",
+              bytesToDisplayString(preview.size)
+            );
+          }
+          if (statistics.getCount() > 1) {
+            queryResultText += GraphQLBundle.message(
+              "graphql.query.result.statistics.history",
+              statistics.getMedian(),
+              statistics.getP95(),
+              statistics.getCount()
+            );
+          }
 
           if (errorCount != null && errorCount > 0) {
             queryResultText += GraphQLBundle.message(
@@ -463,6 +698,8 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
             GraphQLToolWindow.getQueryResultHeader(queryResultEditor);
           if (queryResultHeader == null) return;
 
+          queryResultHeader.setTimings(timings, tracing);
+          queryResultHeader.setFullResultFile(preview.fullResultFile);
           JBLabel queryResultLabel = queryResultHeader.getResultLabel();
           @NlsSafe String resultTextString = queryResultText;
           queryResultLabel.setText(resultTextString);
@@ -488,43 +725,185 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
         });
       }
       finally {
-        editor.putUserData(GRAPH_QL_EDITOR_QUERYING, null);
+        releaseQuerySlot();
       }
     }
     catch (IOException | GeneralSecurityException e) {
+      if (indicator.isCanceled()) {
+        // aborted by the user or by a newer query from the same editor
+        return;
+      }
       LOG.warn(e);
       GraphQLNotificationUtil.showGraphQLRequestErrorNotification(myProject, url, e, NotificationType.WARNING, null);
     }
+    finally {
+      abortOnCancel.cancel(false);
+      if (clientLease != null) {
+        clientLease.close();
+      }
+      if (downloadPath != null) {
+        try {
+          Files.deleteIfExists(downloadPath);
+        }
+        catch (IOException e) {
+          LOG.info(e);
+        }
+      }
+      if (editor.getUserData(GRAPH_QL_EDITOR_QUERY_INDICATOR) == indicator) {
+        editor.putUserData(GRAPH_QL_EDITOR_QUERY_INDICATOR, null);
+        editor.putUserData(GRAPH_QL_EDITOR_QUERYING, null);
+      }
+    }
   }
 
-  public void showQueryResult(@NotNull String jsonResponse) {
-    ApplicationManager.getApplication().invokeLater(() -> {
-      TextEditor textEditor = GraphQLToolWindow.getQueryResultEditor(myProject);
-      if (textEditor == null) return;
+  /**
+   * Limits the number of queries running at the same time from all the editors, see the
+   * {@code graphql.request.max.queries} registry key. The key is read on every attempt, so a change applies to the next query.
+   */
+  private void acquireQuerySlot(@NotNull ProgressIndicator indicator) {
+    try {
+      synchronized (myQuerySlotsLock) {
+        if (tryAcquireQuerySlot()) {
+          return;
+        }
+      }
+      indicator.setText2(GraphQLBundle.message("graphql.progress.text.waiting.for.queries"));
+      while (true) {
+        synchronized (myQuerySlotsLock) {
+          if (tryAcquireQuerySlot()) {
+            return;
+          }
+          myQuerySlotsLock.wait(CANCEL_CHECK_MS);
+        }
+        indicator.checkCanceled();
+      }
+    }
+    catch (InterruptedException e) {
+      throw new ProcessCanceledException(e);
+    }
+  }
 
-      updateQueryResultEditor(jsonResponse, textEditor, true);
-      GraphQLToolWindow.showQueryResultEditor(myProject);
-    });
+  private boolean tryAcquireQuerySlot() {
+    if (myRunningQueries >= Math.max(1, Registry.intValue("graphql.request.max.queries", 4))) {
+      return false;
+    }
+    myRunningQueries++;
+    return true;
   }
 
-  private void updateQueryResultEditor(final String responseJson, TextEditor textEditor, boolean reformatJson) {
-    ApplicationManager.getApplication().runWriteAction(() -> {
-      String documentJson = StringUtil.convertLineSeparators(responseJson);
-      if (reformatJson) {
-        final PsiFileFactory psiFileFactory = PsiFileFactory.getInstance(myProject);
-        final PsiFile jsonPsiFile = psiFileFactory.createFileFromText("", JsonFileType.INSTANCE, documentJson);
-        CodeStyleManager.getInstance(myProject).reformat(jsonPsiFile);
-        final Document document = jsonPsiFile.getViewProvider().getDocument();
-        if (document != null) {
-          documentJson = document.getText();
+  private void releaseQuerySlot() {
+    synchronized (myQuerySlotsLock) {
+      myRunningQueries--;
+      myQuerySlotsLock.notifyAll();
+    }
+  }
+
+  public void showQueryResult(@NotNull String jsonResponse) {
+    ApplicationManager.getApplication().executeOnPooledThread(() -> {
+      Path resultPath = GraphQLToolWindow.getQueryResultPath(myProject);
+      QueryResultPreview preview;
+      synchronized (myQueryResultLock) {
+        try {
+          GraphQLQueryResultFormatter.format(jsonResponse, resultPath);
+          preview = updateQueryResultPreview(resultPath);
+        }
+        catch (IOException e) {
+          LOG.warn(e);
+          return;
         }
       }
 
-      final Document document = textEditor.getEditor().getDocument();
-      document.setText(documentJson);
+      ApplicationManager.getApplication().invokeLater(() -> {
+        TextEditor textEditor = GraphQLToolWindow.getQueryResultEditor(myProject);
+        if (textEditor == null) return;
+
+        updateQueryResultEditor(textEditor, preview);
+        GraphQLToolWindow.GraphQLQueryResultHeaderComponent header = GraphQLToolWindow.getQueryResultHeader(textEditor);
+        if (header != null) {
+          header.setFullResultFile(preview.fullResultFile);
+        }
+        GraphQLToolWindow.showQueryResultEditor(myProject);
+      }, myProject.getDisposed());
     });
   }
 
+  private static final class QueryResponse {
+    private final GraphQLRequestTimings timings = new GraphQLRequestTimings();
+    private int statusCode;
+    private long responseSize;
+    private long transferredSize;
+    private @Nullable Header contentType;
+  }
+
+  private static @NotNull QueryResponse download(@NotNull CloseableHttpClient httpClient,
+                                                 @NotNull HttpRequestBase request,
+                                                 @NotNull Path downloadPath) throws IOException {
+    QueryResponse queryResponse = new QueryResponse();
+    try (final CloseableHttpResponse response = queryResponse.timings.execute(httpClient, request)) {
+      queryResponse.statusCode = response.getStatusLine().getStatusCode();
+      try (GraphQLHttpContentEncoding.Content content = GraphQLHttpContentEncoding.open(response)) {
+        queryResponse.responseSize = GraphQLQueryResultFormatter.download(content.getStream(), downloadPath);
+        queryResponse.transferredSize = content.getTransferredSize();
+      }
+      queryResponse.contentType = response.getFirstHeader("Content-Type");
+    }
+    finally {
+      queryResponse.timings.downloaded();
+    }
+    return queryResponse;
+  }
+
+  private static final class QueryResultPreview {
+    private final Path path;
+    private final int size;
+    private final @Nullable VirtualFile fullResultFile;
+
+    private QueryResultPreview(@NotNull Path path, int size, @Nullable VirtualFile fullResultFile) {
+      this.path = path;
+      this.size = size;
+      this.fullResultFile = fullResultFile;
+    }
+  }
+
+  /**
+   * Copies the formatted result to the preview file the result editor is backed by, cut at the preview size, and refreshes
+   * it off EDT. The refresh reloads the editor, so EDT loads at most the preview size however large the result is.
+   */
+  private @NotNull QueryResultPreview updateQueryResultPreview(@NotNull Path resultPath) throws IOException {
+    Path previewPath = GraphQLToolWindow.getQueryResultPreviewPath(myProject);
+    int previewSize = Math.max(1, Registry.intValue("graphql.query.result.preview.size", 1024 * 1024));
+    boolean cut = GraphQLQueryResultFormatter.preview(resultPath, previewPath, previewSize);
+    refreshQueryResultFile(previewPath);
+    // the full result is only refreshed to be opened from the header, nothing loads it until then
+    return new QueryResultPreview(previewPath, previewSize, cut ? refreshQueryResultFile(resultPath) : null);
+  }
+
+  private static @Nullable VirtualFile refreshQueryResultFile(@NotNull Path path) {
+    VirtualFile file = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(path);
+    if (file != null) {
+      VfsUtil.markDirtyAndRefresh(false, false, false, file);
+    }
+    return file;
+  }
+
+  /**
+   * The editor backed by the preview file is already reloaded by the refresh, only the light file it falls back to
+   * if the preview file couldn't be created is filled here, with at most the preview size.
+   */
+  private static void updateQueryResultEditor(@NotNull TextEditor textEditor, @NotNull QueryResultPreview preview) {
+    if (textEditor.getFile().isInLocalFileSystem()) {
+      return;
+    }
+
+    try {
+      String text = StringUtil.convertLineSeparators(Files.readString(preview.path, StandardCharsets.UTF_8));
+      ApplicationManager.getApplication().runWriteAction(() -> textEditor.getEditor().getDocument().setText(text));
+    }
+    catch (IOException e) {
+      LOG.warn(e);
+    }
+  }
+
   @NotNull
   private static Gson createQueryJsonSerializer() {
     return new GsonBuilder()
@@ -545,22 +924,6 @@ public class GraphQLUIProjectService implements Disposable, FileEditorManagerLis
       .create();
   }
 
-  private static Integer getErrorCount(String responseJson) {
-    try {
-      final Map<?, ?> res = new Gson().fromJson(responseJson, Map.class);
-      if (res != null) {
-        final Object errors = res.get("errors");
-        if (errors instanceof Collection) {
-          return ((Collection<?>)errors).size();
-        }
-        return 0;
-      }
-    }
-    catch (JsonSyntaxException ignored) {
-    }
-    return null;
-  }
-
   private static Object getQueryVariables(Editor editor) {
     final Editor variablesEditor = editor.getUserData(GRAPH_QL_VARIABLES_EDITOR);
     if (variablesEditor != null) {
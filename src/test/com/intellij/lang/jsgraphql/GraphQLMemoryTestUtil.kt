@@ -0,0 +1,78 @@
+@file:JvmName("GraphQLMemoryTestUtil")
+
+package com.intellij.lang.jsgraphql
+
+import com.intellij.openapi.project.Project
+import com.intellij.psi.PsiElement
+import com.intellij.util.ReflectionUtil
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet
+import java.lang.reflect.Modifier
+import java.util.*
+
+/**
+ * Rough retained size of an object graph, computed by reflection.
+ * PSI, project and class objects are treated as external and are not counted.
+ */
+class GraphQLRetainedSize(val bytes: Long, val objects: Int, val instances: Map<Class<*>, Int>) {
+  fun countOf(clazz: Class<*>): Int = instances.entries.filter { clazz.isAssignableFrom(it.key) }.sumOf { it.value }
+}
+
+private const val OBJECT_HEADER_SIZE = 16L
+private const val REFERENCE_SIZE = 8L
+
+fun estimateRetainedSize(root: Any): GraphQLRetainedSize {
+  val visited = ReferenceOpenHashSet<Any>()
+  val queue = ArrayDeque<Any>()
+  val instances = mutableMapOf<Class<*>, Int>()
+  var bytes = 0L
+
+  queue.add(root)
+  while (queue.isNotEmpty()) {
+    val current = queue.poll()
+    if (!visited.add(current)) continue
+    if (current is PsiElement || current is Project || current is Class<*> || current is Enum<*>) continue
+
+    val clazz = current.javaClass
+    instances.merge(clazz, 1, Int::plus)
+
+    if (clazz.isArray) {
+      val length = java.lang.reflect.Array.getLength(current)
+      val componentType = clazz.componentType
+      bytes += OBJECT_HEADER_SIZE + length * (if (componentType.isPrimitive) primitiveSize(componentType) else REFERENCE_SIZE)
+      if (!componentType.isPrimitive) {
+        for (i in 0 until length) {
+          java.lang.reflect.Array.get(current, i)?.let { queue.add(it) }
+        }
+      }
+      continue
+    }
+
+    bytes += OBJECT_HEADER_SIZE
+    for (field in ReflectionUtil.collectFields(clazz)) {
+      if (Modifier.isStatic(field.modifiers)) continue
+      if (field.type.isPrimitive) {
+        bytes += primitiveSize(field.type)
+        continue
+      }
+      bytes += REFERENCE_SIZE
+      val value = try {
+        field.isAccessible = true
+        field.get(current)
+      }
+      catch (e: RuntimeException) {
+        // inaccessible JDK internals
+        null
+      }
+      value?.let { queue.add(it) }
+    }
+  }
+
+  return GraphQLRetainedSize(bytes, visited.size, instances)
+}
+
+private fun primitiveSize(type: Class<*>): Long = when (type) {
+  java.lang.Long.TYPE, java.lang.Double.TYPE -> 8
+  java.lang.Integer.TYPE, java.lang.Float.TYPE -> 4
+  java.lang.Short.TYPE, java.lang.Character.TYPE -> 2
+  else -> 1
+}
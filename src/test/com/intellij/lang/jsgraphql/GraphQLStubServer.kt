@@ -0,0 +1,48 @@
+package com.intellij.lang.jsgraphql
+
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.util.Disposer
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpHandler
+import com.sun.net.httpserver.HttpServer
+import java.net.InetAddress
+import java.net.InetSocketAddress
+import java.util.concurrent.Executors
+
+/**
+ * A loopback HTTP server serving [handler] at `/graphql`, it's stopped when the [disposable] is disposed.
+ *
+ * @param threads the number of threads handling the requests, 0 to handle them one by one on the server thread
+ */
+class GraphQLStubServer(disposable: Disposable, threads: Int = 0, handler: HttpHandler) {
+
+  private val server = HttpServer.create(InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0)
+
+  val url: String
+    get() = "http://localhost:${server.address.port}/graphql"
+
+  init {
+    val executor = if (threads > 0) Executors.newFixedThreadPool(threads) else null
+    server.executor = executor
+    server.createContext("/graphql", handler)
+    server.start()
+    Disposer.register(disposable) {
+      server.stop(0)
+      executor?.shutdownNow()
+    }
+  }
+
+  companion object {
+    /**
+     * Sends the JSON body, an empty body is sent without the content, e.g. for `304 Not Modified`.
+     */
+    fun respond(exchange: HttpExchange, body: String, status: Int = 200) {
+      val bytes = body.toByteArray()
+      if (bytes.isNotEmpty()) {
+        exchange.responseHeaders.add("Content-Type", "application/json")
+      }
+      exchange.sendResponseHeaders(status, if (bytes.isNotEmpty()) bytes.size.toLong() else -1)
+      exchange.responseBody.use { it.write(bytes) }
+    }
+  }
+}
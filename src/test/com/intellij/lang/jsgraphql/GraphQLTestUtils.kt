@@ -7,16 +7,22 @@ import com.intellij.lang.jsgraphql.GraphQLSettings.GraphQLSettingsState
 import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigProvider
 import com.intellij.lang.jsgraphql.ide.config.env.GraphQLConfigEnvironment
 import com.intellij.lang.jsgraphql.javascript.workspace.GraphQLNodeModulesLibraryUpdater
+import com.intellij.lang.jsgraphql.schema.GraphQLRegistryProvider
 import com.intellij.lang.jsgraphql.schema.library.GraphQLLibraryDescriptor
 import com.intellij.lang.jsgraphql.schema.library.GraphQLLibraryManager
 import com.intellij.lang.jsgraphql.schema.library.GraphQLLibraryTypes
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry
 import com.intellij.openapi.Disposable
 import com.intellij.openapi.application.ApplicationManager
 import com.intellij.openapi.application.PluginPathManager
+import com.intellij.openapi.command.WriteCommandAction
+import com.intellij.openapi.editor.Document
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.Disposer
 import com.intellij.openapi.util.io.FileUtil
 import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.psi.PsiDocumentManager
+import com.intellij.psi.PsiFile
 import com.intellij.testFramework.PlatformTestUtil
 import com.intellij.testFramework.fixtures.CodeInsightTestFixture
 import com.intellij.testFramework.utils.coroutines.waitCoroutinesBlocking
@@ -133,3 +139,24 @@ fun reloadConfiguration(project: Project) {
   PlatformTestUtil.dispatchAllEventsInIdeEventQueue()
   waitCoroutinesBlocking(GraphQLNodeModulesLibraryUpdater.getInstance(project).cs)
 }
+
+fun getTypeDefinitionRegistry(context: PsiFile): TypeDefinitionRegistry =
+  GraphQLRegistryProvider.getInstance(context.project).getRegistryInfo(context).typeDefinitionRegistry
+
+fun replaceFileText(file: PsiFile, text: String) {
+  changeFileText(file) { it.setText(text) }
+}
+
+/**
+ * Changes the document of the file in a write command, commits it and lets the schema tracker see the change.
+ */
+fun changeFileText(file: PsiFile, change: (Document) -> Unit) {
+  val documentManager = PsiDocumentManager.getInstance(file.project)
+  val document = documentManager.getDocument(file)!!
+  WriteCommandAction.runWriteCommandAction(file.project) {
+    change(document)
+    documentManager.commitDocument(document)
+  }
+  // the schema tracker is notified asynchronously in tests
+  PlatformTestUtil.dispatchAllEventsInIdeEventQueue()
+}
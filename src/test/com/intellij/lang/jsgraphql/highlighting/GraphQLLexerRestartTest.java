@@ -0,0 +1,119 @@
+package com.intellij.lang.jsgraphql.highlighting;
+
+import com.intellij.lang.jsgraphql.GraphQLLexerAdapter;
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.ide.highlighting.GraphQLSyntaxHighlighter;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.colors.EditorColorsManager;
+import com.intellij.openapi.editor.ex.util.LexerEditorHighlighter;
+import com.intellij.openapi.editor.highlighter.HighlighterIterator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GraphQLLexerRestartTest extends GraphQLTestCaseBase {
+
+  private static final String MARKER = "marker";
+
+  public void testEditInLargeDescription() {
+    doTest(" edited", 20);
+  }
+
+  public void testEditClosingDescription() {
+    // the description is closed in the middle and its rest becomes a new description, which the original closing quotes end,
+    // so the lexer is back in sync right after the edited description
+    String text = generateSchema();
+    String insertion = "\"\"\"\n\"\"\"";
+    int offset = text.indexOf(MARKER);
+    int start = text.lastIndexOf("\"\"\"", offset);
+    int end = text.indexOf("\"\"\"", offset) + 3;
+    String editedDescription = text.substring(start, offset) + insertion + text.substring(offset, end);
+    // plus the token the highlighter restarts from and the ones it compares after the edit
+    doTest(insertion, lex(editedDescription, 0, 0).size() + 3);
+  }
+
+  public void testStatesAreRestoredInsideStringsAndTemplates() {
+    String text = "type A { \"\"\"\n  desc \"\"\" field(a: \"str\"): String } query { ...${ a { b } } }";
+    List<String> expected = lex(text, 0, 0);
+
+    GraphQLLexerAdapter lexer = new GraphQLLexerAdapter();
+    lexer.start(text);
+    while (lexer.getTokenType() != null) {
+      List<String> actual = lex(text, lexer.getTokenStart(), lexer.getState());
+      assertEquals(expected.subList(expected.size() - actual.size(), expected.size()), actual);
+      lexer.advance();
+    }
+  }
+
+  private void doTest(@NotNull String insertion, int maxRelexedTokens) {
+    String text = generateSchema();
+    CountingLexer lexer = new CountingLexer();
+    LexerEditorHighlighter highlighter = new LexerEditorHighlighter(new GraphQLSyntaxHighlighter() {
+      @Override
+      public @NotNull Lexer getHighlightingLexer() {
+        return lexer;
+      }
+    }, EditorColorsManager.getInstance().getGlobalScheme());
+
+    Document document = EditorFactory.getInstance().createDocument(text);
+    highlighter.setText(document.getImmutableCharSequence());
+    document.addDocumentListener(highlighter, getTestRootDisposable());
+
+    lexer.myTokensCount = 0;
+    int offset = text.indexOf(MARKER);
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> document.insertString(offset, insertion));
+    int relexed = lexer.myTokensCount;
+    assertTrue("Re-lexed " + relexed + " tokens", relexed <= maxRelexedTokens);
+
+    // incremental result must be the same as lexing from scratch
+    List<String> expected = lex(document.getText(), 0, 0);
+    List<String> actual = new ArrayList<>();
+    for (HighlighterIterator iterator = highlighter.createIterator(0); !iterator.atEnd(); iterator.advance()) {
+      actual.add(iterator.getTokenType() + ":" + iterator.getStart());
+    }
+    assertEquals(expected, actual);
+  }
+
+  private static @NotNull List<String> lex(@NotNull String text, int startOffset, int state) {
+    List<String> tokens = new ArrayList<>();
+    GraphQLLexerAdapter lexer = new GraphQLLexerAdapter();
+    lexer.start(text, startOffset, text.length(), state);
+    while (lexer.getTokenType() != null) {
+      tokens.add(lexer.getTokenType() + ":" + lexer.getTokenStart());
+      lexer.advance();
+    }
+    return tokens;
+  }
+
+  // ~50k lines, each type has a 20 lines description
+  private static @NotNull String generateSchema() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      builder.append("\"\"\"\n");
+      for (int j = 0; j < 20; j++) {
+        builder.append("Description line ").append(j);
+        if (i == 1000 && j == 10) {
+          builder.append(" ").append(MARKER);
+        }
+        builder.append("\n");
+      }
+      builder.append("\"\"\"\n");
+      builder.append("type Type").append(i).append(" {\n  id: ID\n}\n");
+    }
+    return builder.toString();
+  }
+
+  private static final class CountingLexer extends GraphQLLexerAdapter {
+    private int myTokensCount;
+
+    @Override
+    public void advance() {
+      myTokensCount++;
+      super.advance();
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.intellij.lang.jsgraphql.introspection
+
+import com.intellij.lang.jsgraphql.GraphQLStubServer
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigListener
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLHttpClientRegistry
+import com.intellij.openapi.util.registry.Registry
+import org.apache.http.client.methods.HttpPost
+import org.apache.http.entity.ContentType
+import org.apache.http.entity.StringEntity
+import org.apache.http.impl.client.CloseableHttpClient
+import org.apache.http.util.EntityUtils
+import java.util.concurrent.ConcurrentHashMap
+
+class GraphQLHttpClientRegistryTest : GraphQLTestCaseBase() {
+
+  private lateinit var server: GraphQLStubServer
+  private val clientPorts: MutableSet<Int> = ConcurrentHashMap.newKeySet()
+
+  override fun setUp() {
+    super.setUp()
+    server = GraphQLStubServer(testRootDisposable) { exchange ->
+      exchange.requestBody.readAllBytes()
+      // the client port identifies the connection, a reused connection keeps it
+      clientPorts.add(exchange.remoteAddress.port)
+      GraphQLStubServer.respond(exchange, """{"data":{"__typename":"Query"}}""")
+    }
+  }
+
+  fun testConnectionIsReused() {
+    val url = server.url
+    val registry = GraphQLHttpClientRegistry.getInstance(project)
+
+    val client = registry.acquireHttpClient(url, null).use { it.client }
+    repeat(5) { execute(url) }
+    assertSame(client, registry.acquireHttpClient(url, null).use { it.client })
+    assertEquals(1, clientPorts.size)
+
+    project.messageBus.syncPublisher(GraphQLConfigListener.TOPIC).onConfigurationChanged()
+    assertNotSame(client, registry.acquireHttpClient(url, null).use { it.client })
+    execute(url)
+    assertEquals(2, clientPorts.size)
+  }
+
+  fun testSettingsChangeReplacesClient() {
+    val url = server.url
+    val registry = GraphQLHttpClientRegistry.getInstance(project)
+    val client = registry.acquireHttpClient(url, null).use { it.client }
+
+    Registry.get("graphql.request.timeout").setValue(20000, testRootDisposable)
+    val updated = registry.acquireHttpClient(url, null).use { it.client }
+    assertNotSame(client, updated)
+    execute(url)
+
+    // the previous client isn't leased, so it's closed right away
+    assertThrows(IllegalStateException::class.java) {
+      client.execute(HttpPost(url)).close()
+    }
+  }
+
+  fun testDroppedClientIsClosedAfterLastLease() {
+    val url = server.url
+    val registry = GraphQLHttpClientRegistry.getInstance(project)
+    val lease = registry.acquireHttpClient(url, null)
+
+    // e.g. a .graphqlrc edit while a query is running
+    project.messageBus.syncPublisher(GraphQLConfigListener.TOPIC).onConfigurationChanged()
+    assertNotSame(lease.client, registry.acquireHttpClient(url, null).use { it.client })
+    execute(lease.client, url)
+
+    lease.close()
+    assertThrows(IllegalStateException::class.java) {
+      lease.client.execute(HttpPost(url)).close()
+    }
+  }
+
+  private fun execute(url: String) {
+    GraphQLHttpClientRegistry.getInstance(project).acquireHttpClient(url, null).use { execute(it.client, url) }
+  }
+
+  private fun execute(client: CloseableHttpClient, url: String) {
+    val request = HttpPost(url)
+    request.entity = StringEntity("""{"query":"{ __typename }"}""", ContentType.APPLICATION_JSON)
+    client.execute(request).use {
+      assertEquals("""{"data":{"__typename":"Query"}}""", EntityUtils.toString(it.entity))
+    }
+  }
+}
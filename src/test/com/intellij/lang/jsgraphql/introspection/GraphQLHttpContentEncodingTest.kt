@@ -0,0 +1,94 @@
+package com.intellij.lang.jsgraphql.introspection
+
+import com.intellij.lang.jsgraphql.GraphQLStubServer
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLHttpClientRegistry
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLHttpContentEncoding
+import com.intellij.openapi.util.registry.Registry
+import org.apache.http.client.methods.HttpPost
+import org.apache.http.entity.ContentType
+import org.apache.http.entity.StringEntity
+import java.io.ByteArrayOutputStream
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+
+class GraphQLHttpContentEncodingTest : GraphQLTestCaseBase() {
+
+  private lateinit var server: GraphQLStubServer
+  private val response = """{"data":{"types":[${(1..1000).joinToString(",") { """{"name":"Type$it"}""" }}]}}"""
+  private var requestBody: String? = null
+
+  override fun setUp() {
+    super.setUp()
+    server = GraphQLStubServer(testRootDisposable) { exchange ->
+      val body = exchange.requestBody.readAllBytes()
+      requestBody = if (exchange.requestHeaders.getFirst("Content-Encoding") == "gzip") {
+        GZIPInputStream(body.inputStream()).readAllBytes().decodeToString()
+      }
+      else {
+        body.decodeToString()
+      }
+
+      val acceptEncoding = exchange.requestHeaders.getFirst("Accept-Encoding").orEmpty()
+      val encoding = listOf("gzip", "deflate").firstOrNull { acceptEncoding.contains(it) }
+      val bytes = ByteArrayOutputStream()
+      when (encoding) {
+        "gzip" -> GZIPOutputStream(bytes).use { it.write(response.toByteArray()) }
+        "deflate" -> DeflaterOutputStream(bytes).use { it.write(response.toByteArray()) }
+        else -> bytes.write(response.toByteArray())
+      }
+      exchange.responseHeaders.add("Content-Type", "application/json")
+      encoding?.let { exchange.responseHeaders.add("Content-Encoding", it) }
+      exchange.sendResponseHeaders(200, bytes.size().toLong())
+      exchange.responseBody.use { bytes.writeTo(it) }
+    }
+  }
+
+  fun testGzip() {
+    val (text, transferred) = execute(GraphQLHttpContentEncoding.ACCEPT_ENCODING)
+    assertEquals(response, text)
+    assertTrue(transferred < response.length)
+  }
+
+  fun testDeflate() {
+    val (text, transferred) = execute("deflate")
+    assertEquals(response, text)
+    assertTrue(transferred < response.length)
+  }
+
+  fun testIdentity() {
+    val (text, transferred) = execute("identity")
+    assertEquals(response, text)
+    assertEquals(response.length.toLong(), transferred)
+  }
+
+  fun testRequestCompression() {
+    val variables = """{"query":"{ types { name } }","variables":{"ids":[${(1..1000).joinToString(",")}]}}"""
+    val threshold = Registry.get("graphql.request.compression.threshold")
+    threshold.setValue(1024)
+    try {
+      execute(null, variables)
+    }
+    finally {
+      threshold.resetToDefault()
+    }
+    assertEquals(variables, requestBody)
+  }
+
+  private fun execute(acceptEncoding: String?, body: String = """{"query":"{ types { name } }"}"""): Pair<String, Long> {
+    val url = server.url
+    val request = HttpPost(url)
+    request.entity = StringEntity(body, ContentType.APPLICATION_JSON)
+    GraphQLHttpContentEncoding.prepareRequest(request)
+    acceptEncoding?.let { request.setHeader("Accept-Encoding", it) }
+
+    GraphQLHttpClientRegistry.getInstance(project).acquireHttpClient(url, null).use { lease ->
+      lease.client.execute(request).use { response ->
+        GraphQLHttpContentEncoding.open(response).use {
+          return it.readText() to it.transferredSize
+        }
+      }
+    }
+  }
+}
@@ -2,12 +2,14 @@ package com.intellij.lang.jsgraphql.introspection;
 
 import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
 import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionService;
+import com.intellij.openapi.util.registry.Registry;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Assert;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Objects;
 
 public class GraphQLIntrospectionPrinterTest extends GraphQLTestCaseBase {
@@ -52,6 +54,19 @@ public class GraphQLIntrospectionPrinterTest extends GraphQLTestCaseBase {
     );
   }
 
+  public void testParallelStreamingPrintMatchesSequential() throws IOException {
+    String json = Objects.requireNonNull(readSchemaJson("githubSchema.json"));
+    GraphQLIntrospectionService service = new GraphQLIntrospectionService(getProject());
+
+    StringWriter parallel = new StringWriter();
+    service.printIntrospectionAsGraphQL(json, parallel);
+
+    Registry.get("graphql.schema.print.parallel").setValue(false, getTestRootDisposable());
+    String sequential = service.printIntrospectionAsGraphQL(json);
+
+    assertEquals(sequential, parallel.toString());
+  }
+
   public void testPrintIntrospectionWithUndefinedDirectives() {
     doTest("schemaWithUndefinedDirectives.json", "schemaWithUndefinedDirectives.graphql");
   }
@@ -0,0 +1,305 @@
+package com.intellij.lang.jsgraphql.introspection
+
+import com.google.gson.Gson
+import com.google.gson.JsonArray
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import com.intellij.lang.jsgraphql.GraphQLBundle
+import com.intellij.lang.jsgraphql.GraphQLStubServer
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.getTestDataPath
+import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigProvider
+import com.intellij.lang.jsgraphql.ide.config.model.GraphQLConfigEndpoint
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionResultStamp
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLIntrospectionService
+import com.intellij.notification.Notification
+import com.intellij.notification.NotificationType
+import com.intellij.notification.Notifications
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.application.WriteAction
+import com.intellij.openapi.util.registry.Registry
+import com.intellij.openapi.util.text.StringUtil
+import com.intellij.openapi.vfs.LocalFileSystem
+import com.intellij.openapi.vfs.VfsUtil
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.testFramework.PlatformTestUtil
+import com.intellij.testFramework.fixtures.impl.TempDirTestFixtureImpl
+import java.io.File
+import java.io.IOException
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class GraphQLIntrospectionQueryTest : GraphQLTestCaseBase() {
+
+  private lateinit var server: GraphQLStubServer
+  private val tempDir = TempDirTestFixtureImpl()
+  private val schemaJson = File(getTestDataPath("/introspection/print"), "schema.json").readText()
+  private val requests: MutableList<Request> = CopyOnWriteArrayList()
+  private val notifications: MutableList<Notification> = CopyOnWriteArrayList()
+  private val running = AtomicInteger()
+  private val maxRunning = AtomicInteger()
+  private val hangReleased = CountDownLatch(1)
+
+  @Volatile
+  private var response: String = schemaJson
+
+  @Volatile
+  private var etag: String? = null
+
+  @Volatile
+  private var brokenPathFails = true
+
+  private class Request(val path: String, val ifNoneMatch: String?)
+
+  override fun setUp() {
+    super.setUp()
+    tempDir.setUp()
+    server = GraphQLStubServer(testRootDisposable, threads = 4) { exchange ->
+      exchange.requestBody.readAllBytes()
+      val ifNoneMatch = exchange.requestHeaders.getFirst("If-None-Match")
+      val path = exchange.requestURI.path
+      requests.add(Request(path, ifNoneMatch))
+      maxRunning.accumulateAndGet(running.incrementAndGet()) { a, b -> maxOf(a, b) }
+      try {
+        if (path.endsWith("/slow")) {
+          Thread.sleep(300)
+        }
+        else if (path.endsWith("/hang")) {
+          hangReleased.await(30, TimeUnit.SECONDS)
+        }
+
+        val etag = etag
+        if (path.endsWith("/broken") && brokenPathFails) {
+          GraphQLStubServer.respond(exchange, "<html>Internal Server Error</html>", 500)
+        }
+        else if (etag != null && etag == ifNoneMatch) {
+          GraphQLStubServer.respond(exchange, "", 304)
+        }
+        else {
+          if (etag != null) exchange.responseHeaders.add("ETag", etag)
+          GraphQLStubServer.respond(exchange, response)
+        }
+      }
+      catch (e: IOException) {
+        // aborted by the client
+      }
+      finally {
+        running.decrementAndGet()
+      }
+    }
+    project.messageBus.connect(testRootDisposable).subscribe(Notifications.TOPIC, object : Notifications {
+      override fun notify(notification: Notification) {
+        notifications.add(notification)
+      }
+    })
+  }
+
+  override fun tearDown() {
+    try {
+      hangReleased.countDown()
+      tempDir.tearDown()
+    }
+    catch (e: Throwable) {
+      addSuppressedException(e)
+    }
+    finally {
+      super.tearDown()
+    }
+  }
+
+  fun testStampRoundTrip() {
+    val stamp = GraphQLIntrospectionResultStamp("result", 1234, 56, "request", "W/\"a|b\"")
+    val parsed = GraphQLIntrospectionResultStamp.parse(stamp.format())!!
+    assertEquals("result", parsed.resultHash)
+    assertEquals(1234, parsed.timeStamp)
+    assertEquals(56, parsed.length)
+    assertEquals("request", parsed.requestHash)
+    assertEquals("W/\"a|b\"", parsed.etag)
+
+    assertNull(GraphQLIntrospectionResultStamp.parse(GraphQLIntrospectionResultStamp("result", 1, 2, "request", null).format())!!.etag)
+    // stored by a previous version without the request hash and the ETag
+    assertNull(GraphQLIntrospectionResultStamp.parse("result|1|2"))
+    assertNull(GraphQLIntrospectionResultStamp.parse("result|time|2|request|"))
+    assertNull(GraphQLIntrospectionResultStamp.parse(null))
+  }
+
+  fun testUnchangedResultIsNotWritten() {
+    val endpoint = configure("schema.graphql" to server.url).single()
+
+    introspect(endpoint)
+    val file = findOutputFile("schema.graphql")
+    val text = VfsUtil.loadText(file)
+    val timeStamp = file.timeStamp
+    assertTrue(text.contains("type Query"))
+
+    introspect(endpoint)
+    assertEquals(timeStamp, file.timeStamp)
+    assertUnchangedNotification()
+
+    // the file changed since it was written, so the same result is written again
+    WriteAction.runAndWait<Throwable> { VfsUtil.saveText(file, "type Query { changed: String }") }
+    introspect(endpoint)
+    assertEquals(text, VfsUtil.loadText(file))
+  }
+
+  fun testReorderedResultIsNotWritten() {
+    val endpoint = configure("schema.graphql" to server.url).single()
+    introspect(endpoint)
+    val timeStamp = findOutputFile("schema.graphql").timeStamp
+
+    // the same schema with the types in the reverse order and without the whitespace
+    response = editSchema { schema ->
+      val types = schema.getAsJsonArray("types")
+      schema.add("types", JsonArray().apply { types.reversed().forEach { add(it) } })
+    }
+    introspect(endpoint)
+    assertEquals(timeStamp, findOutputFile("schema.graphql").timeStamp)
+    assertUnchangedNotification()
+  }
+
+  fun testSchemaChangesNotification() {
+    val endpoint = configure("schema.graphql" to server.url).single()
+    introspect(endpoint)
+
+    response = editSchema { schema ->
+      val post = schema.getAsJsonArray("types").map { it.asJsonObject }.single { it.get("name").asString == "Post" }
+      val title = post.getAsJsonArray("fields").map { it.asJsonObject }.single { it.get("name").asString == "title" }
+      title.getAsJsonObject("type").addProperty("name", "Int")
+    }
+    introspect(endpoint)
+    assertTrue(VfsUtil.loadText(findOutputFile("schema.graphql")).contains("title: Int"))
+
+    val notification = notifications.last()
+    assertEquals(GraphQLBundle.message("graphql.notification.introspection.schema.changes.title"), notification.title)
+    assertEquals(NotificationType.WARNING, notification.type)
+    val counts = GraphQLBundle.message("graphql.notification.introspection.schema.changes.body", server.url, 1, 0)
+    assertTrue(notification.content, notification.content.startsWith(counts))
+    val change = StringUtil.escapeXmlEntities("The new API has changed field 'Post.title' from type 'String' to 'Int'")
+    assertTrue(notification.content, notification.content.contains(change))
+  }
+
+  fun testNotModified() {
+    etag = "\"v1\""
+    val endpoint = configure("schema.graphql" to server.url).single()
+
+    introspect(endpoint)
+    assertNull(requests.last().ifNoneMatch)
+    val file = findOutputFile("schema.graphql")
+    val timeStamp = file.timeStamp
+
+    introspect(endpoint)
+    assertEquals("\"v1\"", requests.last().ifNoneMatch)
+    assertEquals(timeStamp, file.timeStamp)
+    assertUnchangedNotification()
+
+    // the ETag was received for a different request
+    val changedEndpoint = configure("schema.graphql" to server.url, headers = "X-Schema: changed").single()
+    introspect(changedEndpoint)
+    assertNull(requests.last().ifNoneMatch)
+  }
+
+  fun testBatchSummary() {
+    val endpoints = configure("a.graphql" to server.url, "b.graphql" to server.url + "/broken", "c.graphql" to server.url)
+    introspect(*endpoints.toTypedArray())
+
+    val summary = notifications.last()
+    assertEquals(GraphQLBundle.message("graphql.notification.introspection.batch.title"), summary.title)
+    // two endpoints with the same url are introspected separately as they have their own output files
+    val counts = GraphQLBundle.message("graphql.notification.introspection.batch.body", 2, 0, 1)
+    assertTrue(summary.content, summary.content.startsWith(counts))
+    assertTrue(summary.content, summary.content.contains(server.url + "/broken"))
+    assertNull(LocalFileSystem.getInstance().refreshAndFindFileByPath(tempDir.tempDirPath + "/b.graphql"))
+
+    // only the failed endpoint is introspected again
+    brokenPathFails = false
+    requests.clear()
+    val retry = summary.actions.single { it.templateText == GraphQLBundle.message("graphql.notification.introspection.batch.retry") }
+    Notification.fire(summary, retry)
+    PlatformTestUtil.waitWithEventsDispatching("The failed endpoint is not introspected again", {
+      LocalFileSystem.getInstance().refreshAndFindFileByPath(tempDir.tempDirPath + "/b.graphql") != null
+    }, 30)
+    assertEquals(listOf("/graphql/broken"), requests.map { it.path })
+    assertTrue(VfsUtil.loadText(findOutputFile("b.graphql")).contains("type Query"))
+    // a single endpoint left runs as a separate introspection, so it can be rerun
+    assertEquals(server.url + "/broken", GraphQLIntrospectionService.getInstance(project).latestIntrospection.endpoint.url)
+  }
+
+  fun testBatchParallelism() {
+    Registry.get("graphql.introspection.parallelism").setValue(2, testRootDisposable)
+    val endpoints = configure(*(1..4).map { "s$it.graphql" to server.url + "/slow" }.toTypedArray())
+    introspect(*endpoints.toTypedArray())
+
+    assertEquals(4, requests.size)
+    // the server handles four requests at once, so only the batch limits them
+    assertEquals(2, maxRunning.get())
+    val counts = GraphQLBundle.message("graphql.notification.introspection.batch.body", 4, 0, 0)
+    assertTrue(notifications.last().content.startsWith(counts))
+  }
+
+  fun testBatchTimeout() {
+    Registry.get("graphql.introspection.timeout").setValue(500, testRootDisposable)
+    val endpoints = configure("a.graphql" to server.url, "h.graphql" to server.url + "/hang")
+    introspect(*endpoints.toTypedArray())
+
+    val summary = notifications.last()
+    val counts = GraphQLBundle.message("graphql.notification.introspection.batch.body", 1, 0, 1)
+    assertTrue(summary.content, summary.content.startsWith(counts))
+    val timeout = GraphQLBundle.message("graphql.notification.introspection.batch.timeout", 500)
+    val failure = GraphQLBundle.message("graphql.notification.introspection.batch.failed", server.url + "/hang", timeout)
+    assertTrue(summary.content, summary.content.contains(StringUtil.escapeXmlEntities(failure)))
+    // the batch gave up on the request the server still holds
+    assertEquals(1, running.get())
+    assertNull(LocalFileSystem.getInstance().refreshAndFindFileByPath(tempDir.tempDirPath + "/h.graphql"))
+  }
+
+  private fun configure(vararg outputs: Pair<String, String>, headers: String? = null): List<GraphQLConfigEndpoint> {
+    val config = StringBuilder("projects:\n")
+    outputs.forEachIndexed { index, (fileName, url) ->
+      config.append("  p$index:\n")
+      config.append("    schema: ${tempDir.tempDirPath}/$fileName\n")
+      config.append("    extensions:\n")
+      config.append("      endpoints:\n")
+      config.append("        default:\n")
+      config.append("          url: $url\n")
+      if (headers != null) {
+        config.append("          headers:\n")
+        config.append("            $headers\n")
+      }
+    }
+    myFixture.configureByText("graphql.config.yml", config.toString())
+    reloadConfiguration()
+
+    val projects = GraphQLConfigProvider.getInstance(project).getAllConfigs().single().getProjects()
+    return outputs.indices.map { projects.getValue("p$it").endpoints.single() }
+  }
+
+  private fun introspect(vararg endpoints: GraphQLConfigEndpoint) {
+    val service = GraphQLIntrospectionService.getInstance(project)
+    // a batch writes the results on EDT and waits for them, so it can't run on EDT in tests
+    runInBackground {
+      if (endpoints.size == 1) service.performIntrospectionQuery(endpoints[0]) else service.performIntrospectionQueries(endpoints.toList())
+    }
+  }
+
+  private fun runInBackground(runnable: () -> Unit) {
+    PlatformTestUtil.waitForFuture(ApplicationManager.getApplication().executeOnPooledThread(runnable), TimeUnit.SECONDS.toMillis(30))
+    PlatformTestUtil.dispatchAllEventsInIdeEventQueue()
+  }
+
+  private fun editSchema(edit: (JsonObject) -> Unit): String {
+    val result = JsonParser.parseString(schemaJson).asJsonObject
+    edit(result.getAsJsonObject("data").getAsJsonObject("__schema"))
+    return Gson().toJson(result)
+  }
+
+  private fun findOutputFile(fileName: String): VirtualFile {
+    return LocalFileSystem.getInstance().refreshAndFindFileByPath(tempDir.tempDirPath + "/" + fileName)!!
+  }
+
+  private fun assertUnchangedNotification() {
+    val message = GraphQLBundle.message("graphql.notification.introspection.schema.unchanged", server.url)
+    assertTrue(notifications.any { it.content == message })
+  }
+}
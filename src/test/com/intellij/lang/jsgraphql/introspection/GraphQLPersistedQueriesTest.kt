@@ -0,0 +1,99 @@
+package com.intellij.lang.jsgraphql.introspection
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLPersistedQueries
+import java.nio.file.Files
+import java.nio.file.Path
+
+class GraphQLPersistedQueriesTest : GraphQLTestCaseBase() {
+
+  fun testHash() {
+    assertEquals(
+      "b2abc043a4d432b6ba17d37369fcf972de147c06d0b82390ffde0272fcefb33e",
+      GraphQLPersistedQueries.computeHash("{ users { id } }")
+    )
+  }
+
+  fun testRegistered() {
+    val persistedQueries = GraphQLPersistedQueries.getInstance(project)
+    val hash = GraphQLPersistedQueries.computeHash("{ users { id } }")
+    assertFalse(persistedQueries.isRegistered(URL, hash))
+
+    persistedQueries.registered(URL, hash)
+    assertTrue(persistedQueries.isRegistered(URL, hash))
+    assertFalse(persistedQueries.isRegistered("http://localhost/other", hash))
+
+    persistedQueries.failed(URL, hash, GraphQLPersistedQueries.Error.NOT_FOUND)
+    assertFalse(persistedQueries.isRegistered(URL, hash))
+    assertTrue(persistedQueries.isSupported(URL))
+
+    persistedQueries.failed(URL, hash, GraphQLPersistedQueries.Error.NOT_SUPPORTED)
+    assertFalse(persistedQueries.isSupported(URL))
+  }
+
+  fun testNotFound() {
+    assertEquals(
+      GraphQLPersistedQueries.Error.NOT_FOUND,
+      findError("""{"errors":[{"message":"PersistedQueryNotFound","extensions":{"code":"PERSISTED_QUERY_NOT_FOUND"}}]}""")
+    )
+    assertEquals(
+      GraphQLPersistedQueries.Error.NOT_FOUND,
+      findError("""{"errors":[{"message":"Query not found","extensions":{"code":"PERSISTED_QUERY_NOT_FOUND"}}]}""")
+    )
+  }
+
+  fun testNotSupported() {
+    assertEquals(
+      GraphQLPersistedQueries.Error.NOT_SUPPORTED,
+      findError("""{"errors":[{"message":"PersistedQueryNotSupported"}]}""")
+    )
+  }
+
+  fun testOtherErrors() {
+    assertNull(findError("""{"data":{"users":[]}}"""))
+    assertNull(findError("""{"data":null,"errors":[{"message":"Cannot query field \"name\""}]}"""))
+    assertNull(findError("""<html>Bad Gateway</html>"""))
+  }
+
+  fun testHashOnlyErrors() {
+    val error = """{"data":null,"errors":[{"message":"Internal server error"}]}"""
+    assertEquals(GraphQLPersistedQueries.Error.NOT_FOUND, withResult(error) { GraphQLPersistedQueries.findError(it, 200, true) })
+    assertNull(withResult(error) { GraphQLPersistedQueries.findError(it, 200, false) })
+    assertEquals(
+      GraphQLPersistedQueries.Error.NOT_FOUND,
+      withResult("""<html>Bad Gateway</html>""") { GraphQLPersistedQueries.findError(it, 502, true) }
+    )
+    assertEquals(
+      GraphQLPersistedQueries.Error.NOT_SUPPORTED,
+      withResult("""{"errors":[{"message":"PersistedQueryNotSupported"}]}""") { GraphQLPersistedQueries.findError(it, 200, true) }
+    )
+    assertNull(withResult("""{"data":{"users":[]}}""") { GraphQLPersistedQueries.findError(it, 200, true) })
+  }
+
+  fun testAccepted() {
+    assertTrue(withResult("""{"data":{"users":[]}}""") { GraphQLPersistedQueries.isAccepted(200, it) })
+    assertTrue(withResult("""{"data":{"users":[]},"errors":[]}""") { GraphQLPersistedQueries.isAccepted(200, it) })
+    assertFalse(withResult("""{"data":{"users":[]}}""") { GraphQLPersistedQueries.isAccepted(500, it) })
+    assertFalse(withResult("""{"data":{"users":null},"errors":[{"message":"failed"}]}""") { GraphQLPersistedQueries.isAccepted(200, it) })
+    assertFalse(withResult("""<html>Bad Gateway</html>""") { GraphQLPersistedQueries.isAccepted(200, it) })
+  }
+
+  private fun findError(result: String): GraphQLPersistedQueries.Error? {
+    return withResult(result) { GraphQLPersistedQueries.findError(it) }
+  }
+
+  private fun <T> withResult(result: String, action: (Path) -> T): T {
+    val path = Files.createTempFile("result", ".json")
+    try {
+      Files.writeString(path, result)
+      return action(path)
+    }
+    finally {
+      Files.delete(path)
+    }
+  }
+
+  companion object {
+    private const val URL = "http://localhost/graphql"
+  }
+}
@@ -0,0 +1,85 @@
+package com.intellij.lang.jsgraphql.parser;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.psi.GraphQLElementTypes;
+import com.intellij.openapi.util.Couple;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.source.PsiFileImpl;
+import com.intellij.psi.impl.source.text.BlockSupportImpl;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+
+public class GraphQLReparseTest extends GraphQLTestCaseBase {
+
+  private static final String MARKER = "marker";
+
+  public void testSelectionSetReparsedInIsolation() {
+    doTest(generateOperations(), " id", GraphQLElementTypes.SELECTION_SET);
+  }
+
+  public void testFieldsDefinitionReparsedInIsolation() {
+    doTest(generateTypes(), " id: ID", GraphQLElementTypes.FIELDS_DEFINITION);
+  }
+
+  public void testUnbalancedEditIsNotReparsedInBlock() {
+    String text = generateOperations();
+    PsiFile file = myFixture.configureByText("operations.graphql", text);
+
+    Couple<ASTNode> roots = findReparseableRoots(file, text.indexOf(MARKER), " { ");
+    assertTrue(roots == null || roots.first.getElementType() != GraphQLElementTypes.SELECTION_SET);
+  }
+
+  private void doTest(@NotNull String text, @NotNull String insertion, @NotNull IElementType expectedType) {
+    PsiFile file = myFixture.configureByText("test.graphql", text);
+    int offset = text.indexOf(MARKER);
+
+    Couple<ASTNode> roots = findReparseableRoots(file, offset, insertion);
+    assertNotNull(roots);
+    assertEquals(expectedType, roots.first.getElementType());
+    assertTrue("Reparsed " + roots.first.getTextLength() + " chars", roots.first.getTextLength() < 200);
+
+    myFixture.getEditor().getCaretModel().moveToOffset(offset);
+    myFixture.type(insertion);
+    myFixture.checkResult(text.substring(0, offset) + insertion + text.substring(offset));
+    assertEquals(myFixture.getFile().getText(), myFixture.getEditor().getDocument().getText());
+  }
+
+  private static Couple<ASTNode> findReparseableRoots(@NotNull PsiFile file, int offset, @NotNull String insertion) {
+    String text = file.getText();
+    String newText = text.substring(0, offset) + insertion + text.substring(offset);
+    return BlockSupportImpl.findReparseableRoots((PsiFileImpl)file, file.getNode(), new TextRange(offset, offset), newText);
+  }
+
+  // 20k lines
+  private static @NotNull String generateOperations() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      builder.append("query Query").append(i).append(" {\n")
+        .append("  user(id: ").append(i).append(") {\n")
+        .append("    name\n")
+        .append("    friends {\n")
+        .append("      name").append(i == 1000 ? " " + MARKER : "").append("\n")
+        .append("      email\n")
+        .append("    }\n")
+        .append("  }\n")
+        .append("}\n")
+        .append("\n");
+    }
+    return builder.toString();
+  }
+
+  // 20k lines
+  private static @NotNull String generateTypes() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      builder.append("type Type").append(i).append(" {\n");
+      for (int j = 0; j < 8; j++) {
+        builder.append("  field").append(j).append(": String").append(i == 1000 && j == 4 ? " " + MARKER : "").append("\n");
+      }
+      builder.append("}\n");
+    }
+    return builder.toString();
+  }
+}
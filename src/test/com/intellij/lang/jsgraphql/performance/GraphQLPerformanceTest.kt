@@ -0,0 +1,121 @@
+package com.intellij.lang.jsgraphql.performance
+
+import com.intellij.codeInsight.lookup.LookupManager
+import com.intellij.lang.annotation.HighlightSeverity
+import com.intellij.lang.jsgraphql.changeFileText
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaContentTracker
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaProvider
+import com.intellij.openapi.application.runReadAction
+import com.intellij.psi.PsiFile
+import com.intellij.psi.PsiManager
+import com.intellij.testFramework.PlatformTestUtil
+
+class GraphQLPerformanceTest : GraphQLPerformanceTestCaseBase() {
+
+  companion object {
+    private const val CARET = "<caret>"
+
+    private val LARGE_PROJECT = GraphQLSyntheticProject(projects = 1, sdlFiles = 2000, typesPerFile = 3, jsFiles = 200)
+    private val MANY_PROJECTS = GraphQLSyntheticProject(projects = 50, sdlFiles = 20, typesPerFile = 10, jsFiles = 5)
+  }
+
+  fun testColdSchemaBuild() {
+    generateProject(LARGE_PROJECT)
+    val context = findFile(GraphQLSyntheticProject.sdlFilePath(0, 0))
+
+    startPerformanceTest("coldSchemaBuild") {
+      checkSchema(context, LARGE_PROJECT)
+    }.setup {
+      dropCaches()
+    }.attempts(3).assertTiming()
+  }
+
+  fun testIncrementalRebuild() {
+    generateProject(LARGE_PROJECT)
+    val file = findFile(GraphQLSyntheticProject.sdlFilePath(0, LARGE_PROJECT.sdlFiles / 2))
+    checkSchema(file, LARGE_PROJECT)
+
+    var edits = 0
+    startPerformanceTest("incrementalRebuild") {
+      changeFileText(file) { document ->
+        document.insertString(document.text.lastIndexOf('}'), "  added${edits++}: String\n")
+      }
+      checkSchema(file, LARGE_PROJECT)
+    }.attempts(5).assertTiming()
+  }
+
+  fun testFileHighlighting() {
+    generateProject(LARGE_PROJECT)
+    val path = "${GraphQLSyntheticProject.projectDir(0)}/src/operations.graphql"
+    myFixture.addFileToProject(path, LARGE_PROJECT.createOperations(0, 0, copies = 50))
+    myFixture.configureFromTempProjectFile(path)
+    enableAllInspections()
+    assertEmpty(myFixture.doHighlighting(HighlightSeverity.ERROR))
+
+    startPerformanceTest("fileHighlighting") {
+      myFixture.doHighlighting()
+    }.setup {
+      PsiManager.getInstance(project).dropPsiCaches()
+    }.attempts(5).assertTiming()
+  }
+
+  fun testInjectedHighlighting() {
+    generateProject(LARGE_PROJECT)
+    myFixture.configureFromTempProjectFile(GraphQLSyntheticProject.jsFilePath(0, 0))
+    enableAllInspections()
+    assertEmpty(myFixture.doHighlighting(HighlightSeverity.ERROR))
+
+    startPerformanceTest("injectedHighlighting") {
+      myFixture.doHighlighting()
+    }.setup {
+      PsiManager.getInstance(project).dropPsiCaches()
+    }.attempts(5).assertTiming()
+  }
+
+  fun testCompletion() {
+    generateProject(LARGE_PROJECT)
+    val path = "${GraphQLSyntheticProject.projectDir(0)}/src/completion.graphql"
+    val text = "query {\n  f0(id: 1) {\n    next {\n      $CARET\n    }\n  }\n}\n"
+    myFixture.addFileToProject(path, text.replace(CARET, ""))
+    myFixture.configureFromTempProjectFile(path)
+    myFixture.editor.caretModel.moveToOffset(text.indexOf(CARET))
+
+    startPerformanceTest("completion") {
+      assertContainsElements(myFixture.completeBasic().map { it.lookupString }, "id", "next", "list")
+    }.setup {
+      LookupManager.hideActiveLookup(project)
+      PsiManager.getInstance(project).dropPsiCaches()
+    }.attempts(10).assertTiming()
+  }
+
+  fun testConfigProjectsSchemaBuild() {
+    generateProject(MANY_PROJECTS)
+    val contexts = (0 until MANY_PROJECTS.projects).map { findFile(GraphQLSyntheticProject.sdlFilePath(it, 0)) }
+
+    startPerformanceTest("configProjectsSchemaBuild") {
+      contexts.forEach { checkSchema(it, MANY_PROJECTS) }
+    }.setup {
+      dropCaches()
+    }.attempts(3).assertTiming()
+  }
+
+  private fun findFile(path: String): PsiFile {
+    val virtualFile = myFixture.findFileInTempDir(path)
+    assertNotNull(path, virtualFile)
+    return PsiManager.getInstance(project).findFile(virtualFile)!!
+  }
+
+  private fun dropCaches() {
+    PsiManager.getInstance(project).dropPsiCaches()
+    GraphQLSchemaContentTracker.getInstance(project).schemaChanged()
+    PlatformTestUtil.dispatchAllEventsInIdeEventQueue()
+  }
+
+  private fun checkSchema(context: PsiFile, syntheticProject: GraphQLSyntheticProject) {
+    runReadAction {
+      val schemaInfo = GraphQLSchemaProvider.getInstance(project).getSchemaInfo(context)
+      assertEmpty(schemaInfo.getErrors(project))
+      assertTrue(schemaInfo.schema.allTypesAsList.size > syntheticProject.typesPerProject)
+    }
+  }
+}
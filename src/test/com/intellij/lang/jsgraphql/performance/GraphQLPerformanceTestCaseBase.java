@@ -0,0 +1,70 @@
+package com.intellij.lang.jsgraphql.performance;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.IndexingTestUtil;
+import com.intellij.testFramework.PerformanceTestInfo;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.util.ThrowableRunnable;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Base class for the timing tests. Expected timings are stored in {@code performance/baselines.properties},
+ * the allowed slowdown is {@code tolerance.percent} from the same file, or the {@code graphql.performance.tolerance} system property.
+ * <p>
+ * The tests are excluded from the default {@code test} task, run them with {@code ./gradlew test -PperformanceTests}.
+ */
+public abstract class GraphQLPerformanceTestCaseBase extends GraphQLTestCaseBase {
+
+  private static final String BASELINES_FILE = "baselines.properties";
+  private static final String TOLERANCE_KEY = "tolerance.percent";
+  private static final String TOLERANCE_PROPERTY = "graphql.performance.tolerance";
+
+  private static Properties ourBaselines;
+
+  @Override
+  protected String getBasePath() {
+    return "/performance";
+  }
+
+  protected void generateProject(@NotNull GraphQLSyntheticProject syntheticProject) {
+    VirtualFile root = myFixture.getTempDirFixture().getFile("");
+    assertNotNull(root);
+    syntheticProject.generate(root);
+    reloadConfiguration();
+    IndexingTestUtil.waitUntilIndexesAreReady(getProject());
+  }
+
+  protected @NotNull PerformanceTestInfo startPerformanceTest(@NotNull String key, @NotNull ThrowableRunnable<?> test) {
+    return PlatformTestUtil.startPerformanceTest(key, getExpectedMs(key), test);
+  }
+
+  private int getExpectedMs(@NotNull String key) {
+    Properties baselines = getBaselines();
+    String baseline = baselines.getProperty(key);
+    assertNotNull("No baseline for " + key + " in " + BASELINES_FILE, baseline);
+
+    String tolerance = System.getProperty(TOLERANCE_PROPERTY, baselines.getProperty(TOLERANCE_KEY, "0"));
+    return Integer.parseInt(baseline) * (100 + Integer.parseInt(tolerance)) / 100;
+  }
+
+  private synchronized @NotNull Properties getBaselines() {
+    if (ourBaselines == null) {
+      Properties properties = new Properties();
+      try (InputStream stream = new FileInputStream(new File(getTestDataPath(), BASELINES_FILE))) {
+        properties.load(stream);
+      }
+      catch (IOException e) {
+        throw new RuntimeException("Unable to load " + BASELINES_FILE, e);
+      }
+      ourBaselines = properties;
+    }
+    return ourBaselines;
+  }
+}
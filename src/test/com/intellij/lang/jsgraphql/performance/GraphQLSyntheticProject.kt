@@ -0,0 +1,131 @@
+package com.intellij.lang.jsgraphql.performance
+
+import com.intellij.openapi.application.runWriteAction
+import com.intellij.openapi.vfs.VirtualFile
+import com.intellij.testFramework.VfsTestUtil
+
+/**
+ * Generates a large project layout: [projects] config projects, each with its own `graphql.config.yml`,
+ * [sdlFiles] schema files of [typesPerFile] types, and [jsFiles] JavaScript files with injected `gql` literals.
+ *
+ * Types are named uniquely per project, so every config project has an independent, valid schema.
+ */
+class GraphQLSyntheticProject(
+  val projects: Int,
+  val sdlFiles: Int,
+  val typesPerFile: Int,
+  val jsFiles: Int,
+) {
+
+  companion object {
+    private const val FIELDS_PER_TYPE = 6
+
+    fun projectDir(project: Int) = "project$project"
+
+    fun sdlFilePath(project: Int, file: Int) = "${projectDir(project)}/schema/types$file.graphql"
+
+    fun jsFilePath(project: Int, file: Int) = "${projectDir(project)}/src/queries$file.js"
+
+    fun typeName(project: Int, file: Int, type: Int) = "P${project}F${file}T${type}"
+  }
+
+  val typesPerProject: Int
+    get() = sdlFiles * typesPerFile
+
+  fun generate(root: VirtualFile) {
+    runWriteAction {
+      VfsTestUtil.createFile(root, "graphql.config.yml", createConfig())
+      for (project in 0 until projects) {
+        VfsTestUtil.createFile(root, "${projectDir(project)}/schema/query.graphql", createQueryType(project))
+        for (file in 0 until sdlFiles) {
+          VfsTestUtil.createFile(root, sdlFilePath(project, file), createTypes(project, file))
+        }
+        for (file in 0 until jsFiles) {
+          VfsTestUtil.createFile(root, jsFilePath(project, file), createJsFile(project, file))
+        }
+      }
+    }
+  }
+
+  fun createConfig(): String = buildString {
+    appendLine("projects:")
+    for (project in 0 until projects) {
+      appendLine("  ${projectDir(project)}:")
+      appendLine("    schema: ${projectDir(project)}/schema/**/*.graphql")
+      appendLine("    documents: ${projectDir(project)}/src/**/*.{graphql,js}")
+    }
+  }
+
+  private fun createQueryType(project: Int): String = buildString {
+    appendLine("type Query {")
+    for (file in 0 until sdlFiles) {
+      appendLine("  f$file(id: ID!): ${typeName(project, file, 0)}")
+    }
+    appendLine("}")
+  }
+
+  private fun createTypes(project: Int, file: Int): String = buildString {
+    appendLine("enum E${typeName(project, file, 0)} { A B C }")
+    appendLine()
+    for (type in 0 until typesPerFile) {
+      val next = typeName(project, file, (type + 1) % typesPerFile)
+      appendLine("\"\"\"")
+      appendLine("Type $type of file $file.")
+      appendLine("\"\"\"")
+      appendLine("type ${typeName(project, file, type)} {")
+      appendLine("  id: ID!")
+      appendLine("  name(format: String = \"short\"): String")
+      appendLine("  kind: E${typeName(project, file, 0)}")
+      appendLine("  next: $next")
+      appendLine("  list(first: Int = 10, after: String): [$next!]!")
+      for (field in 5 until FIELDS_PER_TYPE) {
+        appendLine("  field$field: Int @deprecated(reason: \"use id\")")
+      }
+      appendLine("}")
+      appendLine()
+    }
+  }
+
+  /**
+   * An operations file with one query and one fragment per type of the given schema file, for highlighting.
+   * The operations are repeated [copies] times under distinct names.
+   */
+  fun createOperations(project: Int, file: Int, copies: Int = 1): String = buildString {
+    for (copy in 0 until copies) {
+      for (type in 0 until typesPerFile) {
+        val suffix = "${copy}_$type"
+        appendLine("query Q$suffix(\$id: ID!) {")
+        appendLine("  f$file(id: \$id) {")
+        appendLine("    ...F$suffix")
+        appendLine("    next { id name kind }")
+        appendLine("  }")
+        appendLine("}")
+        appendLine()
+        appendLine("fragment F$suffix on ${typeName(project, file, 0)} {")
+        appendLine("  id")
+        appendLine("  name(format: \"long\")")
+        appendLine("  list(first: 5) { id }")
+        appendLine("}")
+        appendLine()
+      }
+    }
+  }
+
+  private fun createJsFile(project: Int, file: Int): String = buildString {
+    appendLine("import gql from 'graphql-tag';")
+    appendLine()
+    val schemaFile = file % sdlFiles
+    for (query in 0 until 5) {
+      appendLine("export const QUERY_$query = gql`")
+      appendLine("  query JsQuery${file}_$query(\$id: ID!) {")
+      appendLine("    f$schemaFile(id: \$id) {")
+      appendLine("      id")
+      appendLine("      name")
+      appendLine("      next { id kind }")
+      appendLine("    }")
+      appendLine("  }")
+      appendLine("`;")
+      appendLine()
+    }
+  }
+}
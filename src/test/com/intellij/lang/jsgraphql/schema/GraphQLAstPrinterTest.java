@@ -0,0 +1,285 @@
+package com.intellij.lang.jsgraphql.schema;
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase;
+import com.intellij.lang.jsgraphql.types.language.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.List;
+
+import static com.intellij.lang.jsgraphql.types.language.AstPrinter.printAst;
+import static com.intellij.lang.jsgraphql.types.language.AstPrinter.printAstCompact;
+
+/**
+ * The expected files are the output of the string joining printer replaced by the single pass {@link AstPrinter}.
+ */
+public class GraphQLAstPrinterTest extends GraphQLTestCaseBase {
+
+  @Override
+  protected @NotNull String getBasePath() {
+    return "/schema/astPrinter";
+  }
+
+  public void testTypeSystem() {
+    Document document = createTypeSystemDocument();
+    assertSameLinesWithFile(getTestDataPath() + "/typeSystem.graphql", printAst(document));
+    assertSameLinesWithFile(getTestDataPath() + "/typeSystemCompact.graphql", printAstCompact(document));
+  }
+
+  public void testOperations() {
+    Document document = createOperationsDocument();
+    assertSameLinesWithFile(getTestDataPath() + "/operations.graphql", printAst(document));
+    assertSameLinesWithFile(getTestDataPath() + "/operationsCompact.graphql", printAstCompact(document));
+  }
+
+  public void testWriterMatchesString() {
+    for (Document document : List.of(createTypeSystemDocument(), createOperationsDocument())) {
+      StringWriter writer = new StringWriter();
+      printAst(writer, document);
+      assertEquals(printAst(document), writer.toString());
+    }
+  }
+
+  public void testSingleNodes() {
+    assertEquals("[Int!]!", printAst(new NonNullType(new ListType(new NonNullType(new TypeName("Int"))))));
+    assertEquals("{a: [1, \"b\"], c: null}", printAst(createObjectValue()));
+    assertEquals("@skip(if: $hide)", printAst(new Directive("skip", List.of(new Argument("if", new VariableReference("hide"))))));
+    assertEquals("{a}", printAstCompact(SelectionSet.newSelectionSet().selection(new Field("a")).build()));
+  }
+
+  private static Document createTypeSystemDocument() {
+    TypeName id = new TypeName("ID");
+    TypeName string = new TypeName("String");
+    TypeName user = new TypeName("User");
+
+    SchemaDefinition schema = SchemaDefinition.newSchemaDefinition()
+      .description(new Description("The schema", null, false))
+      .directive(new Directive("link"))
+      .operationTypeDefinition(new OperationTypeDefinition("query", new TypeName("Query")))
+      .operationTypeDefinition(new OperationTypeDefinition("mutation", new TypeName("Mutation")))
+      .build();
+
+    ObjectTypeDefinition userType = ObjectTypeDefinition.newObjectTypeDefinition()
+      .name("User")
+      .description(new Description("A user\nof the system", null, true))
+      .implementz(new TypeName("Node"))
+      .implementz(new TypeName("Entity"))
+      .directive(new Directive("key", List.of(new Argument("fields", new StringValue("id")))))
+      .fieldDefinition(FieldDefinition.newFieldDefinition()
+                         .name("id")
+                         .description(new Description("The id", null, false))
+                         .type(new NonNullType(id))
+                         .build())
+      .fieldDefinition(FieldDefinition.newFieldDefinition()
+                         .name("friends")
+                         .description(new Description("", null, true))
+                         .inputValueDefinition(InputValueDefinition.newInputValueDefinition()
+                                                 .name("first")
+                                                 .type(new TypeName("Int"))
+                                                 .defaultValue(new IntValue(BigInteger.TEN))
+                                                 .build())
+                         .inputValueDefinition(InputValueDefinition.newInputValueDefinition()
+                                                 .name("filter")
+                                                 .type(new TypeName("Filter"))
+                                                 .defaultValue(createObjectValue())
+                                                 .build())
+                         .type(new NonNullType(new ListType(new NonNullType(user))))
+                         .directive(new Directive("deprecated", List.of(new Argument("reason", new StringValue("use edges")))))
+                         .build())
+      .fieldDefinition(FieldDefinition.newFieldDefinition()
+                         .name("name")
+                         .description(new Description("", null, false))
+                         .type(string)
+                         .build())
+      .build();
+
+    InterfaceTypeDefinition nodeType = InterfaceTypeDefinition.newInterfaceTypeDefinition()
+      .name("Node")
+      .definition(FieldDefinition.newFieldDefinition().name("id").type(new NonNullType(id)).build())
+      .build();
+
+    EnumTypeDefinition roleType = EnumTypeDefinition.newEnumTypeDefinition()
+      .name("Role")
+      .directive(new Directive("flag"))
+      .enumValueDefinition(EnumValueDefinition.newEnumValueDefinition()
+                             .name("ADMIN")
+                             .description(new Description("Can do anything", null, false))
+                             .build())
+      .enumValueDefinition(EnumValueDefinition.newEnumValueDefinition()
+                             .name("USER")
+                             .directive(new Directive("deprecated"))
+                             .build())
+      .build();
+
+    InputObjectTypeDefinition filterType = InputObjectTypeDefinition.newInputObjectDefinition()
+      .name("Filter")
+      .inputValueDefinition(InputValueDefinition.newInputValueDefinition()
+                              .name("name")
+                              .description(new Description("Exact match", null, false))
+                              .type(string)
+                              .defaultValue(new StringValue("a"))
+                              .build())
+      .inputValueDefinition(InputValueDefinition.newInputValueDefinition()
+                              .name("role")
+                              .type(new TypeName("Role"))
+                              .defaultValue(new EnumValue("USER"))
+                              .directive(new Directive("internal"))
+                              .build())
+      .build();
+
+    UnionTypeDefinition resultType = UnionTypeDefinition.newUnionTypeDefinition()
+      .name("Result")
+      .memberType(user)
+      .memberType(new TypeName("Post"))
+      .build();
+
+    ScalarTypeDefinition dateType = ScalarTypeDefinition.newScalarTypeDefinition()
+      .name("Date")
+      .directive(new Directive("specifiedBy", List.of(new Argument("url", new StringValue("https://example.com")))))
+      .build();
+
+    DirectiveDefinition keyDirective = DirectiveDefinition.newDirectiveDefinition()
+      .name("key")
+      .description(new Description("Entity key", null, false))
+      .repeatable(true)
+      .inputValueDefinition(InputValueDefinition.newInputValueDefinition().name("fields").type(new NonNullType(string)).build())
+      .directiveLocation(new DirectiveLocation("OBJECT"))
+      .directiveLocation(new DirectiveLocation("INTERFACE"))
+      .build();
+
+    ObjectTypeExtensionDefinition userExtension = ObjectTypeExtensionDefinition.newObjectTypeExtensionDefinition()
+      .name("User")
+      .directive(new Directive("ext"))
+      .fieldDefinition(FieldDefinition.newFieldDefinition().name("age").type(new TypeName("Int")).build())
+      .build();
+
+    InputObjectTypeExtensionDefinition filterExtension = InputObjectTypeExtensionDefinition.newInputObjectTypeExtensionDefinition()
+      .name("Filter")
+      .inputValueDefinition(InputValueDefinition.newInputValueDefinition().name("age").type(new TypeName("Int")).build())
+      .build();
+
+    EnumTypeExtensionDefinition roleExtension = EnumTypeExtensionDefinition.newEnumTypeExtensionDefinition()
+      .name("Role")
+      .enumValueDefinitions(List.of(EnumValueDefinition.newEnumValueDefinition().name("GUEST").build()))
+      .build();
+
+    UnionTypeExtensionDefinition resultExtension = UnionTypeExtensionDefinition.newUnionTypeExtensionDefinition()
+      .name("Result")
+      .memberType(new TypeName("Comment"))
+      .build();
+
+    ScalarTypeExtensionDefinition dateExtension = ScalarTypeExtensionDefinition.newScalarTypeExtensionDefinition()
+      .name("Date")
+      .directive(new Directive("ext"))
+      .build();
+
+    InterfaceTypeExtensionDefinition nodeExtension = InterfaceTypeExtensionDefinition.newInterfaceTypeExtensionDefinition()
+      .name("Node")
+      .definition(FieldDefinition.newFieldDefinition().name("createdAt").type(new TypeName("Date")).build())
+      .build();
+
+    SchemaExtensionDefinition schemaExtension = SchemaExtensionDefinition.newSchemaExtensionDefinition()
+      .directive(new Directive("ext"))
+      .operationTypeDefinition(new OperationTypeDefinition("subscription", new TypeName("Subscription")))
+      .build();
+
+    return Document.newDocument()
+      .definition(schema)
+      .definition(userType)
+      .definition(nodeType)
+      .definition(roleType)
+      .definition(filterType)
+      .definition(resultType)
+      .definition(dateType)
+      .definition(keyDirective)
+      .definition(userExtension)
+      .definition(filterExtension)
+      .definition(roleExtension)
+      .definition(resultExtension)
+      .definition(dateExtension)
+      .definition(nodeExtension)
+      .definition(schemaExtension)
+      .build();
+  }
+
+  private static Document createOperationsDocument() {
+    SelectionSet idSelection = SelectionSet.newSelectionSet().selection(new Field("id")).build();
+
+    Field users = Field.newField("users")
+      .arguments(List.of(new Argument("first", new VariableReference("first")),
+                         new Argument("filter", new VariableReference("filter"))))
+      .selectionSet(SelectionSet.newSelectionSet()
+                      .selection(new FragmentSpread("UserFields"))
+                      .selection(InlineFragment.newInlineFragment()
+                                   .typeCondition(new TypeName("Admin"))
+                                   .directive(new Directive("include", List.of(new Argument("if", new BooleanValue(true)))))
+                                   .selectionSet(SelectionSet.newSelectionSet().selection(new Field("role")).build())
+                                   .build())
+                      .selection(InlineFragment.newInlineFragment()
+                                   .directive(new Directive("skip", List.of(new Argument("if", new BooleanValue(false)))))
+                                   .selectionSet(idSelection)
+                                   .build())
+                      .selection(Field.newField("friends")
+                                   .alias("contacts")
+                                   .selectionSet(SelectionSet.newSelectionSet()
+                                                   .selection(Field.newField("edges")
+                                                                .selectionSet(SelectionSet.newSelectionSet()
+                                                                                .selection(Field.newField("node", idSelection).build())
+                                                                                .build())
+                                                                .build())
+                                                   .build())
+                                   .build())
+                      .build())
+      .build();
+
+    OperationDefinition query = OperationDefinition.newOperationDefinition()
+      .name("Users")
+      .operation(OperationDefinition.Operation.QUERY)
+      .variableDefinition(VariableDefinition.newVariableDefinition("first", new TypeName("Int"), new IntValue(BigInteger.valueOf(5)))
+                            .build())
+      .variableDefinition(VariableDefinition.newVariableDefinition("filter", new NonNullType(new TypeName("Filter"))).build())
+      .directive(new Directive("live"))
+      .selectionSet(SelectionSet.newSelectionSet().selection(users).build())
+      .build();
+
+    FragmentDefinition fragment = FragmentDefinition.newFragmentDefinition()
+      .name("UserFields")
+      .typeCondition(new TypeName("User"))
+      .selectionSet(SelectionSet.newSelectionSet().selection(new Field("id")).selection(new Field("name")).build())
+      .build();
+
+    OperationDefinition anonymousQuery = OperationDefinition.newOperationDefinition()
+      .operation(OperationDefinition.Operation.QUERY)
+      .selectionSet(SelectionSet.newSelectionSet().selection(new Field("me")).build())
+      .build();
+
+    OperationDefinition mutation = OperationDefinition.newOperationDefinition()
+      .name("Rename")
+      .operation(OperationDefinition.Operation.MUTATION)
+      .variableDefinition(VariableDefinition.newVariableDefinition("name", new TypeName("String"), new StringValue("a\"b")).build())
+      .selectionSet(SelectionSet.newSelectionSet()
+                      .selection(Field.newField("rename")
+                                   .arguments(List.of(new Argument("input", createObjectValue())))
+                                   .build())
+                      .build())
+      .build();
+
+    return Document.newDocument()
+      .definition(query)
+      .definition(fragment)
+      .definition(anonymousQuery)
+      .definition(mutation)
+      .build();
+  }
+
+  private static ObjectValue createObjectValue() {
+    return ObjectValue.newObjectValue()
+      .objectField(new ObjectField("a", ArrayValue.newArrayValue()
+        .value(new IntValue(BigInteger.ONE))
+        .value(new StringValue("b"))
+        .build()))
+      .objectField(new ObjectField("c", NullValue.newNullValue().build()))
+      .build();
+  }
+}
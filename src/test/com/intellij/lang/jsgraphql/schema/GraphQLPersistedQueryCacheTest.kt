@@ -0,0 +1,151 @@
+package com.intellij.lang.jsgraphql.schema
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.types.execution.preparsed.PreparsedDocumentEntry
+import com.intellij.lang.jsgraphql.types.execution.preparsed.persisted.InMemoryPersistedQueryCache
+import com.intellij.lang.jsgraphql.types.execution.preparsed.persisted.PersistedQueryCacheMiss
+import com.intellij.lang.jsgraphql.types.execution.preparsed.persisted.PersistedQueryNotFound
+import com.intellij.lang.jsgraphql.types.language.Definition
+import com.intellij.lang.jsgraphql.types.language.Document
+import com.intellij.lang.jsgraphql.types.language.Field
+import com.intellij.lang.jsgraphql.types.language.OperationDefinition
+import com.intellij.lang.jsgraphql.types.language.SelectionSet
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.random.Random
+
+class GraphQLPersistedQueryCacheTest : GraphQLTestCaseBase() {
+
+  private val compiled = AtomicInteger()
+
+  private val onCacheMiss = PersistedQueryCacheMiss { text ->
+    compiled.incrementAndGet()
+    PreparsedDocumentEntry(createDocument(text, text.length))
+  }
+
+  fun testUnbounded() {
+    val cache = createCache(InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache(), 10)
+    for (i in 0 until 3) {
+      for (key in 0 until 10) {
+        cache.getPersistedQueryDocument(key, null, onCacheMiss)
+      }
+    }
+    assertEquals(10, compiled.get())
+    assertEquals(10, cache.size)
+    assertEquals(20, cache.hitCount)
+    assertEquals(10, cache.missCount)
+    assertEquals(0, cache.evictionCount)
+  }
+
+  fun testLeastRecentlyUsedEvicted() {
+    val cache = createCache(InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache().maximumSize(2), 3)
+    val first = cache.getPersistedQueryDocument(0, null, onCacheMiss)
+    cache.getPersistedQueryDocument(1, null, onCacheMiss)
+    // a new entry drains the recorded lookups, so the first one is the most recent now
+    assertSame(first, cache.getPersistedQueryDocument(0, null, onCacheMiss))
+    cache.getPersistedQueryDocument(2, null, onCacheMiss)
+
+    assertEquals(2, cache.size)
+    assertEquals(1, cache.evictionCount)
+    assertSame(first, cache.getPersistedQueryDocument(0, null, onCacheMiss))
+    assertEquals(3, compiled.get())
+    cache.getPersistedQueryDocument(1, null, onCacheMiss)
+    assertEquals(4, compiled.get())
+  }
+
+  fun testNodeCountWeight() {
+    val cache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache()
+      .addQuery("small", "a")
+      .addQuery("large", "b".repeat(10))
+      .addQuery("medium", "c".repeat(5))
+      .maximumNodeCount(20)
+      .build()
+    val small = cache.getPersistedQueryDocument("small", null, onCacheMiss)
+    // a document, an operation, a selection set and a field
+    assertEquals(4, InMemoryPersistedQueryCache.countNodes(small))
+    assertEquals(4, cache.weightedSize)
+
+    cache.getPersistedQueryDocument("large", null, onCacheMiss)
+    assertEquals(17, cache.weightedSize)
+    cache.getPersistedQueryDocument("small", null, onCacheMiss)
+
+    // the least recently used document goes first, however large it is
+    cache.getPersistedQueryDocument("medium", null, onCacheMiss)
+    assertEquals(12, cache.weightedSize)
+    assertEquals(2, cache.size)
+    assertEquals(1, cache.evictionCount)
+    assertSame(small, cache.getPersistedQueryDocument("small", null, onCacheMiss))
+  }
+
+  fun testUnknownQuery() {
+    val cache = createCache(InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache().maximumSize(2), 1)
+    assertThrows(PersistedQueryNotFound::class.java) { cache.getPersistedQueryDocument("unknown", null, onCacheMiss) }
+    assertEquals(0, cache.size)
+    assertEquals(1, cache.missCount)
+  }
+
+  fun testConcurrentLookups() {
+    val maximumSize = 50
+    val keys = 200
+    val threads = 8
+    val lookups = 20_000
+    val builder = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache().maximumSize(maximumSize.toLong())
+    val cache = createCache(builder, keys)
+
+    val executor = Executors.newFixedThreadPool(threads)
+    val start = CountDownLatch(1)
+    val mismatches = AtomicInteger()
+    try {
+      val futures = (0 until threads).map { thread ->
+        executor.submit {
+          val random = Random(thread)
+          start.await()
+          repeat(lookups) {
+            // a skewed distribution, so some of the documents are hot and stay cached
+            val key = if (random.nextInt(4) == 0) random.nextInt(keys) else random.nextInt(10)
+            val document = cache.getPersistedQueryDocument(key, null, onCacheMiss)
+            val operation = document.document!!.definitions.single() as OperationDefinition
+            if (operation.name != "q$key") mismatches.incrementAndGet()
+          }
+        }
+      }
+      start.countDown()
+      futures.forEach { it.get(1, TimeUnit.MINUTES) }
+    }
+    finally {
+      executor.shutdownNow()
+    }
+
+    assertEquals(0, mismatches.get())
+    assertTrue(cache.size <= maximumSize)
+    assertEquals(cache.size.toLong(), cache.weightedSize)
+    assertEquals((threads * lookups).toLong(), cache.hitCount + cache.missCount)
+    assertEquals(compiled.get().toLong(), cache.missCount)
+    assertEquals(cache.missCount - cache.size, cache.evictionCount)
+    assertTrue(cache.evictionCount > 0)
+    // the hot documents are looked up often enough to survive the evictions
+    assertTrue(cache.hitCount > cache.missCount)
+  }
+
+  private fun createCache(builder: InMemoryPersistedQueryCache.Builder, keys: Int): InMemoryPersistedQueryCache {
+    for (key in 0 until keys) {
+      builder.addQuery(key, "q$key")
+    }
+    return builder.build()
+  }
+
+  private fun createDocument(name: String, fields: Int): Document {
+    val selectionSet = SelectionSet.newSelectionSet()
+    for (i in 0 until fields) {
+      selectionSet.selection(Field("f$i"))
+    }
+    val operation = OperationDefinition.newOperationDefinition()
+      .name(name)
+      .operation(OperationDefinition.Operation.QUERY)
+      .selectionSet(selectionSet.build())
+      .build()
+    return Document(listOf<Definition<*>>(operation))
+  }
+}
@@ -0,0 +1,43 @@
+package com.intellij.lang.jsgraphql.schema
+
+import com.google.gson.JsonParser
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.ide.resolve.GraphQLScopeProvider
+import com.intellij.lang.jsgraphql.schema.GraphQLSchemaBuildStatistics.Stage
+
+class GraphQLSchemaBuildStatisticsTest : GraphQLTestCaseBase() {
+
+  fun testStagesAndCacheRecorded() {
+    val file = myFixture.configureByText("schema.graphql", "type Query { user: User }\ntype User { id: ID }")
+    val scope = GraphQLScopeProvider.getInstance(project).getResolveScope(file, true)
+    val statistics = GraphQLSchemaBuildStatistics.getInstance(project)
+    statistics.reset()
+
+    val provider = GraphQLSchemaProvider.getInstance(project)
+    provider.getSchemaInfo(scope)
+    provider.getSchemaInfo(scope)
+
+    val scopeStatistics = statistics.getStatistics(scope)
+    assertNotNull(scopeStatistics)
+    scopeStatistics!!
+    for (stage in listOf(Stage.DOCUMENTS, Stage.MERGE, Stage.SCHEMA, Stage.SCHEMA_VALIDATION)) {
+      assertEquals(stage.name, 1, scopeStatistics.getTiming(stage).invocations)
+    }
+    assertEquals(1, scopeStatistics.schemaCache.hits)
+    assertEquals(1, scopeStatistics.schemaCache.misses)
+    assertTrue(scopeStatistics.filesCount >= 1)
+    assertTrue(scopeStatistics.typesCount >= 2)
+  }
+
+  fun testReport() {
+    val file = myFixture.configureByText("schema.graphql", "type Query { id: ID }")
+    val statistics = GraphQLSchemaBuildStatistics.getInstance(project)
+    statistics.reset()
+    GraphQLSchemaProvider.getInstance(project).getSchemaInfo(file)
+
+    val report = JsonParser.parseString(statistics.createReport()).asJsonObject
+    val scope = report.getAsJsonArray("scopes").single().asJsonObject
+    assertEquals(1, scope.getAsJsonObject("schemaCache").get("misses").asInt)
+    assertTrue(scope.getAsJsonObject("stages").has("schema_validation"))
+  }
+}
@@ -0,0 +1,61 @@
+package com.intellij.lang.jsgraphql.schema
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.getTypeDefinitionRegistry
+import com.intellij.lang.jsgraphql.replaceFileText
+import com.intellij.lang.jsgraphql.types.language.Document
+import com.intellij.lang.jsgraphql.types.language.FieldDefinition
+import com.intellij.lang.jsgraphql.types.language.ObjectTypeDefinition
+import com.intellij.lang.jsgraphql.types.language.TypeName
+import com.intellij.lang.jsgraphql.types.schema.diff.DiffCategory
+import com.intellij.lang.jsgraphql.types.schema.diff.SchemaDiff
+import com.intellij.lang.jsgraphql.types.schema.diff.reporting.CapturingReporter
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry
+
+class GraphQLSchemaDiffTest : GraphQLTestCaseBase() {
+
+  fun testRegistryDiff() {
+    myFixture.addFileToProject("query.graphql", "type Query { user(id: ID!): User, node: Node }")
+    val user = myFixture.addFileToProject("user.graphql", "type User implements Node { id: ID!, name: String }\nextend type User { age: Int }")
+    myFixture.addFileToProject("node.graphql", "interface Node { id: ID! }")
+
+    val previous = getTypeDefinitionRegistry(user)
+    val unchanged = diff(previous, getTypeDefinitionRegistry(user))
+    assertEquals(0, unchanged.breakageCount)
+    assertEquals(0, unchanged.dangerCount)
+    assertFalse(unchanged.infos.any { it.fieldName != null })
+
+    replaceFileText(user, "type User implements Node { id: ID!, name: String! }\nenum Role { ADMIN }")
+    val changed = diff(previous, getTypeDefinitionRegistry(user))
+    assertSameElements(
+      changed.breakages.map { "${it.category} ${it.typeName}.${it.fieldName}" },
+      "${DiffCategory.MISSING} User.age",
+      "${DiffCategory.STRICTER} User.name",
+    )
+    assertTrue(changed.infos.any { it.typeName == "User" && it.fieldName == "name" })
+  }
+
+  fun testBreakingCount() {
+    val previous = createDocument("id", "name", "email")
+
+    val unchanged = CapturingReporter()
+    assertEquals(0, SchemaDiff().diffSchema(previous, createDocument("id", "name", "email"), unchanged))
+    assertEquals(0, unchanged.breakageCount)
+
+    val changed = CapturingReporter()
+    assertEquals(2, SchemaDiff().diffSchema(previous, createDocument("id"), changed))
+    assertEquals(2, changed.breakageCount)
+  }
+
+  private fun diff(oldRegistry: TypeDefinitionRegistry, newRegistry: TypeDefinitionRegistry): CapturingReporter {
+    val reporter = CapturingReporter()
+    SchemaDiff().diffSchema(oldRegistry, newRegistry, reporter)
+    return reporter
+  }
+
+  private fun createDocument(vararg fieldNames: String): Document {
+    val query = ObjectTypeDefinition.newObjectTypeDefinition().name("Query")
+    fieldNames.forEach { query.fieldDefinition(FieldDefinition(it, TypeName("String"))) }
+    return Document.newDocument().definition(query.build()).build()
+  }
+}
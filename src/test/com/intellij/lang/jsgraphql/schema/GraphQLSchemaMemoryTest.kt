@@ -0,0 +1,130 @@
+package com.intellij.lang.jsgraphql.schema
+
+import com.google.common.collect.ImmutableMap
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.estimateRetainedSize
+import com.intellij.lang.jsgraphql.psi.GraphQLFile
+import com.intellij.lang.jsgraphql.types.language.AbstractNode
+import com.intellij.lang.jsgraphql.types.language.Node
+import com.intellij.lang.jsgraphql.types.language.ObjectTypeDefinition
+import com.intellij.lang.jsgraphql.types.language.SourceLocation
+import com.intellij.openapi.command.WriteCommandAction
+import com.intellij.psi.PsiDocumentManager
+import com.intellij.psi.util.CachedValue
+
+class GraphQLSchemaMemoryTest : GraphQLTestCaseBase() {
+
+  companion object {
+    private const val TYPES_COUNT = 1000
+    private const val FIELDS_PER_TYPE = 10
+
+    private const val MAX_BYTES_PER_NODE = 700
+  }
+
+  fun testPsiBasedLocationsDoNotRetainCachedValues() {
+    val file = myFixture.configureByText("schema.graphql", generateSchema()) as GraphQLFile
+    val document = GraphQLPsiDocumentBuilder(file, false).createDocument()
+
+    val size = estimateRetainedSize(document)
+    val locations = size.countOf(SourceLocation::class.java)
+    assertTrue(locations > TYPES_COUNT * FIELDS_PER_TYPE)
+    assertEquals(0, size.countOf(CachedValue::class.java))
+    assertTrue(
+      "Retained ${size.bytes} bytes for $locations nodes",
+      size.bytes / locations < MAX_BYTES_PER_NODE
+    )
+  }
+
+  fun testPsiBasedLocationsAreResolvedLazily() {
+    val file = myFixture.configureByText("schema.graphql", generateSchema()) as GraphQLFile
+    val definitions = file.document.definitions
+    val location = definitions[TYPES_COUNT / 2].sourceLocation
+
+    assertTrue(location.isPsiBased)
+    assertEquals(TYPES_COUNT / 2 * (FIELDS_PER_TYPE + 3) + 1, location.line)
+    assertTrue(location.column >= 1)
+    assertTrue(location.sourceName.endsWith("schema.graphql"))
+    // created once and kept by the node
+    assertSame(location, definitions[TYPES_COUNT / 2].sourceLocation)
+  }
+
+  fun testPsiBasedLocationFollowsDocumentChanges() {
+    val file = myFixture.configureByText("schema.graphql", generateSchema()) as GraphQLFile
+    val location = file.document.definitions[TYPES_COUNT / 2].sourceLocation
+    val line = location.line
+    assertEquals(line, location.line)
+
+    WriteCommandAction.runWriteCommandAction(project) { myFixture.editor.document.insertString(0, "\n\n") }
+    PsiDocumentManager.getInstance(project).commitAllDocuments()
+
+    assertEquals(line + 2, location.line)
+    assertEquals(location.offset, myFixture.editor.document.getLineStartOffset(line + 1) + location.column - 1)
+  }
+
+  fun testAdditionalDataIsShared() {
+    val file = myFixture.configureByText("schema.graphql", generateSchema()) as GraphQLFile
+    val definitions = file.document.definitions.map { it as AbstractNode<*> }
+
+    assertSame(ImmutableMap.of<String, String>(), definitions[0].additionalData)
+    val library = ObjectTypeDefinition.newObjectTypeDefinition().name("Library")
+      .additionalData(AbstractNode.IS_IN_LIBRARY_KEY, "").build()
+    assertTrue(library.isInLibrary)
+    assertSame(library.additionalData, library.deepCopy().additionalData)
+  }
+
+  fun testCompactDocumentRetainedSizePer1kDefinitions() {
+    val file = myFixture.configureByText("schema.graphql", generateSchema()) as GraphQLFile
+
+    val regular = estimateRetainedSize(GraphQLPsiDocumentBuilder(file, false).createDocument())
+    val compact = estimateRetainedSize(GraphQLPsiDocumentBuilder(file, true).createDocument())
+    val regularPer1k = regular.bytes * 1000 / TYPES_COUNT
+    val compactPer1k = compact.bytes * 1000 / TYPES_COUNT
+
+    assertEquals(regular.countOf(Node::class.java), compact.countOf(Node::class.java))
+    assertEquals(0, compact.countOf(SourceLocation::class.java))
+    assertTrue("Compact: $compactPer1k, regular: $regularPer1k", compactPer1k < regularPer1k)
+  }
+
+  fun testCompactDocumentSharesNames() {
+    val file = myFixture.configureByText("schema.graphql", generateSchema()) as GraphQLFile
+    val document = GraphQLPsiDocumentBuilder(file, true).createDocument()
+
+    val size = estimateRetainedSize(document)
+    // type names plus "field0".."field9", "arg", "Int" and "String", every other occurrence is shared
+    val strings = size.countOf(String::class.java)
+    assertTrue("Retained $strings strings", strings < TYPES_COUNT + 2 * FIELDS_PER_TYPE)
+  }
+
+  fun testTypeSystemDocumentSkipsExecutableDefinitions() {
+    val text = """
+      type Query { user: User }
+      query Q { user { ...F } }
+      extend type Query { name: String }
+      fragment F on User { id }
+      type User { id: ID }
+    """.trimIndent()
+    val file = myFixture.configureByText("mixed.graphql", text) as GraphQLFile
+
+    val typeSystemDocument = file.typeSystemDocument
+    assertSameElements(
+      typeSystemDocument.definitions.map { it.javaClass.simpleName },
+      "ObjectTypeDefinition", "ObjectTypeExtensionDefinition", "ObjectTypeDefinition"
+    )
+
+    val document = file.document
+    assertEquals(5, document.definitions.size)
+    assertEquals("OperationDefinition", document.definitions[1].javaClass.simpleName)
+    assertSame(typeSystemDocument.definitions[0], document.definitions[0])
+    assertSame(typeSystemDocument.definitions[2], document.definitions[4])
+  }
+
+  private fun generateSchema(): String = buildString {
+    for (i in 0 until TYPES_COUNT) {
+      append("type Type$i {\n")
+      for (j in 0 until FIELDS_PER_TYPE) {
+        append("  field$j(arg: Int): String\n")
+      }
+      append("}\n\n")
+    }
+  }
+}
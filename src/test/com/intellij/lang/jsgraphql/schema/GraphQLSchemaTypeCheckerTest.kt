@@ -0,0 +1,68 @@
+package com.intellij.lang.jsgraphql.schema
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.getTypeDefinitionRegistry
+import com.intellij.lang.jsgraphql.replaceFileText
+import com.intellij.lang.jsgraphql.types.schema.idl.SchemaTypeCheckResult
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry
+import com.intellij.lang.jsgraphql.types.schema.idl.UnExecutableSchemaGenerator
+
+class GraphQLSchemaTypeCheckerTest : GraphQLTestCaseBase() {
+
+  fun testIncrementalCheckMatchesFullCheck() {
+    myFixture.addFileToProject("query.graphql", "type Query { user: User, node: Node }\ntype Post { title: Unknown }")
+    val user = myFixture.addFileToProject("user.graphql", "type User implements Node { id: ID!, name: String }")
+    val node = myFixture.addFileToProject("node.graphql", "interface Node { id: ID! }")
+
+    val previous = checkRegistry(getTypeDefinitionRegistry(node), null)
+    assertSameErrors(checkRegistry(getTypeDefinitionRegistry(node), null), previous)
+
+    replaceFileText(node, "interface Node { id: ID!, createdAt: String }")
+    val registry = getTypeDefinitionRegistry(node)
+    val changedNames = SchemaTypeCheckResult.getChangedNames(previous.registry, registry)
+    assertEquals(setOf("Node"), changedNames)
+
+    val full = checkRegistry(registry, null)
+    assertTrue(full.errors.any { it.message.contains("createdAt") })
+    assertSameErrors(full, checkRegistry(registry, previous))
+
+    replaceFileText(user, "type User implements Node { id: ID!, name: String, createdAt: String }")
+    val fixed = getTypeDefinitionRegistry(user)
+    assertSameErrors(checkRegistry(fixed, null), checkRegistry(fixed, checkRegistry(registry, previous)))
+  }
+
+  fun testIncrementalCheckFollowsDirectiveArguments() {
+    myFixture.addFileToProject(
+      "directives.graphql",
+      "directive @level(value: Level) on FIELD_DEFINITION\ndirective @filter(value: Filter) on FIELD_DEFINITION"
+    )
+    myFixture.addFileToProject("filter.graphql", "input Filter { level: Level }")
+    myFixture.addFileToProject(
+      "query.graphql",
+      "type Query { user: String @level(value: HIGH), users: [String] @filter(value: { level: HIGH }) }"
+    )
+    val level = myFixture.addFileToProject("level.graphql", "enum Level { LOW HIGH }")
+
+    val previous = checkRegistry(getTypeDefinitionRegistry(level), null)
+    assertEmpty(previous.errors)
+
+    replaceFileText(level, "enum Level { LOW }")
+    val registry = getTypeDefinitionRegistry(level)
+    assertEquals(setOf("Level"), SchemaTypeCheckResult.getChangedNames(previous.registry, registry))
+
+    // the enum is used by a directive directly and through an input type, both usages are invalid now
+    val full = checkRegistry(registry, null)
+    assertEquals(2, full.errors.size)
+    assertSameErrors(full, checkRegistry(registry, previous))
+  }
+
+  private fun checkRegistry(registry: TypeDefinitionRegistry, previous: SchemaTypeCheckResult?): SchemaTypeCheckResult {
+    var result: SchemaTypeCheckResult? = null
+    UnExecutableSchemaGenerator.makeUnExecutableSchema(registry, previous) { result = it }
+    return result!!
+  }
+
+  private fun assertSameErrors(expected: SchemaTypeCheckResult, actual: SchemaTypeCheckResult) {
+    assertSameElements(actual.errors.map { it.message }, expected.errors.map { it.message })
+  }
+}
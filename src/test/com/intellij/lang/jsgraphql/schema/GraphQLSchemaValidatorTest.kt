@@ -0,0 +1,31 @@
+package com.intellij.lang.jsgraphql.schema
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.types.schema.validation.SchemaValidationErrorType
+import com.intellij.lang.jsgraphql.types.schema.validation.SchemaValidator
+
+class GraphQLSchemaValidatorTest : GraphQLTestCaseBase() {
+
+  fun testParallelValidationKeepsErrorOrder() {
+    val count = 2000
+    val text = buildString {
+      appendLine("type Query {")
+      for (i in 0 until count) {
+        appendLine("  field$i(input: Input$i): Enum$i")
+      }
+      appendLine("}")
+      for (i in 0 until count) {
+        appendLine("input Input$i { self: Input$i! }")
+        appendLine("enum Enum$i { A __B$i }")
+      }
+    }
+    val file = myFixture.configureByText("schema.graphql", text)
+    val schema = GraphQLSchemaProvider.getInstance(project).getSchemaInfo(file).schema
+
+    val sequential = SchemaValidator(false).validateSchema(schema).toList()
+    val parallel = SchemaValidator(true).validateSchema(schema).toList()
+
+    assertTrue(sequential.count { it.validationErrorType == SchemaValidationErrorType.UnbrokenInputCycle } >= count)
+    assertEquals(sequential.map { it.description }, parallel.map { it.description })
+  }
+}
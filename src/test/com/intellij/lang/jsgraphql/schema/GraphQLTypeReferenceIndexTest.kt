@@ -0,0 +1,91 @@
+package com.intellij.lang.jsgraphql.schema
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.getTypeDefinitionRegistry
+import com.intellij.lang.jsgraphql.replaceFileText
+import com.intellij.lang.jsgraphql.types.language.InterfaceTypeDefinition
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeDefinitionRegistry
+import com.intellij.lang.jsgraphql.types.schema.idl.TypeReferenceIndex.Kind
+
+class GraphQLTypeReferenceIndexTest : GraphQLTestCaseBase() {
+
+  fun testReferences() {
+    val file = myFixture.configureByText(
+      "schema.graphql", """
+      directive @tag(name: String) on OBJECT | FIELD_DEFINITION
+      interface Node { id: ID! }
+      type User implements Node @tag { id: ID!, friends(filter: Filter): [User!]! @tag }
+      type Post implements Node { id: ID!, author: User }
+      extend type Post { tags: [String] }
+      union SearchResult = User | Post
+      input Filter { name: String, nested: Filter }
+      type Query { node: Node, search: [SearchResult] }
+      """.trimIndent()
+    )
+    val registry = getTypeDefinitionRegistry(file)
+    val index = registry.referenceIndex
+
+    assertSameElements(index.getReferringNames("Node"), "User", "Post", "Query")
+    assertSameElements(index.getReferences("User", Kind.FIELD_TYPE).map { it.definitionName }, "User", "Post")
+    assertSameElements(index.getReferences("User", Kind.UNION_MEMBER).map { it.definitionName }, "SearchResult")
+    assertSameElements(index.getReferences("Filter", Kind.ARGUMENT_TYPE).map { it.definitionName }, "User")
+    assertSameElements(index.getReferences("Filter", Kind.INPUT_FIELD_TYPE).map { it.definitionName }, "Filter")
+    assertEquals(2, index.getReferences("tag", Kind.DIRECTIVE).size)
+    assertContainsElements(index.getReferringNames("String"), "tag", "Post", "Filter")
+    assertEmpty(index.getReferences("Unknown"))
+
+    val node = registry.getType("Node", InterfaceTypeDefinition::class.java).get()
+    assertSameElements(registry.getImplementationsOf(node).map { it.name }, "User", "Post")
+  }
+
+  fun testIncrementalUpdate() {
+    myFixture.addFileToProject("query.graphql", "type Query { node: Node, user: User }")
+    val user = myFixture.addFileToProject("user.graphql", "type User implements Node { id: ID! }")
+    myFixture.addFileToProject("node.graphql", "interface Node { id: ID! }")
+
+    val previous = getTypeDefinitionRegistry(user)
+    previous.referenceIndex
+
+    replaceFileText(user, "type User { id: ID!, best: Post }\ntype Post implements Node { id: ID!, author: User }")
+    val registry = getTypeDefinitionRegistry(user)
+    assertNotSame(previous, registry)
+    registry.updateReferenceIndex(previous)
+
+    val expected = TypeDefinitionRegistry().merge(registry).referenceIndex
+    for (name in listOf("Node", "User", "Post", "ID")) {
+      assertSameElements(name, registry.referenceIndex.getReferringNames(name), expected.getReferringNames(name))
+    }
+    val node = registry.getType("Node", InterfaceTypeDefinition::class.java).get()
+    assertSameElements(registry.getImplementationsOf(node).map { it.name }, "Post")
+  }
+
+  fun testIndexIsCarriedForward() {
+    myFixture.addFileToProject("query.graphql", "type Query { user: User }")
+    val user = myFixture.addFileToProject("user.graphql", "type User { id: ID! }")
+
+    val previous = getTypeDefinitionRegistry(user)
+    val queryReference = previous.referenceIndex.getReferences("User", Kind.FIELD_TYPE).single()
+
+    replaceFileText(user, "type User { id: ID!, name: String }")
+    val registry = getTypeDefinitionRegistry(user)
+    assertNotSame(previous, registry)
+    // the provider updated the index from the previous registry, so the unchanged file keeps its references
+    assertSame(queryReference, registry.referenceIndex.getReferences("User", Kind.FIELD_TYPE).single())
+    assertContainsElements(registry.referenceIndex.getReferringNames("String"), "User")
+  }
+
+  fun testDirectiveArgumentReferences() {
+    myFixture.addFileToProject("level.graphql", "enum Level { LOW HIGH }\ndirective @level(value: Level) on FIELD_DEFINITION")
+    val query = myFixture.addFileToProject("query.graphql", "type Query { user: String @level(value: HIGH) }")
+
+    val previous = getTypeDefinitionRegistry(query)
+    // a changed enum leads to the directive definition, and the directive to its usages
+    assertSameElements(previous.referenceIndex.getReferences("Level", Kind.ARGUMENT_TYPE).map { it.definitionName }, "level")
+    assertSameElements(previous.referenceIndex.getReferences("level", Kind.DIRECTIVE).map { it.definitionName }, "Query")
+
+    replaceFileText(query, "type Query { user: String @level(value: HIGH) }\ntype User { name: String @level(value: LOW) }")
+    val registry = getTypeDefinitionRegistry(query)
+    registry.updateReferenceIndex(previous)
+    assertSameElements(registry.referenceIndex.getReferences("level", Kind.DIRECTIVE).map { it.definitionName }, "Query", "User")
+  }
+}
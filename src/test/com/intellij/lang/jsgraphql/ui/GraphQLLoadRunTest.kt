@@ -0,0 +1,57 @@
+package com.intellij.lang.jsgraphql.ui
+
+import com.intellij.lang.jsgraphql.GraphQLStubServer
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.ide.introspection.GraphQLHttpClientRegistry
+import com.intellij.openapi.progress.EmptyProgressIndicator
+import org.apache.http.client.methods.HttpPost
+import org.apache.http.entity.ContentType
+import org.apache.http.entity.StringEntity
+import java.util.concurrent.atomic.AtomicInteger
+
+class GraphQLLoadRunTest : GraphQLTestCaseBase() {
+
+  private lateinit var server: GraphQLStubServer
+  private val requestCount = AtomicInteger()
+
+  override fun setUp() {
+    super.setUp()
+    server = GraphQLStubServer(testRootDisposable, threads = 4) { exchange ->
+      exchange.requestBody.readAllBytes()
+      // every third request fails with a GraphQL error
+      val response = if (requestCount.incrementAndGet() % 3 == 0)
+        """{"data":null,"errors":[{"message":"failed"}]}"""
+      else
+        """{"data":{"users":[{"id":1}]}}"""
+      GraphQLStubServer.respond(exchange, response)
+    }
+  }
+
+  fun testRequests() {
+    val result = run(GraphQLLoadRun.Settings(30, 0, 3))
+    assertEquals(30, result.count)
+    assertEquals(30, requestCount.get())
+    assertEquals(10, result.errorCount)
+    assertEquals(1.0 / 3, result.errorRate, 0.001)
+    assertNotNull(result.firstError)
+    assertTrue(result.throughput > 0)
+    assertTrue(result.getLatencyMillis(50) <= result.getLatencyMillis(99))
+    assertTrue(result.getLatencyMillis(99) <= result.getLatencyMillis(100))
+  }
+
+  fun testDuration() {
+    val result = run(GraphQLLoadRun.Settings(0, 1, 2))
+    assertTrue(result.count > 0)
+    assertEquals(requestCount.get(), result.count)
+    assertTrue(result.elapsedMillis >= 1000)
+  }
+
+  private fun run(settings: GraphQLLoadRun.Settings): GraphQLLoadRun.Result {
+    val url = server.url
+    return GraphQLHttpClientRegistry.getInstance(project).acquireHttpClient(url, null).use { lease ->
+      GraphQLLoadRun(lease.client, {
+        HttpPost(url).apply { entity = StringEntity("""{"query":"{ users { id } }"}""", ContentType.APPLICATION_JSON) }
+      }, settings).run(EmptyProgressIndicator())
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.intellij.lang.jsgraphql.ui
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import java.nio.file.Files
+
+class GraphQLQueryHistoryTest : GraphQLTestCaseBase() {
+
+  fun testPercentiles() {
+    val history = GraphQLQueryHistory.getInstance(project)
+    var statistics: GraphQLQueryHistory.Statistics? = null
+    for (duration in 1L..20L) {
+      statistics = history.addRun(URL, "Users", duration)
+    }
+    assertEquals(20, statistics!!.count)
+    assertEquals(10, statistics.median)
+    assertEquals(19, statistics.p95)
+
+    // other operations are tracked separately
+    assertEquals(1, history.addRun(URL, "Posts", 100).count)
+  }
+
+  fun testLatestRuns() {
+    val history = GraphQLQueryHistory.getInstance(project)
+    var statistics: GraphQLQueryHistory.Statistics? = null
+    for (duration in 1L..GraphQLQueryHistory.MAX_RUNS * 2L) {
+      statistics = history.addRun(URL, null, duration)
+    }
+    assertEquals(GraphQLQueryHistory.MAX_RUNS, statistics!!.count)
+    assertEquals((GraphQLQueryHistory.MAX_RUNS * 3 / 2).toLong(), statistics.median)
+  }
+
+  fun testOperationName() {
+    assertEquals("Users", GraphQLQueryHistory.getOperationName("query Users(\$first: Int) { users { id } }"))
+    assertEquals("AddUser", GraphQLQueryHistory.getOperationName("# comment\nmutation AddUser { addUser { id } }"))
+    assertNull(GraphQLQueryHistory.getOperationName("{ users { id } }"))
+  }
+
+  fun testTracing() {
+    val result = Files.createTempFile("result", ".json")
+    try {
+      Files.writeString(result, """
+        {
+          "data": {"users": [{"id": 1}]},
+          "extensions": {
+            "tracing": {
+              "version": 1,
+              "duration": 5000,
+              "parsing": {"startOffset": 100, "duration": 200},
+              "validation": {"startOffset": 300, "duration": 100},
+              "execution": {
+                "resolvers": [
+                  {"path": ["users", 0, "id"], "parentType": "User", "fieldName": "id", "returnType": "ID!", "startOffset": 2000, "duration": 10},
+                  {"path": ["users"], "parentType": "Query", "fieldName": "users", "returnType": "[User]", "startOffset": 500, "duration": 1000}
+                ]
+              }
+            }
+          }
+        }
+      """.trimIndent())
+
+      val tracing = GraphQLQueryTracing.read(result)!!
+      assertEquals(5000, tracing.duration)
+      assertEquals(listOf("parsing", "validation", "users", "users.0.id"), tracing.entries.map { it.name })
+      assertEquals(listOf(0, 0, 0, 1), tracing.entries.map { it.depth })
+      assertEquals("Query.users: [User]", tracing.entries[2].type)
+    }
+    finally {
+      Files.delete(result)
+    }
+  }
+
+  fun testNoTracing() {
+    val result = Files.createTempFile("result", ".json")
+    try {
+      Files.writeString(result, """{"data": {"users": []}, "extensions": {"cost": 1}}""")
+      assertNull(GraphQLQueryTracing.read(result))
+    }
+    finally {
+      Files.delete(result)
+    }
+  }
+
+  companion object {
+    private const val URL = "http://localhost/graphql"
+  }
+}
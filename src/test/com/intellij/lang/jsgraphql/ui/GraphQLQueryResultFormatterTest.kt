@@ -0,0 +1,96 @@
+package com.intellij.lang.jsgraphql.ui
+
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import java.nio.file.Files
+import java.nio.file.Path
+
+class GraphQLQueryResultFormatterTest : GraphQLTestCaseBase() {
+
+  fun testFormat() {
+    val result = format(
+      """{"data":{"user":{"id":1,"big":12345678901234567890,"ratio":1.0,"name":"a\"b","tags":[],"friends":[null,true]}},"errors":[{"message":"x"},{"message":"y"}]}""",
+      true
+    )
+    assertEquals(2, result.first)
+    assertEquals(
+      """
+      {
+        "data": {
+          "user": {
+            "id": 1,
+            "big": 12345678901234567890,
+            "ratio": 1.0,
+            "name": "a\"b",
+            "tags": [],
+            "friends": [
+              null,
+              true
+            ]
+          }
+        },
+        "errors": [
+          {
+            "message": "x"
+          },
+          {
+            "message": "y"
+          }
+        ]
+      }
+      """.trimIndent(),
+      result.second
+    )
+  }
+
+  fun testNoErrors() {
+    assertEquals(0, format("""{"data":null}""", true).first)
+    assertEquals(0, format("""{"data":null}""", false).first)
+  }
+
+  fun testNotFormatted() {
+    val text = """{"errors":[{"message":"x"}]}"""
+    assertEquals(1 to text, format(text, false))
+  }
+
+  fun testInvalidJson() {
+    val text = "<html><body>Bad Gateway</body></html>"
+    assertEquals(null to text, format(text, true))
+    assertEquals(null to "{\"data\": ", format("{\"data\": ", true))
+  }
+
+  fun testPreview() {
+    val text = "{\n  \"a\": 1,\n  \"b\": \"\u00e9\u00e9\"\n}"
+    assertEquals(false to text, preview(text, text.toByteArray().size))
+    // cut at the last line end that fits
+    assertEquals(true to "{\n  \"a\": 1,\n", preview(text, 20))
+    // a single line is cut at a character boundary, the two bytes of `é` are not split
+    assertEquals(true to "\"\u00e9", preview("\"\u00e9\u00e9\"", 4))
+  }
+
+  private fun preview(text: String, maxSize: Int): Pair<Boolean, String> {
+    val dir = Files.createTempDirectory("graphql-result")
+    try {
+      val source = dir.resolve("result.json")
+      Files.writeString(source, text)
+      val target = dir.resolve("result.preview.json")
+      return GraphQLQueryResultFormatter.preview(source, target, maxSize) to Files.readString(target)
+    }
+    finally {
+      dir.toFile().deleteRecursively()
+    }
+  }
+
+  private fun format(text: String, reformat: Boolean): Pair<Int?, String> {
+    val dir = Files.createTempDirectory("graphql-result")
+    try {
+      val source = dir.resolve("result.json.download")
+      Files.writeString(source, text)
+      val target: Path = dir.resolve("result.json")
+      val errorCount = GraphQLQueryResultFormatter.format(source, target, reformat)
+      return errorCount to Files.readString(target)
+    }
+    finally {
+      dir.toFile().deleteRecursively()
+    }
+  }
+}
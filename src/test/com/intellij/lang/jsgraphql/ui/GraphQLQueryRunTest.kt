@@ -0,0 +1,148 @@
+package com.intellij.lang.jsgraphql.ui
+
+import com.intellij.ide.util.PropertiesComponent
+import com.intellij.lang.jsgraphql.GraphQLStubServer
+import com.intellij.lang.jsgraphql.GraphQLTestCaseBase
+import com.intellij.lang.jsgraphql.ide.config.GraphQLConfigProvider
+import com.intellij.lang.jsgraphql.ide.project.schemastatus.GraphQLEndpointsModel
+import com.intellij.lang.jsgraphql.ide.project.toolwindow.GraphQLToolWindow
+import com.intellij.openapi.command.WriteCommandAction
+import com.intellij.openapi.editor.Editor
+import com.intellij.openapi.editor.EditorFactory
+import com.intellij.openapi.fileEditor.FileDocumentManager
+import com.intellij.openapi.util.Disposer
+import com.intellij.openapi.util.registry.Registry
+import com.intellij.psi.PsiDocumentManager
+import com.intellij.testFramework.PlatformTestUtil
+import java.io.IOException
+import java.nio.file.Files
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class GraphQLQueryRunTest : GraphQLTestCaseBase() {
+
+  private lateinit var server: GraphQLStubServer
+  private val slowStarted = Semaphore(0)
+  private val slowReleased = CountDownLatch(1)
+  private val running = AtomicInteger()
+  private val maxRunning = AtomicInteger()
+
+  override fun setUp() {
+    super.setUp()
+    server = GraphQLStubServer(testRootDisposable, threads = 4) { exchange ->
+      // the queried field is echoed back, so the result tells which query it belongs to
+      val field = Regex("""\{\s*(\w+)""").find(exchange.requestBody.readAllBytes().decodeToString())!!.groupValues[1]
+      maxRunning.accumulateAndGet(running.incrementAndGet()) { a, b -> maxOf(a, b) }
+      try {
+        if (field == "slow") {
+          slowStarted.release()
+          slowReleased.await(30, TimeUnit.SECONDS)
+        }
+        GraphQLStubServer.respond(exchange, """{"data":{"$field":1}}""")
+      }
+      catch (e: IOException) {
+        // aborted by the client
+      }
+      finally {
+        running.decrementAndGet()
+      }
+    }
+    myFixture.configureByText("graphql.config.yml", """
+      schema: schema.graphql
+      extensions:
+        endpoints:
+          default:
+            url: ${server.url}
+    """.trimIndent())
+    reloadConfiguration()
+  }
+
+  override fun tearDown() {
+    try {
+      slowReleased.countDown()
+    }
+    finally {
+      super.tearDown()
+    }
+  }
+
+  fun testCancelAbortsRequest() {
+    val editor = createEditor("query.graphql", "{ slow }")
+    execute(editor)
+    assertTrue(slowStarted.tryAcquire(30, TimeUnit.SECONDS))
+
+    editor.getUserData(GraphQLUIProjectService.GRAPH_QL_EDITOR_QUERY_INDICATOR)!!.cancel()
+    // the server still holds the response, so the query can only finish by aborting the request
+    waitForQuery(editor)
+    assertEquals(1, running.get())
+  }
+
+  fun testNewQuerySupersedesRunning() {
+    val editor = createEditor("query.graphql", "{ slow }")
+    execute(editor)
+    assertTrue(slowStarted.tryAcquire(30, TimeUnit.SECONDS))
+    val superseded = editor.getUserData(GraphQLUIProjectService.GRAPH_QL_EDITOR_QUERY_INDICATOR)!!
+
+    replaceText(editor, "{ fast }")
+    execute(editor)
+    assertTrue(superseded.isCanceled)
+    waitForQuery(editor)
+    assertTrue(readResult().contains("\"fast\""))
+
+    // the superseded query gets its response too late, it's aborted and never replaces the result
+    slowReleased.countDown()
+    PlatformTestUtil.waitWithEventsDispatching("The slow response is not sent", { running.get() == 0 }, 30)
+    PlatformTestUtil.dispatchAllEventsInIdeEventQueue()
+    assertFalse(readResult().contains("\"slow\""))
+  }
+
+  fun testMaxQueries() {
+    // the bound is read when a query starts, so it applies to a service created before the change
+    GraphQLUIProjectService.getInstance(project)
+    Registry.get("graphql.request.max.queries").setValue(1, testRootDisposable)
+
+    val first = createEditor("first.graphql", "{ slow }")
+    val second = createEditor("second.graphql", "{ slow }")
+    execute(first)
+    assertTrue(slowStarted.tryAcquire(30, TimeUnit.SECONDS))
+    execute(second)
+    // the second query waits for the first one to finish
+    assertFalse(slowStarted.tryAcquire(500, TimeUnit.MILLISECONDS))
+
+    slowReleased.countDown()
+    waitForQuery(first)
+    waitForQuery(second)
+    assertTrue(slowStarted.tryAcquire(30, TimeUnit.SECONDS))
+    assertEquals(1, maxRunning.get())
+  }
+
+  private fun createEditor(fileName: String, query: String): Editor {
+    val endpoints = GraphQLConfigProvider.getInstance(project).getAllConfigs().single().getDefault()!!.endpoints
+    val document = myFixture.addFileToProject(fileName, query).viewProvider.document!!
+    val editor = EditorFactory.getInstance().createEditor(document, project)
+    Disposer.register(testRootDisposable) { EditorFactory.getInstance().releaseEditor(editor) }
+    editor.putUserData(GraphQLUIProjectService.GRAPH_QL_ENDPOINTS_MODEL,
+                       GraphQLEndpointsModel(endpoints, PropertiesComponent.getInstance(project)))
+    return editor
+  }
+
+  private fun replaceText(editor: Editor, text: String) {
+    WriteCommandAction.runWriteCommandAction(project) { editor.document.setText(text) }
+    PsiDocumentManager.getInstance(project).commitAllDocuments()
+  }
+
+  private fun execute(editor: Editor) {
+    val file = FileDocumentManager.getInstance().getFile(editor.document)!!
+    GraphQLUIProjectService.getInstance(project).executeGraphQL(editor, file)
+  }
+
+  private fun waitForQuery(editor: Editor) {
+    PlatformTestUtil.waitWithEventsDispatching("The query doesn't finish", {
+      editor.getUserData(GraphQLUIProjectService.GRAPH_QL_EDITOR_QUERYING) == null
+    }, 30)
+  }
+
+  private fun readResult(): String = Files.readString(GraphQLToolWindow.getQueryResultPreviewPath(project))
+}